@@ -0,0 +1,99 @@
+// THIS FILE IS AUTO-GENERATED DURING BUILD. DO NOT EDIT.
+// Source: az.qrfood.backend.constant.ApiRoutes
+
+export const ApiRoutes = {
+  API: '/api',
+  V1: '/v1',
+  AUTH: '/api/auth',
+  AUTH_LOGIN: '/api/auth/login',
+  AUTH_LOGOUT: '/api/auth/logout',
+  AUTH_STATUS: '/api/auth/status',
+  AUTH_REFRESH_ON_EATERY_CHANGE: '/api/auth/recreate-token-on-eatery-change',
+  AUTH_REFRESH_TOKEN: '/api/auth/refresh-token',
+  AUTH_MAGIC_LINK: '/api/auth/magic-link',
+  AUTH_TEST_MAGIC_LINK: '/api/auth/test-magic-link',
+  AUTH_VERIFY_TOKEN: '/api/auth/verify-token',
+  AUTH_OAUTH_GOOGLE: '/api/auth/oauth/google',
+  AUTH_PASSWORD_RESET_REQUEST: '/api/auth/password-reset/request',
+  AUTH_PASSWORD_RESET_COMPLETE: '/api/auth/password-reset/complete',
+  AUTH_CHANGE_PASSWORD: '/api/auth/change-password',
+  EATERY: '/api/eatery',
+  EATERY_BY_ID: '/api/eatery/{eateryId}',
+  EATERY_BY_OWNER: '/api/eatery/owner/{ownerId}',
+  EATERY_STATUS: '/api/eatery/status/{eateryId}',
+  CATEGORY_BASE: '/category',
+  EATERY_CATEGORY: '/api/eatery/{eateryId}/category',
+  EATERY_CATEGORY_PREDEFINED: '/api/eatery/{eateryId}/category/predefined',
+  EATERY_CATEGORY_BY_ID: '/api/eatery/{eateryId}/category/{categoryId}',
+  API_CATEGORY_COMMON: '/api/category/common',
+  DISH_BASE: '/api/eatery/{eateryId}/category/{categoryId}/dish',
+  DISH_BY_ID: '/api/eatery/{eateryId}/category/{categoryId}/dish/{dishId}',
+  DISH_COMMON_FROM_TEMPLATE: '/api/dish/common/eatery/{eateryId}/category/{categoryId}',
+  DISH_COMMON_BY_CAT_ID: '/api/dish/common/{categoryId}',
+  DISH_COMMON_BY_CAT_NAME: '/api/dish/common/{categoryName}',
+  TABLE: '/api/eatery/{eateryId}/table',
+  TABLE_BY_ID: '/api/eatery/{eateryId}/table/{tableId}',
+  TABLE_ASSIGNMENT: '/api/eatery/{eateryId}/table-assignment',
+  TABLE_ASSIGNMENT_WAITER: '/api/eatery/{eateryId}/table-assignment/waiter/{waiterId}',
+  TABLE_ASSIGNMENT_TABLE: '/api/eatery/{eateryId}/table-assignment/table/{tableId}',
+  TABLE_ASSIGNMENT_BY_ID: '/api/eatery/{eateryId}/table-assignment/{assignmentId}',
+  ORDER: '/api/eatery/{eateryId}/order',
+  ORDERS: '/api/eatery/{eateryId}/orders',
+  ORDERS_DASHBOARD: '/api/eatery/{eateryId}/orders/dashboard',
+  ORDERS_EXPORT: '/api/eatery/{eateryId}/orders/export',
+  ORDER_POST: '/api/eatery/{eateryId}/order/post',
+  ORDER_BY_TABLE: '/api/eatery/{eateryId}/order/table/{tableId}',
+  ORDER_BY_ID: '/api/eatery/{eateryId}/order/{orderId}',
+  ORDER_DELETE: '/api/eatery/{eateryId}/order/{orderId}/delete',
+  ORDER_PUT: '/api/eatery/{eateryId}/order/{orderId}/put',
+  ORDER_ADD_DISHES: '/api/eatery/{eateryId}/order/{orderId}/add-dishes',
+  ORDER_STATUS_AUTH: '/api/eatery/{eateryId}/order/status/{status}/auth',
+  ORDER_STATUS: '/api/eatery/{eateryId}/order/status/{status}',
+  DEVICE_ORDERS_CREATED: '/api/eatery/{eateryId}/table/{tableId}/device-orders',
+  ORDER_ITEM: '/api/eatery/{eateryId}/order-item',
+  ORDER_ITEM_BY_ID: '/api/eatery/{eateryId}/order-item/{orderItemId}',
+  ORDER_ITEM_BY_ORDER_ID: '/api/eatery/{eateryId}/order-item/order/{orderId}',
+  REPORT_SALES: '/api/eatery/{eateryId}/report/sales',
+  REPORT_SALES_DAILY: '/api/eatery/{eateryId}/report/sales/daily',
+  REPORT_SALES_DISHES: '/api/eatery/{eateryId}/report/sales/dishes',
+  REPORT_SALES_TABLES: '/api/eatery/{eateryId}/report/sales/tables',
+  REPORT_SALES_HOURLY: '/api/eatery/{eateryId}/report/sales/hourly',
+  API_USER: '/api/user',
+  USER_AND_EATERY: '/user/eatery',
+  USER_BY_EATERY: '/api/eatery/{eateryId}/user',
+  USER_GENERAL_REGISTER: '/api/eatery/{eateryId}/user/register/general',
+  USER_DELETE_GLOBAL: '/api/user/{id}',
+  USER_BY_ID: '/api/eatery/{eateryId}/user/{userId}',
+  USER_BY_NAME: '/api/eatery/{eateryId}/user/name/{userName}',
+  ADMIN_EATERY_RESOURCES: '/api/admin/eatery/{eateryId}/resources',
+  ADMIN_EATERY_DETAILS: '/api/admin/eatery/{eateryId}/details',
+  ADMIN_EATERY: '/api/admin/eatery/{eateryId}',
+  ADMIN_EATERY_DELETION: '/api/admin/eatery/{eateryId}/deletion',
+  ADMIN_EATERY_ADMINS: '/api/admin/eatery-admin/{admin}',
+  ADMIN_REGISTER_SUCCESS: '/admin/register/success',
+  ADMIN_ORDERS: '/api/admin/orders',
+  ADMIN_METRICS_LATENCY: '/api/admin/metrics/latency',
+  ADMIN_EMAIL_TEMPLATES_REFRESH: '/api/admin/email-templates/refresh',
+  ADMIN_JOBS: '/api/admin/jobs',
+  ADMIN_JOB_RUN: '/api/admin/jobs/{name}/run',
+  CLIENT_BASE: '/api/client',
+  CLIENT_BY_EATERY: '/api/client/eatery/{eateryId}',
+  CLIENT_BY_TABLE: '/api/client/eatery/{eateryId}/table/{tableId}',
+  CLIENT_BY_ID: '/api/client/{id}',
+  KITCHEN_DEPT: '/api/eatery/{eateryId}/kitchen-department',
+  KITCHEN_DEPT_ID: '/api/eatery/{eateryId}/kitchen-department/{departmentId}',
+  IMAGE_BASE: '/api/image',
+  IMAGE_WILDCARD: '/api/image/**',
+  IMAGE_EATERY: '/api/image/eatery/{eateryId}/file/{fileName}',
+  IMAGE_CATEGORY: '/api/image/eatery/{eateryId}/category/{categoryId}/file/{fileName}',
+  IMAGE_DISH: '/api/image/eatery/{eateryId}/dish/{dishId}/file/{fileName}',
+  IMAGE_PREDEFINED_CAT: '/api/image/predefined/category/{fileName}',
+  IMAGE_PREDEFINED_DISH: '/api/image/predefined/dish/{fileName}',
+  QR_CODE: '/api/qrcode/eatery/{eateryId}/table/{tableId}',
+  QR_CODE_CONTENTS: '/api/qrcode/eatery/{eateryId}/contents',
+  ALIVE: '/api/alive',
+  LOGS_FRONTEND: '/api/logs/frontend',
+  LOGS_FRONTEND_BATCH: '/api/logs/frontend/batch',
+  CONFIG_IMAGE_PATHS: '/api/config/image-paths',
+  EMAIL_SUBSCRIPTION: '/api/user/settings/notifications'
+};
@@ -0,0 +1,155 @@
+package az.qrfood.backend.benchmark;
+
+import az.qrfood.backend.category.entity.Category;
+import az.qrfood.backend.category.entity.CategoryStatus;
+import az.qrfood.backend.category.entity.CategoryTranslation;
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.dish.entity.DishEntityTranslation;
+import az.qrfood.backend.dish.entity.DishStatus;
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.eatery.entity.EateryPhone;
+import az.qrfood.backend.lang.Language;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.table.entity.TableStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the data the read endpoints map.
+ * <p>
+ * Every category and dish carries a translation for each {@link Language}, with names and
+ * descriptions of realistic length, so the mapping and the JSON output do the same work as
+ * for a real menu. The graphs are built once per trial and never touch a database.
+ * </p>
+ */
+final class Fixtures {
+
+    private static final String DESCRIPTION =
+            "Slow cooked with onions, saffron and fresh herbs, served with bread and a seasonal salad.";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Builds an eatery with its menu.
+     *
+     * @param categories        The number of categories.
+     * @param dishesPerCategory The number of dishes in every category.
+     * @param tables            The number of tables.
+     * @return The eatery, its categories reachable through {@link Eatery#getCategories()}.
+     */
+    static Eatery eatery(int categories, int dishesPerCategory, int tables) {
+        Eatery eatery = new Eatery();
+        eatery.setId(1L);
+        eatery.setName("Benchmark Eatery");
+        eatery.setAddress("28 May street 12, Baku");
+        eatery.setGeoLat(40.3777);
+        eatery.setGeoLng(49.8920);
+        eatery.setOnboardingStatus(OnboardingStatus.DISH_CREATED);
+
+        for (int i = 0; i < 2; i++) {
+            EateryPhone phone = new EateryPhone();
+            phone.setId((long) i + 1);
+            phone.setPhoneNumber("+99450555000" + i);
+            phone.setRestaurant(eatery);
+            eatery.getPhones().add(phone);
+        }
+        for (int i = 0; i < tables; i++) {
+            eatery.getTables().add(table(eatery, i + 1));
+        }
+
+        long dishId = 1;
+        for (int c = 0; c < categories; c++) {
+            Category category = new Category();
+            category.setId((long) c + 1);
+            category.setEatery(eatery);
+            category.setCategoryImageFileName("category-" + c + ".webp");
+            category.setCategoryStatus(CategoryStatus.ACTIVE);
+            category.setTranslations(new ArrayList<>());
+            category.setItems(new ArrayList<>());
+            for (Language lang : Language.values()) {
+                category.getTranslations().add(new CategoryTranslation(category, lang.name(), "Category " + c + " " + lang));
+            }
+            for (int d = 0; d < dishesPerCategory; d++) {
+                category.getItems().add(dish(category, dishId++));
+            }
+            eatery.getCategories().add(category);
+        }
+        return eatery;
+    }
+
+    /**
+     * Builds orders placed on one table of the eatery.
+     *
+     * @param eatery        The eatery whose dishes are ordered.
+     * @param orders        The number of orders.
+     * @param itemsPerOrder The number of lines in every order.
+     * @return The orders.
+     */
+    static List<Order> orders(Eatery eatery, int orders, int itemsPerOrder) {
+        List<DishEntity> dishes = eatery.getCategories().stream()
+                .flatMap(c -> c.getItems().stream())
+                .toList();
+        TableInEatery table = eatery.getTables().get(0);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 1, 19, 30);
+
+        List<Order> result = new ArrayList<>(orders);
+        long itemId = 1;
+        for (int o = 0; o < orders; o++) {
+            Order order = new Order();
+            order.setId((long) o + 1);
+            order.setTable(table);
+            order.setCreatedAt(createdAt.plusMinutes(o));
+            order.setStatus(OrderStatus.CREATED);
+            order.setNote(o % 3 == 0 ? "No onions please" : null);
+            order.setItems(new ArrayList<>(itemsPerOrder));
+            for (int i = 0; i < itemsPerOrder; i++) {
+                DishEntity dish = dishes.get((o * itemsPerOrder + i) % dishes.size());
+                OrderItem item = new OrderItem();
+                item.setId(itemId++);
+                item.setOrder(order);
+                item.setDishEntity(dish);
+                item.setQuantity(1 + i % 3);
+                item.setPriceAtOrder(dish.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+                item.setStatus(OrderStatus.CREATED);
+                order.getItems().add(item);
+            }
+            result.add(order);
+        }
+        return result;
+    }
+
+    private static TableInEatery table(Eatery eatery, int number) {
+        return TableInEatery.builder()
+                .id((long) number)
+                .eatery(eatery)
+                .tableNumber(String.valueOf(number))
+                .seats(4)
+                .status(TableStatus.ACTIVE)
+                .orders(new ArrayList<>())
+                .build();
+    }
+
+    private static DishEntity dish(Category category, long id) {
+        DishEntity dish = new DishEntity();
+        dish.setId(id);
+        dish.setCategory(category);
+        dish.setPrice(BigDecimal.valueOf(350 + id % 40 * 25, 2));
+        dish.setImage("dish-" + id + ".webp");
+        dish.setDishStatus(id % 10 == 0 ? DishStatus.OUT_OF_STOCK : DishStatus.AVAILABLE);
+        dish.setTranslations(new ArrayList<>());
+        for (Language lang : Language.values()) {
+            DishEntityTranslation translation = new DishEntityTranslation(dish, lang.name(),
+                    "Dish " + id + " " + lang, DESCRIPTION);
+            dish.getTranslations().add(translation);
+        }
+        return dish;
+    }
+}
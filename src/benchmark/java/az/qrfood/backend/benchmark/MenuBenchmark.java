@@ -0,0 +1,122 @@
+package az.qrfood.backend.benchmark;
+
+import az.qrfood.backend.category.dto.CategoryDto;
+import az.qrfood.backend.category.entity.Category;
+import az.qrfood.backend.category.service.CategoryService;
+import az.qrfood.backend.dish.dto.DishDto;
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.dish.mapper.DishMapper;
+import az.qrfood.backend.dish.service.DishService;
+import az.qrfood.backend.eatery.dto.EateryDto;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.eatery.mapper.EateryMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and serialization of a whole menu, the work behind the client menu endpoints.
+ * <p>
+ * The menu sizes span a small cafe to a large restaurant: 10 to 50 categories with 5 to 40
+ * dishes each, every one translated into three languages. The copy cases measure the reflective
+ * {@link BeanUtils#copyProperties(Object, Object)} next to the {@link EateryMapper} and
+ * {@link DishMapper} that replaced it when eateries and dishes are created and read.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuBenchmark {
+
+    @Param({"10", "50"})
+    private int categories;
+
+    @Param({"5", "40"})
+    private int dishesPerCategory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Eatery eatery;
+    private List<Category> menu;
+    private List<CategoryDto> menuDto;
+    private DishEntity dish;
+    private DishDto dishDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eatery = Fixtures.eatery(categories, dishesPerCategory, 20);
+        menu = eatery.getCategories();
+        menuDto = mapMenu();
+        dish = menu.get(0).getItems().get(0);
+        dishDto = DishService.convertEntityToDto(dish);
+    }
+
+    @Benchmark
+    public List<CategoryDto> mapMenu() {
+        List<CategoryDto> result = new ArrayList<>(menu.size());
+        for (Category category : menu) {
+            result.add(CategoryService.convertCategoryToDto(category));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public DishDto mapDish() {
+        return DishService.convertEntityToDto(dish);
+    }
+
+    @Benchmark
+    public byte[] serializeMenu() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(menuDto);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeMenu() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapMenu());
+    }
+
+    @Benchmark
+    public void copyEateryToDto(Blackhole blackhole) {
+        EateryDto dto = new EateryDto();
+        BeanUtils.copyProperties(eatery, dto);
+        blackhole.consume(dto);
+    }
+
+    @Benchmark
+    public void copyDishDtoToEntity(Blackhole blackhole) {
+        DishEntity entity = new DishEntity();
+        BeanUtils.copyProperties(dishDto, entity);
+        blackhole.consume(entity);
+    }
+
+    @Benchmark
+    public void mapEateryToDto(Blackhole blackhole) {
+        blackhole.consume(EateryMapper.toDto(eatery));
+    }
+
+    @Benchmark
+    public void mapDishDtoToEntity(Blackhole blackhole) {
+        blackhole.consume(DishMapper.toEntity(dishDto));
+    }
+}
@@ -0,0 +1,68 @@
+package az.qrfood.backend.benchmark;
+
+import az.qrfood.backend.order.dto.OrderDto;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.mapper.OrderMapper;
+import az.qrfood.backend.orderitem.mapper.OrderItemMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and serialization of order lists, the work behind the kitchen and waiter screens.
+ * <p>
+ * A list of 50 orders matches a busy evening on the order board; the item counts go from a
+ * single drink to a large table ordering for a group.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({"50"})
+    private int orders;
+
+    @Param({"1", "10", "30"})
+    private int itemsPerOrder;
+
+    private final OrderMapper orderMapper = new OrderMapper(new OrderItemMapper());
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Order> orderList;
+    private List<OrderDto> orderDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderList = Fixtures.orders(Fixtures.eatery(10, 20, 20), orders, itemsPerOrder);
+        orderDtos = orderMapper.toDtoList(orderList);
+    }
+
+    @Benchmark
+    public List<OrderDto> mapOrders() {
+        return orderMapper.toDtoList(orderList);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderDtos);
+    }
+}
@@ -1,6 +1,9 @@
 package az.qrfood.backend.auth;
 
+import az.qrfood.backend.common.datasource.PrimaryReads;
 import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.tableassignment.service.WaiterTableIndex;
+import az.qrfood.backend.user.entity.Role;
 import az.qrfood.backend.user.entity.User;
 import az.qrfood.backend.user.entity.UserProfile;
 import az.qrfood.backend.user.service.UserProfileService;
@@ -24,9 +27,11 @@ import java.util.Optional;
 public class PermissionChecker {
 
     private final UserProfileService userProfileService;
+    private final WaiterTableIndex waiterTableIndex;
 
-    public PermissionChecker(UserProfileService userProfileService) {
+    public PermissionChecker(UserProfileService userProfileService, WaiterTableIndex waiterTableIndex) {
         this.userProfileService = userProfileService;
+        this.waiterTableIndex = waiterTableIndex;
     }
 
     /**
@@ -80,7 +85,9 @@ public class PermissionChecker {
         if (!r) return false;
 
         User user = (User) auth.getPrincipal();
-        Optional<UserProfile> userProfileOptional = userProfileService.findProfileByUserWithEateries(user);
+        // on the primary, so an eatery added to the profile a moment ago is already accessible
+        Optional<UserProfile> userProfileOptional =
+                PrimaryReads.call(() -> userProfileService.findProfileByUserWithEateries(user));
 
         if (userProfileOptional.isEmpty()) return false;
 
@@ -94,5 +101,28 @@ public class PermissionChecker {
         return b;
     }
 
+    /**
+     * Checks if the authenticated user may act on a table.
+     * <p>
+     * Only users whose single role is waiter are restricted, to the tables assigned to them;
+     * the answer comes from the {@link WaiterTableIndex} without a query. Combine it with
+     * {@link #hasAnyRoleAndAccess} to check the eatery as well.
+     * </p>
+     *
+     * @param auth     The current {@link Authentication} object.
+     * @param eateryId The eatery the table belongs to.
+     * @param tableId  The table the user wants to act on.
+     * @return {@code true} if the user is not a plain waiter or the table is assigned to them.
+     */
+    public boolean servesTable(Authentication auth, Long eateryId, Long tableId) {
+        if (isSuperAdmin(auth)) return true;
+        boolean plainWaiter = auth.getAuthorities().stream()
+                .allMatch(a -> a.getAuthority().equals(Role.WAITER.name()));
+        if (!plainWaiter) return true;
+
+        User user = (User) auth.getPrincipal();
+        return waiterTableIndex.isAssigned(eateryId, user.getId(), tableId);
+    }
+
 
 }
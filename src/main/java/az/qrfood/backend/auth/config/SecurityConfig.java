@@ -4,6 +4,7 @@ import az.qrfood.backend.auth.filter.JwtRequestFilter;
 import az.qrfood.backend.auth.service.CustomUserDetailsService;
 import az.qrfood.backend.auth.util.JwtUtil;
 import az.qrfood.backend.constant.ApiRoutes;
+import az.qrfood.backend.user.entity.Role;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -82,6 +83,7 @@ public class SecurityConfig {
                 orderId,
                 deviceOrders,
                 orderPost,
+                ApiRoutes.LOGS_FRONTEND_BATCH,
                 ApiRoutes.AUTH_MAGIC_LINK,
                 ApiRoutes.AUTH_VERIFY_TOKEN,
                 ApiRoutes.AUTH_OAUTH_GOOGLE,
@@ -130,6 +132,9 @@ public class SecurityConfig {
                                 .requestMatchers("/swagger-ui/index.html").permitAll()
                                 .requestMatchers("/v3/api-docs/**").permitAll()
                                 .requestMatchers("/v3/api-docs").permitAll()
+                                // =======================================================================    SUPER ADMIN SECTION
+                                .requestMatchers("/actuator/metrics", "/actuator/metrics/**")
+                                .hasAuthority(Role.SUPER_ADMIN.name())
                                 // All other requests require authentication (presence of a valid JWT)
                                 .anyRequest().authenticated()
                 )
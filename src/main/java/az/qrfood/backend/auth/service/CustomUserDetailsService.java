@@ -1,5 +1,6 @@
 package az.qrfood.backend.auth.service;
 
+import az.qrfood.backend.common.datasource.PrimaryReads;
 import az.qrfood.backend.user.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -32,7 +33,8 @@ public class CustomUserDetailsService implements UserDetailsService {
      * <p>
      * This method is called by Spring Security during the authentication process
      * to retrieve user details. It queries the {@link UserRepository} for a user
-     * matching the provided username.
+     * matching the provided username, on the primary database, so that a user registered a moment
+     * ago is found even if the read replica lags.
      * </p>
      *
      * @param username The username (email) of the user to load.
@@ -41,7 +43,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return PrimaryReads.call(() -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("The user not found: " + username));
     }
 
@@ -134,6 +134,7 @@ public class CategoryService {
      * @return A {@link CategoryDto} representing the found category.
      * @throws EntityNotFoundException if the category with the given ID is not found.
      */
+    @Transactional(readOnly = true)
     public CategoryDto findCategoryById(Long id) {
         Optional<Category> category = categoryRepository.findById(id);// todo do not get archived items
         if (category.isEmpty()) {
@@ -143,7 +144,7 @@ public class CategoryService {
         return convertCategoryToDto(category.get());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public CategoryDto findCategoryByEateryIdAndId(Long eateryId, Long id) {
         Optional<Category> category = categoryRepository.findByEateryIdAndId(eateryId, id);
 
@@ -162,6 +163,7 @@ public class CategoryService {
      * @return A list of {@link CategoryDto} representing the categories for the specified eatery.
      * @throws EntityNotFoundException if the eatery with the given ID is not found.
      */
+    @Transactional(readOnly = true)
     public List<CategoryDto> findAllCategoryForEatery(long eateryId) {
 
         List<Category> categories = categoryRepository.findCategoryWithNotMatchingStatus(
@@ -183,6 +185,7 @@ public class CategoryService {
      * @return A list of {@link CategoryDto} representing the categories for the specified eatery.
      * @throws EntityNotFoundException if the eatery with the given ID is not found.
      */
+    @Transactional(readOnly = true)
     public List<CategoryDto> findAllActiveCategoryAndDishes(long eateryId) {
 
         List<Category> categories = categoryRepository.findCategoryAndDishesByStatus(
@@ -215,13 +218,14 @@ public class CategoryService {
      * Converts a single {@link Category} entity to a {@link CategoryDto}.
      * <p>
      * This method maps the entity's properties to the DTO, including its associated
-     * dishes and translations for different languages.
+     * dishes and translations for different languages. It needs no instance state,
+     * so it is static like {@link DishService#convertEntityToDto}.
      * </p>
      *
      * @param category The Category entity to convert.
      * @return The converted Category DTO.
      */
-    private CategoryDto convertCategoryToDto(Category category) {
+    public static CategoryDto convertCategoryToDto(Category category) {
 
         CategoryDto dto = new CategoryDto();
         dto.setEateryId(category.getEatery().getId());
@@ -7,17 +7,19 @@ import az.qrfood.backend.client.dto.ClientDeviceResponseDto;
 import az.qrfood.backend.client.dto.Menu;
 import az.qrfood.backend.client.service.ClientDeviceService;
 import az.qrfood.backend.constant.ApiRoutes;
-import az.qrfood.backend.eatery.service.EateryService;
-import az.qrfood.backend.table.dto.TableDto;
+import az.qrfood.backend.eatery.service.EateryReferenceCache;
 import az.qrfood.backend.table.service.TableService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,6 +30,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,7 +52,7 @@ public class ClientDeviceController {
     private final ClientDeviceService service;
     private final CategoryService categoryService;
     private final TableService tableService;
-    private final EateryService eateryService;
+    private final EateryReferenceCache eateryReferenceCache;
     public static final String DEVICE = "Device_UUID";
 
     /**
@@ -82,14 +85,15 @@ public class ClientDeviceController {
 
         log.debug("Request for menu(categories) for eatery [{}] and table [{}]", eateryId, tableId);
         // check if table exists
-        Optional<TableDto> table = tableService.findById(tableId);
-        if(table.isEmpty()) {
+        Optional<String> tableNumber = tableService.findTableNumber(eateryId, tableId);
+        if(tableNumber.isEmpty()) {
             log.debug("The table doesnt exists [{}]", tableId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
         List<CategoryDto> id = categoryService.findAllActiveCategoryAndDishes(eateryId);
-        String eateryName = eateryService.getEateryById(eateryId).getName();
-        Menu menu = new Menu(eateryId, tableId, eateryName, table.get().number(), id);
+        String eateryName = eateryReferenceCache.findEateryName(eateryId)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Eatery with id %s not found", eateryId)));
+        Menu menu = new Menu(eateryId, tableId, eateryName, tableNumber.get(), id);
         return ResponseEntity.ok(menu);
     }
 
@@ -136,8 +140,10 @@ public class ClientDeviceController {
 
     /**
      * Retrieves all client device records.
+     * The records are streamed to the response as a JSON array of {@link ClientDeviceResponseDto} objects.
      *
-     * @return A {@link ResponseEntity} containing a list of {@link ClientDeviceResponseDto} objects.
+     * @param response The response the JSON array is written to.
+     * @throws IOException if writing the response fails.
      */
     @Operation(summary = "Get all client devices", 
                description = "Retrieves a list of all client device records.")
@@ -147,8 +153,9 @@ public class ClientDeviceController {
     })
     @GetMapping(ApiRoutes.CLIENT_BASE)
     @PreAuthorize("@authz.isSuperAdmin(authentication)")
-    public ResponseEntity<List<ClientDeviceResponseDto>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+    public void getAll(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        service.writeAll(response.getOutputStream());
     }
 
     /**
@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,7 +25,10 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "device")
+@Table(name = "device", indexes = {
+        @Index(name = "idx_device_uuid", columnList = "uuid"),
+        @Index(name = "idx_device_last_seen", columnList = "last_seen_at")
+})
 public class ClientDevice extends BaseEntity {
 
     /**
@@ -33,6 +37,17 @@ public class ClientDevice extends BaseEntity {
      */
     private String uuid;
 
+    /**
+     * The last time the device was seen.
+     * <p>
+     * Written behind by {@link az.qrfood.backend.client.service.DeviceSessionStore}, so it may lag
+     * the real activity by up to one flush interval. Devices not seen for longer than the session
+     * TTL are removed together with their join rows; their orders are kept.
+     * </p>
+     */
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt;
+
     /**
      * A list of orders placed from this client device.
      * <p>
@@ -1,13 +1,24 @@
 package az.qrfood.backend.client.repository;
 
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import az.qrfood.backend.client.entity.ClientDevice;
+import az.qrfood.backend.common.Util;
+import az.qrfood.backend.order.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the {@link ClientDevice} entity.
@@ -27,4 +38,80 @@ public interface ClientDeviceRepository extends JpaRepository<ClientDevice, Long
     Optional<ClientDevice> findByUuid(String uuid);
 
     List<ClientDevice> findByOrdersId(Long id);
+
+    /**
+     * Checks whether a client device exists.
+     *
+     * @param uuid The UUID of the client device.
+     * @return {@code true} if a device with the UUID exists.
+     */
+    boolean existsByUuid(String uuid);
+
+    /**
+     * Checks whether a client device has at least one order in the given status.
+     *
+     * @param uuid   The UUID of the client device.
+     * @param status The status to look for.
+     * @return {@code true} if such an order exists.
+     */
+    @Query("SELECT COUNT(o) > 0 FROM ClientDevice d JOIN d.orders o WHERE d.uuid = :uuid AND o.status = :status")
+    boolean hasOrderInStatus(@Param("uuid") String uuid, @Param("status") OrderStatus status);
+
+    /**
+     * Streams every client device, ordered by ID.
+     * Entities are loaded read-only; the stream must be consumed and closed inside a transaction.
+     *
+     * @return A stream of {@link ClientDevice} entities.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = Util.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM ClientDevice d ORDER BY d.id")
+    Stream<ClientDevice> streamAll();
+
+    /**
+     * Stamps the last activity of a set of devices.
+     *
+     * @param uuids  The UUIDs of the devices.
+     * @param seenAt The time to record.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE ClientDevice d SET d.lastSeenAt = :seenAt WHERE d.uuid IN :uuids")
+    int updateLastSeen(@Param("uuids") Collection<String> uuids, @Param("seenAt") LocalDateTime seenAt);
+
+    /**
+     * Retrieves the IDs of devices not seen since a cutoff, oldest IDs first.
+     * Devices that never recorded any activity are included.
+     *
+     * @param cutoff   Devices last seen before this moment are stale.
+     * @param pageable The maximum number of IDs to return.
+     * @return The IDs of the stale devices.
+     */
+    @Query("SELECT d.id FROM ClientDevice d WHERE d.lastSeenAt IS NULL OR d.lastSeenAt < :cutoff ORDER BY d.id")
+    List<Long> findStaleIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Removes the {@code client_device_orders} rows of a set of devices.
+     * The orders themselves are not touched.
+     *
+     * @param ids The IDs of the devices.
+     * @return The number of removed rows.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM client_device_orders WHERE client_device_id IN (:ids)", nativeQuery = true)
+    int deleteOrderLinks(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Removes a set of devices with a bulk statement.
+     * Unlike {@link #deleteAll(Iterable)} this does not cascade to the orders of the devices;
+     * their join rows must be removed first with {@link #deleteOrderLinks(Collection)}.
+     *
+     * @param ids The IDs of the devices.
+     * @return The number of removed rows.
+     */
+    @Modifying
+    @Query("DELETE FROM ClientDevice d WHERE d.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
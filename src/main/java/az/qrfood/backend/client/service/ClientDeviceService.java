@@ -6,19 +6,26 @@ import az.qrfood.backend.client.dto.ClientDeviceRequestDto;
 import az.qrfood.backend.client.dto.ClientDeviceResponseDto;
 import az.qrfood.backend.client.entity.ClientDevice;
 import az.qrfood.backend.client.repository.ClientDeviceRepository;
+import az.qrfood.backend.common.Util;
+import az.qrfood.backend.common.response.JsonArrayStreamer;
 import az.qrfood.backend.order.OrderStatus;
 import az.qrfood.backend.order.entity.Order;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.Cookie;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing {@link ClientDevice} entities and their associated operations.
@@ -36,6 +43,10 @@ public class ClientDeviceService {
     int cookieExpiraionTime;
     private final ClientDeviceMapper mapper;
     private final ClientDeviceRepository clientDeviceRepository;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final EntityManager entityManager;
+    private final ClientOrderCache clientOrderCache;
+    private final DeviceSessionStore deviceSessionStore;
 
     /**
      * Creates a new cookie with a unique UUID for a client device and associates it with an order.
@@ -59,8 +70,10 @@ public class ClientDeviceService {
 
         ClientDevice device = new ClientDevice();
         device.setUuid(cookie.getValue());
+        device.setLastSeenAt(LocalDateTime.now());
         device.getOrders().add(order);
         clientDeviceRepository.save(device);
+        deviceSessionStore.touch(cookie.getValue());
         log.debug("Created order [{}] for device [{}]", order.getId(), cookie.getValue());
 
         return cookie;
@@ -104,6 +117,20 @@ public class ClientDeviceService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Writes all {@link ClientDevice} records as a JSON array without loading them all at once.
+     *
+     * @param target The stream to write to.
+     * @return The number of written devices.
+     * @throws IOException if writing fails.
+     */
+    @Transactional(readOnly = true)
+    public long writeAll(OutputStream target) throws IOException {
+        try (Stream<ClientDevice> devices = clientDeviceRepository.streamAll()) {
+            return jsonArrayStreamer.write(devices.map(mapper::toDto), target, entityManager::clear);
+        }
+    }
+
     /**
      * Updates an existing {@link ClientDevice} with new information.
      *
@@ -137,24 +164,10 @@ public class ClientDeviceService {
      * @throws EntityNotFoundException if no client device with the given UUID is found.
      */
     public boolean resolveCookie(String cookie) {
-        Optional<ClientDevice> op = clientDeviceRepository.findByUuid(cookie);
-        if(op.isEmpty()){
+        if (!clientDeviceRepository.existsByUuid(cookie)) {
             throw new EntityNotFoundException("The entity of ClientDevice not found" + cookie);
         }
-        List<Order> orders = op.get().getOrders();
-
-        return hasActive(orders);
-    }
-
-    /**
-     * Checks if any of the provided orders have a status of {@code NEW}.
-     *
-     * @param orders A list of {@link Order} objects.
-     * @return {@code true} if at least one order has a status of {@code NEW}, {@code false} otherwise.
-     */
-    private boolean hasActive(List<Order> orders) {
-        return orders.stream()
-                .anyMatch(o -> o.getStatus().equals(OrderStatus.CREATED));
+        return clientDeviceRepository.hasOrderInStatus(cookie, OrderStatus.CREATED);
     }
 
     /**
@@ -181,6 +194,9 @@ public class ClientDeviceService {
 
         device.getOrders().add(order);
         clientDeviceRepository.save(device);
+        deviceSessionStore.touch(uuid);
+        clientOrderCache.invalidate(uuid, order.getTable().getEatery().getId(),
+                Util.businessDay(order.getCreatedAt(), Util.DAY_STARTS_AT_HOUR));
         log.debug("Added order [{}] to existing device [{}]", order.getId(), uuid);
 
         // Return the existing cookie for consistency with createCookieUuid
@@ -204,4 +220,18 @@ public class ClientDeviceService {
                     return createCookieUuid(order);
                 });
     }
+
+    /**
+     * Removes a chunk of stale devices and their links to orders; the orders are kept.
+     *
+     * @param ids The IDs of the devices.
+     * @return The number of removed devices.
+     */
+    @Transactional
+    public int deleteStaleDevices(List<Long> ids) {
+        int links = clientDeviceRepository.deleteOrderLinks(ids);
+        int devices = clientDeviceRepository.deleteByIdIn(ids);
+        log.debug("Removed [{}] stale devices and [{}] order links", devices, links);
+        return devices;
+    }
 }
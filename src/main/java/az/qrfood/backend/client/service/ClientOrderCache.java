@@ -0,0 +1,90 @@
+package az.qrfood.backend.client.service;
+
+import az.qrfood.backend.common.cache.SnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the orders a client device placed in an eatery during one business day.
+ * <p>
+ * Every QR scan of a returning diner asks whether the device already has orders today, so the
+ * answer is kept per device cookie, eatery and business day. Only order IDs are cached: the set
+ * changes when an order is attached to a device or deleted, never when its status changes.
+ * The least recently used entries are dropped once {@code app.client-orders.cache.max-entries}
+ * is reached; entries of past business days are simply never asked for again and age out.
+ * An entry is reloaded once it is older than {@code app.client-orders.cache.max-age}; see
+ * {@link SnapshotCache} for how invalidation and loading interact.
+ * </p>
+ */
+@Log4j2
+@Component
+public class ClientOrderCache {
+
+    private final SnapshotCache<Key, List<Long>> entries;
+
+    /**
+     * Constructs a ClientOrderCache.
+     *
+     * @param maxEntries    The number of (device, eatery, day) entries kept in memory.
+     * @param maxAge        How long an entry is trusted without invalidation.
+     * @param meterRegistry The registry of the cache metrics.
+     */
+    public ClientOrderCache(@Value("${app.client-orders.cache.max-entries:10000}") int maxEntries,
+                            @Value("${app.client-orders.cache.max-age:60s}") Duration maxAge,
+                            MeterRegistry meterRegistry) {
+        this.entries = new SnapshotCache<>("client-orders", maxEntries, maxAge, meterRegistry);
+    }
+
+    /**
+     * Returns the cached order IDs of a device, loading them on a miss.
+     *
+     * @param deviceUuid The UUID from the device cookie.
+     * @param eateryId   The ID of the eatery.
+     * @param day        The business day.
+     * @param loader     Reads the order IDs from the database.
+     * @return The order IDs, never {@code null}.
+     */
+    public List<Long> get(String deviceUuid, Long eateryId, LocalDate day, Supplier<List<Long>> loader) {
+        return entries.get(new Key(deviceUuid, eateryId, day), () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Drops the entry of a device after one of its orders was attached or deleted.
+     *
+     * @param deviceUuid The UUID of the device.
+     * @param eateryId   The ID of the eatery of the order.
+     * @param day        The business day of the order.
+     */
+    public void invalidate(String deviceUuid, Long eateryId, LocalDate day) {
+        entries.invalidate(new Key(deviceUuid, eateryId, day));
+        log.debug("Client orders of device [{}] in eatery [{}] on [{}] invalidated", deviceUuid, eateryId, day);
+    }
+
+    /**
+     * Drops the entries of all devices in an eatery, after the eatery was deleted.
+     *
+     * @param eateryId The ID of the eatery.
+     */
+    public void invalidateEatery(Long eateryId) {
+        entries.invalidateIf(key -> key.eateryId().equals(eateryId));
+        log.debug("Client orders of eatery [{}] invalidated", eateryId);
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Key(String deviceUuid, Long eateryId, LocalDate day) {
+    }
+}
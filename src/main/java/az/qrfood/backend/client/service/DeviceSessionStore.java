@@ -0,0 +1,221 @@
+package az.qrfood.backend.client.service;
+
+import az.qrfood.backend.client.repository.ClientDeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory store of live client-device sessions.
+ * <p>
+ * A session is opened or extended every time a device cookie is seen and lives for
+ * {@code app.device-session.ttl} after the last activity. Activity is not written per request:
+ * {@link #flush()} copies the devices seen since the previous flush into {@code device.last_seen_at}
+ * with one statement per chunk, and the sweeper removes devices whose {@code last_seen_at} is older
+ * than the TTL. The number of sessions is capped by {@code app.device-session.max-sessions};
+ * cookies seen while the store is full are not tracked in memory, and their devices age out
+ * on the database side like any other.
+ * </p>
+ */
+@Log4j2
+@Component
+public class DeviceSessionStore {
+
+    /**
+     * Upper bound of UUIDs bound into one {@code IN} list.
+     */
+    static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final ClientDeviceRepository clientDeviceRepository;
+    private final Duration ttl;
+    private final int maxSessions;
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter expired;
+
+    /**
+     * Constructs a DeviceSessionStore.
+     *
+     * @param clientDeviceRepository The repository the activity is written to.
+     * @param meterRegistry          The registry the session metrics are published to.
+     * @param ttl                    How long a session lives after its last activity.
+     * @param maxSessions            The number of sessions kept in memory.
+     */
+    public DeviceSessionStore(ClientDeviceRepository clientDeviceRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.device-session.ttl:24h}") Duration ttl,
+                              @Value("${app.device-session.max-sessions:100000}") int maxSessions) {
+        this.clientDeviceRepository = clientDeviceRepository;
+        this.ttl = ttl;
+        this.maxSessions = maxSessions;
+        Gauge.builder("qrfood.device.sessions.live", sessions, Map::size)
+                .description("Client-device sessions currently held in memory")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("qrfood.device.sessions.rejected")
+                .description("Device cookies not tracked because the session store was full")
+                .register(meterRegistry);
+        this.expired = Counter.builder("qrfood.device.sessions.expired")
+                .description("Sessions dropped after the TTL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records activity of a device, opening its session if needed.
+     *
+     * @param deviceUuid The UUID from the device cookie.
+     */
+    public void touch(String deviceUuid) {
+        Session session = sessions.get(deviceUuid);
+        if (session == null) {
+            if (sessions.size() >= maxSessions) {
+                rejected.increment();
+                return;
+            }
+            session = sessions.computeIfAbsent(deviceUuid, k -> new Session());
+        }
+        session.touch(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks whether a device was seen within the TTL.
+     *
+     * @param deviceUuid The UUID of the device.
+     * @return {@code true} if the device has a live session in this instance.
+     */
+    public boolean isLive(String deviceUuid) {
+        Session session = sessions.get(deviceUuid);
+        return session != null && !session.isOlderThan(System.currentTimeMillis() - ttl.toMillis());
+    }
+
+    /**
+     * Drops the sessions of devices whose orders were deleted with their eatery.
+     * A device seen again opens a new session.
+     *
+     * @param deviceUuids The UUIDs of the devices.
+     */
+    public void evict(Collection<String> deviceUuids) {
+        deviceUuids.forEach(sessions::remove);
+    }
+
+    /**
+     * Returns the number of sessions held in memory.
+     *
+     * @return The number of sessions.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the session TTL.
+     *
+     * @return The TTL.
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Writes the activity recorded since the previous flush to {@code device.last_seen_at}.
+     * <p>
+     * All devices of a flush are stamped with the flush time, which overstates their activity
+     * by at most one flush interval. If the write fails the devices are marked again,
+     * so the next flush retries them.
+     * </p>
+     *
+     * @return The number of updated device rows.
+     */
+    @Transactional
+    public int flush() {
+        List<String> dirty = new ArrayList<>();
+        sessions.forEach((uuid, session) -> {
+            if (session.clearDirty()) {
+                dirty.add(uuid);
+            }
+        });
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime seenAt = LocalDateTime.now();
+        int updated = 0;
+        try {
+            for (int from = 0; from < dirty.size(); from += FLUSH_CHUNK_SIZE) {
+                List<String> chunk = dirty.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, dirty.size()));
+                updated += clientDeviceRepository.updateLastSeen(chunk, seenAt);
+            }
+        } catch (RuntimeException e) {
+            dirty.forEach(uuid -> {
+                Session session = sessions.get(uuid);
+                if (session != null) {
+                    session.markDirty();
+                }
+            });
+            throw e;
+        }
+        log.debug("Flushed activity of [{}] device sessions, [{}] device rows updated", dirty.size(), updated);
+        return updated;
+    }
+
+    /**
+     * Drops the sessions not seen within the TTL.
+     * Sessions still waiting for a flush are kept until they are written.
+     *
+     * @return The number of dropped sessions.
+     */
+    public int expire() {
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        int dropped = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            Session session = it.next();
+            if (session.isOlderThan(cutoff) && !session.isDirty()) {
+                it.remove();
+                dropped++;
+            }
+        }
+        expired.increment(dropped);
+        return dropped;
+    }
+
+    private static final class Session {
+
+        private volatile long lastSeenMillis;
+        private volatile boolean dirty;
+
+        void touch(long now) {
+            lastSeenMillis = now;
+            dirty = true;
+        }
+
+        boolean clearDirty() {
+            boolean wasDirty = dirty;
+            dirty = false;
+            return wasDirty;
+        }
+
+        void markDirty() {
+            dirty = true;
+        }
+
+        boolean isDirty() {
+            return dirty;
+        }
+
+        boolean isOlderThan(long cutoffMillis) {
+            return lastSeenMillis < cutoffMillis;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.beans.BeanUtils;
 import org.springframework.web.multipart.MultipartFile;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
@@ -13,7 +12,6 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -27,7 +25,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A utility class providing various helper methods for common tasks
- * such as object property copying, image manipulation, file operations,
+ * such as image manipulation, file operations,
  * and URL generation.
  */
 @Log4j2
@@ -35,31 +33,19 @@ public class Util {
 
     private static final String LINKS_FILE_PATH = "links.md";
 
-    static ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Hour at which a business day of an eatery starts; orders placed before it belong to the previous day.
+     */
+    public static final int DAY_STARTS_AT_HOUR = 6;
 
     /**
-     * Copies properties from a source object to a new instance of a destination class.
-     * This method uses Spring's {@link BeanUtils#copyProperties(Object, Object)} internally.
-     *
-     * @param source           The source object from which properties will be copied.
-     * @param destinationClass The {@link Class} object representing the destination type.
-     * @param <SR>             The type of the source object.
-     * @param <DS>             The type of the destination object.
-     * @return A new instance of the destination class with properties copied from the source,
-     * or {@code null} if an error occurs during instantiation.
+     * Fetch size hint of the repository streams. Every driver accepts it; MySQL Connector/J only reads
+     * the rows in batches of this size, instead of buffering the whole result, when the URL sets
+     * {@code useCursorFetch=true}.
      */
-    public static <SR, DS> DS copyProperties(SR source, Class<DS> destinationClass) {
-        DS target = null;
-        try {
-            target = destinationClass.getDeclaredConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            log.error("Error instantiating [{}]", destinationClass, e);
-        }
-        assert target != null;
-        BeanUtils.copyProperties(source, target);
-        return target;
-    }
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    static ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Creates a {@link BufferedImage} from a byte array representing image data.
@@ -299,6 +285,19 @@ public class Util {
         return isAtOrAfterStart && isBeforeEnd;
     }
 
+    /**
+     * Returns the business day a timestamp belongs to.
+     * A business day runs from {@code dayStartsAtHour} until the same hour of the next calendar day,
+     * so an order placed at 02:00 is counted for the previous day.
+     *
+     * @param dateTime        The timestamp to classify.
+     * @param dayStartsAtHour The hour at which a business day starts.
+     * @return The business day of the timestamp.
+     */
+    public static LocalDate businessDay(LocalDateTime dateTime, int dayStartsAtHour) {
+        return dateTime.minusHours(dayStartsAtHour).toLocalDate();
+    }
+
     /**
      * Gets a random integer between min (inclusive) and max (inclusive).
      *
@@ -0,0 +1,174 @@
+package az.qrfood.backend.common.cache;
+
+import az.qrfood.backend.common.datasource.PrimaryReads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of values loaded from the database, such as the per-eatery snapshots
+ * behind {@link az.qrfood.backend.eatery.service.EateryReferenceCache},
+ * {@link az.qrfood.backend.tableassignment.service.WaiterTableIndex} and
+ * {@link az.qrfood.backend.client.service.ClientOrderCache}.
+ * <p>
+ * A value is loaded on the first lookup and answered from memory until it is invalidated or grows
+ * older than the max age. Invalidation is local to this application instance, so the max age
+ * bounds how long another instance can serve a value that was changed elsewhere. At most
+ * {@code maxEntries} values are kept; beyond that the least recently used one is dropped.
+ * </p>
+ * <p>
+ * Loads run without holding the cache, so a slow load never blocks lookups of other keys, and read
+ * from the primary, so a lagging replica cannot refill the cache with rows older than an
+ * invalidation that has already run. Every invalidation moves a generation counter, and a load
+ * that overlapped one is returned to its caller but not stored, since it may have read the rows
+ * the invalidation was about. Inside a transaction, invalidated values are dropped again once the
+ * transaction completes, so a value loaded concurrently from the old rows does not survive the commit.
+ * </p>
+ * <p>
+ * Lookups, evictions and the size are published as {@code qrfood.cache.*}, tagged with the name
+ * of the cache.
+ * </p>
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public class SnapshotCache<K, V> {
+
+    //<editor-fold desc="Fields">
+    private final int maxEntries;
+    private final long maxAgeNanos;
+    // access ordered, so the eldest entry is the least recently used one; guarded by itself
+    private final LinkedHashMap<K, Snapshot<V>> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    /**
+     * Constructs a SnapshotCache and registers its metrics.
+     *
+     * @param name          The name of the cache in the {@code cache} tag of the metrics.
+     * @param maxEntries    The number of values kept in memory.
+     * @param maxAge        How long a value is trusted without invalidation.
+     * @param meterRegistry The registry of the cache metrics.
+     */
+    public SnapshotCache(String name, int maxEntries, Duration maxAge, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.hits = meterRegistry.counter("qrfood.cache.requests", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("qrfood.cache.requests", "cache", name, "result", "miss");
+        this.evictions = meterRegistry.counter("qrfood.cache.evictions", "cache", name);
+        Gauge.builder("qrfood.cache.size", this, SnapshotCache::size)
+                .description("Entries held by an in-memory cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+    //</editor-fold>
+
+    /**
+     * Returns the value of a key, loading it on a miss.
+     *
+     * @param key    The key.
+     * @param loader Reads the value from the database; may return {@code null}, which is not stored.
+     * @return The value, or {@code null} if the loader found none.
+     */
+    public V get(K key, Supplier<V> loader) {
+        long generation;
+        synchronized (snapshots) {
+            Snapshot<V> current = snapshots.get(key);
+            if (current != null && !current.isOlderThan(maxAgeNanos)) {
+                hits.increment();
+                return current.value();
+            }
+            generation = invalidations;
+        }
+        misses.increment();
+        V value = PrimaryReads.call(loader);
+        if (value != null) {
+            install(key, new Snapshot<>(value, System.nanoTime()), generation);
+        }
+        return value;
+    }
+
+    /**
+     * Drops the value of a key after the rows it was loaded from changed.
+     *
+     * @param key The key.
+     */
+    public void invalidate(K key) {
+        dropNowAndAfterCompletion(() -> snapshots.remove(key));
+    }
+
+    /**
+     * Drops the values of all keys matching a condition, for example all keys of one eatery.
+     *
+     * @param condition Selects the keys to drop.
+     */
+    public void invalidateIf(Predicate<? super K> condition) {
+        dropNowAndAfterCompletion(() -> snapshots.keySet().removeIf(condition));
+    }
+
+    /**
+     * Returns the number of cached values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+
+    private void dropNowAndAfterCompletion(Runnable removal) {
+        drop(removal);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(removal);
+                }
+            });
+        }
+    }
+
+    private void drop(Runnable removal) {
+        synchronized (snapshots) {
+            invalidations++;
+            removal.run();
+        }
+    }
+
+    private void install(K key, Snapshot<V> loaded, long generation) {
+        synchronized (snapshots) {
+            if (invalidations != generation) {
+                return;
+            }
+            Snapshot<V> existing = snapshots.get(key);
+            if (existing == null || existing.loadedAtNanos() < loaded.loadedAtNanos()) {
+                snapshots.put(key, loaded);
+            }
+            Iterator<Snapshot<V>> eldest = snapshots.values().iterator();
+            while (snapshots.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private record Snapshot<V>(V value, long loadedAtNanos) {
+
+        boolean isOlderThan(long maxAgeNanos) {
+            return System.nanoTime() - loadedAtNanos > maxAgeNanos;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package az.qrfood.backend.common.config;
 
 import az.qrfood.backend.common.Util;
+import az.qrfood.backend.mail.service.EmailTemplateResolver;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
@@ -18,7 +19,6 @@ import org.springframework.boot.info.GitProperties;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
@@ -32,13 +32,11 @@ import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 import org.thymeleaf.templateresolver.ITemplateResolver;
-import org.thymeleaf.templateresolver.StringTemplateResolver;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
-import java.util.concurrent.Executor;
 
 /**
  * Main Spring configuration class for the QR Food Order backend application.
@@ -170,45 +168,41 @@ public class Configuration {
         return new GitProperties(properties);
     }
 
-    // Настраиваем пул потоков, чтобы почта не тормозила основной сервер
-    @Bean(name = "emailExecutor")
-    public Executor emailExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("EmailWorker-");
-        executor.initialize();
-        return executor;
+    /**
+     * Provides the resolver of the email templates stored in the database.
+     *
+     * @param cacheable Whether parsed templates are cached; turn off while editing templates locally.
+     * @return An instance of {@link EmailTemplateResolver}.
+     */
+    @Bean
+    public EmailTemplateResolver emailTemplateResolver(@Value("${app.mail.template-cache:true}") boolean cacheable) {
+        return new EmailTemplateResolver(cacheable);
     }
 
     // 2. Специальный движок для обработки строк из БД (решает проблему Resolve)
     @Bean(name = "textTemplateEngine")
-    public TemplateEngine textTemplateEngine(MessageSource messageSource) {
+    public TemplateEngine textTemplateEngine(MessageSource messageSource, EmailTemplateResolver emailTemplateResolver) {
         SpringTemplateEngine engine = new SpringTemplateEngine();
-        StringTemplateResolver resolver = new StringTemplateResolver();
-        resolver.setTemplateMode(TemplateMode.HTML);
-        resolver.setCacheable(false);
-        engine.setTemplateResolver(resolver);
+        engine.setTemplateResolver(emailTemplateResolver);
         engine.setTemplateEngineMessageSource(messageSource);
         return engine;
     }
 
     @Bean(name = "springTemplateEngine")
     @Primary
-    public TemplateEngine springTemplateEngine() {
+    public TemplateEngine springTemplateEngine(@Value("${app.mail.template-cache:true}") boolean cacheable) {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
-        templateEngine.addTemplateResolver(htmlTemplateResolver());
+        templateEngine.addTemplateResolver(htmlTemplateResolver(cacheable));
         return templateEngine;
     }
 
-    private ITemplateResolver htmlTemplateResolver() {
+    private ITemplateResolver htmlTemplateResolver(boolean cacheable) {
         ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
         resolver.setPrefix("/templates/"); // Папка, где лежат файлы
         resolver.setSuffix(".html");       // Расширение, которое мы не пишем в коде
         resolver.setTemplateMode(TemplateMode.HTML);
         resolver.setCharacterEncoding("UTF-8");
-        resolver.setCacheable(false);      // Выключи кэш для разработки
+        resolver.setCacheable(cacheable);  // app.mail.template-cache=false для разработки
         return resolver;
     }
 
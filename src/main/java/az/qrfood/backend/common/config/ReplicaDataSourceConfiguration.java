@@ -0,0 +1,109 @@
+package az.qrfood.backend.common.config;
+
+import az.qrfood.backend.common.datasource.ReadReplicaRoutingDataSource;
+import az.qrfood.backend.common.datasource.ReadYourWritesWindow;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits database traffic between the primary and a read replica.
+ * <p>
+ * Active only when {@code app.datasource.replica.url} is set; otherwise Spring Boot creates the
+ * single {@code spring.datasource} pool as before. Transactions marked
+ * {@code @Transactional(readOnly = true)}, which include the finder methods of the Spring Data
+ * repositories, run on the replica when they serve an HTTP request; all others, and all work of
+ * background threads, run on the primary. See
+ * {@link ReadReplicaRoutingDataSource} and {@link ReadYourWritesWindow}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaDataSourceConfiguration {
+
+    /**
+     * Provides the connection pool of the primary database, configured by {@code spring.datasource}.
+     *
+     * @param properties The {@code spring.datasource} properties.
+     * @return The primary pool.
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * Provides the connection pool of the replica; the credentials default to those of the primary.
+     *
+     * @param properties The {@code spring.datasource} properties.
+     * @param url        The JDBC URL of the replica.
+     * @param username   The user of the replica.
+     * @param password   The password of the replica.
+     * @return The replica pool.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * Provides the data source used by JPA and JDBC, routing each transaction when it runs its first statement.
+     *
+     * @param primary        The primary pool.
+     * @param replica        The replica pool.
+     * @param readYourWrites How long the reads of an eatery stay on the primary after it was written to.
+     * @param meterRegistry  The registry of the routing metrics.
+     * @return The routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${app.datasource.replica.read-your-writes:5s}") Duration readYourWrites,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                primary, replica, new ReadYourWritesWindow(readYourWrites), meterRegistry));
+    }
+
+    /**
+     * Makes Hibernate return the connection after every transaction.
+     * <p>
+     * With open-in-view the session lives for the whole request and by default keeps its first
+     * connection, so a write after a read-only transaction would run on the replica.
+     * </p>
+     *
+     * @return The customizer of the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
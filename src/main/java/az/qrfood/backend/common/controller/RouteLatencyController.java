@@ -0,0 +1,69 @@
+package az.qrfood.backend.common.controller;
+
+import az.qrfood.backend.common.metrics.RouteLatencyRegistry;
+import az.qrfood.backend.common.metrics.dto.RouteLatencyDto;
+import az.qrfood.backend.constant.ApiRoutes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+/**
+ * REST controller exposing the per-route request latency recorded by the request filter.
+ */
+@Log4j2
+@RestController
+@Tag(name = "Metrics", description = "Per-route latency of the API")
+public class RouteLatencyController {
+
+    //<editor-fold desc="Fields">
+    private final RouteLatencyRegistry routeLatencyRegistry;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    public RouteLatencyController(RouteLatencyRegistry routeLatencyRegistry) {
+        this.routeLatencyRegistry = routeLatencyRegistry;
+    }
+    //</editor-fold>
+
+    /**
+     * Retrieves the latency percentiles and throughput of every route since the last reset.
+     *
+     * @return A list of {@link RouteLatencyDto}, busiest route first.
+     */
+    @Operation(summary = "Get per-route latency", description = "Returns p50/p95/p99 latency and throughput per route pattern since the last reset")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Latency retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a super admin")
+    })
+    @GetMapping(ApiRoutes.ADMIN_METRICS_LATENCY)
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    public ResponseEntity<List<RouteLatencyDto>> getLatency() {
+        return ResponseEntity.ok(routeLatencyRegistry.snapshot());
+    }
+
+    /**
+     * Discards the recorded latency and starts a new measurement window.
+     *
+     * @return A {@link ResponseEntity} with status 204 (No Content).
+     */
+    @Operation(summary = "Reset per-route latency", description = "Discards the recorded latency and starts a new measurement window")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Latency reset"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a super admin")
+    })
+    @DeleteMapping(ApiRoutes.ADMIN_METRICS_LATENCY)
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    public ResponseEntity<Void> resetLatency() {
+        log.debug("Request to reset route latency");
+        routeLatencyRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,43 @@
+package az.qrfood.backend.common.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the reads of a block of code to the primary even when they run in read-only transactions.
+ * <p>
+ * Used for reads whose result must include the latest commits: authentication and permission
+ * lookups, which a lagging replica would answer with 401 or 403 right after a user or eatery was
+ * created, and the loaders of in-memory caches, which would otherwise keep a lagging snapshot for
+ * their whole max age. The hint applies to the connections taken while the block runs; a
+ * transaction that already holds a replica connection keeps it, so call it from outside such
+ * transactions. Without a replica it has no effect.
+ * </p>
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Runs a block with its reads on the primary.
+     *
+     * @param work The block.
+     * @param <T>  The type of the result.
+     * @return The result of the block.
+     */
+    public static <T> T call(Supplier<T> work) {
+        int[] depth = DEPTH.get();
+        depth[0]++;
+        try {
+            return work.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    static boolean isActive() {
+        return DEPTH.get()[0] > 0;
+    }
+}
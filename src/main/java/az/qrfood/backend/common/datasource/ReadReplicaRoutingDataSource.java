@@ -0,0 +1,76 @@
+package az.qrfood.backend.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends the read-only transactions of HTTP requests to a replica and everything else to the primary.
+ * <p>
+ * The target is chosen when a connection is taken, so this data source must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}; otherwise the connection is taken when the transaction
+ * begins, before it is marked read-only. Reads that follow a write of the same request, eatery or
+ * user go to the primary as long as the {@link ReadYourWritesWindow} says so, and reads inside
+ * {@link PrimaryReads#call} always do. The routes taken are counted in {@code qrfood.datasource.routes}.
+ * </p>
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReadYourWritesWindow readYourWrites;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final TransactionSynchronization commitListener = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            readYourWrites.recordWrite();
+        }
+    };
+
+    /**
+     * Constructs a ReadReplicaRoutingDataSource.
+     *
+     * @param primary        The data source of the primary database.
+     * @param replica        The data source of the replica.
+     * @param readYourWrites The window keeping reads on the primary after writes.
+     * @param meterRegistry  The registry of the routing metrics.
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary,
+                                        DataSource replica,
+                                        ReadYourWritesWindow readYourWrites,
+                                        MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.writes = meterRegistry.counter("qrfood.datasource.routes", "route", "write");
+        this.replicaReads = meterRegistry.counter("qrfood.datasource.routes", "route", "replica");
+        this.pinnedReads = meterRegistry.counter("qrfood.datasource.routes", "route", "pinned");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // the synchronizations are a set, so the listener is registered once per transaction
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(commitListener);
+            }
+            writes.increment();
+            return Target.PRIMARY;
+        }
+        if (PrimaryReads.isActive() || readYourWrites.requiresPrimary()) {
+            pinnedReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+}
@@ -0,0 +1,129 @@
+package az.qrfood.backend.common.datasource;
+
+import az.qrfood.backend.category.entity.Category;
+import az.qrfood.backend.category.entity.CategoryTranslation;
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.dish.entity.DishEntityTranslation;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.eatery.entity.EateryPhone;
+import az.qrfood.backend.eatery.entity.EateryTeardown;
+import az.qrfood.backend.kitchendepartment.entity.KitchenDepartmentEntity;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.tableassignment.entity.TableAssignment;
+import az.qrfood.backend.user.entity.User;
+import az.qrfood.backend.user.entity.UserProfile;
+import org.hibernate.Hibernate;
+import org.hibernate.Interceptor;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+
+/**
+ * Tells the {@link ReadYourWritesWindow} which eateries and users a transaction writes.
+ * <p>
+ * Registered through {@code spring.jpa.properties.hibernate.session_factory.interceptor}; it sees
+ * every entity Hibernate inserts, updates or deletes, and every changed collection such as the
+ * eateries of a user profile. Only associations that are already loaded are followed, so it never
+ * runs a query during a flush. Bulk JPQL statements bypass it; they are only used by background
+ * work, which reads from the primary anyway.
+ * </p>
+ */
+public class ReadYourWritesInterceptor implements Interceptor {
+
+    @Override
+    public boolean onSave(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        record(entity);
+        return false;
+    }
+
+    @Override
+    public boolean onFlushDirty(Object entity, Object id, Object[] currentState, Object[] previousState,
+                                String[] propertyNames, Type[] types) {
+        record(entity);
+        return false;
+    }
+
+    @Override
+    public void onDelete(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        record(entity);
+    }
+
+    @Override
+    public void onCollectionRecreate(Object collection, Object key) {
+        recordOwner(collection);
+    }
+
+    @Override
+    public void onCollectionRemove(Object collection, Object key) {
+        recordOwner(collection);
+    }
+
+    @Override
+    public void onCollectionUpdate(Object collection, Object key) {
+        recordOwner(collection);
+    }
+
+    private static void recordOwner(Object collection) {
+        if (collection instanceof PersistentCollection<?> persistentCollection) {
+            record(persistentCollection.getOwner());
+        }
+    }
+
+    private static void record(Object entity) {
+        if (entity instanceof User user) {
+            ReadYourWritesWindow.userWritten(user.getUsername());
+        } else if (entity instanceof UserProfile profile) {
+            if (loaded(profile.getUser()) instanceof User user) {
+                ReadYourWritesWindow.userWritten(user.getUsername());
+            }
+            if (profile.getEateries() != null && Hibernate.isInitialized(profile.getEateries())) {
+                profile.getEateries().forEach(eatery -> ReadYourWritesWindow.eateryWritten(idOf(eatery)));
+            }
+        } else {
+            ReadYourWritesWindow.eateryWritten(eateryIdOf(entity));
+        }
+    }
+
+    private static Long eateryIdOf(Object entity) {
+        if (entity instanceof Eatery eatery) {
+            return eatery.getId();
+        } else if (entity instanceof EateryTeardown teardown) {
+            return teardown.getEateryId();
+        } else if (entity instanceof TableInEatery table) {
+            return idOf(table.getEatery());
+        } else if (entity instanceof Category category) {
+            return idOf(category.getEatery());
+        } else if (entity instanceof KitchenDepartmentEntity department) {
+            return idOf(department.getRestaurant());
+        } else if (entity instanceof EateryPhone phone) {
+            return idOf(phone.getRestaurant());
+        } else if (entity instanceof CategoryTranslation translation) {
+            return eateryIdOf(loaded(translation.getCategory()));
+        } else if (entity instanceof DishEntity dish) {
+            return eateryIdOf(loaded(dish.getCategory()));
+        } else if (entity instanceof DishEntityTranslation translation) {
+            return eateryIdOf(loaded(translation.getDishItem()));
+        } else if (entity instanceof Order order) {
+            return eateryIdOf(loaded(order.getTable()));
+        } else if (entity instanceof OrderItem item) {
+            return eateryIdOf(loaded(item.getOrder()));
+        } else if (entity instanceof TableAssignment assignment) {
+            return eateryIdOf(loaded(assignment.getTable()));
+        }
+        return null;
+    }
+
+    private static Object loaded(Object reference) {
+        return Hibernate.isInitialized(reference) ? Hibernate.unproxy(reference) : null;
+    }
+
+    private static Long idOf(Eatery eatery) {
+        // the ID of a lazy reference is known without loading it
+        if (eatery instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return eatery == null ? null : eatery.getId();
+    }
+}
@@ -0,0 +1,200 @@
+package az.qrfood.backend.common.datasource;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers recent writes so that the reads following them are not served by a lagging replica.
+ * <p>
+ * A committed write pins the rest of the current request to the primary. For {@code window}
+ * after it, the primary also serves every request whose path carries the {@code {eateryId}} of
+ * an eatery the transaction wrote to, and every request of the user who wrote, or whose user row
+ * was written. The written eateries and users are collected from the flushed entities by
+ * {@link ReadYourWritesInterceptor}, so writes on routes without an {@code {eateryId}}, such as
+ * registration or creating an eatery, are covered as well. The window is kept per application
+ * instance, so it should cover the usual replication lag with some margin.
+ * </p>
+ * <p>
+ * The authentication endpoints always read from the primary, since a login right after
+ * registration must find the new user. Work outside HTTP requests, such as the schedulers, the
+ * outbox drain and the background teardown, always reads from the primary too: it acts on the
+ * rows its previous run changed, and a lagging replica would make it repeat that work.
+ * </p>
+ */
+public class ReadYourWritesWindow {
+
+    static final String WROTE_ATTRIBUTE = ReadYourWritesWindow.class.getName() + ".WROTE";
+    private static final String EATERY_ID = "eateryId";
+    private static final String AUTH_PATHS = ApiRoutes.AUTH + "/";
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentMap<Long, Long> eateryWrites = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> userWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a ReadYourWritesWindow.
+     *
+     * @param window How long the reads of an eatery or user stay on the primary after its last write.
+     */
+    public ReadYourWritesWindow(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Notes that the current transaction writes rows of an eatery; recorded if it commits.
+     *
+     * @param eateryId The ID of the eatery, ignored if {@code null}.
+     */
+    public static void eateryWritten(Long eateryId) {
+        if (eateryId != null) {
+            currentWrites().ifPresent(writes -> writes.eateryIds.add(eateryId));
+        }
+    }
+
+    /**
+     * Notes that the current transaction writes the account of a user; recorded if it commits.
+     *
+     * @param username The username, ignored if {@code null}.
+     */
+    public static void userWritten(String username) {
+        if (username != null) {
+            currentWrites().ifPresent(writes -> writes.usernames.add(username));
+        }
+    }
+
+    /**
+     * Records that the current transaction committed a write. Called after the commit.
+     */
+    public void recordWrite() {
+        long now = System.nanoTime();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                if (synchronization instanceof Writes writes) {
+                    writes.eateryIds.forEach(eateryId -> eateryWrites.put(eateryId, now));
+                    writes.usernames.forEach(username -> userWrites.put(username, now));
+                }
+            }
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            currentUsername().ifPresent(username -> userWrites.put(username, now));
+        }
+        prune(eateryWrites, now);
+        prune(userWrites, now);
+    }
+
+    /**
+     * Tells whether the reads of the current request must go to the primary.
+     *
+     * @return {@code true} outside HTTP requests, on the authentication endpoints, if the request
+     *         wrote itself, or if its eatery or user was written to within the window.
+     */
+    public boolean requiresPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return true;
+        }
+        if (attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        if (isAuthenticationRequest(attributes)) {
+            return true;
+        }
+        Optional<Long> eateryId = currentEateryId(attributes);
+        if (eateryId.isPresent() && isRecent(eateryWrites, eateryId.get())) {
+            return true;
+        }
+        Optional<String> username = currentUsername();
+        return username.isPresent() && isRecent(userWrites, username.get());
+    }
+
+    private <K> boolean isRecent(ConcurrentMap<K, Long> writes, K key) {
+        Long writtenAt = writes.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        writes.remove(key, writtenAt);
+        return false;
+    }
+
+    private void prune(ConcurrentMap<?, Long> writes, long now) {
+        if (writes.size() > PRUNE_THRESHOLD) {
+            writes.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+
+    private static Optional<Writes> currentWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.empty();
+        }
+        // the synchronizations are suspended with their transaction, so a nested one gets its own
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Writes writes) {
+                return Optional.of(writes);
+            }
+        }
+        Writes writes = new Writes();
+        TransactionSynchronizationManager.registerSynchronization(writes);
+        return Optional.of(writes);
+    }
+
+    private static boolean isAuthenticationRequest(RequestAttributes attributes) {
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        return request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATHS);
+    }
+
+    private static Optional<String> currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(authentication.getName());
+    }
+
+    private static Optional<Long> currentEateryId(RequestAttributes attributes) {
+        Object variables = attributes.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (!(variables instanceof Map<?, ?> pathVariables) || !(pathVariables.get(EATERY_ID) instanceof String value)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The eateries and users written by one transaction, held by the transaction itself.
+     */
+    private static final class Writes implements TransactionSynchronization {
+
+        private final Set<Long> eateryIds = new HashSet<>();
+        private final Set<String> usernames = new HashSet<>();
+    }
+}
@@ -0,0 +1,186 @@
+package az.qrfood.backend.common.filters;
+
+import static az.qrfood.backend.client.controller.ClientDeviceController.DEVICE;
+
+import az.qrfood.backend.common.ratelimit.RateLimitPolicy;
+import az.qrfood.backend.common.ratelimit.RateLimiter;
+import az.qrfood.backend.common.response.ApiResponse;
+import az.qrfood.backend.constant.ApiRoutes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the public client endpoints per IP address and per device cookie.
+ * <p>
+ * Each route group has two token buckets per client: one keyed by the remote address, which also
+ * catches scripts that drop or rotate their cookie, and a tighter one keyed by the device cookie,
+ * so diners sharing the Wi-Fi of a restaurant do not exhaust each other's budget. Limits are set
+ * as {@code <capacity>/<refill-per-minute>} under {@code app.rate-limit.*}. A rejected request
+ * gets a 429 with a {@code Retry-After} header and is counted in
+ * {@code qrfood.ratelimit.rejected}, tagged by route and scope.
+ * </p>
+ */
+@Log4j2
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 110)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> routes;
+
+    /**
+     * Constructs a RateLimitFilter.
+     *
+     * @param enabled         Whether requests are limited at all.
+     * @param maxKeys         The number of client buckets kept in memory.
+     * @param orderPerIp      The limit of order placement per IP address.
+     * @param orderPerDevice  The limit of order placement per device.
+     * @param clientPerIp     The limit of client menu reads per IP address.
+     * @param clientPerDevice The limit of client menu reads per device.
+     * @param logsPerIp       The limit of frontend log posts per IP address.
+     * @param logsPerDevice   The limit of frontend log posts per device.
+     * @param imagesPerIp     The limit of image downloads per IP address.
+     * @param imagesPerDevice The limit of image downloads per device.
+     * @param objectMapper    The mapper used to write the rejection body.
+     * @param meterRegistry   The registry the rejection counters are published to.
+     */
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${app.rate-limit.order.per-ip:30/20}") String orderPerIp,
+                           @Value("${app.rate-limit.order.per-device:5/3}") String orderPerDevice,
+                           @Value("${app.rate-limit.client.per-ip:300/300}") String clientPerIp,
+                           @Value("${app.rate-limit.client.per-device:60/60}") String clientPerDevice,
+                           @Value("${app.rate-limit.logs.per-ip:60/60}") String logsPerIp,
+                           @Value("${app.rate-limit.logs.per-device:20/20}") String logsPerDevice,
+                           @Value("${app.rate-limit.images.per-ip:600/600}") String imagesPerIp,
+                           @Value("${app.rate-limit.images.per-device:300/300}") String imagesPerDevice,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.rateLimiter = new RateLimiter(maxKeys, System::nanoTime);
+        this.objectMapper = objectMapper;
+        this.routes = List.of(
+                new Route("order", HttpMethod.POST, List.of(ApiRoutes.ORDER_POST),
+                        orderPerIp, orderPerDevice, meterRegistry),
+                new Route("client", HttpMethod.GET, List.of(ApiRoutes.CLIENT_BY_EATERY, ApiRoutes.CLIENT_BY_TABLE),
+                        clientPerIp, clientPerDevice, meterRegistry),
+                new Route("logs", HttpMethod.POST, List.of(ApiRoutes.LOGS_FRONTEND, ApiRoutes.LOGS_FRONTEND + "/**"),
+                        logsPerIp, logsPerDevice, meterRegistry),
+                new Route("images", HttpMethod.GET, List.of(ApiRoutes.IMAGE_WILDCARD),
+                        imagesPerIp, imagesPerDevice, meterRegistry));
+        Gauge.builder("qrfood.ratelimit.keys", rateLimiter, RateLimiter::size)
+                .description("Client buckets held by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = enabled ? match(request) : null;
+        if (route != null) {
+            String ip = request.getRemoteAddr();
+            long waitNanos = rateLimiter.tryAcquire(route.perIp(), route.name() + ":ip:" + ip);
+            if (waitNanos > 0) {
+                reject(response, route, route.ipRejections(), waitNanos, ip);
+                return;
+            }
+            String deviceUuid = deviceUuid(request);
+            if (deviceUuid != null) {
+                waitNanos = rateLimiter.tryAcquire(route.perDevice(), route.name() + ":device:" + deviceUuid);
+                if (waitNanos > 0) {
+                    reject(response, route, route.deviceRejections(), waitNanos, deviceUuid);
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.method().matches(request.getMethod())) {
+                for (String pattern : route.patterns()) {
+                    if (pathMatcher.match(pattern, path)) {
+                        return route;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private String deviceUuid(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (DEVICE.equals(cookie.getName()) && StringUtils.hasText(cookie.getValue())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, Route route, Counter counter, long waitNanos, String client)
+            throws IOException {
+        counter.increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        // a flood would flood the log as well; qrfood.ratelimit.rejected counts the rejections
+        log.debug("Rate limit [{}] exceeded by [{}], retry after [{}]s", route.name(), client, retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.fail("Too many requests, retry in " + retryAfter + "s", HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private record Route(String name, HttpMethod method, List<String> patterns,
+                         RateLimitPolicy perIp, RateLimitPolicy perDevice,
+                         Counter ipRejections, Counter deviceRejections) {
+
+        Route(String name, HttpMethod method, List<String> patterns,
+              String perIp, String perDevice, MeterRegistry meterRegistry) {
+            this(name, method, patterns,
+                    RateLimitPolicy.parse(name + ".per-ip", perIp),
+                    RateLimitPolicy.parse(name + ".per-device", perDevice),
+                    rejections(meterRegistry, name, "ip"),
+                    rejections(meterRegistry, name, "device"));
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String route, String scope) {
+            return Counter.builder("qrfood.ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", route)
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+    }
+}
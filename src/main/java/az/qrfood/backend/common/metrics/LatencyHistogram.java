@@ -0,0 +1,116 @@
+package az.qrfood.backend.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ * <p>
+ * Values are recorded in microseconds. Every power of two is split into {@value #SUB_BUCKETS}
+ * equal buckets, so a reported percentile is never more than about 3% above the real value,
+ * whatever the magnitude, while the whole range up to {@link #MAX_MICROS} fits into roughly a
+ * thousand counters. Recording is a single atomic increment; percentiles are computed from
+ * a copy of the counters and are therefore consistent only up to concurrent recordings.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values above this are counted in the last bucket; about 19 hours.
+     */
+    static final long MAX_MICROS = (1L << 36) - 1;
+
+    private static final int BUCKETS = index(MAX_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        long micros = Math.min(MAX_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        counts.incrementAndGet(index(micros));
+        totalMicros.add(micros);
+        if (micros > maxMicros.get()) {
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+    }
+
+    /**
+     * Takes a summary of the recorded durations.
+     *
+     * @return The count, mean, percentiles and maximum, in microseconds.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long max = maxMicros.get();
+        return new Snapshot(
+                count,
+                count == 0 ? 0 : totalMicros.sum() / count,
+                percentile(copy, count, 0.50, max),
+                percentile(copy, count, 0.95, max),
+                percentile(copy, count, 0.99, max),
+                max);
+    }
+
+    private static long percentile(long[] copy, long count, double quantile, long max) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValue(i));
+            }
+        }
+        return max;
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Summary of a histogram, in microseconds.
+     *
+     * @param count The number of recorded durations.
+     * @param mean  The mean duration.
+     * @param p50   The median.
+     * @param p95   The 95th percentile.
+     * @param p99   The 99th percentile.
+     * @param max   The longest duration.
+     */
+    public record Snapshot(long count, long mean, long p50, long p95, long p99, long max) {
+    }
+}
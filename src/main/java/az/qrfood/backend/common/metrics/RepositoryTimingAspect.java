@@ -0,0 +1,40 @@
+package az.qrfood.backend.common.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures the time spent in Spring Data repository calls for the current request.
+ * <p>
+ * Only the outermost call is timed: a default method calling another repository method
+ * is counted once. For methods returning a {@link java.util.stream.Stream} only opening the
+ * cursor is measured, not consuming it.
+ * </p>
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] depth = DEPTH.get();
+        if (depth[0]++ > 0) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                depth[0]--;
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            depth[0]--;
+            RequestStats.onRepositoryCall(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package az.qrfood.backend.common.metrics;
+
+/**
+ * Database work done on behalf of the current HTTP request.
+ * <p>
+ * {@link az.qrfood.backend.config.RequestLoggingFilter} opens the stats when a request enters and
+ * closes them when it leaves; in between, {@link StatementCountingInspector} counts every SQL
+ * statement Hibernate prepares and {@link RepositoryTimingAspect} adds up the time spent in
+ * repository calls. Work on threads without an open request, such as schedulers, is not counted.
+ * </p>
+ */
+public final class RequestStats {
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int repositoryCalls;
+    private long repositoryNanos;
+
+    private RequestStats() {
+    }
+
+    /**
+     * Opens the stats of a request on the current thread.
+     */
+    public static void begin() {
+        CURRENT.set(new RequestStats());
+    }
+
+    /**
+     * Closes the stats of the current thread.
+     *
+     * @return The collected stats, or {@code null} if none were open.
+     */
+    public static RequestStats end() {
+        RequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void onStatement() {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void onRepositoryCall(long nanos) {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.repositoryCalls++;
+            stats.repositoryNanos += nanos;
+        }
+    }
+
+    /**
+     * Returns the number of prepared SQL statements.
+     *
+     * @return The statement count.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Returns the number of outermost repository calls.
+     *
+     * @return The call count.
+     */
+    public int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    /**
+     * Returns the time spent in repository calls.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+}
@@ -0,0 +1,69 @@
+package az.qrfood.backend.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link RequestStats} of finished requests and flags the expensive ones.
+ * <p>
+ * The statement count of every request is recorded in {@code qrfood.request.statements}, tagged
+ * by route, so an N+1 pattern shows up as a growing count on one route. A request is logged as a
+ * warning when it prepares more than {@code app.request-stats.max-statements} statements or spends
+ * longer than {@code app.request-stats.max-repository-time} in repositories.
+ * </p>
+ */
+@Log4j2
+@Component
+public class RequestStatsReporter {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final long maxRepositoryNanos;
+
+    /**
+     * Constructs a RequestStatsReporter.
+     *
+     * @param meterRegistry     The registry the statement counts are published to.
+     * @param maxStatements     Requests preparing more statements are logged.
+     * @param maxRepositoryTime Requests spending longer in repositories are logged.
+     */
+    public RequestStatsReporter(MeterRegistry meterRegistry,
+                                @Value("${app.request-stats.max-statements:30}") int maxStatements,
+                                @Value("${app.request-stats.max-repository-time:500ms}") Duration maxRepositoryTime) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxRepositoryNanos = maxRepositoryTime.toNanos();
+    }
+
+    /**
+     * Reports the stats of a finished request.
+     *
+     * @param route        The route the request was served by.
+     * @param elapsedNanos The total duration of the request.
+     * @param stats        The collected stats, may be {@code null}.
+     */
+    public void report(String route, long elapsedNanos, RequestStats stats) {
+        if (stats == null) {
+            return;
+        }
+        DistributionSummary.builder("qrfood.request.statements")
+                .description("SQL statements prepared per request")
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        if (stats.getStatements() > maxStatements || stats.getRepositoryNanos() > maxRepositoryNanos) {
+            log.warn("Expensive request [{}]: [{}] SQL statements, [{}] repository calls taking [{}]ms of [{}]ms",
+                    route,
+                    stats.getStatements(),
+                    stats.getRepositoryCalls(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getRepositoryNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package az.qrfood.backend.common.metrics;
+
+import az.qrfood.backend.common.metrics.dto.RouteLatencyDto;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route request latency, keyed by HTTP method and matched route pattern.
+ * <p>
+ * Routes are patterns such as {@code GET /api/eatery/{eateryId}}, so the number of histograms
+ * is bounded by the number of mappings; as a guard against unexpected keys, durations of
+ * routes beyond {@link #MAX_ROUTES} are merged under {@link #OTHER_ROUTE}.
+ * </p>
+ */
+@Component
+public class RouteLatencyRegistry {
+
+    static final int MAX_ROUTES = 512;
+    static final String OTHER_ROUTE = "OTHER";
+
+    private volatile Window window = new Window(System.nanoTime());
+
+    /**
+     * Records the duration of one request.
+     *
+     * @param route The route key.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(String route, long nanos) {
+        ConcurrentMap<String, LatencyHistogram> histograms = window.histograms();
+        LatencyHistogram histogram = histograms.get(route);
+        if (histogram == null) {
+            String key = histograms.size() < MAX_ROUTES ? route : OTHER_ROUTE;
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Summarizes every route since the last reset, busiest route first.
+     *
+     * @return One {@link RouteLatencyDto} per route.
+     */
+    public List<RouteLatencyDto> snapshot() {
+        Window current = window;
+        double seconds = Math.max(1e-3, (System.nanoTime() - current.startedAt()) / (double) TimeUnit.SECONDS.toNanos(1));
+        List<RouteLatencyDto> routes = new ArrayList<>();
+        current.histograms().forEach((route, histogram) -> {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            routes.add(new RouteLatencyDto(route, s.count(), s.count() / seconds,
+                    millis(s.mean()), millis(s.p50()), millis(s.p95()), millis(s.p99()), millis(s.max())));
+        });
+        routes.sort(Comparator.comparingLong(RouteLatencyDto::count).reversed());
+        return routes;
+    }
+
+    /**
+     * Starts a new measurement window.
+     */
+    public void reset() {
+        window = new Window(System.nanoTime());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private record Window(long startedAt, ConcurrentMap<String, LatencyHistogram> histograms) {
+
+        Window(long startedAt) {
+            this(startedAt, new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package az.qrfood.backend.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared for the current request.
+ * <p>
+ * Registered through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector};
+ * Hibernate creates it by class name, so all state lives in {@link RequestStats}.
+ * The statement is returned unchanged.
+ * </p>
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStats.onStatement();
+        return sql;
+    }
+}
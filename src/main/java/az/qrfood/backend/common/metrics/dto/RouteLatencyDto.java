@@ -0,0 +1,23 @@
+package az.qrfood.backend.common.metrics.dto;
+
+/**
+ * Latency summary of one route since the last reset.
+ *
+ * @param route             The HTTP method and matched route pattern.
+ * @param count             The number of completed requests.
+ * @param requestsPerSecond The average throughput over the measurement window.
+ * @param meanMs            The mean duration in milliseconds.
+ * @param p50Ms             The median duration in milliseconds.
+ * @param p95Ms             The 95th percentile in milliseconds.
+ * @param p99Ms             The 99th percentile in milliseconds.
+ * @param maxMs             The longest duration in milliseconds.
+ */
+public record RouteLatencyDto(String route,
+                              long count,
+                              double requestsPerSecond,
+                              double meanMs,
+                              double p50Ms,
+                              double p95Ms,
+                              double p99Ms,
+                              double maxMs) {
+}
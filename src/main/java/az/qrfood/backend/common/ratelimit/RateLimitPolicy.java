@@ -0,0 +1,48 @@
+package az.qrfood.backend.common.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit applied to one group of routes.
+ *
+ * @param name            The name reported in metrics and logs.
+ * @param capacity        The number of requests a client may burst.
+ * @param refillPerMinute The number of requests a client regains per minute.
+ */
+public record RateLimitPolicy(String name, int capacity, int refillPerMinute) {
+
+    public RateLimitPolicy {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Rate limit policy [" + name + "] needs a positive capacity and refill rate");
+        }
+    }
+
+    /**
+     * Parses a policy written as {@code <capacity>/<refill-per-minute>}, e.g. {@code 10/6}.
+     *
+     * @param name The name of the policy.
+     * @param spec The capacity and refill rate.
+     * @return The parsed policy.
+     * @throws IllegalArgumentException if the specification is malformed.
+     */
+    public static RateLimitPolicy parse(String name, String spec) {
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rate limit policy [" + name + "] must look like <capacity>/<refill-per-minute>: " + spec);
+        }
+        try {
+            return new RateLimitPolicy(name, Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rate limit policy [" + name + "] is not numeric: " + spec, e);
+        }
+    }
+
+    /**
+     * Returns the time it takes to regain one request.
+     *
+     * @return The refill interval in nanoseconds.
+     */
+    public long refillIntervalNanos() {
+        return TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+    }
+}
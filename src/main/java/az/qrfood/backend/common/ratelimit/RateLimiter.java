@@ -0,0 +1,98 @@
+package az.qrfood.backend.common.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one {@link TokenBucket} per client key with bounded memory.
+ * <p>
+ * Keys are spread over a fixed number of shards, each an access-ordered map guarded by its own
+ * lock; the lock only covers finding the bucket, the token itself is taken lock-free. When a shard
+ * is over its share of {@code maxKeys}, full buckets are dropped first, since a new bucket behaves
+ * exactly like them; if none is full the least recently used one goes.
+ * </p>
+ */
+public class RateLimiter {
+
+    private static final int SHARDS = 16;
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final LongSupplier clock;
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param maxKeys The number of buckets kept in memory across all shards.
+     * @param clock   The nanosecond clock, {@link System#nanoTime()} outside of tests.
+     */
+    public RateLimiter(int maxKeys, LongSupplier clock) {
+        this.clock = clock;
+        int perShard = Math.max(1, maxKeys / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(perShard);
+        }
+    }
+
+    /**
+     * Tries to take one token from the bucket of a key.
+     *
+     * @param policy The policy the bucket is created with.
+     * @param key    The client key; it must include the policy name if keys are shared between policies.
+     * @return {@code 0} if the request may proceed, otherwise the nanoseconds until it may be retried.
+     */
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        long now = clock.getAsLong();
+        Shard shard = shards[(key.hashCode() & 0x7fffffff) % SHARDS];
+        return shard.bucket(policy, key, now).tryConsume(now);
+    }
+
+    /**
+     * Returns the number of buckets held in memory.
+     *
+     * @return The number of buckets.
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Shard {
+
+        private final int maxKeys;
+        private final LinkedHashMap<String, TokenBucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+
+        Shard(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        synchronized TokenBucket bucket(RateLimitPolicy policy, String key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxKeys) {
+                    evict(now);
+                }
+                bucket = new TokenBucket(policy, now);
+                buckets.put(key, bucket);
+            }
+            return bucket;
+        }
+
+        private void evict(long now) {
+            // shrink below the limit so the scan is not repeated on every new key
+            int target = maxKeys - Math.max(1, maxKeys / 10);
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+            Iterator<Map.Entry<String, TokenBucket>> eldest = buckets.entrySet().iterator();
+            while (buckets.size() > target && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package az.qrfood.backend.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The bucket is kept in its "virtual scheduling" form: instead of a token count and a refill
+ * timestamp it stores a single value, the moment at which the bucket will be full again.
+ * Taking a token pushes that moment one refill interval into the future; a request is rejected
+ * when doing so would leave the bucket further than its capacity behind. One compare-and-set
+ * per request is enough, so callers never block each other.
+ * </p>
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param policy The capacity and refill rate.
+     * @param now    The current value of the clock, in nanoseconds.
+     */
+    public TokenBucket(RateLimitPolicy policy, long now) {
+        this.intervalNanos = policy.refillIntervalNanos();
+        this.toleranceNanos = intervalNanos * (policy.capacity() - 1);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @param now The current value of the clock, in nanoseconds.
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until one is available.
+     */
+    public long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bucket has refilled completely, so dropping it loses no state.
+     *
+     * @param now The current value of the clock, in nanoseconds.
+     * @return {@code true} if the bucket is full.
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
@@ -0,0 +1,78 @@
+package az.qrfood.backend.common.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a {@link Stream} as a JSON array, one element at a time.
+ * <p>
+ * Elements are serialized with the application {@link ObjectMapper}, so the output is identical to
+ * what Spring MVC produces for a {@code List} of the same elements, but no element is kept once it
+ * has been written. Every {@link #CHECKPOINT_INTERVAL} elements the generator is flushed and the
+ * caller's checkpoint runs, which is where a service clears its persistence context.
+ * </p>
+ */
+@Component
+public class JsonArrayStreamer {
+
+    static final int CHECKPOINT_INTERVAL = 256;
+
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a JsonArrayStreamer.
+     *
+     * @param objectMapper The mapper configured for the HTTP responses.
+     */
+    public JsonArrayStreamer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes the elements as a JSON array.
+     *
+     * @param elements The elements to write; consumed but not closed.
+     * @param target   The stream to write to; flushed but not closed.
+     * @return The number of written elements.
+     * @throws IOException if writing fails.
+     */
+    public long write(Stream<?> elements, OutputStream target) throws IOException {
+        return write(elements, target, () -> { });
+    }
+
+    /**
+     * Writes the elements as a JSON array, running a checkpoint after every written chunk.
+     *
+     * @param elements   The elements to write; consumed but not closed.
+     * @param target     The stream to write to; flushed but not closed.
+     * @param checkpoint Called once the elements written so far are no longer needed.
+     * @return The number of written elements.
+     * @throws IOException if writing fails.
+     */
+    public long write(Stream<?> elements, OutputStream target, Runnable checkpoint) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<?> iterator = elements.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++count % CHECKPOINT_INTERVAL == 0) {
+                    generator.flush();
+                    checkpoint.run();
+                }
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+}
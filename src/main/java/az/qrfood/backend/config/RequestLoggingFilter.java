@@ -1,21 +1,38 @@
 package az.qrfood.backend.config;
 
-import az.qrfood.backend.common.Util;
+import az.qrfood.backend.common.metrics.RequestStats;
+import az.qrfood.backend.common.metrics.RequestStatsReporter;
+import az.qrfood.backend.common.metrics.RouteLatencyRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Assigns every request an ID, times it per route and logs a sample of requests.
+ * <p>
+ * Request IDs are a per-start random prefix followed by a counter, so they never repeat within
+ * an instance and practically never across restarts. Durations go into the
+ * {@link RouteLatencyRegistry} under the matched route pattern. One request in
+ * {@code app.request-log.sample-rate} is logged on the way in and out; server errors and requests
+ * slower than {@code app.request-log.slow-threshold} are always logged on the way out.
+ * The SQL statements and repository time of the request are collected in {@link RequestStats}
+ * and handed to the {@link RequestStatsReporter}.
+ * </p>
+ */
 @Log4j2
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE+100) // Make this filter run first
@@ -23,7 +40,32 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
 
     // Define a key for the MDC
     private static final String REQUEST_ID_KEY = "requestId";
-    private String pattern = ">>>>>> %s";
+    static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final String instancePrefix = Long.toString(ThreadLocalRandom.current().nextLong(36L * 36 * 36 * 36), 36) + "-";
+    private final AtomicLong sequence = new AtomicLong();
+    private final RouteLatencyRegistry routeLatencyRegistry;
+    private final RequestStatsReporter requestStatsReporter;
+    private final int sampleRate;
+    private final long slowNanos;
+
+    /**
+     * Constructs a RequestLoggingFilter.
+     *
+     * @param routeLatencyRegistry The registry the durations are recorded in.
+     * @param requestStatsReporter The reporter of per-request database work.
+     * @param sampleRate           Log one request in this many; {@code 1} logs all of them.
+     * @param slowThreshold        Requests taking longer are always logged.
+     */
+    public RequestLoggingFilter(RouteLatencyRegistry routeLatencyRegistry,
+                                RequestStatsReporter requestStatsReporter,
+                                @Value("${app.request-log.sample-rate:1}") int sampleRate,
+                                @Value("${app.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        this.routeLatencyRegistry = routeLatencyRegistry;
+        this.requestStatsReporter = requestStatsReporter;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.slowNanos = slowThreshold.toNanos();
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,22 +73,44 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
                                     throws ServletException, IOException {
 
-        String requestId = String.valueOf(Util.getRandomInt(1000, 9999));
-        MDC.put(REQUEST_ID_KEY, requestId);
+        long start = System.nanoTime();
+        long seq = sequence.incrementAndGet();
+        MDC.put(REQUEST_ID_KEY, instancePrefix + Long.toString(seq, 36));
+        boolean sampled = seq % sampleRate == 0;
+        RequestStats.begin();
 
-        log.info(String.format(pattern, "REQUEST: {}, RemoteAddr=[{}]"),
-                request.getMethod() + ":" + request.getRequestURI(),
-                request.getRemoteAddr());
+        if (sampled) {
+            log.info(">>>>>> REQUEST: {}:{}, RemoteAddr=[{}]",
+                    request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+        }
 
         try {
             filterChain.doFilter(request, response);
         } finally {
-            log.info(String.format(pattern, "RESPONSE: Status=[{}] for URI=[{}]"),
-                    response.getStatus(),
-                    request.getRequestURI());
+            long elapsed = System.nanoTime() - start;
+            String route = route(request);
+            routeLatencyRegistry.record(route, elapsed);
+            requestStatsReporter.report(route, elapsed, RequestStats.end());
+
+            int status = response.getStatus();
+            if (sampled || status >= 500 || elapsed >= slowNanos) {
+                log.info(">>>>>> RESPONSE: Status=[{}] for URI=[{}], route=[{}], took [{}]ms",
+                        status, request.getRequestURI(), route, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
 
             MDC.remove(REQUEST_ID_KEY);
+        }
+    }
 
+    /**
+     * Returns the method and the pattern of the handler mapping that served the request.
+     * Requests that matched no mapping share one key, so probing random URLs cannot create routes.
+     */
+    private String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return UNMATCHED_ROUTE;
         }
+        return request.getMethod() + " " + pattern;
     }
-}
\ No newline at end of file
+}
@@ -55,6 +55,8 @@ public final class ApiRoutes {
     // --- ORDER MANAGEMENT ---
     public static final String ORDER = EATERY_BY_ID + "/order";
     public static final String ORDERS = EATERY_BY_ID + "/orders"; // GET ALL
+    public static final String ORDERS_DASHBOARD = ORDERS + "/dashboard";
+    public static final String ORDERS_EXPORT = ORDERS + "/export";
     public static final String ORDER_POST = ORDER + "/post";
     public static final String ORDER_BY_TABLE = ORDER + "/table/{tableId}";
     public static final String ORDER_BY_ID = ORDER + "/{orderId}";
@@ -70,6 +72,13 @@ public final class ApiRoutes {
     public static final String ORDER_ITEM_BY_ID = ORDER_ITEM + "/{orderItemId}";
     public static final String ORDER_ITEM_BY_ORDER_ID = ORDER_ITEM + "/order/{orderId}";
 
+    // --- REPORTS ---
+    public static final String REPORT_SALES = EATERY_BY_ID + "/report/sales";
+    public static final String REPORT_SALES_DAILY = REPORT_SALES + "/daily";
+    public static final String REPORT_SALES_DISHES = REPORT_SALES + "/dishes";
+    public static final String REPORT_SALES_TABLES = REPORT_SALES + "/tables";
+    public static final String REPORT_SALES_HOURLY = REPORT_SALES + "/hourly";
+
     // --- USER MANAGEMENT ---
     public static final String API_USER = API + "/user";
     public static final String USER_AND_EATERY = "/user/eatery";
@@ -83,8 +92,14 @@ public final class ApiRoutes {
     public static final String ADMIN_EATERY_RESOURCES = API + "/admin/eatery/{eateryId}/resources";
     public static final String ADMIN_EATERY_DETAILS = API + "/admin/eatery/{eateryId}/details";
     public static final String ADMIN_EATERY = API + "/admin/eatery/{eateryId}";
+    public static final String ADMIN_EATERY_DELETION = API + "/admin/eatery/{eateryId}/deletion";
     public static final String ADMIN_EATERY_ADMINS = API + "/admin/eatery-admin/{admin}";
     public static final String ADMIN_REGISTER_SUCCESS = "/admin/register/success";
+    public static final String ADMIN_ORDERS = API + "/admin/orders";
+    public static final String ADMIN_METRICS_LATENCY = API + "/admin/metrics/latency";
+    public static final String ADMIN_EMAIL_TEMPLATES_REFRESH = API + "/admin/email-templates/refresh";
+    public static final String ADMIN_JOBS = API + "/admin/jobs";
+    public static final String ADMIN_JOB_RUN = API + "/admin/jobs/{name}/run";
 
     // --- CLIENT & KITCHEN ---
     public static final String CLIENT_BASE = API + "/client";
@@ -110,6 +125,7 @@ public final class ApiRoutes {
     // --- MISC ---
     public static final String ALIVE = API + "/alive";
     public static final String LOGS_FRONTEND = API + "/logs/frontend";
+    public static final String LOGS_FRONTEND_BATCH = LOGS_FRONTEND + "/batch";
     public static final String CONFIG_IMAGE_PATHS = API + "/config/image-paths";
     public static final String EMAIL_SUBSCRIPTION = API + "/user/settings/notifications";
 
@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -65,8 +66,10 @@ public class DishEntity extends BaseEntity {
      * This supports multi-language functionality for the menu items.
      * The {@code cascade = CascadeType.ALL} and {@code orphanRemoval = true} ensure
      * that associated translations are managed along with the dish.
-     * The {@code FetchType.LAZY} indicates that translations are loaded only when accessed.
+     * The {@code FetchType.LAZY} indicates that translations are loaded only when accessed,
+     * for up to 100 loaded dishes at once.
      */
     @OneToMany(mappedBy = "dishItem", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<DishEntityTranslation> translations;
 }
@@ -0,0 +1,31 @@
+package az.qrfood.backend.dish.mapper;
+
+import az.qrfood.backend.dish.dto.DishDto;
+import az.qrfood.backend.dish.entity.DishEntity;
+
+/**
+ * Creates {@link DishEntity} instances from {@link DishDto}s.
+ * <p>
+ * Only the price and the image are copied. The category, kitchen department, status and
+ * translations are resolved from the DTO by {@link az.qrfood.backend.dish.service.DishService}.
+ * The reverse direction is {@link az.qrfood.backend.dish.service.DishService#convertEntityToDto}.
+ * </p>
+ */
+public final class DishMapper {
+
+    private DishMapper() {
+    }
+
+    /**
+     * Creates a new {@link DishEntity} with the price and image of the DTO.
+     *
+     * @param dto The {@link DishDto} to copy from.
+     * @return A new, unsaved dish entity.
+     */
+    public static DishEntity toEntity(DishDto dto) {
+        DishEntity dishEntity = new DishEntity();
+        dishEntity.setPrice(dto.getPrice());
+        dishEntity.setImage(dto.getImage());
+        return dishEntity;
+    }
+}
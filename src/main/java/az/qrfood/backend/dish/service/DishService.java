@@ -10,6 +10,7 @@ import az.qrfood.backend.dish.entity.DishEntity;
 import az.qrfood.backend.dish.entity.DishEntityTranslation;
 import az.qrfood.backend.dish.entity.DishStatus;
 import az.qrfood.backend.dish.exception.QrFoodDataIntegrityViolation;
+import az.qrfood.backend.dish.mapper.DishMapper;
 import az.qrfood.backend.dish.interceptor.NotYourResourceException;
 import az.qrfood.backend.dish.repository.DishRepository;
 import az.qrfood.backend.eatery.dto.OnboardingStatus;
@@ -120,7 +121,7 @@ public class DishService {
             throw new IllegalArgumentException("Category not found");
         }
 
-        DishEntity dishEntity = Util.copyProperties(dto, DishEntity.class);
+        DishEntity dishEntity = DishMapper.toEntity(dto);
         dishEntity.setTranslations(new ArrayList<>());
         dishEntity.setCategory(optionalCategory.get());
 
@@ -10,7 +10,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -60,7 +63,10 @@ public class EateryController {
      * Retrieves a list of all registered eateries.
      * This endpoint requires the 'EATERY_ADMIN' role.
      *
-     * @return A {@link ResponseEntity} containing a list of {@link EateryDto} objects.
+     * The eateries are streamed to the response as a JSON array of {@link EateryDto} objects.
+     *
+     * @param response The response the JSON array is written to.
+     * @throws IOException if writing the response fails.
      */
     @Operation(summary = "Get all eateries", description = "Retrieves a list of all registered eateries")
     @ApiResponses(value = {
@@ -69,8 +75,9 @@ public class EateryController {
     })
     @PreAuthorize("@authz.isSuperAdmin(authentication)")
     @GetMapping(ApiRoutes.EATERY)
-    public ResponseEntity<List<EateryDto>> getAllEateries() {
-        return ResponseEntity.ok(eateryService.getAllRestaurants());
+    public void getAllEateries(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        eateryService.writeAllRestaurants(response.getOutputStream());
     }
 
     /**
@@ -143,14 +150,14 @@ public class EateryController {
      * Deletes an eatery by its ID.
      * Actually, a user can only make an eatery not active, deleting an entire eatery with all related data
      * should be possible by SUPER ADMIN only. todo make needed changes
-     * This endpoint requires the 'EATERY_ADMIN' role.
+     * This endpoint requires the 'EATERY_ADMIN' role. The deletion runs in the background.
      *
      * @param id The ID of the eatery to delete.
-     * @return A {@link ResponseEntity} containing the ID of the deleted eatery.
+     * @return A {@link ResponseEntity} containing the ID of the eatery being deleted.
      */
-    @Operation(summary = "Delete an eatery", description = "Deletes an eatery with the specified ID")
+    @Operation(summary = "Delete an eatery", description = "Starts deleting an eatery with the specified ID")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Eatery deleted successfully"),
+            @ApiResponse(responseCode = "200", description = "Eatery deletion started"),
             @ApiResponse(responseCode = "404", description = "Eatery not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
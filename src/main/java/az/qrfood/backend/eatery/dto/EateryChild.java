@@ -0,0 +1,15 @@
+package az.qrfood.backend.eatery.dto;
+
+/**
+ * A row belonging to an eatery, read in bulk for the eatery summaries.
+ *
+ * @param eateryId The ID of the eatery.
+ * @param id       The ID of the row.
+ * @param value    The value shown in the summary, such as a phone number; {@code null} if only the ID is needed.
+ */
+public record EateryChild(Long eateryId, Long id, String value) {
+
+    public EateryChild(Long eateryId, Long id) {
+        this(eateryId, id, null);
+    }
+}
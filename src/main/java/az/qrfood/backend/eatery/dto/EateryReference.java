@@ -0,0 +1,13 @@
+package az.qrfood.backend.eatery.dto;
+
+import java.util.Map;
+
+/**
+ * The slowly changing reference data of an eatery, as kept by the {@code EateryReferenceCache}.
+ *
+ * @param eateryId     The ID of the eatery.
+ * @param name         The name of the eatery.
+ * @param tableNumbers The table numbers by table ID, ordered by ID.
+ */
+public record EateryReference(Long eateryId, String name, Map<Long, String> tableNumbers) {
+}
@@ -0,0 +1,23 @@
+package az.qrfood.backend.eatery.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Progress of the deletion of an eatery with all its data.
+ *
+ * @param eateryId    The ID of the eatery.
+ * @param state       Where the teardown is.
+ * @param step        The step in progress, or the one that failed.
+ * @param deletedRows The rows deleted so far, per step in the order of the steps.
+ * @param startedAt   When the teardown was requested.
+ * @param finishedAt  When it was done or failed.
+ * @param error       The message of the exception that ended a failed teardown.
+ */
+public record EateryTeardownStatus(Long eateryId, State state, String step, Map<String, Long> deletedRows,
+                                   Instant startedAt, Instant finishedAt, String error) {
+
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+}
@@ -0,0 +1,12 @@
+package az.qrfood.backend.eatery.dto;
+
+/**
+ * An eatery admin due for an onboarding nudge.
+ *
+ * @param eateryId The ID of the eatery that is stuck in onboarding.
+ * @param userId   The ID of the admin.
+ * @param email    The username of the admin, which is the email address.
+ * @param locale   The locale of the admin's profile; may be {@code null}.
+ */
+public record OnboardingCandidate(Long eateryId, Long userId, String email, String locale) {
+}
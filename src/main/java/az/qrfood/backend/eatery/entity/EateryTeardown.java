@@ -0,0 +1,60 @@
+package az.qrfood.backend.eatery.entity;
+
+import az.qrfood.backend.eatery.dto.EateryTeardownStatus;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The last deletion of an eatery and its progress.
+ * <p>
+ * Kept apart from the {@link Eatery}, which is deleted by the teardown itself, so every node can
+ * report the progress and pick up a teardown whose node died.
+ * </p>
+ */
+@Entity
+@Table(name = "eatery_teardown")
+@Data
+public class EateryTeardown {
+
+    @Id
+    @Column(name = "eatery_id")
+    private Long eateryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EateryTeardownStatus.State state;
+
+    /**
+     * The step in progress, or the one that failed.
+     */
+    private String step;
+
+    /**
+     * The rows deleted so far per step; written in the transaction that deletes them.
+     */
+    @ElementCollection
+    @CollectionTable(name = "eatery_teardown_rows", joinColumns = @JoinColumn(name = "eatery_id"))
+    @MapKeyColumn(name = "step")
+    @Column(name = "deleted_rows", nullable = false)
+    private Map<String, Long> deletedRows = new HashMap<>();
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Column(length = 2048)
+    private String error;
+}
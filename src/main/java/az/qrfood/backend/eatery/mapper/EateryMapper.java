@@ -0,0 +1,51 @@
+package az.qrfood.backend.eatery.mapper;
+
+import az.qrfood.backend.eatery.dto.EateryDto;
+import az.qrfood.backend.eatery.entity.Eatery;
+
+/**
+ * Copies the scalar fields between {@link Eatery} entities and {@link EateryDto}s.
+ * <p>
+ * These are exactly the fields {@code BeanUtils.copyProperties} used to copy: the collections
+ * differ in element type on both sides and are filled by the callers.
+ * </p>
+ */
+public final class EateryMapper {
+
+    private EateryMapper() {
+    }
+
+    /**
+     * Creates a new {@link Eatery} from the scalar fields of a DTO.
+     *
+     * @param dto The {@link EateryDto} to copy from.
+     * @return A new eatery with empty phone, table and category lists.
+     */
+    public static Eatery toEntity(EateryDto dto) {
+        Eatery eatery = new Eatery();
+        eatery.setId(dto.getId());
+        eatery.setName(dto.getName());
+        eatery.setAddress(dto.getAddress());
+        eatery.setGeoLat(dto.getGeoLat());
+        eatery.setGeoLng(dto.getGeoLng());
+        eatery.setOnboardingStatus(dto.getOnboardingStatus());
+        return eatery;
+    }
+
+    /**
+     * Creates a new {@link EateryDto} from the scalar fields of an eatery.
+     *
+     * @param eatery The {@link Eatery} to copy from.
+     * @return A new DTO with empty phone, table ID and category ID lists.
+     */
+    public static EateryDto toDto(Eatery eatery) {
+        EateryDto dto = new EateryDto();
+        dto.setId(eatery.getId());
+        dto.setName(eatery.getName());
+        dto.setAddress(eatery.getAddress());
+        dto.setGeoLat(eatery.getGeoLat());
+        dto.setGeoLng(eatery.getGeoLng());
+        dto.setOnboardingStatus(eatery.getOnboardingStatus());
+        return dto;
+    }
+}
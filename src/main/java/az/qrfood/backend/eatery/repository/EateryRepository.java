@@ -1,14 +1,26 @@
 package az.qrfood.backend.eatery.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import az.qrfood.backend.common.Util;
+import az.qrfood.backend.eatery.dto.EateryChild;
+import az.qrfood.backend.eatery.dto.OnboardingCandidate;
 import az.qrfood.backend.eatery.dto.OnboardingStatus;
 import az.qrfood.backend.eatery.entity.Eatery;
 import az.qrfood.backend.mail.dto.EventType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the {@link Eatery} entity.
@@ -23,34 +35,107 @@ import java.time.LocalDateTime;
 public interface EateryRepository extends JpaRepository<Eatery, Long> {
 
     /**
-     * Finds eateries that meet all of the following conditions:
-     *  - Eatery onboarding status is NOT USER_ADDED
-     *  - Eatery is associated with a user who has the EATERY_ADMIN role
-     *  - The associated admin's email subscription mask includes the provided subscription bit value
-     *  - The associated admin's last login was before the cutoff time
-     *  - No notification with the given event has ever been sent to that admin
+     * Finds the next page of eatery admins to nudge about one onboarding status, ordered by eatery ID.
+     * An eatery and its admin qualify when:
+     *  - Eatery onboarding status is the given one and its ID is after {@code afterId}
+     *  - The admin has the EATERY_ADMIN role
+     *  - The admin's email subscription mask includes the provided subscription bit value
+     *  - The admin's last login was before the cutoff time
+     *  - No notification with the given event was ever logged for the admin, or is waiting in the outbox
      *
      * Note: Subscription is stored as a bitmask in UserProfile.emailSubscription.
+     * An eatery with several admins yields one row per admin.
      *
      * @param status the onboarding status to check
      * @param subscriptionValue the bit value of the subscription to check (see SubscriptionType.getValue())
      * @param event the event identifier used in NotificationLog
      * @param cutoff last login must be before this time
-     * @return list of distinct eateries matching the conditions
+     * @param afterId the last eatery ID of the previous page, {@code 0} for the first one
+     * @param pageable the page size; the page number must be {@code 0}
+     * @return the candidates, ordered by eatery and profile ID
      */
-    @Query("SELECT DISTINCT e " +
+    @Query("SELECT new az.qrfood.backend.eatery.dto.OnboardingCandidate(e.id, u.id, u.username, up.locale) " +
             "FROM Eatery e " +
             "JOIN e.userProfiles up " +
             "JOIN up.user u " +
             "WHERE e.onboardingStatus = :status " +
+            "AND e.id > :afterId " +
             "AND az.qrfood.backend.user.entity.Role.EATERY_ADMIN MEMBER OF u.roles " +
             "AND MOD(COALESCE(up.emailSubscription, 0) / :subscriptionValue, 2) = 1 " +
             "AND up.lastLogin < :cutoff " +
-            "AND NOT EXISTS (SELECT nl FROM NotificationLog nl WHERE nl.userEmail = u.username AND nl.eventType = :event)")
-    List<Eatery> findEateriesForOnboardingNotification(
+            "AND NOT EXISTS (SELECT nl FROM NotificationLog nl WHERE nl.userEmail = u.username AND nl.eventType = :event) " +
+            "AND NOT EXISTS (SELECT o FROM EmailOutbox o WHERE o.recipient = u.username AND o.eventType = :event) " +
+            "ORDER BY e.id, up.id")
+    List<OnboardingCandidate> findOnboardingCandidates(
             @Param("status") OnboardingStatus status,
             @Param("subscriptionValue") int subscriptionValue,
             @Param("event") EventType event,
-            @Param("cutoff") LocalDateTime cutoff
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") long afterId,
+            Pageable pageable
     );
+
+    /**
+     * Streams every eatery, ordered by ID.
+     * The eatery has no eager associations; its children are read per batch by the caller.
+     * Entities are loaded read-only; the stream must be consumed and closed inside a transaction.
+     *
+     * @return A stream of {@link Eatery} entities.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = Util.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Eatery e ORDER BY e.id")
+    Stream<Eatery> streamAll();
+
+    /**
+     * Finds the phone numbers of several eateries in one query.
+     *
+     * @param eateryIds The IDs of the eateries.
+     * @return The phones, with the number as value, ordered by eatery and phone ID.
+     */
+    @Query("SELECT new az.qrfood.backend.eatery.dto.EateryChild(p.restaurant.id, p.id, p.phoneNumber) " +
+            "FROM EateryPhone p WHERE p.restaurant.id IN :eateryIds ORDER BY p.restaurant.id, p.id")
+    List<EateryChild> findPhones(@Param("eateryIds") Collection<Long> eateryIds);
+
+    /**
+     * Finds the tables of several eateries in one query.
+     *
+     * @param eateryIds The IDs of the eateries.
+     * @return The tables, with the table number as value, ordered by eatery and table ID.
+     */
+    @Query("SELECT new az.qrfood.backend.eatery.dto.EateryChild(t.eatery.id, t.id, t.tableNumber) " +
+            "FROM TableInEatery t WHERE t.eatery.id IN :eateryIds ORDER BY t.eatery.id, t.id")
+    List<EateryChild> findTables(@Param("eateryIds") Collection<Long> eateryIds);
+
+    /**
+     * Finds the category IDs of several eateries in one query.
+     *
+     * @param eateryIds The IDs of the eateries.
+     * @return The categories, ordered by eatery and category ID.
+     */
+    @Query("SELECT new az.qrfood.backend.eatery.dto.EateryChild(c.eatery.id, c.id) " +
+            "FROM Category c WHERE c.eatery.id IN :eateryIds ORDER BY c.eatery.id, c.id")
+    List<EateryChild> findCategoryIds(@Param("eateryIds") Collection<Long> eateryIds);
+
+    /**
+     * Finds the staff emails of several eateries in one query.
+     *
+     * @param eateryIds The IDs of the eateries.
+     * @return The profiles, with the username as value, ordered by eatery and profile ID.
+     */
+    @Query("SELECT new az.qrfood.backend.eatery.dto.EateryChild(e.id, up.id, u.username) " +
+            "FROM Eatery e JOIN e.userProfiles up JOIN up.user u " +
+            "WHERE e.id IN :eateryIds ORDER BY e.id, up.id")
+    List<EateryChild> findProfileEmails(@Param("eateryIds") Collection<Long> eateryIds);
+
+    /**
+     * Finds the name of an eatery without loading the entity.
+     *
+     * @param id The ID of the eatery.
+     * @return The name, empty if the eatery does not exist.
+     */
+    @Query("SELECT e.name FROM Eatery e WHERE e.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
 }
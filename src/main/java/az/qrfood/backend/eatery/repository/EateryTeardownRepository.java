@@ -0,0 +1,39 @@
+package az.qrfood.backend.eatery.repository;
+
+import az.qrfood.backend.eatery.dto.EateryTeardownStatus;
+import az.qrfood.backend.eatery.entity.EateryTeardown;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EateryTeardownRepository extends JpaRepository<EateryTeardown, Long> {
+
+    /**
+     * Returns the eateries whose teardown is queued or was left running, oldest first.
+     */
+    @Query("SELECT t.eateryId FROM EateryTeardown t WHERE t.finishedAt IS NULL ORDER BY t.startedAt")
+    List<Long> findUnfinishedIds();
+
+    /**
+     * Moves an unfinished teardown to a state.
+     *
+     * @return {@code 1} if the teardown was still unfinished, {@code 0} otherwise.
+     */
+    @Modifying
+    @Query("UPDATE EateryTeardown t SET t.state = :state WHERE t.eateryId = :eateryId AND t.finishedAt IS NULL")
+    int updateUnfinished(@Param("eateryId") Long eateryId, @Param("state") EateryTeardownStatus.State state);
+
+    @Modifying
+    @Query(value = "DELETE FROM eatery_teardown_rows WHERE eatery_id IN"
+            + " (SELECT eatery_id FROM eatery_teardown WHERE finished_at < :cutoff)", nativeQuery = true)
+    int deleteRowsOfFinishedBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM EateryTeardown t WHERE t.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") Instant cutoff);
+}
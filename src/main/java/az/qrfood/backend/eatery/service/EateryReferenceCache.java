@@ -0,0 +1,116 @@
+package az.qrfood.backend.eatery.service;
+
+import az.qrfood.backend.common.cache.SnapshotCache;
+import az.qrfood.backend.eatery.dto.EateryChild;
+import az.qrfood.backend.eatery.dto.EateryReference;
+import az.qrfood.backend.eatery.repository.EateryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory cache of the reference data of eateries, the name and the table numbers, kept per
+ * eatery in a {@link SnapshotCache}.
+ * <p>
+ * Nearly every client request resolves the eatery and table it was made for, and these rows
+ * change rarely. An eatery is loaded with two small queries the first time it is needed and then
+ * answered from memory until {@link #invalidate(Long)} is called for it, which the services that
+ * change these rows do, or the snapshot grows older than {@code app.eatery-reference.cache.max-age}.
+ * At most {@code app.eatery-reference.cache.max-entries} eateries are kept.
+ * </p>
+ * <p>
+ * A table missing from a snapshot may just have been created on another instance, so callers look
+ * single tables up here and fall back to the database for a missing one; whole lists, such as the
+ * kitchen departments of an eatery, are always read from the database.
+ * </p>
+ */
+@Log4j2
+@Component
+public class EateryReferenceCache {
+
+    //<editor-fold desc="Fields">
+    private final EateryRepository eateryRepository;
+    private final SnapshotCache<Long, EateryReference> snapshots;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    /**
+     * Constructs an EateryReferenceCache.
+     *
+     * @param eateryRepository The repository the snapshots are loaded from.
+     * @param maxEntries       The number of eateries kept in memory.
+     * @param maxAge           How long a snapshot is trusted without invalidation.
+     * @param meterRegistry    The registry of the cache metrics.
+     */
+    public EateryReferenceCache(EateryRepository eateryRepository,
+                                @Value("${app.eatery-reference.cache.max-entries:5000}") int maxEntries,
+                                @Value("${app.eatery-reference.cache.max-age:5m}") Duration maxAge,
+                                MeterRegistry meterRegistry) {
+        this.eateryRepository = eateryRepository;
+        this.snapshots = new SnapshotCache<>("eatery-reference", maxEntries, maxAge, meterRegistry);
+    }
+    //</editor-fold>
+
+    /**
+     * Returns the reference data of an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return The reference data, empty if the eatery does not exist.
+     */
+    public Optional<EateryReference> find(Long eateryId) {
+        return Optional.ofNullable(snapshots.get(eateryId, () -> load(eateryId)));
+    }
+
+    /**
+     * Returns the name of an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return The name, empty if the eatery does not exist.
+     */
+    public Optional<String> findEateryName(Long eateryId) {
+        return find(eateryId).map(EateryReference::name);
+    }
+
+    /**
+     * Returns the number of a table of an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param tableId  The ID of the table.
+     * @return The table number, empty if the table is not in the snapshot of the eatery.
+     */
+    public Optional<String> findTableNumber(Long eateryId, Long tableId) {
+        return find(eateryId).map(reference -> reference.tableNumbers().get(tableId));
+    }
+
+    /**
+     * Drops the snapshot of an eatery after its name or tables changed.
+     *
+     * @param eateryId The ID of the eatery.
+     */
+    public void invalidate(Long eateryId) {
+        snapshots.invalidate(eateryId);
+    }
+
+    private EateryReference load(Long eateryId) {
+        Optional<String> name = eateryRepository.findNameById(eateryId);
+        if (name.isEmpty()) {
+            return null;
+        }
+        Map<Long, String> tables = toMap(eateryRepository.findTables(List.of(eateryId)));
+        log.debug("Loaded reference data of eatery [{}]: [{}] tables", eateryId, tables.size());
+        return new EateryReference(eateryId, name.get(), tables);
+    }
+
+    private static Map<Long, String> toMap(List<EateryChild> rows) {
+        Map<Long, String> map = new LinkedHashMap<>();
+        rows.forEach(row -> map.put(row.id(), row.value()));
+        return Collections.unmodifiableMap(map);
+    }
+}
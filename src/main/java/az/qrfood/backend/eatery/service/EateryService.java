@@ -1,25 +1,33 @@
 package az.qrfood.backend.eatery.service;
 
-import az.qrfood.backend.category.entity.Category;
-import az.qrfood.backend.common.Util;
+import az.qrfood.backend.common.response.JsonArrayStreamer;
 import az.qrfood.backend.common.service.StorageService;
 import az.qrfood.backend.eatery.dto.EateryDto;
 import az.qrfood.backend.eatery.dto.OnboardingStatus;
 import az.qrfood.backend.eatery.entity.Eatery;
 import az.qrfood.backend.eatery.entity.EateryPhone;
+import az.qrfood.backend.eatery.mapper.EateryMapper;
 import az.qrfood.backend.eatery.repository.EateryRepository;
-import az.qrfood.backend.table.entity.TableInEatery;
 import az.qrfood.backend.table.service.TableService;
 import az.qrfood.backend.user.entity.Role;
-import az.qrfood.backend.user.entity.User;
 import az.qrfood.backend.user.entity.UserProfile;
 import az.qrfood.backend.user.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing {@link Eatery} entities.
@@ -33,11 +41,19 @@ import java.util.stream.Collectors;
 @Log4j2
 public class EateryService {
 
+    /**
+     * The number of eateries whose children are read with one query.
+     */
+    private static final int SUMMARY_BATCH_SIZE = 500;
+
     private final EateryRepository eateryRepository;
     private final TableService tableService;
     private final StorageService storageService;
     private final UserProfileRepository userProfileRepository;
     private final EateryLifecycleService eateryLifecycleService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final EntityManager entityManager;
+    private final EateryReferenceCache eateryReferenceCache;
 
     /**
      * Constructs an EateryService with necessary dependencies.
@@ -46,17 +62,26 @@ public class EateryService {
      * @param tableService          The service for managing tables within an eatery.
      * @param storageService        The service for handling storage operations (e.g., creating eatery folders).
      * @param userProfileRepository The repository for UserProfile entities.
+     * @param jsonArrayStreamer     The writer for streamed JSON arrays.
+     * @param entityManager         The entity manager cleared while streaming.
+     * @param eateryReferenceCache  The cache of eatery names, invalidated when an eatery changes.
      */
     public EateryService(EateryRepository eateryRepository,
                          TableService tableService,
                          StorageService storageService,
                          UserProfileRepository userProfileRepository,
-                         EateryLifecycleService eateryLifecycleService) {
+                         EateryLifecycleService eateryLifecycleService,
+                         JsonArrayStreamer jsonArrayStreamer,
+                         EntityManager entityManager,
+                         EateryReferenceCache eateryReferenceCache) {
         this.eateryRepository = eateryRepository;
         this.tableService = tableService;
         this.storageService = storageService;
         this.userProfileRepository = userProfileRepository;
         this.eateryLifecycleService = eateryLifecycleService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.entityManager = entityManager;
+        this.eateryReferenceCache = eateryReferenceCache;
     }
 
     /**
@@ -64,10 +89,27 @@ public class EateryService {
      *
      * @return A list of {@link EateryDto} representing all eateries.
      */
+    @Transactional(readOnly = true)
     public List<EateryDto> getAllRestaurants() {
-        return eateryRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(eateryRepository.findAll());
+    }
+
+    /**
+     * Writes all eateries in the system as a JSON array without loading them all at once.
+     *
+     * @param target The stream to write to.
+     * @return The number of written eateries.
+     * @throws IOException if writing fails.
+     */
+    @Transactional(readOnly = true)
+    public long writeAllRestaurants(OutputStream target) throws IOException {
+        try (Stream<Eatery> eateries = eateryRepository.streamAll()) {
+            Iterator<Eatery> iterator = eateries.iterator();
+            Stream<EateryDto> dtos = Stream.generate(() -> nextBatch(iterator))
+                    .takeWhile(batch -> !batch.isEmpty())
+                    .flatMap(batch -> convertToDTOs(batch).stream());
+            return jsonArrayStreamer.write(dtos, target, entityManager::clear);
+        }
     }
 
     /**
@@ -115,59 +157,71 @@ public class EateryService {
      */
     public Long createEatery(EateryDto restaurantDTO) {
 
-        Eatery eatery = Util.copyProperties(restaurantDTO, Eatery.class);
+        Eatery eatery = EateryMapper.toEntity(restaurantDTO);
         eatery = eateryRepository.save(eatery);
         populatePhoneEntities(eatery, restaurantDTO.getPhones());
         eatery = eateryRepository.save(eatery);
         if(eatery.getOnboardingStatus() == null) {
             eateryLifecycleService.promoteStatus(eatery.getId(), OnboardingStatus.EATERY_CREATED);
         }
-        EateryDto dto = convertToDTO(eatery);
-        storageService.createEateryFolder(dto.getId());
+        storageService.createEateryFolder(eatery.getId());
         return eatery.getId();
     }
 
     /**
      * Converts an {@link Eatery} entity to an {@link EateryDto}.
-     * <p>
-     * This method maps the fields from the entity to the DTO, including
-     * extracting phone numbers, table IDs, and category IDs.
-     * </p>
      *
      * @param eatery The {@link Eatery} entity to convert.
      * @return The converted {@link EateryDto}.
      */
     private EateryDto convertToDTO(Eatery eatery) {
-        EateryDto dto = Util.copyProperties(eatery, EateryDto.class);
-        eatery.getPhones().forEach(phone -> {
-            dto.getPhones().add(phone.getPhoneNumber());
-        });
-
-        eatery.getTables().forEach(table -> {
-            dto.getTableIds().add(table.getId());
-        });
-
-        dto.setId(eatery.getId());
-        dto.setNumberOfTables(eatery.getTables().size());
-
+        return convertToDTOs(List.of(eatery)).getFirst();
+    }
 
-        List<Category> categories = eatery.getCategories();
-        if (categories != null && !categories.isEmpty()) {
-            eatery.getCategories().forEach(category -> {
-                dto.getCategoryIds().add(category.getId());
-            });
+    /**
+     * Converts {@link Eatery} entities to {@link EateryDto}s.
+     * <p>
+     * The phone numbers, table IDs, category IDs and owner emails are not read through the lazy
+     * collections of every eatery but with one query each per {@link #SUMMARY_BATCH_SIZE} eateries,
+     * so listing all eateries costs a fixed number of queries however many there are.
+     * </p>
+     *
+     * @param eateries The {@link Eatery} entities to convert.
+     * @return The converted DTOs, in the order of the entities.
+     */
+    private List<EateryDto> convertToDTOs(List<Eatery> eateries) {
+        List<EateryDto> dtos = new ArrayList<>(eateries.size());
+        for (int from = 0; from < eateries.size(); from += SUMMARY_BATCH_SIZE) {
+            Map<Long, EateryDto> batch = new LinkedHashMap<>();
+            for (Eatery eatery : eateries.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, eateries.size()))) {
+                EateryDto dto = EateryMapper.toDto(eatery);
+                dto.setOwnerMail("Mail Not Found");
+                batch.put(eatery.getId(), dto);
+            }
+            Set<Long> ids = batch.keySet();
+            eateryRepository.findPhones(ids)
+                    .forEach(phone -> batch.get(phone.eateryId()).getPhones().add(phone.value()));
+            eateryRepository.findTables(ids)
+                    .forEach(table -> batch.get(table.eateryId()).getTableIds().add(table.id()));
+            eateryRepository.findCategoryIds(ids)
+                    .forEach(category -> batch.get(category.eateryId()).getCategoryIds().add(category.id()));
+            // the first profile of an eatery is its owner
+            Set<Long> withOwner = new HashSet<>();
+            eateryRepository.findProfileEmails(ids).stream()
+                    .filter(profile -> withOwner.add(profile.eateryId()))
+                    .forEach(profile -> batch.get(profile.eateryId()).setOwnerMail(profile.value()));
+            batch.values().forEach(dto -> dto.setNumberOfTables(dto.getTableIds().size()));
+            dtos.addAll(batch.values());
         }
-        dto.setOwnerMail(
-                eatery.getUserProfiles().stream()
-                        .map(UserProfile::getUser)
-                        .map(User::getUsername)
-                        .findFirst()
-                        .orElse("Mail Not Found")
-
-        );
-
+        return dtos;
+    }
 
-        return dto;
+    private static List<Eatery> nextBatch(Iterator<Eatery> iterator) {
+        List<Eatery> batch = new ArrayList<>(SUMMARY_BATCH_SIZE);
+        while (batch.size() < SUMMARY_BATCH_SIZE && iterator.hasNext()) {
+            batch.add(iterator.next());
+        }
+        return batch;
     }
 
     /**
@@ -199,6 +253,7 @@ public class EateryService {
             throw new EntityNotFoundException(String.format("Eatery id [%s] not found", id));
         }
         eateryRepository.deleteById(id);
+        eateryReferenceCache.invalidate(id);
         return id;
     }
 
@@ -219,6 +274,7 @@ public class EateryService {
                         String.format("Eatery with id %s not found", id)));
 
         // Update basic fields
+        eateryReferenceCache.invalidate(id);
         existingEatery.setName(eateryDTO.getName());
         existingEatery.setAddress(eateryDTO.getAddress());
         existingEatery.setGeoLat(eateryDTO.getGeoLat());
@@ -253,9 +309,7 @@ public class EateryService {
             log.debug("Super admin is trying to find all eateries");
             return getAllRestaurants();
         } else {
-            return userProfile.getEateries().stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            return convertToDTOs(userProfile.getEateries());
         }
     }
 
@@ -0,0 +1,456 @@
+package az.qrfood.backend.eatery.service;
+
+import az.qrfood.backend.client.service.ClientOrderCache;
+import az.qrfood.backend.client.service.DeviceSessionStore;
+import az.qrfood.backend.eatery.dto.EateryTeardownStatus;
+import az.qrfood.backend.eatery.entity.EateryTeardown;
+import az.qrfood.backend.eatery.repository.EateryRepository;
+import az.qrfood.backend.eatery.repository.EateryTeardownRepository;
+import az.qrfood.backend.schedulers.job.BackgroundJob;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
+import az.qrfood.backend.tableassignment.service.WaiterTableIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes an eatery with all its data in the background.
+ * <p>
+ * The data is removed with bulk {@code DELETE} statements, children before parents, one step per
+ * kind of row. Every step selects a chunk of at most {@code app.eatery.teardown.chunk-size} parent
+ * IDs of the eatery and deletes them together with their children in one short transaction, until
+ * no IDs are left, so no entity is loaded and no lock is held for the whole teardown. The eatery
+ * row goes last, then its {@code uploads/eatery_<id>} folder. Steps only delete what is still
+ * there, so a teardown that failed can simply be started again.
+ * </p>
+ * <p>
+ * Staff whose profile belongs to this eatery only are deleted with their tokens, assignments and
+ * notifications; staff of several eateries only lose the link to this one.
+ * </p>
+ * <p>
+ * A teardown is queued as an {@code eatery_teardown} row, which also holds its progress, so any
+ * node can report it. The {@code JobScheduler} runs the queued teardowns as the
+ * {@code eatery-teardown} job; each one under a job lease of its eatery, renewed after every
+ * chunk, so two nodes never run the same teardown. If the node running it dies, the lease
+ * expires and another node resumes it. Finished teardowns are kept for a day.
+ * </p>
+ */
+@Log4j2
+@Service
+public class EateryTeardownService implements BackgroundJob {
+
+    public static final String JOB = "eatery-teardown";
+    private static final String LEASE_PREFIX = JOB + ":";
+    private static final Duration KEEP_FINISHED = Duration.ofDays(1);
+    private static final int MAX_ERROR_LENGTH = 2048;
+
+    //<editor-fold desc="Fields">
+    private final EateryRepository eateryRepository;
+    private final EateryTeardownRepository teardownRepository;
+    private final JobLeaseService jobLeaseService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final WaiterTableIndex waiterTableIndex;
+    private final EateryReferenceCache eateryReferenceCache;
+    private final ClientOrderCache clientOrderCache;
+    private final DeviceSessionStore deviceSessionStore;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final Duration lease;
+    private final String eateryFolder;
+    private final List<Step> steps;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    public EateryTeardownService(EateryRepository eateryRepository,
+                                 EateryTeardownRepository teardownRepository,
+                                 JobLeaseService jobLeaseService,
+                                 EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 WaiterTableIndex waiterTableIndex,
+                                 EateryReferenceCache eateryReferenceCache,
+                                 ClientOrderCache clientOrderCache,
+                                 DeviceSessionStore deviceSessionStore,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.eatery.teardown.chunk-size:500}") int chunkSize,
+                                 @Value("${app.eatery.teardown.lease:PT5M}") Duration lease,
+                                 @Value("${folder.root.uploads.eatery}") String eateryFolder) {
+        this.eateryRepository = eateryRepository;
+        this.teardownRepository = teardownRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.waiterTableIndex = waiterTableIndex;
+        this.eateryReferenceCache = eateryReferenceCache;
+        this.clientOrderCache = clientOrderCache;
+        this.deviceSessionStore = deviceSessionStore;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.eateryFolder = eateryFolder.strip();
+        this.steps = steps();
+    }
+    //</editor-fold>
+
+    /**
+     * Queues the teardown of an eatery.
+     * If a teardown of this eatery is already queued or running, on any node, that one is returned.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return The status of the teardown.
+     * @throws EntityNotFoundException if the eatery does not exist.
+     */
+    public EateryTeardownStatus start(Long eateryId) {
+        if (!eateryRepository.existsById(eateryId)) {
+            throw new EntityNotFoundException(String.format("Eatery id [%s] not found", eateryId));
+        }
+        try {
+            return transactionTemplate.execute(tx -> {
+                EateryTeardown teardown = teardownRepository.findById(eateryId).orElse(null);
+                if (teardown == null) {
+                    teardown = new EateryTeardown();
+                    teardown.setEateryId(eateryId);
+                    queue(teardown);
+                    teardownRepository.saveAndFlush(teardown);
+                    log.info("Teardown of eatery [{}] queued", eateryId);
+                } else if (teardown.getFinishedAt() != null) {
+                    queue(teardown);
+                    log.info("Teardown of eatery [{}] queued again", eateryId);
+                }
+                return status(teardown);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // queued by another node at the same time
+            return status(eateryId).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Returns the progress of the last teardown of an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return The status, empty if no teardown of the eatery is known.
+     */
+    public Optional<EateryTeardownStatus> status(Long eateryId) {
+        // not read-only, so the primary answers and a teardown queued through another node is found
+        return transactionTemplate.execute(tx -> teardownRepository.findById(eateryId).map(this::status));
+    }
+
+    @Override
+    public String getName() {
+        return JOB;
+    }
+
+    /**
+     * Runs the unfinished teardowns whose lease this node gets, until none is left, and forgets
+     * the teardowns that finished more than a day ago.
+     *
+     * @return The number of teardowns run.
+     */
+    @Override
+    public int run() {
+        Instant expired = Instant.now().minus(KEEP_FINISHED);
+        transactionTemplate.executeWithoutResult(tx -> {
+            teardownRepository.deleteRowsOfFinishedBefore(expired);
+            teardownRepository.deleteFinishedBefore(expired);
+        });
+
+        int ran = 0;
+        boolean progressed;
+        do {
+            progressed = false;
+            // teardowns queued while this loop runs are picked up by the next pass
+            for (Long eateryId : teardownRepository.findUnfinishedIds()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return ran;
+                }
+                if (runLeased(eateryId)) {
+                    ran++;
+                    progressed = true;
+                }
+            }
+        } while (progressed);
+        return ran;
+    }
+
+    private boolean runLeased(Long eateryId) {
+        String leaseName = LEASE_PREFIX + eateryId;
+        if (!jobLeaseService.tryAcquire(leaseName, lease)) {
+            // running on another node
+            return false;
+        }
+        try {
+            // another node may have finished it before this one got the lease
+            Integer claimed = transactionTemplate.execute(tx ->
+                    teardownRepository.updateUnfinished(eateryId, EateryTeardownStatus.State.RUNNING));
+            if (claimed == null || claimed == 0) {
+                return false;
+            }
+            run(eateryId, leaseName);
+            return true;
+        } finally {
+            jobLeaseService.release(leaseName);
+        }
+    }
+
+    private void run(Long eateryId, String leaseName) {
+        long start = System.nanoTime();
+        String step = null;
+        try {
+            for (Step current : steps) {
+                step = current.name();
+                runStep(current, eateryId, leaseName);
+            }
+            step = "files";
+            startStep(eateryId, step, false);
+            deleteFolder(eateryId);
+            waiterTableIndex.invalidate(eateryId);
+            eateryReferenceCache.invalidate(eateryId);
+            clientOrderCache.invalidateEatery(eateryId);
+            EateryTeardownStatus status = finish(eateryId, EateryTeardownStatus.State.DONE, null);
+            log.info("Eatery [{}] deleted in [{}] ms: {}", eateryId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), status.deletedRows());
+        } catch (LeaseLostException e) {
+            log.warn("Teardown of eatery [{}] lost its lease at step [{}], another node continues it", eateryId, step);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // shutting down; the teardown stays unfinished and is resumed by the next run on any node
+                log.info("Teardown of eatery [{}] stopped at step [{}]", eateryId, step);
+                return;
+            }
+            log.error("Teardown of eatery [{}] failed at step [{}]", eateryId, step, e);
+            finish(eateryId, EateryTeardownStatus.State.FAILED, e.getMessage());
+        }
+    }
+
+    private EateryTeardownStatus finish(Long eateryId, EateryTeardownStatus.State state, String error) {
+        meterRegistry.counter("qrfood.eatery.teardown", "outcome", state.name().toLowerCase()).increment();
+        return transactionTemplate.execute(tx -> {
+            EateryTeardown teardown = teardownRepository.findById(eateryId).orElseThrow();
+            teardown.setState(state);
+            teardown.setFinishedAt(Instant.now());
+            teardown.setError(error == null || error.length() <= MAX_ERROR_LENGTH
+                    ? error : error.substring(0, MAX_ERROR_LENGTH));
+            return status(teardown);
+        });
+    }
+
+    private void startStep(Long eateryId, String step, boolean deletesRows) {
+        transactionTemplate.executeWithoutResult(tx -> teardownRepository.findById(eateryId).ifPresent(teardown -> {
+            teardown.setStep(step);
+            if (deletesRows) {
+                teardown.getDeletedRows().putIfAbsent(step, 0L);
+            }
+        }));
+    }
+
+    private void runStep(Step step, Long eateryId, String leaseName) {
+        startStep(eateryId, step.name(), true);
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer deleted = transactionTemplate.execute(tx -> {
+                List<Long> ids = entityManager.createQuery(step.selectIds(), Long.class)
+                        .setParameter("eateryId", eateryId)
+                        .setMaxResults(chunkSize)
+                        .getResultList();
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                int rows = step.deleter().delete(eateryId, ids);
+                // the progress commits with the rows it counts
+                teardownRepository.findById(eateryId)
+                        .ifPresent(teardown -> teardown.getDeletedRows().merge(step.name(), (long) rows, Long::sum));
+                return rows;
+            });
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            meterRegistry.counter("qrfood.eatery.teardown.rows", "step", step.name()).increment(deleted);
+            if (!jobLeaseService.tryAcquire(leaseName, lease)) {
+                throw new LeaseLostException();
+            }
+        }
+        throw new IllegalStateException("Teardown interrupted");
+    }
+
+    private static void queue(EateryTeardown teardown) {
+        teardown.setState(EateryTeardownStatus.State.QUEUED);
+        teardown.setStep(null);
+        teardown.getDeletedRows().clear();
+        teardown.setStartedAt(Instant.now());
+        teardown.setFinishedAt(null);
+        teardown.setError(null);
+    }
+
+    private EateryTeardownStatus status(EateryTeardown teardown) {
+        // in the order of the steps
+        Map<String, Long> deletedRows = new LinkedHashMap<>();
+        for (Step step : steps) {
+            Long rows = teardown.getDeletedRows().get(step.name());
+            if (rows != null) {
+                deletedRows.put(step.name(), rows);
+            }
+        }
+        return new EateryTeardownStatus(teardown.getEateryId(), teardown.getState(), teardown.getStep(),
+                Collections.unmodifiableMap(deletedRows), teardown.getStartedAt(), teardown.getFinishedAt(),
+                teardown.getError());
+    }
+
+    private void deleteFolder(Long eateryId) {
+        Path folder = Path.of(String.format(eateryFolder, eateryId));
+        try {
+            if (FileSystemUtils.deleteRecursively(folder)) {
+                log.debug("Folder [{}] deleted", folder);
+            }
+        } catch (IOException e) {
+            // the rows are gone already, a leftover folder is not worth failing the teardown for
+            log.warn("Unable to delete folder [{}] of eatery [{}]", folder, eateryId, e);
+        }
+    }
+
+    /**
+     * The steps of a teardown, children before parents.
+     */
+    private List<Step> steps() {
+        return List.of(
+                new Step("orders",
+                        "SELECT o.id FROM Order o WHERE o.table.eatery.id = :eateryId ORDER BY o.id",
+                        (eateryId, ids) -> deleteDeviceLinks(ids)
+                                + delete("DELETE FROM OrderItem i WHERE i.order.id IN :ids", ids)
+                                + delete("DELETE FROM OrderView v WHERE v.orderId IN :ids", ids)
+                                + delete("DELETE FROM Order o WHERE o.id IN :ids", ids)),
+                new Step("order_view",
+                        "SELECT v.orderId FROM OrderView v WHERE v.eateryId = :eateryId ORDER BY v.orderId",
+                        (eateryId, ids) -> delete("DELETE FROM OrderView v WHERE v.orderId IN :ids", ids)),
+                new Step("sales_dish_rollup",
+                        "SELECT r.id FROM DishSalesRollup r WHERE r.eateryId = :eateryId ORDER BY r.id",
+                        (eateryId, ids) -> delete("DELETE FROM DishSalesRollup r WHERE r.id IN :ids", ids)),
+                new Step("sales_hourly_rollup",
+                        "SELECT r.id FROM HourlySalesRollup r WHERE r.eateryId = :eateryId ORDER BY r.id",
+                        (eateryId, ids) -> delete("DELETE FROM HourlySalesRollup r WHERE r.id IN :ids", ids)),
+                new Step("tables",
+                        "SELECT t.id FROM TableInEatery t WHERE t.eatery.id = :eateryId ORDER BY t.id",
+                        (eateryId, ids) -> {
+                            List<Long> qrCodeIds = entityManager.createQuery(
+                                            "SELECT q.id FROM TableInEatery t JOIN t.qrCode q WHERE t.id IN :ids", Long.class)
+                                    .setParameter("ids", ids)
+                                    .getResultList();
+                            int deleted = delete("DELETE FROM TableAssignment a WHERE a.table.id IN :ids", ids)
+                                    + delete("DELETE FROM TableInEatery t WHERE t.id IN :ids", ids);
+                            return qrCodeIds.isEmpty() ? deleted
+                                    : deleted + delete("DELETE FROM QrCode q WHERE q.id IN :ids", qrCodeIds);
+                        }),
+                new Step("dishes",
+                        "SELECT d.id FROM DishEntity d WHERE d.category.eatery.id = :eateryId ORDER BY d.id",
+                        (eateryId, ids) -> delete("DELETE FROM DishEntityTranslation t WHERE t.dishItem.id IN :ids", ids)
+                                + delete("DELETE FROM OrderItem i WHERE i.dishEntity.id IN :ids", ids)
+                                + delete("DELETE FROM DishEntity d WHERE d.id IN :ids", ids)),
+                new Step("categories",
+                        "SELECT c.id FROM Category c WHERE c.eatery.id = :eateryId ORDER BY c.id",
+                        (eateryId, ids) -> delete("DELETE FROM CategoryTranslation t WHERE t.category.id IN :ids", ids)
+                                + delete("DELETE FROM Category c WHERE c.id IN :ids", ids)),
+                new Step("kitchen_departments",
+                        "SELECT k.id FROM KitchenDepartmentEntity k WHERE k.restaurant.id = :eateryId ORDER BY k.id",
+                        (eateryId, ids) -> delete("DELETE FROM KitchenDepartmentEntity k WHERE k.id IN :ids", ids)),
+                new Step("phones",
+                        "SELECT p.id FROM EateryPhone p WHERE p.restaurant.id = :eateryId ORDER BY p.id",
+                        (eateryId, ids) -> delete("DELETE FROM EateryPhone p WHERE p.id IN :ids", ids)),
+                // staff of this eatery only
+                new Step("users",
+                        "SELECT p.user.id FROM UserProfile p JOIN p.eateries e"
+                                + " WHERE e.id = :eateryId AND SIZE(p.eateries) = 1 ORDER BY p.user.id",
+                        (eateryId, ids) -> deleteUsers(ids)),
+                // staff of several eateries keep their account
+                new Step("profile_links",
+                        "SELECT p.id FROM UserProfile p JOIN p.eateries e WHERE e.id = :eateryId ORDER BY p.id",
+                        (eateryId, ids) -> entityManager.createNativeQuery(
+                                        "DELETE FROM user_profile_restaurants WHERE restaurant_id = :eateryId AND profile_id IN (:ids)")
+                                .setParameter("eateryId", eateryId)
+                                .setParameter("ids", ids)
+                                .executeUpdate()),
+                new Step("eatery",
+                        "SELECT e.id FROM Eatery e WHERE e.id = :eateryId",
+                        (eateryId, ids) -> delete("DELETE FROM Eatery e WHERE e.id IN :ids", ids)));
+    }
+
+    private int deleteDeviceLinks(List<Long> orderIds) {
+        List<String> deviceUuids = entityManager.createQuery(
+                        "SELECT DISTINCT d.uuid FROM ClientDevice d JOIN d.orders o WHERE o.id IN :ids", String.class)
+                .setParameter("ids", orderIds)
+                .getResultList();
+        int deleted = deleteNative("DELETE FROM client_device_orders WHERE order_id IN (:ids)", orderIds);
+        // the devices themselves are shared between eateries and stay
+        deviceSessionStore.evict(deviceUuids);
+        return deleted;
+    }
+
+    private int deleteUsers(List<Long> userIds) {
+        List<String> usernames = entityManager.createQuery("SELECT u.username FROM User u WHERE u.id IN :ids", String.class)
+                .setParameter("ids", userIds)
+                .getResultList();
+        int deleted = delete("DELETE FROM AuthToken t WHERE t.user.id IN :ids", userIds)
+                + delete("DELETE FROM RefreshToken t WHERE t.user.id IN :ids", userIds)
+                + delete("DELETE FROM TableAssignment a WHERE a.waiter.id IN :ids", userIds);
+        if (!usernames.isEmpty()) {
+            deleted += delete("DELETE FROM NotificationLog l WHERE l.userEmail IN :ids", usernames)
+                    + delete("DELETE FROM EmailOutbox o WHERE o.recipient IN :ids", usernames);
+        }
+        return deleted
+                + deleteNative("DELETE FROM user_profile_phones WHERE profile_id IN"
+                + " (SELECT id FROM user_profiles WHERE user_id IN (:ids))", userIds)
+                + deleteNative("DELETE FROM user_profile_restaurants WHERE profile_id IN"
+                + " (SELECT id FROM user_profiles WHERE user_id IN (:ids))", userIds)
+                + delete("DELETE FROM UserProfile p WHERE p.user.id IN :ids", userIds)
+                + deleteNative("DELETE FROM user_roles WHERE user_id IN (:ids)", userIds)
+                + delete("DELETE FROM User u WHERE u.id IN :ids", userIds);
+    }
+
+    private int delete(String jpql, List<?> ids) {
+        return entityManager.createQuery(jpql).setParameter("ids", ids).executeUpdate();
+    }
+
+    private int deleteNative(String sql, List<?> ids) {
+        return entityManager.createNativeQuery(sql).setParameter("ids", ids).executeUpdate();
+    }
+
+    /**
+     * Deletes the rows of one chunk of parent IDs.
+     */
+    @FunctionalInterface
+    private interface ChunkDeleter {
+
+        /**
+         * @return The number of rows deleted, children included.
+         */
+        int delete(Long eateryId, List<Long> ids);
+    }
+
+    /**
+     * @param name      The name shown in the progress.
+     * @param selectIds JPQL selecting the parent IDs of the eatery, bound to {@code :eateryId}.
+     * @param deleter   Deletes one chunk of those IDs with their children.
+     */
+    private record Step(String name, String selectIds, ChunkDeleter deleter) {
+    }
+
+    /**
+     * Another node took over the lease of a teardown, after this one held it longer than the lease.
+     */
+    private static final class LeaseLostException extends RuntimeException {
+    }
+}
@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controller for handling frontend logs.
@@ -30,6 +32,9 @@ public class FrontendLogController {
 
     private final FrontendLogService frontendLogService;
 
+    @Value("${app.frontend-log.max-batch:100}")
+    private int maxBatch;
+
     /**
      * Endpoint for receiving frontend logs.
      * 
@@ -47,20 +52,59 @@ public class FrontendLogController {
     public ResponseEntity<Void> logFrontendMessage(
             @RequestBody FrontendLogDTO logDTO,
             HttpServletRequest request) {
+
+        // Queue the message, the writer logs it in the background
+        fillDefaults(logDTO, request);
+        frontendLogService.logFrontendMessage(logDTO);
         
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Endpoint for receiving a batch of frontend logs.
+     * <p>
+     * Entries beyond {@code app.frontend-log.max-batch} and entries that do not fit into the
+     * ingestion buffer are dropped and counted; the frontend is not asked to resend them.
+     * </p>
+     *
+     * @param logDTOs The frontend log entries
+     * @param request The HTTP request
+     * @return A response entity with status 202 (Accepted)
+     */
+    @Operation(summary = "Receive a batch of frontend log messages", description = "Receives several log messages from the frontend application in one request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Log messages accepted for writing"),
+            @ApiResponse(responseCode = "400", description = "Invalid log data"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(ApiRoutes.LOGS_FRONTEND_BATCH)
+    public ResponseEntity<Void> logFrontendMessages(
+            @RequestBody List<FrontendLogDTO> logDTOs,
+            HttpServletRequest request) {
+
+        List<FrontendLogDTO> batch = logDTOs;
+        if (batch.size() > maxBatch) {
+            frontendLogService.recordDropped(batch.size() - maxBatch);
+            batch = batch.subList(0, maxBatch);
+        }
+        batch.forEach(logDTO -> fillDefaults(logDTO, request));
+        int accepted = frontendLogService.logFrontendMessages(batch);
+        if (accepted < logDTOs.size()) {
+            log.debug("Frontend log batch of [{}] entries, [{}] accepted", logDTOs.size(), accepted);
+        }
+
+        return ResponseEntity.accepted().build();
+    }
+
+    private void fillDefaults(FrontendLogDTO logDTO, HttpServletRequest request) {
         // Set timestamp if not provided
         if (logDTO.getTimestamp() == null) {
             logDTO.setTimestamp(LocalDateTime.now());
         }
-        
+
         // Set user agent if not provided
         if (logDTO.getUserAgent() == null || logDTO.getUserAgent().isEmpty()) {
             logDTO.setUserAgent(request.getHeader("User-Agent"));
         }
-        
-        // Log the message
-        frontendLogService.logFrontendMessage(logDTO);
-        
-        return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
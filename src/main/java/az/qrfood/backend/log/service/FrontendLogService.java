@@ -1,28 +1,215 @@
 package az.qrfood.backend.log.service;
 
 import az.qrfood.backend.log.dto.FrontendLogDTO;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Service for handling frontend logs.
- * This service receives log data from the frontend and logs it using the backend's logging system.
+ * <p>
+ * Request threads only put the received entries into a bounded {@link LogRingBuffer}; a single
+ * background writer drains it and logs them using the backend's logging system. Entries with the
+ * same level, source and message arriving within {@code app.frontend-log.dedup-window} are
+ * written once with a repeat count, so a frontend release stuck in an error loop produces one
+ * line per window instead of thousands. When the buffer is full new entries are dropped and
+ * counted in {@code qrfood.frontend-log.dropped}.
+ * </p>
  */
 @Service
 @Log4j2
-@RequiredArgsConstructor
 public class FrontendLogService {
 
     /**
-     * Logs a frontend error message.
-     * 
+     * How long the writer sleeps when the buffer is empty.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    //<editor-fold desc="Fields">
+    private final LogRingBuffer<FrontendLogDTO> buffer;
+    private final long dedupWindowNanos;
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter deduplicated;
+    private final Map<String, Repeated> window = new LinkedHashMap<>();
+    private long windowStartedAt;
+    private volatile boolean running;
+    private Thread writer;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+
+    /**
+     * Constructs a FrontendLogService.
+     *
+     * @param bufferSize    The number of entries the buffer holds.
+     * @param dedupWindow   The window within which identical entries are merged.
+     * @param meterRegistry The registry the ingestion metrics are published to.
+     */
+    public FrontendLogService(@Value("${app.frontend-log.buffer-size:8192}") int bufferSize,
+                              @Value("${app.frontend-log.dedup-window:10s}") Duration dedupWindow,
+                              MeterRegistry meterRegistry) {
+        this.buffer = new LogRingBuffer<>(bufferSize);
+        this.dedupWindowNanos = dedupWindow.toNanos();
+        this.windowStartedAt = System.nanoTime();
+        this.accepted = Counter.builder("qrfood.frontend-log.accepted")
+                .description("Frontend log entries put into the buffer")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("qrfood.frontend-log.dropped")
+                .description("Frontend log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("qrfood.frontend-log.deduplicated")
+                .description("Frontend log entries merged into an identical entry of the same window")
+                .register(meterRegistry);
+        Gauge.builder("qrfood.frontend-log.buffered", buffer, LogRingBuffer::size)
+                .description("Frontend log entries waiting for the writer")
+                .register(meterRegistry);
+    }
+    //</editor-fold>
+
+    /**
+     * Starts the background writer.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "frontend-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer and writes whatever is still buffered.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queues a frontend log entry for writing.
+     *
      * @param logDTO The frontend log data transfer object
+     * @return {@code false} if the entry was dropped because the buffer is full.
+     */
+    public boolean logFrontendMessage(FrontendLogDTO logDTO) {
+        if (buffer.offer(logDTO)) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Queues a batch of frontend log entries for writing.
+     *
+     * @param logDTOs The frontend log entries, in the order they were produced.
+     * @return The number of entries accepted; the rest were dropped.
      */
-    public void logFrontendMessage(FrontendLogDTO logDTO) {
-        String logMessage = buildLogMessage(logDTO);
-        
-        switch (logDTO.getLevel().toLowerCase()) {
+    public int logFrontendMessages(List<FrontendLogDTO> logDTOs) {
+        int count = 0;
+        for (FrontendLogDTO logDTO : logDTOs) {
+            if (logFrontendMessage(logDTO)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts entries rejected before reaching the buffer, e.g. the excess of an oversized batch.
+     *
+     * @param count The number of rejected entries.
+     */
+    public void recordDropped(int count) {
+        dropped.increment(count);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            int drained = drain();
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+        closeWindow();
+    }
+
+    /**
+     * Moves buffered entries into the current window and writes the window once it has expired.
+     * Only called from the writer thread.
+     *
+     * @return The number of entries taken from the buffer.
+     */
+    int drain() {
+        int drained = 0;
+        FrontendLogDTO logDTO;
+        while ((logDTO = buffer.poll()) != null) {
+            drained++;
+            String key = dedupKey(logDTO);
+            Repeated repeated = window.get(key);
+            if (repeated == null) {
+                if (window.size() >= buffer.capacity()) {
+                    // a flood of distinct entries is written early rather than held
+                    closeWindow();
+                }
+                window.put(key, new Repeated(logDTO));
+            } else {
+                repeated.count++;
+                deduplicated.increment();
+            }
+        }
+        if (System.nanoTime() - windowStartedAt >= dedupWindowNanos) {
+            closeWindow();
+        }
+        return drained;
+    }
+
+    private void closeWindow() {
+        for (Repeated repeated : window.values()) {
+            try {
+                write(repeated.first, repeated.count);
+            } catch (RuntimeException e) {
+                log.error("Unable to write frontend log entry", e);
+            }
+        }
+        window.clear();
+        windowStartedAt = System.nanoTime();
+    }
+
+    private String dedupKey(FrontendLogDTO logDTO) {
+        return Objects.toString(logDTO.getLevel()) + '\u0000'
+                + Objects.toString(logDTO.getSource()) + '\u0000'
+                + Objects.toString(logDTO.getMessage());
+    }
+
+    private void write(FrontendLogDTO logDTO, int count) {
+        String logMessage = buildLogMessage(logDTO, count);
+        String level = logDTO.getLevel() == null ? "info" : logDTO.getLevel().toLowerCase();
+
+        switch (level) {
             case "error":
                 log.error(logMessage);
                 break;
@@ -41,35 +228,53 @@ public class FrontendLogService {
                 break;
         }
     }
-    
+
     /**
      * Builds a formatted log message from the frontend log data.
-     * 
+     *
      * @param logDTO The frontend log data transfer object
+     * @param count  How many identical entries the message stands for
      * @return A formatted log message string
      */
-    private String buildLogMessage(FrontendLogDTO logDTO) {
+    private String buildLogMessage(FrontendLogDTO logDTO, int count) {
         StringBuilder message = new StringBuilder();
         message.append("[FRONTEND] ");
-        
+
         if (logDTO.getSource() != null && !logDTO.getSource().isEmpty()) {
             message.append("[").append(logDTO.getSource()).append("] ");
         }
-        
+
         message.append(logDTO.getMessage());
-        
+
+        if (count > 1) {
+            message.append(" | Repeated: ").append(count).append(" times");
+        }
+
         if (logDTO.getUserId() != null && !logDTO.getUserId().isEmpty()) {
             message.append(" | User: ").append(logDTO.getUserId());
         }
-        
+
         if (logDTO.getDetails() != null && !logDTO.getDetails().isEmpty()) {
             message.append(" | Details: ").append(logDTO.getDetails());
         }
-        
+
         if (logDTO.getUserAgent() != null && !logDTO.getUserAgent().isEmpty()) {
             message.append(" | UserAgent: ").append(logDTO.getUserAgent());
         }
-        
+
         return message.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * The first entry of a group of identical entries and the size of the group.
+     */
+    private static final class Repeated {
+
+        private final FrontendLogDTO first;
+        private int count = 1;
+
+        Repeated(FrontendLogDTO first) {
+            this.first = first;
+        }
+    }
+}
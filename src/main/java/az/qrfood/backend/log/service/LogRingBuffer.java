@@ -0,0 +1,114 @@
+package az.qrfood.backend.log.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue backed by a ring of slots.
+ * <p>
+ * Every slot carries a sequence number telling whose turn it is: a producer may fill slot
+ * {@code i} when its sequence equals the producer position, a consumer may empty it when the
+ * sequence is one ahead. Positions are claimed with a compare-and-set, so request threads never
+ * block each other or the writer, and a full buffer is reported instead of waited on.
+ * </p>
+ *
+ * @param <T> The element type.
+ */
+class LogRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private final AtomicLong consumerPosition = new AtomicLong();
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity The minimum capacity; it is rounded up to a power of two.
+     */
+    LogRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(size, 1);
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room.
+     *
+     * @param element The element, not {@code null}.
+     * @return {@code false} if the buffer is full.
+     */
+    boolean offer(T element) {
+        long position = producerPosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = producerPosition.get();
+            } else if (lag < 0) {
+                return false;
+            } else {
+                position = producerPosition.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return The element, or {@code null} if the buffer is empty.
+     */
+    T poll() {
+        long position = consumerPosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - (position + 1);
+            if (lag == 0) {
+                if (consumerPosition.compareAndSet(position, position + 1)) {
+                    T element = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = consumerPosition.get();
+            } else if (lag < 0) {
+                return null;
+            } else {
+                position = consumerPosition.get();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements, exact only while no other thread is using the buffer.
+     *
+     * @return The approximate number of elements.
+     */
+    int size() {
+        return (int) Math.max(0, producerPosition.get() - consumerPosition.get());
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return The capacity.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
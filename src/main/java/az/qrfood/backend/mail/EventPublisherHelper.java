@@ -5,7 +5,7 @@ import az.qrfood.backend.common.Util;
 import az.qrfood.backend.mail.dto.EventType;
 import az.qrfood.backend.mail.dto.events.EmailEvent;
 import az.qrfood.backend.mail.entity.EmailTemplate;
-import az.qrfood.backend.mail.repository.EmailTemplateRepository;
+import az.qrfood.backend.mail.service.EmailTemplateCache;
 import az.qrfood.backend.mail.service.NotificationLogService;
 import az.qrfood.backend.user.entity.User;
 import az.qrfood.backend.user.entity.UserProfile;
@@ -27,8 +27,7 @@ public class EventPublisherHelper {
     private String frontendBaseUrl;
     private final ApplicationEventPublisher eventPublisher;
     private final NotificationLogService logService;
-    private final EmailTemplateRepository emailTemplateRepository;
-    private final EmailTemplateRepository templateRepository;
+    private final EmailTemplateCache emailTemplateCache;
     private final AuthTokenService authTokenService;
     private static final Map<String, String> GREETINGS = Map.of(
             "az", "Hörmətli müştəri",
@@ -36,11 +35,10 @@ public class EventPublisherHelper {
             "en", "Dear customer"
     );
 
-    public EventPublisherHelper(ApplicationEventPublisher eventPublisher, NotificationLogService logService, EmailTemplateRepository emailTemplateRepository, EmailTemplateRepository templateRepository, AuthTokenService authTokenService) {
+    public EventPublisherHelper(ApplicationEventPublisher eventPublisher, NotificationLogService logService, EmailTemplateCache emailTemplateCache, AuthTokenService authTokenService) {
         this.eventPublisher = eventPublisher;
         this.logService = logService;
-        this.emailTemplateRepository = emailTemplateRepository;
-        this.templateRepository = templateRepository;
+        this.emailTemplateCache = emailTemplateCache;
         this.authTokenService = authTokenService;
     }
 
@@ -48,21 +46,37 @@ public class EventPublisherHelper {
     public void publishEmailEvent(User user, EventType eventType) {
         String locale = Optional.ofNullable(user.getProfile())
                 .map(UserProfile::getLocale)
-                .orElse("az");
+                .orElse(null);
+        publishEmailEvent(user, user.getUsername(), locale, eventType);
+    }
+
+    /**
+     * Publishes an email event for a user whose address and locale are already known, e.g. from a
+     * projection, so the user itself may be an unloaded reference; it is only needed for the magic link.
+     *
+     * @param user      The recipient, possibly a reference obtained with {@code getReferenceById}.
+     * @param email     The address of the recipient.
+     * @param locale    The locale of the recipient; {@code az} if {@code null}.
+     * @param eventType The event to send the template of.
+     */
+    public void publishEmailEvent(User user, String email, String locale, EventType eventType) {
+        if (locale == null) {
+            locale = "az";
+        }
 
         String name = GREETINGS.getOrDefault(locale, GREETINGS.get("az"));
 
-        String link = String.format("%s/auth/verify?token=%s", frontendBaseUrl, authTokenService.createMagicLinkToken(user));
-        Optional<EmailTemplate> templateOp = emailTemplateRepository.findByEventType(eventType);
+        Optional<EmailTemplate> templateOp = emailTemplateCache.get(eventType);
         if(templateOp.isEmpty()) {
             String err = "Template not found for event type";
-            logService.logFailure(user.getUsername(), eventType, locale, err);
+            logService.logFailure(email, eventType, locale, err);
             log.error("Unable to find template for event type [{}]",eventType);
             return;
         }
+        String link = String.format("%s/auth/verify?token=%s", frontendBaseUrl, authTokenService.createMagicLinkToken(user));
 
         EmailEvent emailEvent = new EmailEvent(
-                user.getUsername(),
+                email,
                 locale,
                 templateOp.get(),
                 eventType,
@@ -79,7 +93,7 @@ public class EventPublisherHelper {
         log.info("Magic link generated for [{}]", email);
         log.info("Magic link sent to email [{}]", email);
         EventType eventType = EventType.MAGIC_LINK;
-        EmailTemplate template = templateRepository.findByEventType(eventType)
+        EmailTemplate template = emailTemplateCache.get(eventType)
                 .orElseThrow(() -> new RuntimeException("Template not found: " + eventType));
         eventPublisher.publishEvent(new EmailEvent(
                 email,
@@ -5,9 +5,15 @@ import az.qrfood.backend.mail.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Queues published emails in the outbox.
+ * <p>
+ * Runs in the publishing thread, so the row joins the transaction of the publisher; the
+ * {@code EmailOutboxScheduler} sends it later.
+ * </p>
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -15,7 +21,6 @@ public class MailEventListener {
 
     private final EmailService emailService;
 
-    @Async("emailExecutor")
     @EventListener
     public void handleEmailSending(EmailEvent event) {
         log.debug("Processing email event: [{}] for [{}]", event.event(), event.email());
@@ -0,0 +1,53 @@
+package az.qrfood.backend.mail.controller;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.mail.service.EmailTemplateCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+/**
+ * REST controller for reloading the cached email templates.
+ */
+@Log4j2
+@RestController
+@Tag(name = "Admin Management", description = "API endpoints for managing admin users")
+public class EmailTemplateController {
+
+    //<editor-fold desc="Fields">
+    private final EmailTemplateCache emailTemplateCache;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    public EmailTemplateController(EmailTemplateCache emailTemplateCache) {
+        this.emailTemplateCache = emailTemplateCache;
+    }
+    //</editor-fold>
+
+    /**
+     * Reloads all email templates from the database.
+     * To be called after a template row was edited. Only this instance reloads at once,
+     * the others pick the edit up within {@code app.mail.template-max-age}.
+     *
+     * @return The event types that have a template after the reload.
+     */
+    @Operation(summary = "Reload email templates", description = "Reloads the cached email templates from the database after a template was edited")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Templates reloaded"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a super admin")
+    })
+    @PostMapping(ApiRoutes.ADMIN_EMAIL_TEMPLATES_REFRESH)
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    public ResponseEntity<List<EventType>> refreshTemplates() {
+        log.debug("Request to reload email templates");
+        return ResponseEntity.ok(List.copyOf(emailTemplateCache.refresh().keySet()));
+    }
+}
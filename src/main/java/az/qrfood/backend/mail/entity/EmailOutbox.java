@@ -0,0 +1,57 @@
+package az.qrfood.backend.mail.entity;
+
+import az.qrfood.backend.mail.dto.EventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A rendered email waiting to be sent.
+ * <p>
+ * Rows are removed once the email is delivered and logged; a row that used up its attempts stays
+ * behind as {@link OutboxStatus#FAILED}. While a drain sends a row, it holds the claim on it until
+ * {@code claimedUntil}; a claim left behind by a node that died expires by itself.
+ * </p>
+ */
+@Entity
+@Table(name = "email_outbox")
+@Data
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private String recipient;
+    // the domain of the recipient, the key of the throughput cap
+    @Column(nullable = false)
+    private String provider;
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+    private String localeUsed;
+    private String subject;
+    @Lob
+    @Column(columnDefinition = "LONGTEXT", nullable = false)
+    private String bodyHtml;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+    private int attempts;
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+    @Column(length = 2048)
+    private String lastError;
+    @Column(length = 36)
+    private String claimToken;
+    private LocalDateTime claimedUntil;
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,5 @@
+package az.qrfood.backend.mail.entity;
+
+public enum OutboxStatus {
+    PENDING, FAILED
+}
@@ -0,0 +1,39 @@
+package az.qrfood.backend.mail.repository;
+
+import az.qrfood.backend.mail.entity.EmailOutbox;
+import az.qrfood.backend.mail.entity.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Finds the IDs of the rows that are due and not claimed by a running drain.
+     */
+    @Query("SELECT o.id FROM EmailOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+            "AND (o.claimedUntil IS NULL OR o.claimedUntil <= :now) ORDER BY o.nextAttemptAt, o.id")
+    List<Long> findDueIds(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims rows for one drain. A row claimed by another node in the meantime is left out, so
+     * every row is sent by one node only.
+     *
+     * @return The number of rows claimed.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.claimToken = :token, o.claimedUntil = :until " +
+            "WHERE o.id IN :ids AND o.status = :status AND (o.claimedUntil IS NULL OR o.claimedUntil <= :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Query("SELECT o FROM EmailOutbox o WHERE o.claimToken = :token ORDER BY o.nextAttemptAt, o.id")
+    List<EmailOutbox> findClaimed(@Param("token") String token);
+}
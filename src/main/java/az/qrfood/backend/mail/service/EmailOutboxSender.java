@@ -0,0 +1,243 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.common.ratelimit.RateLimitPolicy;
+import az.qrfood.backend.common.ratelimit.RateLimiter;
+import az.qrfood.backend.mail.entity.EmailOutbox;
+import az.qrfood.backend.mail.entity.NotifStatus;
+import az.qrfood.backend.mail.entity.NotificationLog;
+import az.qrfood.backend.mail.entity.OutboxStatus;
+import az.qrfood.backend.mail.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends the pending emails of the outbox.
+ * <p>
+ * Each call takes one batch of due rows and sends them over a single SMTP connection. Every
+ * provider, i.e. recipient domain, has its own token bucket, so a burst to one mailbox provider
+ * is spread out instead of getting the sender throttled or flagged; rows over the cap wait until
+ * their bucket has refilled. A failed row is retried with an exponential backoff until it used up
+ * its attempts. Delivered rows are removed, and the outcomes of a batch are logged together.
+ * </p>
+ * <p>
+ * With several nodes draining, every batch is first claimed in its own transaction: the rows get a
+ * claim token valid for {@code app.mail.outbox.claim-timeout}, and rows already claimed by another
+ * node are left out, so no email is sent twice. The removal of the delivered rows, the updates of the
+ * others and the log entries are then committed in one transaction, so a delivered email is never
+ * missing from both the outbox and the log.
+ * </p>
+ */
+@Slf4j
+@Service
+public class EmailOutboxSender {
+
+    //<editor-fold desc="Fields">
+    private final EmailOutboxRepository outboxRepository;
+    private final SmtpMailTransport transport;
+    private final NotificationLogService logService;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimiter rateLimiter = new RateLimiter(1000, System::nanoTime);
+    private final RateLimitPolicy providerPolicy;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter throttled;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    /**
+     * Constructs an EmailOutboxSender.
+     *
+     * @param outboxRepository   The repository of the queued emails.
+     * @param transport          The SMTP transport.
+     * @param logService         The service recording the outcome of every email.
+     * @param transactionManager The manager of the claim and finish transactions of a batch.
+     * @param perProvider        The cap per recipient domain, as {@code <burst>/<emails-per-minute>}.
+     * @param batchSize          The number of emails taken per call.
+     * @param maxAttempts        The number of attempts before an email is given up.
+     * @param initialBackoff     The wait after the first failed attempt; it doubles with every further one.
+     * @param maxBackoff         The longest wait between two attempts.
+     * @param claimTimeout       How long a batch stays claimed; longer than sending a batch takes.
+     * @param meterRegistry      The registry the outcome counters are published to.
+     */
+    public EmailOutboxSender(EmailOutboxRepository outboxRepository,
+                             SmtpMailTransport transport,
+                             NotificationLogService logService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.mail.outbox.per-provider:30/30}") String perProvider,
+                             @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                             @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+                             @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                             @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+                             @Value("${app.mail.outbox.claim-timeout:5m}") Duration claimTimeout,
+                             MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transport = transport;
+        this.logService = logService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.providerPolicy = RateLimitPolicy.parse("mail.outbox.per-provider", perProvider);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.sent = outcome(meterRegistry, "sent");
+        this.retried = outcome(meterRegistry, "retried");
+        this.failed = outcome(meterRegistry, "failed");
+        this.throttled = outcome(meterRegistry, "throttled");
+    }
+    //</editor-fold>
+
+    /**
+     * Sends one batch of due emails.
+     *
+     * @return The number of rows taken from the outbox; a full batch means more may be waiting.
+     */
+    public int drain() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = claim(now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, EmailOutbox> batch = new LinkedHashMap<>();
+        Map<Long, Exception> failures = new HashMap<>();
+        List<EmailOutbox> attempted = new ArrayList<>();
+        List<EmailOutbox> changed = new ArrayList<>();
+        for (EmailOutbox email : due) {
+            long wait = rateLimiter.tryAcquire(providerPolicy, email.getProvider());
+            if (wait > 0) {
+                email.setNextAttemptAt(now.plusNanos(wait));
+                changed.add(email);
+                throttled.increment();
+                continue;
+            }
+            attempted.add(email);
+            try {
+                batch.put(transport.createMessage(email.getRecipient(), email.getSubject(), email.getBodyHtml()), email);
+            } catch (Exception e) {
+                failures.put(email.getId(), e);
+            }
+        }
+        if (!batch.isEmpty()) {
+            transport.send(batch.keySet()).forEach((message, cause) -> failures.put(batch.get(message).getId(), cause));
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        List<NotificationLog> logs = new ArrayList<>();
+        for (EmailOutbox email : attempted) {
+            Exception cause = failures.get(email.getId());
+            if (cause == null) {
+                delivered.add(email.getId());
+                logs.add(NotificationLogService.entry(email.getRecipient(), email.getEventType(),
+                        email.getLocaleUsed(), NotifStatus.SENT, null));
+                continue;
+            }
+            email.setAttempts(email.getAttempts() + 1);
+            email.setLastError(NotificationLogService.truncate(cause.getMessage()));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboxStatus.FAILED);
+                logs.add(NotificationLogService.entry(email.getRecipient(), email.getEventType(),
+                        email.getLocaleUsed(), NotifStatus.FAILED, cause.getMessage()));
+                log.error("Giving up email [{}] to [{}] after [{}] attempts", email.getId(), email.getRecipient(),
+                        email.getAttempts(), cause);
+                failed.increment();
+            } else {
+                email.setNextAttemptAt(now.plus(backoff(initialBackoff, maxBackoff, email.getAttempts())));
+                log.warn("Email [{}] to [{}] failed, attempt [{}] of [{}]: {}", email.getId(), email.getRecipient(),
+                        email.getAttempts(), maxAttempts, cause.getMessage());
+                retried.increment();
+            }
+            changed.add(email);
+        }
+
+        changed.forEach(email -> {
+            email.setClaimToken(null);
+            email.setClaimedUntil(null);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(delivered);
+            }
+            if (!changed.isEmpty()) {
+                outboxRepository.saveAll(changed);
+            }
+            logService.logAll(logs);
+        });
+        sent.increment(delivered.size());
+        return due.size();
+    }
+
+    /**
+     * Claims the next batch of due rows for this drain, in a transaction of its own so other nodes
+     * see the claim before anything is sent.
+     *
+     * @param now The current time.
+     * @return The claimed rows, empty if none are due.
+     */
+    private List<EmailOutbox> claim(LocalDateTime now) {
+        String token = UUID.randomUUID().toString();
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxRepository.findDueIds(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()
+                    || outboxRepository.claim(ids, OutboxStatus.PENDING, token, now, now.plus(claimTimeout)) == 0) {
+                return List.of();
+            }
+            return outboxRepository.findClaimed(token);
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    /**
+     * Returns the wait before the next attempt: the initial backoff doubled for every attempt after the first.
+     *
+     * @param initial  The wait after the first failed attempt.
+     * @param max      The longest wait.
+     * @param attempts The number of failed attempts so far, at least one.
+     * @return The wait.
+     */
+    static Duration backoff(Duration initial, Duration max, int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration wait = initial.multipliedBy(1L << doublings);
+        return wait.compareTo(max) > 0 ? max : wait;
+    }
+
+    /**
+     * Returns the provider key of an address, its lower-cased domain.
+     *
+     * @param email The email address.
+     * @return The domain, or the whole address if it has none.
+     */
+    static String providerOf(String email) {
+        int at = email.lastIndexOf('@');
+        return (at < 0 ? email : email.substring(at + 1)).toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("qrfood.mail.outbox")
+                .description("Emails handled by the outbox sender")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -5,7 +5,9 @@ import az.qrfood.backend.auth.service.AuthTokenService;
 import az.qrfood.backend.common.Util;
 import az.qrfood.backend.mail.dto.EventType;
 import az.qrfood.backend.mail.dto.events.EmailEvent;
+import az.qrfood.backend.mail.entity.EmailOutbox;
 import az.qrfood.backend.mail.entity.EmailTemplate;
+import az.qrfood.backend.mail.repository.EmailOutboxRepository;
 import az.qrfood.backend.mail.repository.EmailTemplateRepository;
 import az.qrfood.backend.user.entity.User;
 import az.qrfood.backend.user.entity.UserProfile;
@@ -29,35 +31,33 @@ public class EmailService {
 
     //<editor-fold desc="Fields">
     private final NotificationLogService logService;
-    private final SmtpMailTransport transport;
+    private final EmailOutboxRepository outboxRepository;
     private final TemplateRenderer renderer;
     //</editor-fold>
 
     //<editor-fold desc="Constructor">
     public EmailService(NotificationLogService logService,
                         TemplateRenderer renderer,
-                        SmtpMailTransport transport) {
+                        EmailOutboxRepository outboxRepository) {
         this.logService = logService;
         this.renderer = renderer;
-        this.transport = transport;
+        this.outboxRepository = outboxRepository;
     }
     //</editor-fold>
 
     /**
-     * Executes the email sending process based on a template.
+     * Renders an email from its template and queues it in the outbox.
      * <p>
      * The method performs the following steps:
      * <ol>
-     * <li>Searches for a template by eventType and locale. If the template for the specified locale is not found,
-     * it falls back to the default locale template ({@code DEFAULT_LOCALE}).</li>
      * <li>Prepares the context and substitutes variables into the email body and subject.</li>
      * <li>Renders the HTML.</li>
-     * <li>Sends the email.</li>
-     * <li>Saves the operation result (Success/Failure) to the eventType log.</li>
+     * <li>Saves the rendered email as a pending {@link EmailOutbox} row, in the transaction of the caller
+     * if there is one, so the email is only sent if that transaction commits.</li>
      * </ol>
      * <p>
-     * If any errors occur during the process (missing template, rendering error, SMTP failure),
-     * the exception is caught, logged, and the status is saved as {@code FAILED} in the history.
+     * Sending, retries and the success log are left to {@link EmailOutboxSender}. If rendering or queueing
+     * fails, the exception is caught, logged, and the status is saved as {@code FAILED} in the history.
      *
      * @param event All data required to send email.
      */
@@ -69,18 +69,19 @@ public class EmailService {
         EventType eventType = event.event();
 
         try {
-            // 2. Render (Delegated to our new class)
-            String finalHtml = renderer.render(template, lang, map);
-            String subject = renderer.renderSubject(template, lang, map);
-
-            // 3. Send it (Delegated to transport)
-            transport.send(to, subject, finalHtml);
-            logService.logSuccess(to, eventType, lang);
+            EmailOutbox email = new EmailOutbox();
+            email.setRecipient(to);
+            email.setProvider(EmailOutboxSender.providerOf(to));
+            email.setEventType(eventType);
+            email.setLocaleUsed(lang);
+            email.setSubject(renderer.renderSubject(template, lang, map));
+            email.setBodyHtml(renderer.render(template, lang, map));
+            outboxRepository.save(email);
 
         } catch (Exception e) {
-            log.error("Failed to send email to {}", to, e);
+            log.error("Failed to queue email to {}", to, e);
             logService.logFailure(to, eventType, lang, e.getMessage());
         }
     }
 
-}
\ No newline at end of file
+}
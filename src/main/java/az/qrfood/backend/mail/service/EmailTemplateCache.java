@@ -0,0 +1,108 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.mail.entity.EmailTemplate;
+import az.qrfood.backend.mail.repository.EmailTemplateRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the {@link EmailTemplate} rows, one per {@link EventType}.
+ * <p>
+ * Templates change rarely while emails are published on every scheduler run, so the rows are
+ * loaded once at startup and looked up from an {@link EnumMap} afterwards. After a template row
+ * is edited, {@link #refresh()} swaps in a freshly loaded map; readers keep using the previous
+ * map until the swap, so no lookup ever sees a half-loaded state.
+ * </p>
+ * <p>
+ * {@link #refresh()} only reaches the instance it is called on, so a lookup also reloads the map
+ * once it is older than {@code app.mail.template-max-age}; the age limit bounds how long
+ * another application instance sends the old text.
+ * </p>
+ */
+@Log4j2
+@Component
+public class EmailTemplateCache {
+
+    private final EmailTemplateRepository emailTemplateRepository;
+    private final long maxAgeNanos;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs an EmailTemplateCache.
+     *
+     * @param emailTemplateRepository The repository the templates are loaded from.
+     * @param maxAge                  How long the loaded templates are used before they are reloaded.
+     */
+    public EmailTemplateCache(EmailTemplateRepository emailTemplateRepository,
+                              @Value("${app.mail.template-max-age:5m}") Duration maxAge) {
+        this.emailTemplateRepository = emailTemplateRepository;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Loads the templates once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Returns the template of an event type.
+     *
+     * @param eventType The event type.
+     * @return The template, or empty if there is no row for the event type.
+     */
+    public Optional<EmailTemplate> get(EventType eventType) {
+        Snapshot current = snapshot;
+        if (current == null || current.isOlderThan(maxAgeNanos)) {
+            current = reloadIfStale();
+        }
+        return Optional.ofNullable(current.templates().get(eventType));
+    }
+
+    /**
+     * Reloads all templates from the database.
+     *
+     * @return The loaded templates.
+     */
+    public synchronized Map<EventType, EmailTemplate> refresh() {
+        Map<EventType, EmailTemplate> loaded = new EnumMap<>(EventType.class);
+        for (EmailTemplate template : emailTemplateRepository.findAll()) {
+            EmailTemplate previous = loaded.putIfAbsent(template.getEventType(), template);
+            if (previous != null) {
+                log.warn("Ignoring email template [{}], event [{}] already has template [{}]",
+                        template.getId(), template.getEventType(), previous.getId());
+            }
+        }
+        snapshot = new Snapshot(loaded, System.nanoTime());
+        log.info("Loaded [{}] email templates", loaded.size());
+        return loaded;
+    }
+
+    private synchronized Snapshot reloadIfStale() {
+        // another lookup may have reloaded while this one waited for the lock
+        Snapshot current = snapshot;
+        if (current == null || current.isOlderThan(maxAgeNanos)) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<EventType, EmailTemplate> templates, long loadedAtNanos) {
+
+        boolean isOlderThan(long maxAgeNanos) {
+            return System.nanoTime() - loadedAtNanos > maxAgeNanos;
+        }
+    }
+}
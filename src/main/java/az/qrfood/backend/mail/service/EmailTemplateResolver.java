@@ -0,0 +1,166 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.mail.entity.EmailTemplate;
+import org.springframework.util.DigestUtils;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.ICacheEntryValidity;
+import org.thymeleaf.cache.NonCacheableCacheEntryValidity;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractTemplateResolver;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the database stored parts of {@link EmailTemplate}s by name, so Thymeleaf can cache them.
+ * <p>
+ * A {@link StringTemplateResolver} uses the template text itself as the name, which either
+ * disables caching or fills the cache with whole email bodies. Here a part is registered under
+ * {@code email-template:{id}:{part}:{version}}, where the version is a hash of the text: an
+ * edited row gets a new name. The previous version is dropped from the resolver and the engine
+ * cache once the new one has been rendered and no render of the previous one is still running.
+ * The parsed template does not depend on the language, since messages are resolved when it is
+ * processed, so all languages share one entry.
+ * </p>
+ */
+public class EmailTemplateResolver extends AbstractTemplateResolver {
+
+    static final String PREFIX = "email-template:";
+
+    private final boolean cacheable;
+    // both guarded by this
+    private final Map<String, Version> versions = new HashMap<>();
+    private final Map<String, String> currentNames = new HashMap<>();
+
+    /**
+     * Constructs an EmailTemplateResolver.
+     *
+     * @param cacheable Whether the engine may cache the parsed templates.
+     */
+    public EmailTemplateResolver(boolean cacheable) {
+        this.cacheable = cacheable;
+        setName(getClass().getSimpleName());
+        setResolvablePatterns(Set.of(PREFIX + "*"));
+    }
+
+    /**
+     * Processes a part of a template under its versioned name.
+     *
+     * @param engine  The engine to process with; its cache is cleared of versions no longer in use.
+     * @param id      The ID of the {@link EmailTemplate} row.
+     * @param part    The part of the row, e.g. {@code body}.
+     * @param source  The template text.
+     * @param context The context to process with.
+     * @return The processed text.
+     */
+    public String process(TemplateEngine engine, Long id, String part, String source, IContext context) {
+        String name = acquire(engine, id, part, source);
+        try {
+            return engine.process(name, context);
+        } finally {
+            release(engine, name);
+        }
+    }
+
+    /**
+     * Returns the name a version of a template part is registered under.
+     *
+     * @param id     The ID of the {@link EmailTemplate} row.
+     * @param part   The part of the row.
+     * @param source The template text.
+     * @return The template name.
+     */
+    static String nameOf(Long id, String part, String source) {
+        return keyOf(id, part) + ":" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Registers a version as the current one of its part and marks it in use.
+     * A superseded version is dropped right away when nobody renders it, otherwise by its last {@link #release}.
+     */
+    String acquire(TemplateEngine engine, Long id, String part, String source) {
+        String name = nameOf(id, part, source);
+        String dropped = null;
+        synchronized (this) {
+            Version version = versions.computeIfAbsent(name, n -> new Version(source));
+            version.users++;
+            version.superseded = false;
+            String previous = currentNames.put(keyOf(id, part), name);
+            if (previous != null && !previous.equals(name)) {
+                Version old = versions.get(previous);
+                old.superseded = true;
+                if (old.users == 0) {
+                    versions.remove(previous);
+                    dropped = previous;
+                }
+            }
+        }
+        if (dropped != null) {
+            engine.clearTemplateCacheFor(dropped);
+        }
+        return name;
+    }
+
+    /**
+     * Marks a render of a version as finished.
+     */
+    void release(TemplateEngine engine, String name) {
+        boolean dropped;
+        synchronized (this) {
+            Version version = versions.get(name);
+            version.users--;
+            dropped = version.superseded && version.users == 0;
+            if (dropped) {
+                versions.remove(name);
+            }
+        }
+        if (dropped) {
+            engine.clearTemplateCacheFor(name);
+        }
+    }
+
+    @Override
+    protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate,
+                                                        String template, Map<String, Object> templateResolutionAttributes) {
+        Version version;
+        synchronized (this) {
+            version = versions.get(template);
+        }
+        return version == null ? null : new StringTemplateResource(version.source);
+    }
+
+    @Override
+    protected TemplateMode computeTemplateMode(IEngineConfiguration configuration, String ownerTemplate,
+                                               String template, Map<String, Object> templateResolutionAttributes) {
+        return TemplateMode.HTML;
+    }
+
+    @Override
+    protected ICacheEntryValidity computeValidity(IEngineConfiguration configuration, String ownerTemplate,
+                                                  String template, Map<String, Object> templateResolutionAttributes) {
+        return cacheable ? AlwaysValidCacheEntryValidity.INSTANCE : NonCacheableCacheEntryValidity.INSTANCE;
+    }
+
+    private static String keyOf(Long id, String part) {
+        return PREFIX + id + ":" + part;
+    }
+
+    private static final class Version {
+
+        private final String source;
+        private int users;
+        private boolean superseded;
+
+        private Version(String source) {
+            this.source = source;
+        }
+    }
+}
@@ -7,8 +7,8 @@ import az.qrfood.backend.mail.repository.NotificationLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -16,51 +16,51 @@ import org.springframework.transaction.annotation.Transactional;
 public class NotificationLogService {
 
     private final NotificationLogRepository logRepository;
+    private final NotificationLogWriter logWriter;
 
     /**
      * Logs a successful email attempt.
-     * Uses REQUIRES_NEW to ensure this log is committed immediately, 
+     * The entry is written behind by the {@link NotificationLogWriter} in its own transaction,
      * independent of any other active transaction.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSuccess(String to, EventType key, String locale) {
-        saveLog(to, key, locale, NotifStatus.SENT, null);
+        logWriter.add(entry(to, key, locale, NotifStatus.SENT, null));
     }
 
     /**
      * Logs a failed email attempt.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logFailure(String to, EventType key, String locale, String errorMessage) {
-        // Safety: Truncate very long stack traces so they don't crash the DB insert
-        String safeError = (errorMessage != null && errorMessage.length() > 2000)
-                ? errorMessage.substring(0, 2000) + "..."
-                : errorMessage;
+        logWriter.add(entry(to, key, locale, NotifStatus.FAILED, errorMessage));
+    }
 
-        saveLog(to, key, locale, NotifStatus.FAILED, safeError);
+    /**
+     * Logs the outcomes of a batch of emails as one insert batch, without waiting in the buffer.
+     * The entries join the caller's transaction, so they commit together with the outbox changes
+     * they describe.
+     */
+    public void logAll(List<NotificationLog> entries) {
+        logWriter.insert(entries);
     }
 
     /**
-     * Internal helper to construct and save the entity.
-     * Wrapped in try-catch because logging failures should NEVER crash the application.
+     * Builds a log entry without saving it, for {@link #logAll(List)}.
      */
-    private void saveLog(String to, EventType key, String locale, NotifStatus status, String error) {
-        try {
-            NotificationLog logEntry = new NotificationLog();
-            logEntry.setUserEmail(to);
-            // Assuming your Entity stores the Key as a String. 
-            // If it stores the Enum directly, remove .name()
-            logEntry.setEventType(key);
-            logEntry.setLocaleUsed(locale);
-            logEntry.setStatus(status);
-            logEntry.setErrorMessage(error);
-            logRepository.save(logEntry);
-        
-        } catch (Exception e) {
-            // If the database is down, we can't save the log. 
-            // Fallback to file logging so the error isn't lost completely.
-            log.error("CRITICAL: Failed to save notification audit log to DB for user {}", to, e);
-        }
+    static NotificationLog entry(String to, EventType key, String locale, NotifStatus status, String error) {
+        NotificationLog logEntry = new NotificationLog();
+        logEntry.setUserEmail(to);
+        logEntry.setEventType(key);
+        logEntry.setLocaleUsed(locale);
+        logEntry.setStatus(status);
+        logEntry.setErrorMessage(truncate(error));
+        return logEntry;
+    }
+
+    // Safety: Truncate very long stack traces so they don't crash the DB insert
+    static String truncate(String errorMessage) {
+        return (errorMessage != null && errorMessage.length() > 2000)
+                ? errorMessage.substring(0, 2000) + "..."
+                : errorMessage;
     }
 
     @Transactional
@@ -0,0 +1,214 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.mail.entity.NotificationLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link NotificationLog} rows behind, in JDBC batches.
+ * <p>
+ * Entries are put into a bounded buffer and a background writer inserts them once a batch is
+ * full or the flush interval has passed, each batch in its own transaction. If the buffer is
+ * full the entry is written right away by the caller instead, so audit rows are slowed down but
+ * never dropped; the same happens to everything still buffered when the application stops.
+ * </p>
+ */
+@Slf4j
+@Service
+public class NotificationLogWriter {
+
+    static final String INSERT_SQL = "INSERT INTO notification_logs "
+            + "(user_email, event_type, locale_used, status, error_message, sent_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * How long the writer sleeps between two checks of the buffer.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    //<editor-fold desc="Fields">
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<NotificationLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter written;
+    private final Counter synchronous;
+    private final Counter lost;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writer;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    /**
+     * Constructs a NotificationLogWriter.
+     *
+     * @param jdbcTemplate       The template the batches are inserted with.
+     * @param transactionManager The manager of the transaction around each batch.
+     * @param bufferSize         The number of entries the buffer holds.
+     * @param batchSize          The number of entries per insert batch.
+     * @param flushInterval      The longest time an entry waits in the buffer.
+     * @param meterRegistry      The registry the writer metrics are published to.
+     */
+    public NotificationLogWriter(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.notification-log.buffer-size:2048}") int bufferSize,
+                                 @Value("${app.notification-log.batch-size:100}") int batchSize,
+                                 @Value("${app.notification-log.flush-interval:2s}") Duration flushInterval,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // an audit row is committed on its own, whatever the caller's transaction does
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.written = Counter.builder("qrfood.notification-log.written")
+                .description("Notification log rows inserted")
+                .register(meterRegistry);
+        this.synchronous = Counter.builder("qrfood.notification-log.synchronous")
+                .description("Notification log rows written by the caller because the buffer was full")
+                .register(meterRegistry);
+        this.lost = Counter.builder("qrfood.notification-log.lost")
+                .description("Notification log rows that could not be inserted")
+                .register(meterRegistry);
+        Gauge.builder("qrfood.notification-log.buffered", buffer, BlockingQueue::size)
+                .description("Notification log rows waiting for the writer")
+                .register(meterRegistry);
+    }
+    //</editor-fold>
+
+    /**
+     * Starts the background writer.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "notification-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer and writes whatever is still buffered.
+     */
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // entries added while the writer was finishing
+        flush();
+    }
+
+    /**
+     * Queues an entry for the next batch, or writes it right away if the buffer is full or the
+     * writer has been stopped.
+     *
+     * @param entry The entry to write.
+     */
+    public void add(NotificationLog entry) {
+        if (!stopped && buffer.offer(entry)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        synchronous.increment();
+        write(List.of(entry));
+    }
+
+    /**
+     * Inserts entries as one batch in a new transaction. Failures are logged, never thrown.
+     *
+     * @param entries The entries to insert.
+     */
+    public void write(List<NotificationLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(entries));
+        } catch (Exception e) {
+            // If the database is down, we can't save the log.
+            // Fallback to file logging so the entries aren't lost completely.
+            lost.increment(entries.size());
+            log.error("CRITICAL: Failed to save [{}] notification audit logs to DB: {}", entries.size(), entries, e);
+        }
+    }
+
+    /**
+     * Inserts entries as one batch in the transaction of the caller, so they commit or roll back with
+     * the caller's other changes. Failures are thrown.
+     *
+     * @param entries The entries to insert.
+     */
+    public void insert(List<NotificationLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getUserEmail());
+            ps.setString(2, entry.getEventType() == null ? null : entry.getEventType().name());
+            ps.setString(3, entry.getLocaleUsed());
+            ps.setString(4, entry.getStatus() == null ? null : entry.getStatus().name());
+            ps.setString(5, entry.getErrorMessage());
+            ps.setTimestamp(6, Timestamp.valueOf(entry.getSentAt()));
+        });
+        written.increment(entries.size());
+    }
+
+    private void drainLoop() {
+        long lastFlush = System.nanoTime();
+        while (running) {
+            if (buffer.size() >= batchSize || System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                flush();
+                lastFlush = System.nanoTime();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes everything buffered, one batch at a time.
+     *
+     * @return The number of entries taken from the buffer.
+     */
+    int flush() {
+        int flushed = 0;
+        List<NotificationLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            flushed += batch.size();
+            batch = new ArrayList<>(batchSize);
+        }
+        return flushed;
+    }
+}
@@ -3,9 +3,14 @@ package az.qrfood.backend.mail.service;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 public class SmtpMailTransport {
@@ -21,12 +26,42 @@ public class SmtpMailTransport {
     // Takes "to", "subject", "htmlBody" and sends it.
     // Knows NOTHING about databases or templates.
     public void send(String to, String subject, String htmlBody) throws MessagingException {
+        mailSender.send(createMessage(to, subject, htmlBody));
+    }
+
+    /**
+     * Builds a message without sending it, so several can go out together with {@link #send(Collection)}.
+     */
+    public MimeMessage createMessage(String to, String subject, String htmlBody) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
         helper.setTo(to);
         helper.setSubject(subject);
         helper.setText(htmlBody, true); // true = isHtml
         helper.setFrom(mailFrom);
-        mailSender.send(message);
+        return message;
+    }
+
+    /**
+     * Sends the messages over one SMTP connection.
+     * <p>
+     * The sender connects once and keeps going after a rejected message, so the result names
+     * every message that was not delivered. If the connection itself fails, all of them are.
+     * </p>
+     *
+     * @param messages The messages to send.
+     * @return The failed messages with their cause; empty if all were delivered.
+     */
+    public Map<MimeMessage, Exception> send(Collection<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failed = new HashMap<>();
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            // without failed messages only closing the connection went wrong, after everything was sent
+            e.getFailedMessages().forEach((message, cause) -> failed.put((MimeMessage) message, cause));
+        } catch (MailException e) {
+            messages.forEach(message -> failed.put(message, e));
+        }
+        return failed;
     }
-}
\ No newline at end of file
+}
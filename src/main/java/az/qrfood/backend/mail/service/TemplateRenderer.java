@@ -18,13 +18,18 @@ public class TemplateRenderer {
     // We use two different engines as per your original configuration:
     // 1. Text engine for database-stored strings
     // 2. Spring engine for file-based layouts (e.g., resources/templates/email/layout.html)
+    // The database strings are processed by name through the EmailTemplateResolver,
+    // so both engines parse a template once and then reuse it from their cache.
     private final TemplateEngine textTemplateEngine;
     private final TemplateEngine springTemplateEngine;
+    private final EmailTemplateResolver emailTemplateResolver;
 
     public TemplateRenderer(@Qualifier("textTemplateEngine") TemplateEngine textTemplateEngine,
-                            @Qualifier("springTemplateEngine") TemplateEngine springTemplateEngine) {
+                            @Qualifier("springTemplateEngine") TemplateEngine springTemplateEngine,
+                            EmailTemplateResolver emailTemplateResolver) {
         this.textTemplateEngine = textTemplateEngine;
         this.springTemplateEngine = springTemplateEngine;
+        this.emailTemplateResolver = emailTemplateResolver;
     }
 
     /**
@@ -35,7 +40,8 @@ public class TemplateRenderer {
 
         Context context = new Context(Locale.forLanguageTag(languageCode));
         context.setVariables(variables);
-        String innerBodyHtml = textTemplateEngine.process(templateDb.getBodyHtml(), context);
+        String innerBodyHtml = emailTemplateResolver.process(
+                textTemplateEngine, templateDb.getId(), "body", templateDb.getBodyHtml(), context);
         context.setVariable("mainContent", innerBodyHtml);
         return springTemplateEngine.process("email/layout", context);
     }
@@ -61,6 +67,6 @@ public class TemplateRenderer {
                 ? "[[" + subjectTemplate + "]]"
                 : subjectTemplate;
 
-        return textTemplateEngine.process(toProcess, context);
+        return emailTemplateResolver.process(textTemplateEngine, templateDb.getId(), "subject", toProcess, context);
     }
 }
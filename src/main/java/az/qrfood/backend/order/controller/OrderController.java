@@ -4,16 +4,18 @@ import static az.qrfood.backend.client.controller.ClientDeviceController.DEVICE;
 
 import az.qrfood.backend.client.service.ClientDeviceService;
 import az.qrfood.backend.constant.ApiRoutes;
-import az.qrfood.backend.eatery.repository.EateryRepository;
+import az.qrfood.backend.eatery.service.EateryReferenceCache;
 import az.qrfood.backend.order.OrderStatus;
 import az.qrfood.backend.order.dto.ClientDeviceDto;
 import az.qrfood.backend.order.dto.OrderDto;
+import az.qrfood.backend.order.dto.OrderViewDto;
 import az.qrfood.backend.order.entity.Order;
 import az.qrfood.backend.order.mapper.OrderMapper;
+import az.qrfood.backend.order.service.OrderExportService;
 import az.qrfood.backend.order.service.OrderService;
+import az.qrfood.backend.order.service.OrderViewService;
 import az.qrfood.backend.service.WebSocketService;
 import az.qrfood.backend.table.entity.TableStatus;
-import az.qrfood.backend.table.repository.TableRepository;
 import az.qrfood.backend.table.service.TableService;
 import az.qrfood.backend.user.UserUtils;
 import az.qrfood.backend.user.entity.Role;
@@ -26,6 +28,9 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -38,8 +43,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -63,8 +71,9 @@ public class OrderController {
     private final ClientDeviceService clientDeviceService;
     private final WebSocketService webSocketService;
     private final TableService tableService;
-    private final EateryRepository eateryRepository;
-    private final TableRepository tableRepository;
+    private final EateryReferenceCache eateryReferenceCache;
+    private final OrderViewService orderViewService;
+    private final OrderExportService orderExportService;
     //</editor-fold>
 
     //<editor-fold desc="Constructor">
@@ -75,16 +84,21 @@ public class OrderController {
      * @param orderMapper         The mapper for converting between Order entities and DTOs.
      * @param clientDeviceService The service for managing client devices and cookies.
      * @param webSocketService    The service for sending WebSocket notifications.
+     * @param eateryReferenceCache The cache of eatery names and table numbers.
+     * @param orderViewService    The service serving the order dashboard projection.
+     * @param orderExportService  The service streaming the order history export.
      */
     public OrderController(OrderService orderService, OrderMapper orderMapper, ClientDeviceService clientDeviceService,
-                           WebSocketService webSocketService, TableService tableService, EateryRepository eateryRepository, TableRepository tableRepository) {
+                           WebSocketService webSocketService, TableService tableService, EateryReferenceCache eateryReferenceCache,
+                           OrderViewService orderViewService, OrderExportService orderExportService) {
         this.orderService = orderService;
         this.orderMapper = orderMapper;
         this.clientDeviceService = clientDeviceService;
         this.webSocketService = webSocketService;
         this.tableService = tableService;
-        this.eateryRepository = eateryRepository;
-        this.tableRepository = tableRepository;
+        this.eateryReferenceCache = eateryReferenceCache;
+        this.orderViewService = orderViewService;
+        this.orderExportService = orderExportService;
     }
     //</editor-fold>
 
@@ -108,6 +122,26 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrdersByStatus(status));
     }
 
+    /**
+     * Retrieves every order of the platform.
+     * The orders are streamed to the response as a JSON array of {@link OrderDto} objects.
+     *
+     * @param response The response the JSON array is written to.
+     * @throws IOException if writing the response fails.
+     */
+    @Operation(summary = "Get all orders", description = "Streams all orders of all eateries", tags = {"Order Management"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of orders"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    @GetMapping(ApiRoutes.ADMIN_ORDERS)
+    public void getAllOrders(HttpServletResponse response) throws IOException {
+        log.debug("REST request to get all Orders");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        orderService.writeAllOrders(response.getOutputStream());
+    }
+
     /**
      * Retrieves a list of all orders for a specific eatery.
      *
@@ -128,11 +162,73 @@ public class OrderController {
         Set<Role> roles = UserUtils.getCurrentUserRoles();
         if(roles.size() == 1 && roles.contains(Role.WAITER)){
             Long waiterId = ((User)((UsernamePasswordAuthenticationToken) principal).getPrincipal()).getId();
-            return ResponseEntity.ok(orderService.getOrdersByWaiterId(waiterId));
+            return ResponseEntity.ok(orderService.getOrdersByWaiterId(eateryId, waiterId));
         }
         return ResponseEntity.ok(orderService.getOrdersByEateryId(eateryId));
     }
 
+    /**
+     * Retrieves the dashboard list of orders for a specific eatery.
+     * <p>
+     * Rows come from the order projection in a single query and carry totals, item counts
+     * and table numbers but not the items themselves; use {@link #getOrderById} for details.
+     * A user whose only role is waiter gets the orders of the tables assigned to them.
+     * </p>
+     *
+     * @param eateryId  The ID of the eatery to retrieve orders for.
+     * @param principal The authenticated user.
+     * @return A {@link ResponseEntity} containing a list of {@link OrderViewDto} objects, newest first.
+     */
+    @Operation(summary = "Get order dashboard by eatery ID", description = "Retrieves lightweight order rows for the staff dashboards", tags = {"Order Management"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of orders"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN', 'KITCHEN_ADMIN', 'WAITER', 'CASHIER')")
+    @GetMapping(ApiRoutes.ORDERS_DASHBOARD)
+    public ResponseEntity<List<OrderViewDto>> getOrderDashboard(@PathVariable Long eateryId, Principal principal) {
+        log.debug("REST request to get order dashboard for eatery ID: {}", eateryId);
+        Set<Role> roles = UserUtils.getCurrentUserRoles();
+        if (roles.size() == 1 && roles.contains(Role.WAITER)) {
+            Long waiterId = ((User) ((UsernamePasswordAuthenticationToken) principal).getPrincipal()).getId();
+            return ResponseEntity.ok(orderViewService.getDashboardByWaiterId(eateryId, waiterId));
+        }
+        return ResponseEntity.ok(orderViewService.getDashboardByEateryId(eateryId));
+    }
+
+    /**
+     * Streams the order history of an eatery as a file download.
+     * <p>
+     * {@code csv} produces one line per order. The body is written while the orders are read, so the export size is not limited by memory.
+     * </p>
+     *
+     * @param eateryId The ID of the eatery.
+     * @param format   The output format, currently only {@code csv}.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @param response The response the export is written to.
+     * @throws IOException if writing the response fails.
+     */
+    @Operation(summary = "Export order history", description = "Streams the orders of a period as CSV", tags = {"Order Management"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Invalid format, invalid period or internal server error")
+    })
+    @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN', 'CASHIER')")
+    @GetMapping(ApiRoutes.ORDERS_EXPORT)
+    public void exportOrders(@PathVariable Long eateryId,
+                             @RequestParam(defaultValue = "csv") String format,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             HttpServletResponse response) throws IOException {
+        log.debug("Export orders of eatery [{}] for [{} - {}] as [{}]", eateryId, from, to, format);
+        OrderExportService.Format exportFormat = OrderExportService.Format.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, String.format("attachment; filename=\"orders-%d-%s-%s.%s\"",
+                eateryId, from, to, exportFormat.getExtension()));
+        orderExportService.export(eateryId, from, to, exportFormat, response.getOutputStream());
+    }
+
     /**
      * Retrieves a specific order by its ID.
      *
@@ -365,9 +461,11 @@ public class OrderController {
         }
 
         // Get orders with the status "CREATED" for the specified eatery and device
-        boolean hasOrders  = !orderService.getClientOrders(eateryId, deviceUuid).isEmpty();
-        String eateryName = eateryRepository.findById(eateryId).orElseThrow().getName();
-        String tableName = tableRepository.findById(tableId).orElseThrow().getTableNumber();
+        boolean hasOrders = orderService.hasClientOrders(eateryId, deviceUuid);
+        String eateryName = eateryReferenceCache.findEateryName(eateryId)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Eatery with id %s not found", eateryId)));
+        String tableName = tableService.findTableNumber(eateryId, tableId)
+                .orElseThrow(() -> new EntityNotFoundException("Table not found with id: " + tableId));
 
         return ResponseEntity.ok(new ClientDeviceDto(eateryId, eateryName, tableId, tableName, hasOrders));
     }
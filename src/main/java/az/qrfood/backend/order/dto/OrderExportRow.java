@@ -0,0 +1,25 @@
+package az.qrfood.backend.order.dto;
+
+import az.qrfood.backend.order.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One order as written by the order history export.
+ *
+ * @param id          The ID of the order.
+ * @param createdAt   The creation time of the order.
+ * @param status      The current status of the order.
+ * @param tableId     The ID of the table the order was placed at.
+ * @param tableNumber The number of that table.
+ * @param itemCount   The number of portions ordered.
+ * @param total       The order total.
+ */
+public record OrderExportRow(Long id,
+                             LocalDateTime createdAt,
+                             OrderStatus status,
+                             Long tableId,
+                             String tableNumber,
+                             Long itemCount,
+                             BigDecimal total) {
+}
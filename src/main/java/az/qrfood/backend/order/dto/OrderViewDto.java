@@ -0,0 +1,34 @@
+package az.qrfood.backend.order.dto;
+
+import az.qrfood.backend.order.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight order row served to the staff dashboards.
+ * <p>
+ * Built directly from the {@link az.qrfood.backend.order.entity.OrderView} projection,
+ * it carries everything the order list needs without the item details. Field names
+ * follow {@link OrderDto} so the frontend can reuse its list components.
+ * </p>
+ *
+ * @param id          The ID of the order.
+ * @param tableId     The ID of the table the order was placed from.
+ * @param tableNumber The number of the table.
+ * @param waiterId    The ID of the waiter assigned to the table, may be {@code null}.
+ * @param status      The current status of the order.
+ * @param itemCount   Total quantity of dishes in the order.
+ * @param orderPrice  The order total.
+ * @param note        The order note.
+ * @param createdAt   The timestamp when the order was created.
+ */
+public record OrderViewDto(Long id,
+                           Long tableId,
+                           String tableNumber,
+                           Long waiterId,
+                           OrderStatus status,
+                           int itemCount,
+                           BigDecimal orderPrice,
+                           String note,
+                           LocalDateTime createdAt) {
+}
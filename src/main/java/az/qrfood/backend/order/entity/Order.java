@@ -17,6 +17,7 @@ import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -73,7 +74,9 @@ public class Order {
      * This is a one-to-many relationship, where one order can contain multiple items.
      * The {@code CascadeType.ALL} ensures that all operations (persist, merge, remove, refresh, detach)
      * are cascaded to the associated order items.
+     * The items of up to 100 loaded orders are initialized by one query.
      */
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<OrderItem> items;
 }
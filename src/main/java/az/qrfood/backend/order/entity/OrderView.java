@@ -0,0 +1,105 @@
+package az.qrfood.backend.order.entity;
+
+import az.qrfood.backend.order.OrderStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of an {@link Order} used by the staff dashboards.
+ * <p>
+ * One row is kept per order and is rewritten by
+ * {@link az.qrfood.backend.order.service.OrderViewService} whenever the order, its items,
+ * its table or the table assignment changes. Dashboard list endpoints read this table only,
+ * so they never walk the order, item, dish and table graph.
+ * </p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_view", indexes = {
+        @Index(name = "idx_order_view_eatery_created", columnList = "eatery_id, created_at"),
+        @Index(name = "idx_order_view_waiter_created", columnList = "waiter_id, created_at"),
+        @Index(name = "idx_order_view_table", columnList = "table_id")
+})
+public class OrderView {
+
+    /**
+     * The ID of the projected order, shared with {@link Order#getId()}.
+     */
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * The eatery the order's table belongs to.
+     */
+    @Column(name = "eatery_id", nullable = false)
+    private Long eateryId;
+
+    /**
+     * The table the order was placed from.
+     */
+    @Column(name = "table_id", nullable = false)
+    private Long tableId;
+
+    /**
+     * Copy of the table number at the time of the last refresh.
+     */
+    @Column(name = "table_number")
+    private String tableNumber;
+
+    /**
+     * The waiter serving the table, or {@code null} if the table is not assigned.
+     */
+    @Column(name = "waiter_id")
+    private Long waiterId;
+
+    /**
+     * The current status of the order.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private OrderStatus status;
+
+    /**
+     * Total quantity of dishes in the order.
+     */
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    /**
+     * Order total built from the prices fixed at order time.
+     */
+    @Column(precision = 12, scale = 2)
+    private BigDecimal total;
+
+    /**
+     * The order note.
+     */
+    private String note;
+
+    /**
+     * The timestamp when the order was created.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * The timestamp of the last projection refresh.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -94,17 +94,35 @@ public class OrderMapper {
 
     /**
      * Calculates the total price of an order based on its items.
-     * The price is calculated by summing the product of each item's quantity and its price at the time of order.
+     * The price of every item is taken from {@link #lineTotal(OrderItem)}, so the total
+     * reflects the prices fixed when the order was placed.
      *
      * @param orderItems The list of {@link OrderItem}s in the order.
-     * @return The total price of the order as a double.
+     * @return The total price of the order.
      */
     private BigDecimal calculatePrice(List<OrderItem> orderItems) {
         return orderItems.stream()
-                .map(orderItem -> {
-                    return orderItem.getDishEntity().getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity()));
-                })
+                .map(OrderMapper::lineTotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    /**
+     * Returns the price of a single order line.
+     * <p>
+     * {@link OrderItem#getPriceAtOrder()} already holds the line total fixed at order time.
+     * Items saved before that field was filled fall back to the current dish price
+     * multiplied by the quantity.
+     * </p>
+     *
+     * @param orderItem The order item.
+     * @return The price of the line, never {@code null}.
+     */
+    public static BigDecimal lineTotal(OrderItem orderItem) {
+        if (orderItem.getPriceAtOrder() != null) {
+            return orderItem.getPriceAtOrder();
+        }
+        BigDecimal price = orderItem.getDishEntity().getPrice();
+        return price == null ? BigDecimal.ZERO : price.multiply(BigDecimal.valueOf(orderItem.getQuantity()));
+    }
+
 }
@@ -1,15 +1,24 @@
 package az.qrfood.backend.order.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import az.qrfood.backend.common.Util;
 import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.dto.OrderExportRow;
 import az.qrfood.backend.order.entity.Order;
 import az.qrfood.backend.table.entity.TableInEatery;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the {@link Order} entity.
@@ -56,4 +65,129 @@ public interface CustomerOrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByTableIn(Set<TableInEatery> tables);
 
     long countByTableAndStatusIn(TableInEatery table, Collection<OrderStatus> statuses);
+
+    /**
+     * Retrieves the orders of a set of tables in one statement.
+     * <p>
+     * An order is returned while it is still open, or if it was created at or after {@code since}.
+     * The table, its eatery and QR code, the items and their dishes are fetched in the same query,
+     * so mapping the result to DTOs does not go back to the database per order.
+     * </p>
+     *
+     * @param tableIds       The IDs of the tables, must not be empty.
+     * @param closedStatuses The statuses of orders that are no longer open.
+     * @param since          Closed orders created before this moment are left out.
+     * @return A list of {@link Order} entities, newest first.
+     */
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            JOIN FETCH o.table t
+            JOIN FETCH t.eatery
+            LEFT JOIN FETCH t.qrCode
+            LEFT JOIN FETCH o.items i
+            LEFT JOIN FETCH i.dishEntity d
+            LEFT JOIN FETCH d.category
+            WHERE t.id IN :tableIds
+              AND (o.status NOT IN :closedStatuses OR o.createdAt >= :since)
+            ORDER BY o.createdAt DESC
+            """)
+    List<Order> findForTables(@Param("tableIds") Collection<Long> tableIds,
+                              @Param("closedStatuses") Collection<OrderStatus> closedStatuses,
+                              @Param("since") LocalDateTime since);
+
+    /**
+     * Retrieves the IDs of the orders a client device placed in an eatery within a time window.
+     * <p>
+     * The device is looked up by its indexed UUID and only its rows of the
+     * {@code client_device_orders} join table are visited, so the cost does not grow
+     * with the order history of other devices.
+     * </p>
+     *
+     * @param deviceUuid The UUID of the client device.
+     * @param eateryId   The ID of the eatery.
+     * @param from       The start of the window, inclusive.
+     * @param to         The end of the window, exclusive.
+     * @return The order IDs, in ascending order.
+     */
+    @Query("""
+            SELECT o.id FROM ClientDevice d
+            JOIN d.orders o
+            WHERE d.uuid = :deviceUuid
+              AND o.table.eatery.id = :eateryId
+              AND o.createdAt >= :from AND o.createdAt < :to
+            ORDER BY o.id
+            """)
+    List<Long> findIdsForDevice(@Param("deviceUuid") String deviceUuid,
+                                @Param("eateryId") Long eateryId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves orders by ID together with their table, items and dishes in one statement.
+     *
+     * @param ids The IDs of the orders.
+     * @return A list of {@link Order} entities, in ascending ID order.
+     */
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            JOIN FETCH o.table t
+            JOIN FETCH t.eatery
+            LEFT JOIN FETCH t.qrCode
+            LEFT JOIN FETCH o.items i
+            LEFT JOIN FETCH i.dishEntity d
+            LEFT JOIN FETCH d.category
+            WHERE o.id IN :ids
+            ORDER BY o.id
+            """)
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams one aggregated row per order of an eatery created within a time window.
+     * <p>
+     * The rows are scalar projections, so nothing is added to the persistence context while
+     * the stream is consumed. The rows are read in batches of {@link Util#STREAM_FETCH_SIZE}
+     * instead of buffering the whole result set on the client.
+     * The stream must be consumed and closed inside a transaction.
+     * </p>
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     Start of the window, inclusive.
+     * @param to       End of the window, exclusive.
+     * @return A stream of {@link OrderExportRow} ordered by order ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = Util.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new az.qrfood.backend.order.dto.OrderExportRow(
+                o.id, o.createdAt, o.status, t.id, t.tableNumber,
+                COALESCE(SUM(i.quantity), 0L),
+                COALESCE(SUM(COALESCE(i.priceAtOrder, d.price * i.quantity)), 0))
+            FROM Order o
+            JOIN o.table t
+            LEFT JOIN o.items i
+            LEFT JOIN i.dishEntity d
+            WHERE t.eatery.id = :eateryId AND o.createdAt >= :from AND o.createdAt < :to
+            GROUP BY o.id, o.createdAt, o.status, t.id, t.tableNumber
+            ORDER BY o.id
+            """)
+    Stream<OrderExportRow> streamForExport(@Param("eateryId") Long eateryId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    /**
+     * Streams every order in the system with its table, ordered by ID.
+     * The eager associations of the table are fetched in the same row and the items are loaded
+     * in batches, so mapping an order does not cost a query of its own.
+     * Entities are loaded read-only; the stream must be consumed and closed inside a transaction.
+     *
+     * @return A stream of {@link Order} entities.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = Util.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o JOIN FETCH o.table t JOIN FETCH t.eatery LEFT JOIN FETCH t.qrCode ORDER BY o.id")
+    Stream<Order> streamAll();
 }
\ No newline at end of file
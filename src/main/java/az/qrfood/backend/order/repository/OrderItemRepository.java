@@ -1,13 +1,20 @@
 package az.qrfood.backend.order.repository;
 
+import az.qrfood.backend.common.Util;
 import az.qrfood.backend.order.OrderStatus;
 import az.qrfood.backend.order.entity.OrderItem;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the {@link OrderItem} entity.
@@ -27,6 +34,30 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
      */
     List<OrderItem> findByOrderId(Long orderId);
 
+    /**
+     * Streams every order item in the system, ordered by ID.
+     * The order with its table and the dish with its category are fetched in the same row,
+     * dish translations are loaded in batches.
+     * Entities are loaded read-only; the stream must be consumed and closed inside a transaction.
+     *
+     * @return A stream of {@link OrderItem} entities.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = Util.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT i FROM OrderItem i
+            JOIN FETCH i.order o
+            JOIN FETCH o.table t
+            JOIN FETCH t.eatery
+            LEFT JOIN FETCH t.qrCode
+            JOIN FETCH i.dishEntity d
+            JOIN FETCH d.category
+            ORDER BY i.id
+            """)
+    Stream<OrderItem> streamAll();
+
     /**
      * Checks if there are any {@link OrderItem} entities associated with a specific dish ID.
      *
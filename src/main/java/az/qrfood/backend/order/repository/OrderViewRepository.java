@@ -0,0 +1,80 @@
+package az.qrfood.backend.order.repository;
+
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.dto.OrderViewDto;
+import az.qrfood.backend.order.entity.OrderView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the {@link OrderView} projection.
+ * <p>
+ * Read methods return {@link OrderViewDto} rows straight from the projection table,
+ * each backed by one of the indexes declared on {@link OrderView}.
+ * </p>
+ */
+@Repository
+public interface OrderViewRepository extends JpaRepository<OrderView, Long> {
+
+    /**
+     * Retrieves the dashboard rows of an eatery, newest first.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return A list of {@link OrderViewDto} rows.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.order.dto.OrderViewDto(
+                v.orderId, v.tableId, v.tableNumber, v.waiterId, v.status, v.itemCount, v.total, v.note, v.createdAt)
+            FROM OrderView v
+            WHERE v.eateryId = :eateryId
+            ORDER BY v.createdAt DESC
+            """)
+    List<OrderViewDto> findDashboardByEateryId(@Param("eateryId") Long eateryId);
+
+    /**
+     * Retrieves the dashboard rows of the tables served by a waiter, newest first.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param waiterId The ID of the waiter.
+     * @return A list of {@link OrderViewDto} rows.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.order.dto.OrderViewDto(
+                v.orderId, v.tableId, v.tableNumber, v.waiterId, v.status, v.itemCount, v.total, v.note, v.createdAt)
+            FROM OrderView v
+            WHERE v.waiterId = :waiterId AND v.eateryId = :eateryId
+            ORDER BY v.createdAt DESC
+            """)
+    List<OrderViewDto> findDashboardByWaiterId(@Param("eateryId") Long eateryId, @Param("waiterId") Long waiterId);
+
+    /**
+     * Copies a new table number into every projected order of the table.
+     *
+     * @param tableId     The ID of the table.
+     * @param tableNumber The new table number.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE OrderView v SET v.tableNumber = :tableNumber WHERE v.tableId = :tableId")
+    int updateTableNumber(@Param("tableId") Long tableId, @Param("tableNumber") String tableNumber);
+
+    /**
+     * Re-points the still open orders of a table to another waiter.
+     * Closed orders keep the waiter who served them.
+     *
+     * @param tableId        The ID of the table.
+     * @param waiterId       The ID of the waiter now serving the table, may be {@code null}.
+     * @param closedStatuses The statuses of orders that must keep their waiter.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("UPDATE OrderView v SET v.waiterId = :waiterId WHERE v.tableId = :tableId AND v.status NOT IN :closedStatuses")
+    int updateWaiterForOpenOrders(@Param("tableId") Long tableId,
+                                  @Param("waiterId") Long waiterId,
+                                  @Param("closedStatuses") Collection<OrderStatus> closedStatuses);
+}
@@ -0,0 +1,153 @@
+package az.qrfood.backend.order.service;
+
+import az.qrfood.backend.common.Util;
+import az.qrfood.backend.order.dto.OrderExportRow;
+import az.qrfood.backend.order.repository.CustomerOrderRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exports the order history of an eatery for offline analysis.
+ * <p>
+ * Orders are read through a forward-only cursor and written to the target stream as they arrive,
+ * so neither the result set nor the produced file is ever held in memory.
+ * </p>
+ */
+@Log4j2
+@Service
+public class OrderExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,created_at,status,table_id,table_number,item_count,total";
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Resolves a format from its case-insensitive name.
+         *
+         * @param name The requested format.
+         * @return The matching format.
+         * @throws IllegalArgumentException if the format is not supported.
+         */
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unsupported export format [" + name + "]");
+            }
+        }
+    }
+
+    //<editor-fold desc="Fields">
+    private final CustomerOrderRepository orderRepository;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+
+    /**
+     * Constructs an OrderExportService.
+     *
+     * @param orderRepository The repository streaming the orders.
+     */
+    public OrderExportService(CustomerOrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+    //</editor-fold>
+
+    /**
+     * Writes the orders created during a period of business days.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @param format   The output format.
+     * @param target   The stream to write to; flushed but not closed.
+     * @return The number of exported orders.
+     * @throws IOException if writing to the target fails.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long eateryId, LocalDate from, LocalDate to, Format format, OutputStream target) throws IOException {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid export period [" + from + " - " + to + "]");
+        }
+        LocalDateTime start = from.atStartOfDay().plusHours(Util.DAY_STARTS_AT_HOUR);
+        LocalDateTime end = to.plusDays(1).atStartOfDay().plusHours(Util.DAY_STARTS_AT_HOUR);
+
+        long exported;
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(eateryId, start, end)) {
+            exported = switch (format) {
+                case CSV -> writeCsv(rows.iterator(), target);
+            };
+        }
+        log.debug("Exported [{}] orders of eatery [{}] for [{} - {}] as [{}]", exported, eateryId, from, to, format);
+        return exported;
+    }
+
+    private long writeCsv(Iterator<OrderExportRow> rows, OutputStream target) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(row.createdAt() == null ? "" : row.createdAt().toString());
+            writer.write(',');
+            writer.write(row.status() == null ? "" : row.status().name());
+            writer.write(',');
+            writer.write(String.valueOf(row.tableId()));
+            writer.write(',');
+            writer.write(csvField(row.tableNumber()));
+            writer.write(',');
+            writer.write(String.valueOf(row.itemCount()));
+            writer.write(',');
+            writer.write(row.total() == null ? "0" : row.total().toPlainString());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -2,7 +2,10 @@ package az.qrfood.backend.order.service;
 
 import az.qrfood.backend.client.entity.ClientDevice;
 import az.qrfood.backend.client.repository.ClientDeviceRepository;
+import az.qrfood.backend.client.service.ClientOrderCache;
+import az.qrfood.backend.client.service.DeviceSessionStore;
 import az.qrfood.backend.common.Util;
+import az.qrfood.backend.common.response.JsonArrayStreamer;
 import az.qrfood.backend.common.exception.OrderNotFoundException;
 import az.qrfood.backend.common.exception.UnauthorizedStatusChangeException;
 import az.qrfood.backend.dish.entity.DishEntity;
@@ -15,22 +18,27 @@ import az.qrfood.backend.order.entity.OrderItem;
 import az.qrfood.backend.order.mapper.OrderMapper;
 import az.qrfood.backend.order.repository.CustomerOrderRepository;
 import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.report.service.SalesRollupService;
 import az.qrfood.backend.table.entity.TableInEatery;
 import az.qrfood.backend.table.repository.TableRepository;
-import az.qrfood.backend.tableassignment.dto.TableAssignmentDto;
-import az.qrfood.backend.tableassignment.service.TableAssignmentService;
+import az.qrfood.backend.tableassignment.service.WaiterTableIndex;
 import az.qrfood.backend.user.entity.Role;
 import az.qrfood.backend.table.entity.TableStatus;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing orders.
@@ -44,6 +52,11 @@ import java.util.stream.Collectors;
 @Service
 public class OrderService {
 
+    /**
+     * Orders in these statuses are no longer open.
+     */
+    private static final Set<OrderStatus> CLOSED_STATUSES = Set.of(OrderStatus.PAID, OrderStatus.CANCELLED);
+
     //<editor-fold desc="Fields">
     private final CustomerOrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
@@ -51,7 +64,13 @@ public class OrderService {
     private final TableRepository tableRepository;
     private final OrderMapper orderMapper;
     private final ClientDeviceRepository clientDeviceRepository;
-    private final TableAssignmentService tableAssignmentService;
+    private final OrderViewService orderViewService;
+    private final SalesRollupService salesRollupService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final EntityManager entityManager;
+    private final WaiterTableIndex waiterTableIndex;
+    private final ClientOrderCache clientOrderCache;
+    private final DeviceSessionStore deviceSessionStore;
     //</editor-fold>
 
     //<editor-fold desc="Constructor">
@@ -65,7 +84,13 @@ public class OrderService {
      * @param tableRepository        The repository for table entities.
      * @param orderMapper            The mapper for converting between Order entities and DTOs.
      * @param clientDeviceRepository The repository for client devices.
-     * @param tableAssignmentService The service for table assignments.
+     * @param orderViewService       The service maintaining the dashboard projection.
+     * @param salesRollupService     The service maintaining the sales rollups.
+     * @param jsonArrayStreamer      The writer for streamed JSON arrays.
+     * @param entityManager          The entity manager cleared while streaming.
+     * @param waiterTableIndex       The in-memory index of waiter assignments.
+     * @param clientOrderCache       The cache of today's orders per client device.
+     * @param deviceSessionStore     The store recording client-device activity.
      */
     public OrderService(CustomerOrderRepository orderRepository,
                         OrderItemRepository orderItemRepository,
@@ -73,14 +98,26 @@ public class OrderService {
                         TableRepository tableRepository,
                         OrderMapper orderMapper,
                         ClientDeviceRepository clientDeviceRepository,
-                        TableAssignmentService tableAssignmentService) {
+                        OrderViewService orderViewService,
+                        SalesRollupService salesRollupService,
+                        JsonArrayStreamer jsonArrayStreamer,
+                        EntityManager entityManager,
+                        WaiterTableIndex waiterTableIndex,
+                        ClientOrderCache clientOrderCache,
+                        DeviceSessionStore deviceSessionStore) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.dishRepository = dishRepository;
         this.tableRepository = tableRepository;
         this.orderMapper = orderMapper;
         this.clientDeviceRepository = clientDeviceRepository;
-        this.tableAssignmentService = tableAssignmentService;
+        this.orderViewService = orderViewService;
+        this.salesRollupService = salesRollupService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.entityManager = entityManager;
+        this.waiterTableIndex = waiterTableIndex;
+        this.clientOrderCache = clientOrderCache;
+        this.deviceSessionStore = deviceSessionStore;
     }
     //</editor-fold>
 
@@ -95,6 +132,25 @@ public class OrderService {
         return orderMapper.toDtoList(orders);
     }
 
+    /**
+     * Writes all orders in the system as a JSON array.
+     * <p>
+     * Orders are read from a cursor and written one by one; the persistence context is cleared
+     * after every written chunk, so memory use does not grow with the number of orders.
+     * </p>
+     *
+     * @param target The stream to write to.
+     * @return The number of written orders.
+     * @throws IOException if writing fails.
+     */
+    @Transactional(readOnly = true)
+    public long writeAllOrders(OutputStream target) throws IOException {
+        log.debug("Request to stream all Orders");
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            return jsonArrayStreamer.write(orders.map(orderMapper::toDto), target, entityManager::clear);
+        }
+    }
+
     /**
      * Retrieves all orders filtered by their status.
      *
@@ -181,6 +237,7 @@ public class OrderService {
 
         // Refresh the order to get the items
         order = orderRepository.findById(order.getId()).orElse(order);
+        orderViewService.refresh(order);
         return order;
     }
 
@@ -223,6 +280,7 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + id));
 
+        OrderStatus previousStatus = order.getStatus();
         OrderStatus newStatus = orderDTO.getStatus();
 
         // Update only allowed fields
@@ -249,6 +307,8 @@ public class OrderService {
         }
 
         order = orderRepository.save(order);
+        orderViewService.refresh(order);
+        salesRollupService.onStatusChange(order, previousStatus, order.getStatus());
         if (order.getStatus() == OrderStatus.PAID || order.getStatus() == OrderStatus.CANCELLED) {
             activateTableIfNoActiveOrders(order.getTable());
         }
@@ -270,6 +330,7 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + id));
 
+        OrderStatus previousStatus = order.getStatus();
         try {
             OrderStatus status = OrderStatus.valueOf(newStatus);
             OrderStatus oldStatus = order.getStatus();
@@ -282,6 +343,8 @@ public class OrderService {
         }
 
         order = orderRepository.save(order);
+        orderViewService.refresh(order);
+        salesRollupService.onStatusChange(order, previousStatus, order.getStatus());
         if (order.getStatus() == OrderStatus.PAID || order.getStatus() == OrderStatus.CANCELLED) {
             activateTableIfNoActiveOrders(order.getTable());
         }
@@ -298,12 +361,18 @@ public class OrderService {
         log.debug("Request to delete Order : {}", id);
         Order order = orderRepository.findById(id).orElseThrow();
         TableInEatery table = order.getTable();
+        salesRollupService.onOrderDeleted(order);
         List<ClientDevice> clientDevices = clientDeviceRepository.findByOrdersId(id);
         for (ClientDevice device : clientDevices) {
             device.getOrders().remove(order);
+            if (table != null) {
+                clientOrderCache.invalidate(device.getUuid(), table.getEatery().getId(),
+                        Util.businessDay(order.getCreatedAt(), Util.DAY_STARTS_AT_HOUR));
+            }
         }
         clientDeviceRepository.saveAll(clientDevices);
         orderRepository.deleteById(id);
+        orderViewService.remove(id);
         if (table != null) {
             activateTableIfNoActiveOrders(table);
         }
@@ -354,15 +423,17 @@ public class OrderService {
         }
 
         order = orderRepository.save(order);
+        orderViewService.refresh(order);
         return orderMapper.toDto(order);
     }
 
     /**
-     * Retrieves orders filtered by eatery ID and device UUID that were ordered after 6:00 AM till now.
+     * Retrieves orders filtered by eatery ID and device UUID that were placed during the current business day.
      * <p>
      * This method is used to check if a specific device has any orders
      * at a specific eatery. It's primarily used to determine whether to show the order
-     * decision page or the menu page when a user scans a QR code.
+     * decision page or the menu page when a user scans a QR code. The order IDs come from
+     * the {@link ClientOrderCache}; the orders themselves are then read in a single query.
      * </p>
      *
      * @param eateryId   The ID of the eatery to filter orders by.
@@ -370,57 +441,56 @@ public class OrderService {
      * @return A list of {@link OrderDto} representing orders that match all criteria.
      */
     public List<OrderDto> getClientOrders(Long eateryId, String deviceUuid) {
+        List<Long> orderIds = getClientOrderIds(eateryId, deviceUuid);
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return orderMapper.toDtoList(orderRepository.findWithItemsByIdIn(orderIds));
+    }
 
-        // Find the client device by UUID
-        return clientDeviceRepository.findByUuid(deviceUuid)
-                .map(clientDevice -> {
-                    // Filter orders by eatery ID and status
-                    List<Order> filteredOrders = clientDevice.getOrders().stream()
-                            .filter(order ->
-                                    order.getTable() != null && order.getTable().getEatery() != null &&
-                                            eateryId.equals(order.getTable().getEatery().getId()))
-                            .filter(order ->
-                                    Util.isBetweenXAMTodayAnd6AMTomorrow(order.getCreatedAt(), 6)).toList();
-
-                    return orderMapper.toDtoList(filteredOrders);
-                })
-                .orElse(List.of());
+    /**
+     * Checks whether a client device has placed orders in an eatery during the current business day.
+     * On a cache hit this does not touch the database.
+     *
+     * @param eateryId   The ID of the eatery.
+     * @param deviceUuid The UUID of the client device.
+     * @return {@code true} if the device has at least one order today.
+     */
+    public boolean hasClientOrders(Long eateryId, String deviceUuid) {
+        return !getClientOrderIds(eateryId, deviceUuid).isEmpty();
+    }
+
+    private List<Long> getClientOrderIds(Long eateryId, String deviceUuid) {
+        deviceSessionStore.touch(deviceUuid);
+        LocalDate day = Util.businessDay(LocalDateTime.now(), Util.DAY_STARTS_AT_HOUR);
+        LocalDateTime from = day.atStartOfDay().plusHours(Util.DAY_STARTS_AT_HOUR);
+        return clientOrderCache.get(deviceUuid, eateryId, day, () ->
+                orderRepository.findIdsForDevice(deviceUuid, eateryId, from, from.plusDays(1)));
     }
 
     /**
      * Retrieves orders assigned to a specific waiter.
      * <p>
-     * This method gets all table assignments for the waiter, extracts the tables,
-     * and then retrieves all orders for those tables.
+     * Returns the open orders of every table assigned to the waiter, plus the orders
+     * closed during the current business day, newest first. The tables come from the
+     * {@link WaiterTableIndex}; tables, orders and items are then read in a single query.
      * </p>
      *
+     * @param eateryId The ID of the eatery the waiter works in.
      * @param waiterId The ID of the waiter to get orders for.
      * @return A list of {@link OrderDto} representing orders assigned to the waiter.
      */
-    public List<OrderDto> getOrdersByWaiterId(Long waiterId) {
+    public List<OrderDto> getOrdersByWaiterId(Long eateryId, Long waiterId) {
         log.debug("Request to get Orders by waiter ID : {}", waiterId);
-
-        // Get all table assignments for the waiter
-        List<TableAssignmentDto> tableAssignments = tableAssignmentService.getTableAssignmentsByWaiterId(waiterId);
-
-        if (tableAssignments.isEmpty()) {
+        Set<Long> tableIds = waiterTableIndex.tablesOf(eateryId, waiterId);
+        if (tableIds.isEmpty()) {
             return List.of();
         }
-
-        // Extract the tables from the assignments
-        Set<TableInEatery> tables = tableAssignments.stream()
-                .map(assignment -> tableRepository.findById(assignment.getTableId()))
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .collect(Collectors.toSet());
-
-        if (tables.isEmpty()) {
-            return List.of();
-        }
-
-        // Get all orders for those tables
-        List<Order> orders = orderRepository.findByTableIn(tables);
-
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime businessDayStart = Util.businessDay(now, Util.DAY_STARTS_AT_HOUR)
+                .atStartOfDay()
+                .plusHours(Util.DAY_STARTS_AT_HOUR);
+        List<Order> orders = orderRepository.findForTables(tableIds, CLOSED_STATUSES, businessDayStart);
         return orderMapper.toDtoList(orders);
     }
 
@@ -0,0 +1,173 @@
+package az.qrfood.backend.order.service;
+
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.dto.OrderViewDto;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.order.entity.OrderView;
+import az.qrfood.backend.order.mapper.OrderMapper;
+import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.order.repository.OrderViewRepository;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.tableassignment.repository.TableAssignmentRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the {@link OrderView} projection and serves the dashboard reads from it.
+ * <p>
+ * Every service that changes an order, its items, its table number or the waiter assigned
+ * to its table calls into this class inside the same transaction, so the projection is
+ * committed or rolled back together with the change it reflects.
+ * </p>
+ */
+@Log4j2
+@Service
+public class OrderViewService {
+
+    /**
+     * Orders in these statuses keep the waiter who served them when assignments change.
+     */
+    private static final Set<OrderStatus> CLOSED_STATUSES = Set.of(OrderStatus.PAID, OrderStatus.CANCELLED);
+
+    //<editor-fold desc="Fields">
+    private final OrderViewRepository orderViewRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TableAssignmentRepository tableAssignmentRepository;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+
+    /**
+     * Constructs an OrderViewService with necessary dependencies.
+     *
+     * @param orderViewRepository       The repository for the order projection.
+     * @param orderItemRepository       The repository for order items.
+     * @param tableAssignmentRepository The repository for table assignments.
+     */
+    public OrderViewService(OrderViewRepository orderViewRepository,
+                            OrderItemRepository orderItemRepository,
+                            TableAssignmentRepository tableAssignmentRepository) {
+        this.orderViewRepository = orderViewRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.tableAssignmentRepository = tableAssignmentRepository;
+    }
+    //</editor-fold>
+
+    /**
+     * Retrieves the dashboard rows of an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return A list of {@link OrderViewDto}, newest first.
+     */
+    public List<OrderViewDto> getDashboardByEateryId(Long eateryId) {
+        return orderViewRepository.findDashboardByEateryId(eateryId);
+    }
+
+    /**
+     * Retrieves the dashboard rows of the tables served by a waiter.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param waiterId The ID of the waiter.
+     * @return A list of {@link OrderViewDto}, newest first.
+     */
+    public List<OrderViewDto> getDashboardByWaiterId(Long eateryId, Long waiterId) {
+        return orderViewRepository.findDashboardByWaiterId(eateryId, waiterId);
+    }
+
+    /**
+     * Rebuilds the projection row of an order from its current state.
+     * <p>
+     * Items are re-read through the repository so that items added or removed
+     * earlier in the same transaction are taken into account.
+     * </p>
+     *
+     * @param order The order whose projection must be refreshed.
+     */
+    @Transactional
+    public void refresh(Order order) {
+        TableInEatery table = order.getTable();
+        List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
+
+        int itemCount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            itemCount += item.getQuantity();
+            total = total.add(OrderMapper.lineTotal(item));
+        }
+
+        OrderView view = orderViewRepository.findById(order.getId()).orElse(null);
+        Long waiterId;
+        if (view == null) {
+            view = new OrderView();
+            view.setOrderId(order.getId());
+            waiterId = resolveWaiterId(table.getId());
+        } else if (CLOSED_STATUSES.contains(view.getStatus())) {
+            waiterId = view.getWaiterId();
+        } else {
+            waiterId = resolveWaiterId(table.getId());
+        }
+
+        view.setEateryId(table.getEatery().getId());
+        view.setTableId(table.getId());
+        view.setTableNumber(table.getTableNumber());
+        view.setWaiterId(waiterId);
+        view.setStatus(order.getStatus());
+        view.setItemCount(itemCount);
+        view.setTotal(total);
+        view.setNote(order.getNote());
+        view.setCreatedAt(order.getCreatedAt());
+        view.setUpdatedAt(LocalDateTime.now());
+        orderViewRepository.save(view);
+    }
+
+    /**
+     * Removes the projection row of a deleted order.
+     *
+     * @param orderId The ID of the deleted order.
+     */
+    @Transactional
+    public void remove(Long orderId) {
+        orderViewRepository.deleteById(orderId);
+    }
+
+    /**
+     * Propagates a renamed table to the projected orders of that table.
+     *
+     * @param tableId     The ID of the table.
+     * @param tableNumber The new table number.
+     */
+    @Transactional
+    public void onTableRenamed(Long tableId, String tableNumber) {
+        int updated = orderViewRepository.updateTableNumber(tableId, tableNumber);
+        log.debug("Table [{}] renamed to [{}], [{}] projected orders updated", tableId, tableNumber, updated);
+    }
+
+    /**
+     * Re-resolves the waiter of the open orders of a table after its assignments changed.
+     *
+     * @param tableId The ID of the table.
+     */
+    @Transactional
+    public void onTableAssignmentChanged(Long tableId) {
+        Long waiterId = resolveWaiterId(tableId);
+        int updated = orderViewRepository.updateWaiterForOpenOrders(tableId, waiterId, CLOSED_STATUSES);
+        log.debug("Table [{}] now served by waiter [{}], [{}] projected orders updated", tableId, waiterId, updated);
+    }
+
+    /**
+     * Picks the waiter with the oldest assignment to the table.
+     *
+     * @param tableId The ID of the table.
+     * @return The waiter ID, or {@code null} if nobody is assigned.
+     */
+    private Long resolveWaiterId(Long tableId) {
+        List<Long> waiterIds = tableAssignmentRepository.findWaiterIdsByTableId(tableId);
+        return waiterIds.isEmpty() ? null : waiterIds.get(0);
+    }
+}
@@ -9,7 +9,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
 import java.util.List;
 import org.springframework.security.access.prepost.PreAuthorize;
 
@@ -39,8 +42,10 @@ public class OrderItemController {
 
     /**
      * GET all order items.
+     * The list is streamed to the response as it is read, so it is never held in memory.
      *
-     * @return list of order items
+     * @param response the response the JSON array is written to
+     * @throws IOException if writing the response fails
      */
     @Operation(summary = "Get all order items", description = "Retrieves a list of all order items.")
     @ApiResponses(value = {
@@ -50,9 +55,10 @@ public class OrderItemController {
     @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN')")
     @GetMapping(ApiRoutes.ORDER_ITEM)
     // [[getAllOrderItems]]
-    public ResponseEntity<List<OrderItemDTO>> getAllOrderItems(@PathVariable Long eateryId) {
+    public void getAllOrderItems(@PathVariable Long eateryId, HttpServletResponse response) throws IOException {
         log.debug("REST request to get all OrderItems");
-        return ResponseEntity.ok(orderItemService.getAllOrderItems());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        orderItemService.writeAllOrderItems(response.getOutputStream());
     }
 
     /**
@@ -2,6 +2,8 @@ package az.qrfood.backend.orderitem.service;
 
 import az.qrfood.backend.order.dto.OrderItemDTO;
 import az.qrfood.backend.order.entity.OrderItem;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -20,6 +22,15 @@ public interface OrderItemService {
      */
     List<OrderItemDTO> getAllOrderItems();
 
+    /**
+     * Writes all order items in the system as a JSON array, one item at a time.
+     *
+     * @param target The stream to write to.
+     * @return The number of written items.
+     * @throws IOException if writing fails.
+     */
+    long writeAllOrderItems(OutputStream target) throws IOException;
+
     /**
      * Retrieves a list of order items associated with a specific order ID.
      *
@@ -1,19 +1,28 @@
 package az.qrfood.backend.orderitem.service;
 
+import az.qrfood.backend.common.response.JsonArrayStreamer;
 import az.qrfood.backend.order.dto.OrderItemDTO;
 import az.qrfood.backend.order.entity.Order;
 import az.qrfood.backend.order.entity.OrderItem;
 import az.qrfood.backend.order.repository.CustomerOrderRepository;
 import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.order.service.OrderViewService;
 import az.qrfood.backend.dish.entity.DishEntity;
 import az.qrfood.backend.dish.repository.DishRepository;
 import az.qrfood.backend.orderitem.mapper.OrderItemMapper;
+import az.qrfood.backend.report.service.SalesRollupService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service Implementation for managing {@link OrderItem} entities.
@@ -31,6 +40,10 @@ public class OrderItemServiceImpl implements OrderItemService {
     private final CustomerOrderRepository orderRepository;
     private final DishRepository dishRepository;
     private final OrderItemMapper orderItemMapper;
+    private final OrderViewService orderViewService;
+    private final SalesRollupService salesRollupService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final EntityManager entityManager;
 
     /**
      * Constructs an OrderItemServiceImpl with necessary dependencies.
@@ -39,15 +52,27 @@ public class OrderItemServiceImpl implements OrderItemService {
      * @param orderRepository     The repository for customer orders.
      * @param dishRepository      The repository for dish entities.
      * @param orderItemMapper     The mapper for converting between OrderItem entities and DTOs.
+     * @param orderViewService    The service maintaining the dashboard projection.
+     * @param salesRollupService  The service maintaining the sales rollups.
+     * @param jsonArrayStreamer   The writer for streamed JSON arrays.
+     * @param entityManager       The entity manager cleared while streaming.
      */
     public OrderItemServiceImpl(OrderItemRepository orderItemRepository,
                                CustomerOrderRepository orderRepository,
                                DishRepository dishRepository,
-                               OrderItemMapper orderItemMapper) {
+                               OrderItemMapper orderItemMapper,
+                               OrderViewService orderViewService,
+                               SalesRollupService salesRollupService,
+                               JsonArrayStreamer jsonArrayStreamer,
+                               EntityManager entityManager) {
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
         this.dishRepository = dishRepository;
         this.orderItemMapper = orderItemMapper;
+        this.orderViewService = orderViewService;
+        this.salesRollupService = salesRollupService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -59,6 +84,18 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItemMapper.toDtoList(orderItemRepository.findAll());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long writeAllOrderItems(OutputStream target) throws IOException {
+        log.debug("Request to stream all OrderItems");
+        try (Stream<OrderItem> items = orderItemRepository.streamAll()) {
+            return jsonArrayStreamer.write(items.map(orderItemMapper::toDto), target, entityManager::clear);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -105,9 +142,15 @@ public class OrderItemServiceImpl implements OrderItemService {
         orderItem.setDishEntity(dish);
         orderItem.setQuantity(orderItemDTO.getQuantity());
         orderItem.setNote(orderItemDTO.getNote());
-        orderItem.setPriceAtOrder(dish.getPrice());
+        // Same convention as OrderService: priceAtOrder holds the line total
+        if (dish.getPrice() != null) {
+            orderItem.setPriceAtOrder(dish.getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())));
+        }
 
+        salesRollupService.beforeItemsChange(order);
         OrderItem savedOrderItem = orderItemRepository.save(orderItem);
+        salesRollupService.afterItemsChange(order);
+        orderViewService.refresh(order);
         return orderItemMapper.toDto(savedOrderItem);
     }
 
@@ -121,9 +164,11 @@ public class OrderItemServiceImpl implements OrderItemService {
 
         OrderItem orderItem = orderItemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("OrderItem not found with id " + id));
+        salesRollupService.beforeItemsChange(orderItem.getOrder());
 
         // Update only allowed fields
         if (orderItemDTO.getQuantity() != null) {
+            rescalePriceAtOrder(orderItem, orderItemDTO.getQuantity());
             orderItem.setQuantity(orderItemDTO.getQuantity());
         }
 
@@ -136,6 +181,8 @@ public class OrderItemServiceImpl implements OrderItemService {
         }
 
         OrderItem updatedOrderItem = orderItemRepository.save(orderItem);
+        salesRollupService.afterItemsChange(orderItem.getOrder());
+        orderViewService.refresh(orderItem.getOrder());
         return orderItemMapper.toDto(updatedOrderItem);
     }
 
@@ -148,7 +195,10 @@ public class OrderItemServiceImpl implements OrderItemService {
         log.debug("Request to delete OrderItem [{}]", id);
         OrderItem orderItem = orderItemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("OrderItem not found with id " + id));
+        salesRollupService.beforeItemsChange(orderItem.getOrder());
         orderItemRepository.delete(orderItem);
+        salesRollupService.afterItemsChange(orderItem.getOrder());
+        orderViewService.refresh(orderItem.getOrder());
     }
 
     /**
@@ -174,10 +224,30 @@ public class OrderItemServiceImpl implements OrderItemService {
 
         // Update the parent order's status based on the statuses of all its order items
         updateParentOrderStatus(orderItem.getOrder());
+        orderViewService.refresh(orderItem.getOrder());
 
         return orderItemMapper.toDto(updatedOrderItem);
     }
 
+    /**
+     * Keeps the line total in {@code priceAtOrder} in step with a quantity change.
+     * The unit price fixed at order time is recovered from the current line total,
+     * so later dish price changes do not leak into existing orders.
+     *
+     * @param orderItem   The order item being updated.
+     * @param newQuantity The new quantity.
+     */
+    private void rescalePriceAtOrder(OrderItem orderItem, int newQuantity) {
+        BigDecimal lineTotal = orderItem.getPriceAtOrder();
+        int oldQuantity = orderItem.getQuantity();
+        if (lineTotal == null || oldQuantity <= 0 || oldQuantity == newQuantity) {
+            return;
+        }
+        BigDecimal unitPrice = lineTotal.divide(BigDecimal.valueOf(oldQuantity), lineTotal.scale() + 4, RoundingMode.HALF_UP);
+        orderItem.setPriceAtOrder(unitPrice.multiply(BigDecimal.valueOf(newQuantity))
+                .setScale(lineTotal.scale(), RoundingMode.HALF_UP));
+    }
+
     /**
      * Updates the status of an order based on the statuses of its order items.
      * <p>
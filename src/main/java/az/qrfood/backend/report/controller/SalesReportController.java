@@ -0,0 +1,141 @@
+package az.qrfood.backend.report.controller;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import az.qrfood.backend.report.dto.DailySalesDto;
+import az.qrfood.backend.report.dto.DishSalesDto;
+import az.qrfood.backend.report.dto.HourlySalesDto;
+import az.qrfood.backend.report.dto.TableSalesDto;
+import az.qrfood.backend.report.service.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller exposing the sales reports of an eatery.
+ * <p>
+ * Periods are given as business days in ISO format ({@code yyyy-MM-dd}); both ends are inclusive.
+ * </p>
+ */
+@Log4j2
+@RestController
+@Tag(name = "Sales Reports", description = "Revenue reports built from the sales rollups")
+public class SalesReportController {
+
+    //<editor-fold desc="Fields">
+    private final SalesReportService salesReportService;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    /**
+     * Constructs the SalesReportController.
+     *
+     * @param salesReportService The service serving the reports.
+     */
+    public SalesReportController(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+    //</editor-fold>
+
+    /**
+     * Retrieves revenue per business day.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A {@link ResponseEntity} containing a list of {@link DailySalesDto}.
+     */
+    @Operation(summary = "Daily sales", description = "Revenue and number of paid orders per business day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report built successfully"),
+            @ApiResponse(responseCode = "500", description = "Invalid period or internal server error")
+    })
+    @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN', 'CASHIER')")
+    @GetMapping(ApiRoutes.REPORT_SALES_DAILY)
+    public ResponseEntity<List<DailySalesDto>> getDailySales(
+            @PathVariable Long eateryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Daily sales of eatery [{}] for [{} - {}]", eateryId, from, to);
+        return ResponseEntity.ok(salesReportService.getDailySales(eateryId, from, to));
+    }
+
+    /**
+     * Retrieves sales per dish.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A {@link ResponseEntity} containing a list of {@link DishSalesDto}.
+     */
+    @Operation(summary = "Sales by dish", description = "Portions sold and revenue per dish, best sellers first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report built successfully"),
+            @ApiResponse(responseCode = "500", description = "Invalid period or internal server error")
+    })
+    @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN', 'CASHIER')")
+    @GetMapping(ApiRoutes.REPORT_SALES_DISHES)
+    public ResponseEntity<List<DishSalesDto>> getDishSales(
+            @PathVariable Long eateryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Dish sales of eatery [{}] for [{} - {}]", eateryId, from, to);
+        return ResponseEntity.ok(salesReportService.getDishSales(eateryId, from, to));
+    }
+
+    /**
+     * Retrieves sales per table.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A {@link ResponseEntity} containing a list of {@link TableSalesDto}.
+     */
+    @Operation(summary = "Sales by table", description = "Revenue and number of paid orders per table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report built successfully"),
+            @ApiResponse(responseCode = "500", description = "Invalid period or internal server error")
+    })
+    @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN', 'CASHIER')")
+    @GetMapping(ApiRoutes.REPORT_SALES_TABLES)
+    public ResponseEntity<List<TableSalesDto>> getTableSales(
+            @PathVariable Long eateryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Table sales of eatery [{}] for [{} - {}]", eateryId, from, to);
+        return ResponseEntity.ok(salesReportService.getTableSales(eateryId, from, to));
+    }
+
+    /**
+     * Retrieves sales per hour of day.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A {@link ResponseEntity} containing a list of {@link HourlySalesDto}.
+     */
+    @Operation(summary = "Sales by hour", description = "Revenue and number of paid orders per hour of day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report built successfully"),
+            @ApiResponse(responseCode = "500", description = "Invalid period or internal server error")
+    })
+    @PreAuthorize("@authz.hasAnyRoleAndAccess(authentication, #eateryId, 'EATERY_ADMIN', 'CASHIER')")
+    @GetMapping(ApiRoutes.REPORT_SALES_HOURLY)
+    public ResponseEntity<List<HourlySalesDto>> getHourlySales(
+            @PathVariable Long eateryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Hourly sales of eatery [{}] for [{} - {}]", eateryId, from, to);
+        return ResponseEntity.ok(salesReportService.getHourlySales(eateryId, from, to));
+    }
+}
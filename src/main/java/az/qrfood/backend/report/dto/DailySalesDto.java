@@ -0,0 +1,14 @@
+package az.qrfood.backend.report.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue of an eatery for one business day.
+ *
+ * @param date       The business day.
+ * @param orderCount Number of paid orders.
+ * @param revenue    Total revenue of the paid orders.
+ */
+public record DailySalesDto(LocalDate date, Long orderCount, BigDecimal revenue) {
+}
@@ -0,0 +1,13 @@
+package az.qrfood.backend.report.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of a dish over a period.
+ *
+ * @param dishId   The ID of the dish.
+ * @param quantity Number of portions sold.
+ * @param revenue  Revenue from the dish.
+ */
+public record DishSalesDto(Long dishId, Long quantity, BigDecimal revenue) {
+}
@@ -0,0 +1,13 @@
+package az.qrfood.backend.report.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales by hour of day over a period, used to find the rush hours of an eatery.
+ *
+ * @param hour       Clock hour (0-23) in which the orders were placed.
+ * @param orderCount Number of paid orders.
+ * @param revenue    Total revenue of the paid orders.
+ */
+public record HourlySalesDto(Integer hour, Long orderCount, BigDecimal revenue) {
+}
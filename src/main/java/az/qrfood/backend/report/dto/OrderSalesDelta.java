@@ -0,0 +1,42 @@
+package az.qrfood.backend.report.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Contribution of a single order to the sales rollups.
+ * <p>
+ * Built while the order is still loaded and published as an application event;
+ * {@code sign} is {@code 1} when the order becomes paid and {@code -1} when a paid order is
+ * reopened or deleted.
+ * </p>
+ *
+ * @param orderId   The ID of the order, for logging.
+ * @param eateryId  The ID of the eatery.
+ * @param salesDate The business day of the order.
+ * @param salesHour The clock hour in which the order was placed.
+ * @param tableId   The ID of the table.
+ * @param sign      {@code 1} to add the order, {@code -1} to subtract it.
+ * @param total     The order total.
+ * @param lines     Quantity and revenue per dish.
+ */
+public record OrderSalesDelta(Long orderId,
+                              Long eateryId,
+                              LocalDate salesDate,
+                              int salesHour,
+                              Long tableId,
+                              int sign,
+                              BigDecimal total,
+                              List<Line> lines) {
+
+    /**
+     * Quantity and revenue of one dish within the order.
+     *
+     * @param dishId   The ID of the dish.
+     * @param quantity Number of portions.
+     * @param revenue  Revenue of the portions.
+     */
+    public record Line(Long dishId, long quantity, BigDecimal revenue) {
+    }
+}
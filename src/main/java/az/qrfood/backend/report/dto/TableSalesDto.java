@@ -0,0 +1,13 @@
+package az.qrfood.backend.report.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of a table over a period.
+ *
+ * @param tableId    The ID of the table.
+ * @param orderCount Number of paid orders.
+ * @param revenue    Total revenue of the paid orders.
+ */
+public record TableSalesDto(Long tableId, Long orderCount, BigDecimal revenue) {
+}
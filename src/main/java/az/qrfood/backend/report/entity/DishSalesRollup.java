@@ -0,0 +1,57 @@
+package az.qrfood.backend.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales of a single dish in an eatery during one business day.
+ * <p>
+ * Rows are incremented when an order becomes PAID and decremented when a paid order
+ * is reopened or deleted, so summing them never requires reading the order tables.
+ * </p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_dish_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_dish_rollup_bucket", columnNames = {"eatery_id", "sales_date", "dish_id"}))
+public class DishSalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "eatery_id", nullable = false)
+    private Long eateryId;
+
+    /**
+     * The business day, see {@link az.qrfood.backend.common.Util#businessDay}.
+     */
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "dish_id", nullable = false)
+    private Long dishId;
+
+    /**
+     * Number of portions sold.
+     */
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,60 @@
+package az.qrfood.backend.report.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Paid orders of one table during one hour of a business day.
+ * <p>
+ * Daily, per-table and per-hour reports are all sums over this table.
+ * The hour is the clock hour in which the order was placed.
+ * </p>
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_hourly_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_hourly_rollup_bucket", columnNames = {"eatery_id", "sales_date", "sales_hour", "table_id"}))
+public class HourlySalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "eatery_id", nullable = false)
+    private Long eateryId;
+
+    /**
+     * The business day, see {@link az.qrfood.backend.common.Util#businessDay}.
+     */
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    /**
+     * Clock hour (0-23) in which the orders were placed.
+     */
+    @Column(name = "sales_hour", nullable = false)
+    private int salesHour;
+
+    @Column(name = "table_id", nullable = false)
+    private Long tableId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
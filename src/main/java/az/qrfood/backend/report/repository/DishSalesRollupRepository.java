@@ -0,0 +1,55 @@
+package az.qrfood.backend.report.repository;
+
+import az.qrfood.backend.report.dto.DishSalesDto;
+import az.qrfood.backend.report.entity.DishSalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for {@link DishSalesRollup} buckets.
+ */
+@Repository
+public interface DishSalesRollupRepository extends JpaRepository<DishSalesRollup, Long> {
+
+    /**
+     * Adds to an existing bucket in place.
+     *
+     * @return The number of updated rows, {@code 0} if the bucket does not exist yet.
+     */
+    @Modifying
+    @Query("""
+            UPDATE DishSalesRollup r
+            SET r.quantity = r.quantity + :quantity, r.revenue = r.revenue + :revenue
+            WHERE r.eateryId = :eateryId AND r.salesDate = :salesDate AND r.dishId = :dishId
+            """)
+    int increment(@Param("eateryId") Long eateryId,
+                  @Param("salesDate") LocalDate salesDate,
+                  @Param("dishId") Long dishId,
+                  @Param("quantity") long quantity,
+                  @Param("revenue") BigDecimal revenue);
+
+    /**
+     * Sums dish sales of an eatery over a range of business days, best sellers first.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A list of {@link DishSalesDto}.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.report.dto.DishSalesDto(r.dishId, SUM(r.quantity), SUM(r.revenue))
+            FROM DishSalesRollup r
+            WHERE r.eateryId = :eateryId AND r.salesDate BETWEEN :from AND :to
+            GROUP BY r.dishId
+            ORDER BY SUM(r.revenue) DESC
+            """)
+    List<DishSalesDto> sumByDish(@Param("eateryId") Long eateryId,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+}
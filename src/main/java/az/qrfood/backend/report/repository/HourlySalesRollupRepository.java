@@ -0,0 +1,82 @@
+package az.qrfood.backend.report.repository;
+
+import az.qrfood.backend.report.dto.DailySalesDto;
+import az.qrfood.backend.report.dto.HourlySalesDto;
+import az.qrfood.backend.report.dto.TableSalesDto;
+import az.qrfood.backend.report.entity.HourlySalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for {@link HourlySalesRollup} buckets.
+ */
+@Repository
+public interface HourlySalesRollupRepository extends JpaRepository<HourlySalesRollup, Long> {
+
+    /**
+     * Adds to an existing bucket in place.
+     *
+     * @return The number of updated rows, {@code 0} if the bucket does not exist yet.
+     */
+    @Modifying
+    @Query("""
+            UPDATE HourlySalesRollup r
+            SET r.orderCount = r.orderCount + :orderCount, r.revenue = r.revenue + :revenue
+            WHERE r.eateryId = :eateryId AND r.salesDate = :salesDate
+              AND r.salesHour = :salesHour AND r.tableId = :tableId
+            """)
+    int increment(@Param("eateryId") Long eateryId,
+                  @Param("salesDate") LocalDate salesDate,
+                  @Param("salesHour") int salesHour,
+                  @Param("tableId") Long tableId,
+                  @Param("orderCount") long orderCount,
+                  @Param("revenue") BigDecimal revenue);
+
+    /**
+     * Sums sales of an eatery per business day.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.report.dto.DailySalesDto(r.salesDate, SUM(r.orderCount), SUM(r.revenue))
+            FROM HourlySalesRollup r
+            WHERE r.eateryId = :eateryId AND r.salesDate BETWEEN :from AND :to
+            GROUP BY r.salesDate
+            ORDER BY r.salesDate
+            """)
+    List<DailySalesDto> sumByDay(@Param("eateryId") Long eateryId,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    /**
+     * Sums sales of an eatery per table.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.report.dto.TableSalesDto(r.tableId, SUM(r.orderCount), SUM(r.revenue))
+            FROM HourlySalesRollup r
+            WHERE r.eateryId = :eateryId AND r.salesDate BETWEEN :from AND :to
+            GROUP BY r.tableId
+            ORDER BY SUM(r.revenue) DESC
+            """)
+    List<TableSalesDto> sumByTable(@Param("eateryId") Long eateryId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    /**
+     * Sums sales of an eatery per hour of day.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.report.dto.HourlySalesDto(r.salesHour, SUM(r.orderCount), SUM(r.revenue))
+            FROM HourlySalesRollup r
+            WHERE r.eateryId = :eateryId AND r.salesDate BETWEEN :from AND :to
+            GROUP BY r.salesHour
+            ORDER BY r.salesHour
+            """)
+    List<HourlySalesDto> sumByHour(@Param("eateryId") Long eateryId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+}
@@ -0,0 +1,89 @@
+package az.qrfood.backend.report.service;
+
+import az.qrfood.backend.report.dto.DailySalesDto;
+import az.qrfood.backend.report.dto.DishSalesDto;
+import az.qrfood.backend.report.dto.HourlySalesDto;
+import az.qrfood.backend.report.dto.TableSalesDto;
+import az.qrfood.backend.report.repository.DishSalesRollupRepository;
+import az.qrfood.backend.report.repository.HourlySalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serves the sales reports of an eatery.
+ * <p>
+ * All reports are aggregated from the rollup tables maintained by {@link SalesRollupService};
+ * the order tables are never read, so the cost of a report depends on the requested period only.
+ * </p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalesReportService {
+
+    private final DishSalesRollupRepository dishSalesRollupRepository;
+    private final HourlySalesRollupRepository hourlySalesRollupRepository;
+
+    /**
+     * Revenue and order count per business day.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A list of {@link DailySalesDto} ordered by day; days without sales are omitted.
+     */
+    public List<DailySalesDto> getDailySales(Long eateryId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        return hourlySalesRollupRepository.sumByDay(eateryId, from, to);
+    }
+
+    /**
+     * Portions and revenue per dish, best sellers first.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A list of {@link DishSalesDto}.
+     */
+    public List<DishSalesDto> getDishSales(Long eateryId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        return dishSalesRollupRepository.sumByDish(eateryId, from, to);
+    }
+
+    /**
+     * Revenue and order count per table.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A list of {@link TableSalesDto}, highest revenue first.
+     */
+    public List<TableSalesDto> getTableSales(Long eateryId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        return hourlySalesRollupRepository.sumByTable(eateryId, from, to);
+    }
+
+    /**
+     * Revenue and order count per hour of day.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param from     First business day, inclusive.
+     * @param to       Last business day, inclusive.
+     * @return A list of {@link HourlySalesDto} ordered by hour.
+     */
+    public List<HourlySalesDto> getHourlySales(Long eateryId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        return hourlySalesRollupRepository.sumByHour(eateryId, from, to);
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid report period [" + from + " - " + to + "]");
+        }
+    }
+}
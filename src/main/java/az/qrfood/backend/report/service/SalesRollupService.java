@@ -0,0 +1,215 @@
+package az.qrfood.backend.report.service;
+
+import az.qrfood.backend.common.Util;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.order.mapper.OrderMapper;
+import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.report.dto.OrderSalesDelta;
+import az.qrfood.backend.report.entity.DishSalesRollup;
+import az.qrfood.backend.report.entity.HourlySalesRollup;
+import az.qrfood.backend.report.repository.DishSalesRollupRepository;
+import az.qrfood.backend.report.repository.HourlySalesRollupRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the sales rollup tables in step with order payments.
+ * <p>
+ * {@link az.qrfood.backend.order.service.OrderService} reports every status change here, and
+ * {@link az.qrfood.backend.orderitem.service.OrderItemServiceImpl} reports item changes, which
+ * move a paid order out of the rollups and back in with its new items.
+ * The contribution of the order is captured while the order is still loaded and published
+ * as an {@link OrderSalesDelta}; it is applied to the rollups only after the order transaction
+ * commits, in a transaction of its own, so a conflict on a rollup row can never roll back a payment.
+ * </p>
+ */
+@Log4j2
+@Service
+public class SalesRollupService {
+
+    /**
+     * Two concurrent first writes to the same bucket make one insert fail on the unique key;
+     * the retry then finds the row and increments it.
+     */
+    private static final int MAX_ATTEMPTS = 2;
+
+    //<editor-fold desc="Fields">
+    private final OrderItemRepository orderItemRepository;
+    private final DishSalesRollupRepository dishSalesRollupRepository;
+    private final HourlySalesRollupRepository hourlySalesRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+
+    /**
+     * Constructs a SalesRollupService with necessary dependencies.
+     *
+     * @param orderItemRepository         The repository for order items.
+     * @param dishSalesRollupRepository   The repository for per-dish buckets.
+     * @param hourlySalesRollupRepository The repository for per-hour buckets.
+     * @param eventPublisher              The publisher used to defer rollup writes until commit.
+     * @param transactionManager          The transaction manager used for the rollup transactions.
+     */
+    public SalesRollupService(OrderItemRepository orderItemRepository,
+                              DishSalesRollupRepository dishSalesRollupRepository,
+                              HourlySalesRollupRepository hourlySalesRollupRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager) {
+        this.orderItemRepository = orderItemRepository;
+        this.dishSalesRollupRepository = dishSalesRollupRepository;
+        this.hourlySalesRollupRepository = hourlySalesRollupRepository;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    //</editor-fold>
+
+    /**
+     * Records a status transition of an order.
+     * Moving into PAID adds the order to the rollups, moving out of PAID subtracts it.
+     *
+     * @param order     The order, still attached to the current transaction.
+     * @param oldStatus The status before the change.
+     * @param newStatus The status after the change.
+     */
+    public void onStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        if (newStatus == OrderStatus.PAID) {
+            publish(order, 1);
+        } else if (oldStatus == OrderStatus.PAID) {
+            publish(order, -1);
+        }
+    }
+
+    /**
+     * Records the deletion of an order; a paid order is subtracted from the rollups.
+     * Must be called before the order and its items are removed.
+     *
+     * @param order The order about to be deleted.
+     */
+    public void onOrderDeleted(Order order) {
+        if (order.getStatus() == OrderStatus.PAID) {
+            publish(order, -1);
+        }
+    }
+
+    /**
+     * Records that the items of an order are about to be created, changed or deleted.
+     * A paid order is subtracted with its current items; {@link #afterItemsChange(Order)}
+     * adds it back with the items as they are after the change.
+     *
+     * @param order The order whose items are about to change.
+     */
+    public void beforeItemsChange(Order order) {
+        if (order.getStatus() == OrderStatus.PAID) {
+            publish(order, -1);
+        }
+    }
+
+    /**
+     * Records that the items of an order have been created, changed or deleted.
+     * Must be called in the same transaction as {@link #beforeItemsChange(Order)}, after the change.
+     *
+     * @param order The order whose items have changed.
+     */
+    public void afterItemsChange(Order order) {
+        if (order.getStatus() == OrderStatus.PAID) {
+            publish(order, 1);
+        }
+    }
+
+    /**
+     * Applies a published delta once the order transaction has committed.
+     *
+     * @param delta The contribution of the order.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void apply(OrderSalesDelta delta) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                requiresNew.executeWithoutResult(status -> write(delta));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.error("Sales rollup for order [{}] was not applied", delta.orderId(), e);
+                } else {
+                    log.debug("Concurrent insert of a sales bucket for order [{}], retrying", delta.orderId());
+                }
+            }
+        }
+    }
+
+    private void publish(Order order, int sign) {
+        Map<Long, OrderSalesDelta.Line> lines = new LinkedHashMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : orderItemRepository.findByOrderId(order.getId())) {
+            BigDecimal revenue = OrderMapper.lineTotal(item);
+            total = total.add(revenue);
+            lines.merge(item.getDishEntity().getId(),
+                    new OrderSalesDelta.Line(item.getDishEntity().getId(), item.getQuantity(), revenue),
+                    (a, b) -> new OrderSalesDelta.Line(a.dishId(), a.quantity() + b.quantity(), a.revenue().add(b.revenue())));
+        }
+
+        OrderSalesDelta delta = new OrderSalesDelta(
+                order.getId(),
+                order.getTable().getEatery().getId(),
+                Util.businessDay(order.getCreatedAt(), Util.DAY_STARTS_AT_HOUR),
+                order.getCreatedAt().getHour(),
+                order.getTable().getId(),
+                sign,
+                total,
+                new ArrayList<>(lines.values()));
+        log.debug("Order [{}] sales delta [{}] published", order.getId(), sign);
+        eventPublisher.publishEvent(delta);
+    }
+
+    private void write(OrderSalesDelta delta) {
+        BigDecimal sign = BigDecimal.valueOf(delta.sign());
+        for (OrderSalesDelta.Line line : delta.lines()) {
+            long quantity = line.quantity() * delta.sign();
+            BigDecimal revenue = line.revenue().multiply(sign);
+            int updated = dishSalesRollupRepository.increment(
+                    delta.eateryId(), delta.salesDate(), line.dishId(), quantity, revenue);
+            if (updated == 0) {
+                dishSalesRollupRepository.saveAndFlush(DishSalesRollup.builder()
+                        .eateryId(delta.eateryId())
+                        .salesDate(delta.salesDate())
+                        .dishId(line.dishId())
+                        .quantity(quantity)
+                        .revenue(revenue)
+                        .build());
+            }
+        }
+
+        BigDecimal revenue = delta.total().multiply(sign);
+        int updated = hourlySalesRollupRepository.increment(
+                delta.eateryId(), delta.salesDate(), delta.salesHour(), delta.tableId(), delta.sign(), revenue);
+        if (updated == 0) {
+            hourlySalesRollupRepository.saveAndFlush(HourlySalesRollup.builder()
+                    .eateryId(delta.eateryId())
+                    .salesDate(delta.salesDate())
+                    .salesHour(delta.salesHour())
+                    .tableId(delta.tableId())
+                    .orderCount(delta.sign())
+                    .revenue(revenue)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package az.qrfood.backend.schedulers;
+
+import az.qrfood.backend.client.service.DeviceSessionStore;
+import az.qrfood.backend.schedulers.job.BackgroundJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes client-device activity behind to {@code device.last_seen_at}.
+ * <p>
+ * Every node flushes the sessions it holds in memory, so no job lease is taken. The
+ * {@code JobScheduler} runs it as configured under {@code app.scheduler.device-activity.*}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class DeviceActivityScheduler implements BackgroundJob {
+
+    static final String JOB = "device-activity";
+
+    //<editor-fold desc="Fields">
+    private final DeviceSessionStore deviceSessionStore;
+    //</editor-fold>
+
+    @Override
+    public String getName() {
+        return JOB;
+    }
+
+    /**
+     * Copies the recorded activity to {@code device.last_seen_at}; a failed flush is retried by the next run.
+     *
+     * @return The number of updated device rows.
+     */
+    @Override
+    public int run() {
+        return deviceSessionStore.flush();
+    }
+}
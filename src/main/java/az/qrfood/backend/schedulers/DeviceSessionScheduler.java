@@ -0,0 +1,74 @@
+package az.qrfood.backend.schedulers;
+
+import az.qrfood.backend.client.repository.ClientDeviceRepository;
+import az.qrfood.backend.client.service.ClientDeviceService;
+import az.qrfood.backend.client.service.DeviceSessionStore;
+import az.qrfood.backend.schedulers.job.BackgroundJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes client devices that have not been seen for a session TTL.
+ * <p>
+ * The {@code JobScheduler} runs it as configured under {@code app.scheduler.device-sweep.*}; the
+ * activity itself is written by {@link DeviceActivityScheduler}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeviceSessionScheduler implements BackgroundJob {
+
+    static final String JOB = "device-sweep";
+
+    //<editor-fold desc="Fields">
+    private final DeviceSessionStore deviceSessionStore;
+    private final ClientDeviceRepository clientDeviceRepository;
+    private final ClientDeviceService clientDeviceService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.device-session.sweep-batch-size:500}")
+    private int batchSize;
+    //</editor-fold>
+
+    @Override
+    public String getName() {
+        return JOB;
+    }
+
+    /**
+     * Drops expired sessions and removes the stale devices with their join rows, one chunk per transaction.
+     * Activity is flushed first, so a device seen since the last flush is not mistaken for a stale one;
+     * if that flush fails, the run fails without removing anything.
+     *
+     * @return The number of expired sessions and removed devices.
+     */
+    @Override
+    public int run() {
+        deviceSessionStore.flush();
+        int expired = deviceSessionStore.expire();
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(deviceSessionStore.getTtl());
+        int removed = 0;
+        List<Long> ids;
+        do {
+            ids = clientDeviceRepository.findStaleIds(cutoff, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                removed += clientDeviceService.deleteStaleDevices(ids);
+            }
+        } while (ids.size() == batchSize);
+
+        meterRegistry.counter("qrfood.device.swept").increment(removed);
+        if (expired > 0 || removed > 0) {
+            log.info("Device sweep: [{}] sessions expired, [{}] stale devices removed, [{}] sessions live",
+                    expired, removed, deviceSessionStore.size());
+        }
+        return expired + removed;
+    }
+}
@@ -2,45 +2,75 @@ package az.qrfood.backend.schedulers;
 
 import az.qrfood.backend.mail.EventPublisherHelper;
 import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.schedulers.job.BackgroundJob;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
 import az.qrfood.backend.user.entity.UserProfile;
 import az.qrfood.backend.user.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Reminds eatery admins who registered but have not created their eatery yet.
+ * <p>
+ * The reminders are queued in one transaction that commits before the {@code eatery-admin} job
+ * lease is released, so another node taking the lease next already sees the queued outbox rows.
+ * The {@code JobScheduler} runs it as configured under {@code app.scheduler.eatery-admin.*}.
+ * </p>
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+public class EateryAdminScheduler implements BackgroundJob {
 
-public class EateryAdminScheduler {
+    static final String JOB = "eatery-admin";
 
+    //<editor-fold desc="Fields">
     private final UserProfileRepository userProfileRepository;
     private final EventPublisherHelper eventPublisherHelper;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${app.scheduler.eatery-admin.delay}")
     private Duration delay;
+    @Value("${app.scheduler.eatery-admin.lease:PT5M}")
+    private Duration lease;
+    //</editor-fold>
+
+    @Override
+    public String getName() {
+        return JOB;
+    }
 
     /**
-     * Will run as per cron.
+     * Sends the reminder to every admin without an eatery, if this node gets the lease.
+     *
+     * @return The number of admins notified.
      */
-//    @Scheduled(cron = "0 45 10 * * *")
-    @Scheduled(fixedRate = 20000)
-    @Transactional
-    public void checkEateryMissing() {
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(delay.toMinutes());
-        List<UserProfile> stuckUsers = userProfileRepository.findEateryAdminsWithoutEateryAndNotNotified(cutoff);
-        stuckUsers.forEach(this::processSingleUser);
+    @Override
+    public int run() {
+        if (!jobLeaseService.tryAcquire(JOB, lease)) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(delay);
+            Integer notified = transactionTemplate.execute(status -> {
+                List<UserProfile> stuckUsers = userProfileRepository.findEateryAdminsWithoutEateryAndNotNotified(cutoff);
+                stuckUsers.forEach(this::processSingleUser);
+                return stuckUsers.size();
+            });
+            return notified == null ? 0 : notified;
+        } finally {
+            jobLeaseService.release(JOB);
+        }
     }
 
     private void processSingleUser(UserProfile profile) {
         eventPublisherHelper.publishEmailEvent(profile.getUser(), EventType.CREATE_EATERY);
     }
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package az.qrfood.backend.schedulers;
+
+import az.qrfood.backend.mail.service.EmailOutboxSender;
+import az.qrfood.backend.schedulers.job.BackgroundJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drains the email outbox.
+ * <p>
+ * Every node drains; the batches are claimed row by row, so nodes do not send the same email. The
+ * {@code JobScheduler} runs it as configured under {@code app.scheduler.email-outbox.*}, with
+ * {@code max-interval} kept at the interval, so an idle outbox does not delay the next email.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxScheduler implements BackgroundJob {
+
+    static final String JOB = "email-outbox";
+
+    //<editor-fold desc="Fields">
+    private final EmailOutboxSender emailOutboxSender;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+    @Value("${app.mail.outbox.max-batches:20}")
+    private int maxBatches;
+    //</editor-fold>
+
+    @Override
+    public String getName() {
+        return JOB;
+    }
+
+    /**
+     * Sends due emails batch by batch while batches come back full, up to a number of batches per run,
+     * so a backlog is worked off in bounded runs.
+     *
+     * @return The number of rows taken from the outbox.
+     */
+    @Override
+    public int run() {
+        int drained = emailOutboxSender.drain();
+        int total = drained;
+        for (int batches = 1; drained == batchSize && batches < maxBatches; batches++) {
+            log.debug("Email outbox batch [{}] was full, sending the next one", batches);
+            drained = emailOutboxSender.drain();
+            total += drained;
+        }
+        return total;
+    }
+}
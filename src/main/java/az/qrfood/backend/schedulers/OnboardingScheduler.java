@@ -1,97 +1,163 @@
 package az.qrfood.backend.schedulers;
 
+import az.qrfood.backend.eatery.dto.OnboardingCandidate;
 import az.qrfood.backend.eatery.dto.OnboardingStatus;
-import az.qrfood.backend.eatery.entity.Eatery;
 import az.qrfood.backend.eatery.repository.EateryRepository;
 import az.qrfood.backend.mail.EventPublisherHelper;
 import az.qrfood.backend.mail.EventTypeResolver;
 import az.qrfood.backend.mail.dto.EventType;
 import az.qrfood.backend.mail.dto.SubscriptionType;
-import az.qrfood.backend.mail.repository.EmailTemplateRepository;
-import az.qrfood.backend.user.entity.Role;
-import az.qrfood.backend.user.entity.UserProfile;
-import lombok.RequiredArgsConstructor;
+import az.qrfood.backend.schedulers.job.BackgroundJob;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
+import az.qrfood.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Set;
+
+/**
+ * Nudges eatery admins who are stuck in onboarding.
+ * <p>
+ * For every {@link OnboardingStatus} the candidates are read page by page with a keyset on the
+ * eatery ID, one query per page, and every page is notified and committed in its own transaction,
+ * so a failure costs at most one page and the magic links and outbox rows of a page are written
+ * together. A page is only a snapshot: admins that were queued are excluded from the next query
+ * through the outbox. The run holds the {@code onboarding} job lease, so with several nodes only
+ * one of them sends the nudges. The {@code JobScheduler} runs it as configured under
+ * {@code app.scheduler.onboarding.*}.
+ * </p>
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class OnboardingScheduler {
+public class OnboardingScheduler implements BackgroundJob {
+
+    static final String JOB = "onboarding";
 
     //<editor-fold desc="Fields">
     private final EateryRepository eateryRepository;
-    private final EmailTemplateRepository templateRepository;
+    private final UserRepository userRepository;
     private final EventPublisherHelper eventPublisherHelper;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter scanned;
+    private final Counter notified;
+    private final Counter failed;
+    private final Counter skipped;
 
     @Value("${app.scheduler.onboarding.delay}")
     private Duration delay;
-    private final ApplicationEventPublisher eventPublisher;
+    @Value("${app.scheduler.onboarding.chunk-size:200}")
+    private int chunkSize;
+    @Value("${app.scheduler.onboarding.lease:PT5M}")
+    private Duration lease;
     //</editor-fold>
 
-    /**
-     * Will run as per cron.
-     */
-//    @Scheduled(cron = "0 45 10 * * *")
-    @Scheduled(fixedRate = 20000)
-    @Transactional
-    public void checkOnboardingStatus() {
-        // Find users whose last login was more than 'delayHours' ago
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(delay.toHours());
-        Arrays.stream(OnboardingStatus.values())
-                .forEach(status -> {
-
-                    EventType eventType = EventTypeResolver.resolveByOnboardingStatus(status);
-
-                    List<Eatery> stuckUsers = eateryRepository.findEateriesForOnboardingNotification(
-                            status,
-                            SubscriptionType.ONBOARDING_NUDGE.getValue(),
-                            eventType,
-                            cutoffTime
-                    );
-
-                    if (stuckUsers.isEmpty()) {
-//                        log.debug("No users to notify for status: [{}]", status);
-                        return;
-                    }
-
-                    for (Eatery eatery : stuckUsers) {
-                        try {
-                            processSingleUser(eatery);
-                        } catch (Exception e) {
-                            log.error("Unable to notify user [{}] for eatery [{}]", eatery.getUserProfiles().getFirst().getUser().getUsername(), eatery.getId(), e);
-                        }
-                    }
-
-                });
+    //<editor-fold desc="Constructor">
+    public OnboardingScheduler(EateryRepository eateryRepository,
+                               UserRepository userRepository,
+                               EventPublisherHelper eventPublisherHelper,
+                               JobLeaseService jobLeaseService,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.eateryRepository = eateryRepository;
+        this.userRepository = userRepository;
+        this.eventPublisherHelper = eventPublisherHelper;
+        this.jobLeaseService = jobLeaseService;
+        this.transactionTemplate = transactionTemplate;
+        this.scanned = meterRegistry.counter("qrfood.scheduler.rows", "job", JOB, "outcome", "scanned");
+        this.notified = meterRegistry.counter("qrfood.scheduler.rows", "job", JOB, "outcome", "notified");
+        this.failed = meterRegistry.counter("qrfood.scheduler.rows", "job", JOB, "outcome", "failed");
+        this.skipped = meterRegistry.counter("qrfood.scheduler.skipped", "job", JOB);
     }
+    //</editor-fold>
 
-    private void processSingleUser(Eatery eatery) {
-        UserProfile profile = eatery.getUserProfiles().stream()
-                .filter(up -> up.getUser().getRoles().contains(Role.EATERY_ADMIN))
-                .findFirst().orElseThrow();
-
-        EventType eventType = EventTypeResolver.resolveByOnboardingStatus(eatery.getOnboardingStatus());
-
-        eventPublisherHelper.publishEmailEvent(profile.getUser(), eventType);
-
-
-
+    @Override
+    public String getName() {
+        return JOB;
+    }
 
-//        EmailTemplate template = templateRepository.findByEventType(eventType)
-//                .orElseThrow(() -> new RuntimeException("Template not found: " + eventType));
+    /**
+     * Sends the onboarding nudges of every status, if this node gets the lease.
+     *
+     * @return The number of admins notified.
+     */
+    @Override
+    public int run() {
+        if (!jobLeaseService.tryAcquire(JOB, lease)) {
+            skipped.increment();
+            return 0;
+        }
+        try {
+            // admins whose last login was more than 'delay' ago
+            LocalDateTime cutoffTime = LocalDateTime.now().minus(delay);
+            int total = 0;
+            for (OnboardingStatus status : OnboardingStatus.values()) {
+                total += notifyStatus(status, cutoffTime);
+            }
+            if (total > 0) {
+                log.info("Onboarding nudges queued for [{}] admins", total);
+            }
+            return total;
+        } finally {
+            jobLeaseService.release(JOB);
+        }
+    }
 
-//        eventPublisher.publishEvent(new EmailEvent(mail, locale, template, eventType, Map.of("adminName", name,
-//                "magicLinkUrl", link,
-//                "unsubscribeUrl", "https//google.com"));
+    /**
+     * Pages through the candidates of one status.
+     *
+     * @return The number of admins notified.
+     */
+    int notifyStatus(OnboardingStatus status, LocalDateTime cutoffTime) {
+        EventType eventType = EventTypeResolver.resolveByOnboardingStatus(status);
+        long afterId = 0;
+        int total = 0;
+        List<OnboardingCandidate> page;
+        do {
+            page = eateryRepository.findOnboardingCandidates(status, SubscriptionType.ONBOARDING_NUDGE.getValue(),
+                    eventType, cutoffTime, afterId, PageRequest.of(0, chunkSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            scanned.increment(page.size());
+            afterId = page.getLast().eateryId();
+            total += notifyChunk(page, eventType);
+        } while (page.size() == chunkSize);
+        return total;
     }
 
-}
\ No newline at end of file
+    private int notifyChunk(List<OnboardingCandidate> page, EventType eventType) {
+        try {
+            Integer sent = transactionTemplate.execute(tx -> {
+                // one admin per eatery, and one nudge per admin even if they run several eateries
+                Set<Long> eateries = new HashSet<>();
+                Set<Long> users = new HashSet<>();
+                int count = 0;
+                for (OnboardingCandidate candidate : page) {
+                    if (eateries.add(candidate.eateryId()) && users.add(candidate.userId())) {
+                        eventPublisherHelper.publishEmailEvent(userRepository.getReferenceById(candidate.userId()),
+                                candidate.email(), candidate.locale(), eventType);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            int count = sent == null ? 0 : sent;
+            notified.increment(count);
+            return count;
+        } catch (Exception e) {
+            failed.increment(page.size());
+            log.error("Unable to notify onboarding chunk of eateries [{}..{}] for [{}]",
+                    page.getFirst().eateryId(), page.getLast().eateryId(), eventType, e);
+            return 0;
+        }
+    }
+}
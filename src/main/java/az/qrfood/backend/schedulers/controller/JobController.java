@@ -0,0 +1,75 @@
+package az.qrfood.backend.schedulers.controller;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import az.qrfood.backend.schedulers.dto.JobStatus;
+import az.qrfood.backend.schedulers.job.JobScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+/**
+ * REST controller exposing the background jobs and their recent runs.
+ */
+@Log4j2
+@RestController
+@Tag(name = "Admin Management", description = "API endpoints for managing admin users")
+public class JobController {
+
+    //<editor-fold desc="Fields">
+    private final JobScheduler jobScheduler;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    public JobController(JobScheduler jobScheduler) {
+        this.jobScheduler = jobScheduler;
+    }
+    //</editor-fold>
+
+    /**
+     * Retrieves every background job with its current wait and latest runs.
+     *
+     * @return A list of {@link JobStatus}.
+     */
+    @Operation(summary = "Get background jobs", description = "Returns the state, current interval and recent runs of every background job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a super admin")
+    })
+    @GetMapping(ApiRoutes.ADMIN_JOBS)
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    public ResponseEntity<List<JobStatus>> getJobs() {
+        return ResponseEntity.ok(jobScheduler.status());
+    }
+
+    /**
+     * Runs a background job now instead of waiting for its schedule.
+     *
+     * @param name The name of the job.
+     * @return 202 (Accepted) if the run was started, 409 (Conflict) if the job is already running.
+     */
+    @Operation(summary = "Run a background job", description = "Starts a run of the job now; skipped if a run is in progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Run started"),
+            @ApiResponse(responseCode = "404", description = "No job with that name"),
+            @ApiResponse(responseCode = "409", description = "The job is already running"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a super admin")
+    })
+    @PostMapping(ApiRoutes.ADMIN_JOB_RUN)
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    public ResponseEntity<Void> runJob(@PathVariable(value = "name") String name) {
+        log.debug("Request to run job [{}]", name);
+        return jobScheduler.trigger(name)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -0,0 +1,20 @@
+package az.qrfood.backend.schedulers.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One run of a background job.
+ *
+ * @param startedAt When the run started.
+ * @param duration  How long it took.
+ * @param outcome   How it ended.
+ * @param items     The number of items processed.
+ * @param error     The message of the exception that ended a failed run.
+ */
+public record JobRun(Instant startedAt, Duration duration, Outcome outcome, int items, String error) {
+
+    public enum Outcome {
+        WORKED, IDLE, FAILED, SKIPPED
+    }
+}
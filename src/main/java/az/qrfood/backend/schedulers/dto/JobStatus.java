@@ -0,0 +1,19 @@
+package az.qrfood.backend.schedulers.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The state of a background job.
+ *
+ * @param name         The name of the job.
+ * @param enabled      Whether the job is scheduled.
+ * @param running      Whether a run is in progress.
+ * @param currentWait  The wait before the next run, without jitter; it grows while the job is idle.
+ * @param nextRunAt    When the next scheduled run starts.
+ * @param recentRuns   The latest runs, newest first.
+ */
+public record JobStatus(String name, boolean enabled, boolean running, Duration currentWait, Instant nextRunAt,
+                        List<JobRun> recentRuns) {
+}
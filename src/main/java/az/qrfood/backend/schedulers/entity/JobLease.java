@@ -0,0 +1,24 @@
+package az.qrfood.backend.schedulers.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * The lease of a scheduled job: the node named by {@code owner} may run it until {@code lockedUntil}.
+ */
+@Entity
+@Table(name = "job_lease")
+@Data
+public class JobLease {
+
+    @Id
+    private String name;
+    @Column(nullable = false)
+    private String owner;
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+}
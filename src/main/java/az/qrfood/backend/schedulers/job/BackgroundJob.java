@@ -0,0 +1,27 @@
+package az.qrfood.backend.schedulers.job;
+
+/**
+ * A recurring task run by the {@link JobScheduler}.
+ * <p>
+ * Every bean implementing this interface is picked up at startup and scheduled from the
+ * {@code app.scheduler.<name>.*} properties described in {@link JobSchedule}. A job runs on its own
+ * thread and never overlaps with itself.
+ * </p>
+ */
+public interface BackgroundJob {
+
+    /**
+     * Returns the name of the job, used in properties, metrics and logs.
+     *
+     * @return The name, e.g. {@code onboarding}.
+     */
+    String getName();
+
+    /**
+     * Runs the job once.
+     *
+     * @return The number of items processed; {@code 0} if there was nothing to do, which makes the
+     * scheduler wait longer before the next run.
+     */
+    int run();
+}
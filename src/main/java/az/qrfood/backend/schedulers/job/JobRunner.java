@@ -0,0 +1,181 @@
+package az.qrfood.backend.schedulers.job;
+
+import az.qrfood.backend.schedulers.dto.JobRun;
+import az.qrfood.backend.schedulers.dto.JobStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs one {@link BackgroundJob} on its own thread and keeps its recent history.
+ * <p>
+ * The next run is scheduled when the previous one has finished, with the wait given by the
+ * {@link JobSchedule}. A run started by hand while another one is in progress is skipped.
+ * </p>
+ */
+@Slf4j
+class JobRunner {
+
+    static final int HISTORY_SIZE = 20;
+
+    //<editor-fold desc="Fields">
+    private final BackgroundJob job;
+    private final JobSchedule schedule;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Deque<JobRun> history = new ArrayDeque<>(HISTORY_SIZE);
+    private final MeterRegistry meterRegistry;
+    private final Counter items;
+    private final Counter skipped;
+    private volatile Duration currentWait;
+    private volatile Instant nextRunAt;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    JobRunner(BackgroundJob job, JobSchedule schedule, MeterRegistry meterRegistry) {
+        this.job = job;
+        this.schedule = schedule;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("job-" + job.getName()).daemon().factory());
+        this.currentWait = schedule.interval();
+        this.items = Counter.builder("qrfood.job.items")
+                .description("Items processed by a background job")
+                .tag("job", job.getName())
+                .register(meterRegistry);
+        this.skipped = Counter.builder("qrfood.job.skipped")
+                .description("Runs of a background job skipped because one was in progress")
+                .tag("job", job.getName())
+                .register(meterRegistry);
+    }
+    //</editor-fold>
+
+    /**
+     * Schedules the first run after one interval.
+     */
+    void start() {
+        if (schedule.enabled()) {
+            scheduleNext(schedule.interval());
+        }
+    }
+
+    /**
+     * Stops scheduling and waits briefly for a run in progress.
+     */
+    void stop() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Job [{}] did not stop in time", job.getName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the job now, outside of its schedule.
+     *
+     * @return {@code false} if a run is already in progress.
+     */
+    boolean trigger() {
+        if (running.get()) {
+            skipped.increment();
+            return false;
+        }
+        executor.execute(this::runOnce);
+        return true;
+    }
+
+    JobStatus status() {
+        List<JobRun> runs;
+        synchronized (history) {
+            runs = List.copyOf(history);
+        }
+        return new JobStatus(job.getName(), schedule.enabled(), running.get(), currentWait, nextRunAt, runs);
+    }
+
+    private void tick() {
+        JobRun run = null;
+        try {
+            run = runOnce();
+        } finally {
+            boolean worked = run != null && run.outcome() == JobRun.Outcome.WORKED;
+            scheduleNext(schedule.next(currentWait, worked));
+        }
+    }
+
+    private void scheduleNext(Duration wait) {
+        currentWait = wait;
+        Duration jittered = schedule.jittered(wait, ThreadLocalRandom.current());
+        nextRunAt = Instant.now().plus(jittered);
+        try {
+            executor.schedule(this::tick, jittered.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            nextRunAt = null;
+        }
+    }
+
+    JobRun runOnce() {
+        Instant startedAt = Instant.now();
+        if (!running.compareAndSet(false, true)) {
+            skipped.increment();
+            return record(new JobRun(startedAt, Duration.ZERO, JobRun.Outcome.SKIPPED, 0, null));
+        }
+        long start = System.nanoTime();
+        JobRun run;
+        Error fatal = null;
+        try {
+            int processed = job.run();
+            run = new JobRun(startedAt, Duration.ofNanos(System.nanoTime() - start),
+                    processed > 0 ? JobRun.Outcome.WORKED : JobRun.Outcome.IDLE, processed, null);
+            items.increment(processed);
+        } catch (Exception e) {
+            log.error("Job [{}] failed", job.getName(), e);
+            run = new JobRun(startedAt, Duration.ofNanos(System.nanoTime() - start),
+                    JobRun.Outcome.FAILED, 0, e.getMessage());
+        } catch (Error e) {
+            // recorded like any failure, then passed on
+            log.error("Job [{}] failed with an error", job.getName(), e);
+            run = new JobRun(startedAt, Duration.ofNanos(System.nanoTime() - start),
+                    JobRun.Outcome.FAILED, 0, String.valueOf(e));
+            fatal = e;
+        } finally {
+            running.set(false);
+        }
+        Timer.builder("qrfood.job.duration")
+                .description("Duration of background job runs")
+                .tag("job", job.getName())
+                .tag("outcome", run.outcome().name().toLowerCase())
+                .register(meterRegistry)
+                .record(run.duration());
+        record(run);
+        if (fatal != null) {
+            throw fatal;
+        }
+        return run;
+    }
+
+    private JobRun record(JobRun run) {
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeLast();
+            }
+            history.addFirst(run);
+        }
+        return run;
+    }
+}
@@ -0,0 +1,80 @@
+package az.qrfood.backend.schedulers.job;
+
+import org.springframework.core.env.Environment;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * The cadence of a {@link BackgroundJob}, read from {@code app.scheduler.<name>.*}.
+ * <p>
+ * A job runs every {@code interval} as long as it finds work. Every idle or failed run doubles the
+ * wait, up to {@code max-interval}, and the first run with work goes back to {@code interval}.
+ * Each wait is spread by {@code jitter}, a fraction of the wait, so jobs started together and the
+ * same job on several nodes drift apart.
+ * </p>
+ *
+ * @param interval    The wait between runs that find work.
+ * @param maxInterval The longest wait after idle runs.
+ * @param jitter      The random spread of each wait, between {@code 0} and {@code 1}.
+ * @param enabled     Whether the job is scheduled at all.
+ */
+public record JobSchedule(Duration interval, Duration maxInterval, double jitter, boolean enabled) {
+
+    public JobSchedule {
+        if (interval.isNegative() || interval.isZero() || maxInterval.compareTo(interval) < 0) {
+            throw new IllegalArgumentException("Job interval must be positive and not above max-interval: "
+                    + interval + "/" + maxInterval);
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Job jitter must be in [0, 1): " + jitter);
+        }
+    }
+
+    /**
+     * Reads the schedule of a job; {@code interval} defaults to one minute, {@code max-interval} to
+     * twenty times the interval and {@code jitter} to {@code 0.1}.
+     *
+     * @param environment The environment holding the properties.
+     * @param name        The name of the job.
+     * @return The schedule.
+     */
+    public static JobSchedule from(Environment environment, String name) {
+        String prefix = "app.scheduler." + name + ".";
+        Duration interval = environment.getProperty(prefix + "interval", Duration.class, Duration.ofMinutes(1));
+        return new JobSchedule(
+                interval,
+                environment.getProperty(prefix + "max-interval", Duration.class, interval.multipliedBy(20)),
+                environment.getProperty(prefix + "jitter", Double.class, 0.1),
+                environment.getProperty(prefix + "enabled", Boolean.class, true));
+    }
+
+    /**
+     * Returns the wait before the next run.
+     *
+     * @param previous The wait before the run that just finished, without jitter.
+     * @param worked   Whether the run found work.
+     * @return The next wait, without jitter.
+     */
+    public Duration next(Duration previous, boolean worked) {
+        if (worked) {
+            return interval;
+        }
+        Duration doubled = previous.multipliedBy(2);
+        return doubled.compareTo(maxInterval) > 0 ? maxInterval : doubled;
+    }
+
+    /**
+     * Spreads a wait randomly by the jitter.
+     *
+     * @param wait   The wait.
+     * @param random The source of randomness.
+     * @return A wait within {@code wait * (1 ± jitter)}.
+     */
+    public Duration jittered(Duration wait, RandomGenerator random) {
+        if (jitter == 0) {
+            return wait;
+        }
+        double factor = 1 + jitter * (2 * random.nextDouble() - 1);
+        return Duration.ofNanos((long) (wait.toNanos() * factor));
+    }
+}
@@ -0,0 +1,84 @@
+package az.qrfood.backend.schedulers.job;
+
+import az.qrfood.backend.schedulers.dto.JobStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedules every {@link BackgroundJob} bean.
+ * <p>
+ * Unlike {@code @Scheduled} methods, which share the single scheduler thread, each job gets a
+ * thread of its own, so a slow job does not hold up the others. The schedules are read once at
+ * startup, see {@link JobSchedule}; the first runs start one interval after the application is
+ * ready.
+ * </p>
+ */
+@Service
+@Slf4j
+public class JobScheduler {
+
+    //<editor-fold desc="Fields">
+    private final Map<String, JobRunner> runners = new LinkedHashMap<>();
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    public JobScheduler(List<BackgroundJob> jobs, Environment environment, MeterRegistry meterRegistry) {
+        for (BackgroundJob job : jobs) {
+            JobSchedule schedule = JobSchedule.from(environment, job.getName());
+            if (runners.putIfAbsent(job.getName(), new JobRunner(job, schedule, meterRegistry)) != null) {
+                throw new IllegalStateException("Duplicate background job name: " + job.getName());
+            }
+        }
+    }
+    //</editor-fold>
+
+    /**
+     * Starts all enabled jobs once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runners.values().forEach(JobRunner::start);
+        log.info("Background jobs scheduled: {}", runners.keySet());
+    }
+
+    /**
+     * Stops all jobs.
+     */
+    @PreDestroy
+    public void stop() {
+        runners.values().forEach(JobRunner::stop);
+    }
+
+    /**
+     * Returns the state and recent runs of every job.
+     *
+     * @return The jobs in registration order.
+     */
+    public List<JobStatus> status() {
+        return runners.values().stream().map(JobRunner::status).toList();
+    }
+
+    /**
+     * Runs a job now, in addition to its schedule.
+     *
+     * @param name The name of the job.
+     * @return {@code false} if the job is already running, so the run was skipped.
+     * @throws EntityNotFoundException if there is no job with that name.
+     */
+    public boolean trigger(String name) {
+        JobRunner runner = runners.get(name);
+        if (runner == null) {
+            throw new EntityNotFoundException("No background job named " + name);
+        }
+        return runner.trigger();
+    }
+}
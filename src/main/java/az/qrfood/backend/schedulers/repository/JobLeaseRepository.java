@@ -0,0 +1,36 @@
+package az.qrfood.backend.schedulers.repository;
+
+import az.qrfood.backend.schedulers.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes over a lease that has expired or is already held by the owner.
+     *
+     * @return {@code 1} if the lease is now held by the owner, {@code 0} otherwise.
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.lockedUntil = :until " +
+            "WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * Creates the lease row of a job that never ran; fails on the primary key if another node was first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (name, owner, locked_until) VALUES (:name, :owner, :until)",
+            nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
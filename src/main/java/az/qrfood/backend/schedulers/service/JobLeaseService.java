@@ -0,0 +1,98 @@
+package az.qrfood.backend.schedulers.service;
+
+import az.qrfood.backend.schedulers.repository.JobLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Makes sure a scheduled job runs on one node at a time.
+ * <p>
+ * Every job has a row in {@code job_lease}. A node runs the job only after it moved the row's
+ * {@code locked_until} into the future under its own name, which succeeds for one node only; the
+ * row is created on the first run. The lease expires by itself if its holder dies, so it should
+ * be longer than a run but not much longer.
+ * </p>
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    //<editor-fold desc="Fields">
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    //</editor-fold>
+
+    //<editor-fold desc="Constructor">
+    public JobLeaseService(JobLeaseRepository jobLeaseRepository, PlatformTransactionManager transactionManager) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = hostName() + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    //</editor-fold>
+
+    /**
+     * Tries to take the lease of a job.
+     *
+     * @param name     The name of the job.
+     * @param duration How long the lease is held unless it is released earlier.
+     * @return {@code true} if this node may run the job.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(duration);
+        Integer updated = transactionTemplate.execute(status -> jobLeaseRepository.acquire(name, owner, now, until));
+        if (updated != null && updated == 1) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            transactionTemplate.execute(status -> jobLeaseRepository.create(name, owner, until));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease [{}] was created by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * Gives the lease of a job back, so the next run on any node does not have to wait for it to expire.
+     *
+     * @param name The name of the job.
+     */
+    public void release(String name) {
+        try {
+            transactionTemplate.execute(status -> jobLeaseRepository.release(name, owner, LocalDateTime.now()));
+        } catch (Exception e) {
+            log.warn("Unable to release lease [{}], it expires by itself", name, e);
+        }
+    }
+
+    /**
+     * Returns the name this node holds leases under.
+     *
+     * @return The owner name.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -4,6 +4,8 @@ import az.qrfood.backend.eatery.dto.OnboardingStatus;
 import az.qrfood.backend.eatery.entity.Eatery;
 import az.qrfood.backend.eatery.repository.EateryRepository;
 import az.qrfood.backend.eatery.service.EateryLifecycleService;
+import az.qrfood.backend.eatery.service.EateryReferenceCache;
+import az.qrfood.backend.order.service.OrderViewService;
 import az.qrfood.backend.qr.dto.QrCodeDto;
 import az.qrfood.backend.qr.entity.QrCode;
 import az.qrfood.backend.qr.service.QrService;
@@ -18,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -38,6 +41,8 @@ public class TableService {
     private final EateryRepository eateryRepository;
     private final TableAssignmentService assignmentService;
     private final EateryLifecycleService eateryLifecycleService;
+    private final OrderViewService orderViewService;
+    private final EateryReferenceCache eateryReferenceCache;
 
 
     /**
@@ -46,13 +51,18 @@ public class TableService {
      * @param qrService        The service for QR code operations.
      * @param tableRepository  The repository for TableInEatery entities.
      * @param eateryRepository The repository for Eatery entities.
+     * @param orderViewService The service maintaining the order dashboard projection.
+     * @param eateryReferenceCache The cache of table numbers, invalidated when tables change.
      */
-    public TableService(QrService qrService, TableRepository tableRepository, EateryRepository eateryRepository, TableAssignmentService assignmentService, EateryLifecycleService eateryLifecycleService) {
+    public TableService(QrService qrService, TableRepository tableRepository, EateryRepository eateryRepository, TableAssignmentService assignmentService, EateryLifecycleService eateryLifecycleService,
+                        OrderViewService orderViewService, EateryReferenceCache eateryReferenceCache) {
         this.qrService = qrService;
         this.tableRepository = tableRepository;
         this.eateryRepository = eateryRepository;
         this.assignmentService = assignmentService;
         this.eateryLifecycleService = eateryLifecycleService;
+        this.orderViewService = orderViewService;
+        this.eateryReferenceCache = eateryReferenceCache;
     }
 
     /**
@@ -78,6 +88,21 @@ public class TableService {
                 .map(this::convertToDto);
     }
 
+    /**
+     * Finds the number of a table of an eatery, from the {@link EateryReferenceCache} if possible.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param tableId  The ID of the table.
+     * @return The table number, or empty if the table does not exist or belongs to another eatery.
+     */
+    public Optional<String> findTableNumber(Long eateryId, Long tableId) {
+        return eateryReferenceCache.findTableNumber(eateryId, tableId)
+                // the table may have been created on another instance after the snapshot was loaded
+                .or(() -> tableRepository.findById(tableId)
+                        .filter(table -> table.getEatery().getId().equals(eateryId))
+                        .map(TableInEatery::getTableNumber));
+    }
+
     /**
      * List all tables for an eatery.
      *
@@ -117,6 +142,7 @@ public class TableService {
 
         TableInEatery savedTable = tableRepository.save(table);
         table.setQrCode(qrService.createQrCodeEntity(eatery.getId(), table.getId()));
+        eateryReferenceCache.invalidate(eatery.getId());
         if(eatery.getOnboardingStatus() != OnboardingStatus.TABLES_READY) {
             eateryLifecycleService.tryPromoteStatus(eatery.getId(), OnboardingStatus.TABLES_READY);
         }
@@ -139,6 +165,9 @@ public class TableService {
         Eatery eatery = eateryRepository.findById(tableDto.eateryId())
                 .orElseThrow(() -> new EntityNotFoundException("Eatery not found with id: " + tableDto.eateryId()));
 
+        boolean renamed = !Objects.equals(table.getTableNumber(), tableDto.number());
+        eateryReferenceCache.invalidate(table.getEatery().getId());
+        eateryReferenceCache.invalidate(eatery.getId());
         table.setTableNumber(tableDto.number());
         table.setEatery(eatery);
         table.setSeats(tableDto.seats());
@@ -146,6 +175,9 @@ public class TableService {
         table.setStatus(tableDto.status());
 
         TableInEatery updatedTable = tableRepository.save(table);
+        if (renamed) {
+            orderViewService.onTableRenamed(id, tableDto.number());
+        }
         return convertToDto(updatedTable);
     }
 
@@ -177,6 +209,7 @@ public class TableService {
         }
 
         log.debug("Deleting table with id [{}]", id);
+        tableRepository.findById(id).ifPresent(table -> eateryReferenceCache.invalidate(table.getEatery().getId()));
         tableRepository.deleteById(id);
     }
 
@@ -188,6 +221,13 @@ public class TableService {
      * @return true if the table belongs to the eatery, false otherwise.
      */
     public boolean isTableBelongsToEatery(Long tableId, Long eateryId) {
+        boolean cached = eateryReferenceCache.find(eateryId)
+                .map(reference -> reference.tableNumbers().containsKey(tableId))
+                .orElse(false);
+        if (cached) {
+            return true;
+        }
+        // the table may have been created on another instance after the snapshot was loaded
         return tableRepository.findById(tableId)
                 .map(table -> table.getEatery().getId().equals(eateryId))
                 .orElse(false);
@@ -211,6 +251,7 @@ public class TableService {
 
         TableInEatery savedTable = tableRepository.save(table);
         table.setQrCode(qrService.createQrCodeEntity(eatery.getId(), table.getId()));
+        eateryReferenceCache.invalidate(eatery.getId());
         return tableRepository.save(savedTable);
     }
 
@@ -1,9 +1,12 @@
 package az.qrfood.backend.tableassignment.repository;
 
 import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.tableassignment.dto.TableAssignmentDto;
 import az.qrfood.backend.tableassignment.entity.TableAssignment;
 import az.qrfood.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -43,4 +46,59 @@ public interface TableAssignmentRepository extends JpaRepository<TableAssignment
      * @return An Optional containing the table assignment if found, or empty if not found.
      */
     Optional<TableAssignment> findByWaiterAndTable(User waiter, TableInEatery table);
-}
\ No newline at end of file
+
+    /**
+     * Finds the IDs of the waiters assigned to a table, oldest assignment first.
+     *
+     * @param tableId The ID of the table.
+     * @return A list of waiter IDs.
+     */
+    @Query("SELECT ta.waiter.id FROM TableAssignment ta WHERE ta.table.id = :tableId ORDER BY ta.id")
+    List<Long> findWaiterIdsByTableId(@Param("tableId") Long tableId);
+
+    /**
+     * Finds the assignments of the tables of an eatery, oldest first.
+     * Only ids and timestamps are read; waiters and tables are not loaded.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return A list of {@link TableAssignmentDto}.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.tableassignment.dto.TableAssignmentDto(
+                ta.id, ta.waiter.id, ta.table.id, ta.createdAt, ta.updatedAt)
+            FROM TableAssignment ta
+            WHERE ta.table.eatery.id = :eateryId
+            ORDER BY ta.id
+            """)
+    List<TableAssignmentDto> findDtosByEateryId(@Param("eateryId") Long eateryId);
+
+    /**
+     * Finds the assignments of a waiter, oldest first, without loading waiter or tables.
+     *
+     * @param waiterId The ID of the waiter.
+     * @return A list of {@link TableAssignmentDto}.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.tableassignment.dto.TableAssignmentDto(
+                ta.id, ta.waiter.id, ta.table.id, ta.createdAt, ta.updatedAt)
+            FROM TableAssignment ta
+            WHERE ta.waiter.id = :waiterId
+            ORDER BY ta.id
+            """)
+    List<TableAssignmentDto> findDtosByWaiterId(@Param("waiterId") Long waiterId);
+
+    /**
+     * Finds the assignments of a table, oldest first, without loading waiters or the table.
+     *
+     * @param tableId The ID of the table.
+     * @return A list of {@link TableAssignmentDto}.
+     */
+    @Query("""
+            SELECT new az.qrfood.backend.tableassignment.dto.TableAssignmentDto(
+                ta.id, ta.waiter.id, ta.table.id, ta.createdAt, ta.updatedAt)
+            FROM TableAssignment ta
+            WHERE ta.table.id = :tableId
+            ORDER BY ta.id
+            """)
+    List<TableAssignmentDto> findDtosByTableId(@Param("tableId") Long tableId);
+}
@@ -1,5 +1,6 @@
 package az.qrfood.backend.tableassignment.service;
 
+import az.qrfood.backend.order.service.OrderViewService;
 import az.qrfood.backend.table.entity.TableInEatery;
 import az.qrfood.backend.table.repository.TableRepository;
 import az.qrfood.backend.tableassignment.dto.CreateTableAssignmentDto;
@@ -17,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link TableAssignmentService} interface.
@@ -35,6 +35,8 @@ public class TableAssignmentServiceImpl implements TableAssignmentService {
     private final TableAssignmentRepository tableAssignmentRepository;
     private final UserRepository userRepository;
     private final TableRepository tableRepository;
+    private final OrderViewService orderViewService;
+    private final WaiterTableIndex waiterTableIndex;
 
     /**
      * {@inheritDoc}
@@ -67,6 +69,8 @@ public class TableAssignmentServiceImpl implements TableAssignmentService {
                 .build();
 
         TableAssignment savedAssignment = tableAssignmentRepository.save(tableAssignment);
+        orderViewService.onTableAssignmentChanged(table.getId());
+        waiterTableIndex.invalidate(table.getEatery().getId());
         return mapToDto(savedAssignment);
     }
 
@@ -95,13 +99,7 @@ public class TableAssignmentServiceImpl implements TableAssignmentService {
             throw new IllegalArgumentException("Eatery ID must not be null");
         }
 
-        // Get all table assignments and filter by eatery ID
-        return tableAssignmentRepository.findAll().stream()
-                .filter(assignment -> assignment.getTable() != null 
-                        && assignment.getTable().getEatery() != null 
-                        && eateryId.equals(assignment.getTable().getEatery().getId()))
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return tableAssignmentRepository.findDtosByEateryId(eateryId);
     }
 
     /**
@@ -114,11 +112,10 @@ public class TableAssignmentServiceImpl implements TableAssignmentService {
             throw new IllegalArgumentException("Waiter ID must not be null");
         }
 
-        User waiter = userRepository.findById(waiterId)
-                .orElseThrow(() -> new EntityNotFoundException("Waiter not found with ID: " + waiterId));
-        return tableAssignmentRepository.findByWaiter(waiter).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        if (!userRepository.existsById(waiterId)) {
+            throw new EntityNotFoundException("Waiter not found with ID: " + waiterId);
+        }
+        return tableAssignmentRepository.findDtosByWaiterId(waiterId);
     }
 
     /**
@@ -131,11 +128,10 @@ public class TableAssignmentServiceImpl implements TableAssignmentService {
             throw new IllegalArgumentException("Table ID must not be null");
         }
 
-        TableInEatery table = tableRepository.findById(tableId)
-                .orElseThrow(() -> new EntityNotFoundException("Table not found with ID: " + tableId));
-        return tableAssignmentRepository.findByTable(table).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        if (!tableRepository.existsById(tableId)) {
+            throw new EntityNotFoundException("Table not found with ID: " + tableId);
+        }
+        return tableAssignmentRepository.findDtosByTableId(tableId);
     }
 
     /**
@@ -148,11 +144,12 @@ public class TableAssignmentServiceImpl implements TableAssignmentService {
             throw new IllegalArgumentException("Assignment ID must not be null");
         }
 
-        if (!tableAssignmentRepository.existsById(id)) {
-            throw new EntityNotFoundException("Table assignment not found with ID: " + id);
-        }
+        TableAssignment assignment = tableAssignmentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Table assignment not found with ID: " + id));
         log.debug("Deleting table assigment with id [{}]", id);
-        tableAssignmentRepository.deleteById(id);
+        tableAssignmentRepository.delete(assignment);
+        orderViewService.onTableAssignmentChanged(assignment.getTable().getId());
+        waiterTableIndex.invalidate(assignment.getTable().getEatery().getId());
     }
 
     /**
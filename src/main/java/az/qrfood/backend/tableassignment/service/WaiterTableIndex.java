@@ -0,0 +1,117 @@
+package az.qrfood.backend.tableassignment.service;
+
+import az.qrfood.backend.common.cache.SnapshotCache;
+import az.qrfood.backend.tableassignment.dto.TableAssignmentDto;
+import az.qrfood.backend.tableassignment.repository.TableAssignmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of which waiter serves which table, kept per eatery in a {@link SnapshotCache}.
+ * <p>
+ * The assignments of an eatery are loaded with one query the first time they are needed and
+ * then answered from memory until {@link #invalidate(Long)} is called for that eatery or the
+ * snapshot grows older than {@code app.table-assignment.index.max-age}. At most
+ * {@code app.table-assignment.index.max-entries} eateries are kept.
+ * </p>
+ * <p>
+ * Reads must come from read paths: a snapshot is loaded with the caller's transaction, so
+ * loading it in the middle of an assignment change would publish uncommitted rows.
+ * </p>
+ */
+@Log4j2
+@Component
+public class WaiterTableIndex {
+
+    private final TableAssignmentRepository tableAssignmentRepository;
+    private final SnapshotCache<Long, Snapshot> snapshots;
+
+    /**
+     * Constructs a WaiterTableIndex.
+     *
+     * @param tableAssignmentRepository The repository the snapshots are loaded from.
+     * @param maxEntries                The number of eateries kept in memory.
+     * @param maxAge                    How long a snapshot is trusted without invalidation.
+     * @param meterRegistry             The registry of the cache metrics.
+     */
+    public WaiterTableIndex(TableAssignmentRepository tableAssignmentRepository,
+                            @Value("${app.table-assignment.index.max-entries:5000}") int maxEntries,
+                            @Value("${app.table-assignment.index.max-age:60s}") Duration maxAge,
+                            MeterRegistry meterRegistry) {
+        this.tableAssignmentRepository = tableAssignmentRepository;
+        this.snapshots = new SnapshotCache<>("waiter-tables", maxEntries, maxAge, meterRegistry);
+    }
+
+    /**
+     * Returns the tables a waiter serves in an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param waiterId The ID of the waiter.
+     * @return The IDs of the tables, empty if none are assigned.
+     */
+    public Set<Long> tablesOf(Long eateryId, Long waiterId) {
+        return snapshot(eateryId).tablesByWaiter().getOrDefault(waiterId, Set.of());
+    }
+
+    /**
+     * Returns the waiters serving a table, oldest assignment first.
+     *
+     * @param eateryId The ID of the eatery the table belongs to.
+     * @param tableId  The ID of the table.
+     * @return The IDs of the waiters, empty if nobody is assigned.
+     */
+    public List<Long> waitersOf(Long eateryId, Long tableId) {
+        return snapshot(eateryId).waitersByTable().getOrDefault(tableId, List.of());
+    }
+
+    /**
+     * Checks whether a waiter serves a table.
+     *
+     * @param eateryId The ID of the eatery.
+     * @param waiterId The ID of the waiter.
+     * @param tableId  The ID of the table.
+     * @return {@code true} if the table is assigned to the waiter.
+     */
+    public boolean isAssigned(Long eateryId, Long waiterId, Long tableId) {
+        return tablesOf(eateryId, waiterId).contains(tableId);
+    }
+
+    /**
+     * Drops the snapshot of an eatery after its assignments changed.
+     *
+     * @param eateryId The ID of the eatery.
+     */
+    public void invalidate(Long eateryId) {
+        snapshots.invalidate(eateryId);
+    }
+
+    private Snapshot snapshot(Long eateryId) {
+        return snapshots.get(eateryId, () -> load(eateryId));
+    }
+
+    private Snapshot load(Long eateryId) {
+        Map<Long, Set<Long>> tablesByWaiter = new HashMap<>();
+        Map<Long, List<Long>> waitersByTable = new HashMap<>();
+        List<TableAssignmentDto> assignments = tableAssignmentRepository.findDtosByEateryId(eateryId);
+        for (TableAssignmentDto assignment : assignments) {
+            tablesByWaiter.computeIfAbsent(assignment.getWaiterId(), k -> new LinkedHashSet<>()).add(assignment.getTableId());
+            waitersByTable.computeIfAbsent(assignment.getTableId(), k -> new ArrayList<>()).add(assignment.getWaiterId());
+        }
+        tablesByWaiter.replaceAll((waiterId, tables) -> Set.copyOf(tables));
+        waitersByTable.replaceAll((tableId, waiters) -> List.copyOf(waiters));
+        log.debug("Loaded [{}] table assignments of eatery [{}]", assignments.size(), eateryId);
+        return new Snapshot(Map.copyOf(tablesByWaiter), Map.copyOf(waitersByTable));
+    }
+
+    private record Snapshot(Map<Long, Set<Long>> tablesByWaiter, Map<Long, List<Long>> waitersByTable) {
+    }
+}
@@ -5,6 +5,7 @@ import az.qrfood.backend.category.service.CategoryService;
 import az.qrfood.backend.dish.dto.DishDto;
 import az.qrfood.backend.dish.service.DishService;
 import az.qrfood.backend.eatery.dto.EateryDto;
+import az.qrfood.backend.eatery.dto.EateryTeardownStatus;
 import az.qrfood.backend.eatery.service.EateryService;
 import az.qrfood.backend.order.dto.OrderDto;
 import az.qrfood.backend.order.service.OrderService;
@@ -182,35 +183,50 @@ public class AdminController {
     /**
      * Deletes an eatery and all related data.
      * <p>
-     * This endpoint deletes an eatery and all its related data including
+     * The deletion runs in the background and removes
      * - All users (except eatery admin if there is another eatery related to them)
      * - All tables and table assignments
      * - All orders
      * - All categories and dishes
      * - All category translations
+     * - The uploaded images of the eatery
+     * Its progress is returned by {@link #getEateryDeletion(Long)}.
      * </p>
      *
      * @param eateryId The ID of the eatery to delete.
-     * @return ResponseEntity with a success message.
+     * @return ResponseEntity with the progress of the deletion.
      */
-    @Operation(summary = "Delete eatery with all related data", description = "Deletes an eatery and all its related data including users, tables, orders, categories, dishes, and category translations")
+    @Operation(summary = "Delete eatery with all related data", description = "Starts deleting an eatery and all its related data including users, tables, orders, categories, dishes, and category translations")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Eatery deleted successfully"),
+            @ApiResponse(responseCode = "202", description = "Eatery deletion started"),
             @ApiResponse(responseCode = "404", description = "Eatery not found"),
             @ApiResponse(responseCode = "403", description = "Forbidden - Not authorized to delete this eatery"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @DeleteMapping(ApiRoutes.ADMIN_EATERY)
     @PreAuthorize("@authz.isSuperAdmin(authentication)")
-//    @Transactional
-    public ResponseEntity<?> deleteEatery(@PathVariable Long eateryId) {
+    public ResponseEntity<EateryTeardownStatus> deleteEatery(@PathVariable Long eateryId) {
+        return ResponseEntity.accepted().body(adminService.deleteEatery(eateryId));
+    }
 
-        adminService.deleteEatery(eateryId);
-        // Create the response
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Eatery and all related data deleted successfully");
-        response.put("eateryId", eateryId);
-        return ResponseEntity.ok(response);
+    /**
+     * Returns the progress of the deletion of an eatery.
+     *
+     * @param eateryId The ID of the eatery.
+     * @return The rows deleted so far per step, and whether the deletion is done or failed.
+     */
+    @Operation(summary = "Get eatery deletion progress", description = "Returns the progress of the last deletion of an eatery")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion progress returned"),
+            @ApiResponse(responseCode = "404", description = "No deletion of this eatery is known"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a super admin")
+    })
+    @GetMapping(ApiRoutes.ADMIN_EATERY_DELETION)
+    @PreAuthorize("@authz.isSuperAdmin(authentication)")
+    public ResponseEntity<EateryTeardownStatus> getEateryDeletion(@PathVariable Long eateryId) {
+        return adminService.getEateryDeletion(eateryId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
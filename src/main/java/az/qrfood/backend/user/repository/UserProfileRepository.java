@@ -63,7 +63,10 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
            "AND MOD(COALESCE(up.emailSubscription, 0) / 16, 2) = 1 " +
            "AND (SELECT COUNT(nl) FROM NotificationLog nl " +
            "     WHERE nl.userEmail = u.username " +
-           "     AND nl.eventType = az.qrfood.backend.mail.dto.EventType.CREATE_EATERY) = 0")
+           "     AND nl.eventType = az.qrfood.backend.mail.dto.EventType.CREATE_EATERY) = 0 " +
+           "AND NOT EXISTS (SELECT o FROM EmailOutbox o " +
+           "     WHERE o.recipient = u.username " +
+           "     AND o.eventType = az.qrfood.backend.mail.dto.EventType.CREATE_EATERY)")
     List<UserProfile> findEateryAdminsWithoutEateryAndNotNotified(@Param("cutoff") java.time.LocalDateTime cutoff);
 
 }
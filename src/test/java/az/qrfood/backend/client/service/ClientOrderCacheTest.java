@@ -0,0 +1,94 @@
+package az.qrfood.backend.client.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClientOrderCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private ClientOrderCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ClientOrderCache(2, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_shouldLoadOncePerDeviceEateryAndDay() {
+        assertEquals(List.of(1L, 2L), cache.get("a", 7L, DAY, () -> load(List.of(1L, 2L))));
+        assertEquals(List.of(1L, 2L), cache.get("a", 7L, DAY, () -> load(List.of())));
+        assertEquals(List.of(), cache.get("a", 7L, DAY.plusDays(1), () -> load(List.of())));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldForceReload() {
+        cache.get("a", 7L, DAY, () -> load(List.of()));
+        cache.invalidate("a", 7L, DAY);
+
+        assertEquals(List.of(5L), cache.get("a", 7L, DAY, () -> load(List.of(5L))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedEntry() {
+        cache.get("a", 7L, DAY, () -> load(List.of(1L)));
+        cache.get("b", 7L, DAY, () -> load(List.of(2L)));
+        cache.get("a", 7L, DAY, () -> load(List.of()));
+        cache.get("c", 7L, DAY, () -> load(List.of(3L)));
+
+        assertEquals(2, cache.size());
+        assertEquals(List.of(1L), cache.get("a", 7L, DAY, () -> load(List.of())));
+        assertEquals(List.of(), cache.get("b", 7L, DAY, () -> load(List.of())));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_shouldNotStoreLoadOverlappingInvalidation() {
+        cache.get("a", 7L, DAY, () -> {
+            cache.invalidate("a", 7L, DAY);
+            return load(List.of());
+        });
+
+        assertEquals(List.of(9L), cache.get("a", 7L, DAY, () -> load(List.of(9L))));
+    }
+
+    @Test
+    void get_shouldReloadAnEntryOlderThanMaxAge() {
+        ClientOrderCache expiring = new ClientOrderCache(2, Duration.ZERO, new SimpleMeterRegistry());
+
+        expiring.get("a", 7L, DAY, () -> load(List.of()));
+
+        assertEquals(List.of(5L), expiring.get("a", 7L, DAY, () -> load(List.of(5L))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateEatery_shouldDropTheEntriesOfAllDevicesInTheEatery() {
+        cache.get("a", 7L, DAY, () -> load(List.of(1L)));
+        cache.get("b", 8L, DAY, () -> load(List.of(2L)));
+
+        cache.invalidateEatery(7L);
+
+        assertEquals(1, cache.size());
+        assertEquals(List.of(2L), cache.get("b", 8L, DAY, () -> load(List.of())));
+        assertEquals(2, loads.get());
+    }
+
+    private List<Long> load(List<Long> orderIds) {
+        loads.incrementAndGet();
+        return orderIds;
+    }
+}
@@ -0,0 +1,114 @@
+package az.qrfood.backend.client.service;
+
+import az.qrfood.backend.client.repository.ClientDeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DeviceSessionStoreTest {
+
+    @Mock
+    private ClientDeviceRepository clientDeviceRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void touch_shouldNotTrackNewDevicesOnceFull() {
+        DeviceSessionStore store = store(Duration.ofHours(1), 2);
+
+        store.touch("a");
+        store.touch("b");
+        store.touch("c");
+        store.touch("a");
+
+        assertEquals(2, store.size());
+        assertTrue(store.isLive("a"));
+        assertFalse(store.isLive("c"));
+        assertEquals(2.0, meterRegistry.get("qrfood.device.sessions.live").gauge().value());
+        assertEquals(1.0, meterRegistry.get("qrfood.device.sessions.rejected").counter().count());
+    }
+
+    @Test
+    void evict_shouldDropTheSessionsOfTheGivenDevices() {
+        DeviceSessionStore store = store(Duration.ofHours(1), 10);
+        store.touch("a");
+        store.touch("b");
+
+        store.evict(List.of("a", "unknown"));
+
+        assertFalse(store.isLive("a"));
+        assertTrue(store.isLive("b"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldWriteOnlyDevicesSeenSinceLastFlush() {
+        DeviceSessionStore store = store(Duration.ofHours(1), 10);
+        when(clientDeviceRepository.updateLastSeen(anyCollection(), any())).thenReturn(2);
+
+        store.touch("a");
+        store.touch("b");
+        assertEquals(2, store.flush());
+        assertEquals(0, store.flush());
+
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(clientDeviceRepository).updateLastSeen(captor.capture(), any());
+        assertEquals(Set.of("a", "b"), Set.copyOf(captor.getValue()));
+        verifyNoMoreInteractions(clientDeviceRepository);
+    }
+
+    @Test
+    void flush_shouldRetryDevicesOfFailedWrite() {
+        DeviceSessionStore store = store(Duration.ofHours(1), 10);
+        when(clientDeviceRepository.updateLastSeen(anyCollection(), any()))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(1);
+
+        store.touch("a");
+        assertThrows(IllegalStateException.class, store::flush);
+        assertEquals(1, store.flush());
+
+        verify(clientDeviceRepository, times(2)).updateLastSeen(eq(List.of("a")), any());
+    }
+
+    @Test
+    void expire_shouldKeepSessionsUntilFlushed() throws InterruptedException {
+        DeviceSessionStore store = store(Duration.ofMillis(1), 10);
+        when(clientDeviceRepository.updateLastSeen(anyCollection(), any())).thenReturn(1);
+
+        store.touch("a");
+        Thread.sleep(5);
+        assertEquals(0, store.expire());
+
+        store.flush();
+        assertEquals(1, store.expire());
+        assertEquals(0, store.size());
+        assertEquals(1.0, meterRegistry.get("qrfood.device.sessions.expired").counter().count());
+    }
+
+    private DeviceSessionStore store(Duration ttl, int maxSessions) {
+        return new DeviceSessionStore(clientDeviceRepository, meterRegistry, ttl, maxSessions);
+    }
+}
@@ -0,0 +1,115 @@
+package az.qrfood.backend.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SnapshotCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SnapshotCache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SnapshotCache<>("test", 2, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_shouldLoadOnceAndCountHitsAndMisses() {
+        assertEquals("a", cache.get(1L, () -> load("a")));
+        assertEquals("a", cache.get(1L, () -> load("b")));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("qrfood.cache.requests", "cache", "test", "result", "miss").count());
+        assertEquals(1.0, meterRegistry.counter("qrfood.cache.requests", "cache", "test", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.get("qrfood.cache.size").tag("cache", "test").gauge().value());
+    }
+
+    @Test
+    void get_shouldNotStoreAMissingValue() {
+        assertNull(cache.get(1L, () -> load(null)));
+        assertNull(cache.get(1L, () -> load(null)));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldReloadAValueOlderThanMaxAge() {
+        SnapshotCache<Long, String> expiring = new SnapshotCache<>("expiring", 2, Duration.ZERO, meterRegistry);
+
+        expiring.get(1L, () -> load("a"));
+
+        assertEquals("b", expiring.get(1L, () -> load("b")));
+    }
+
+    @Test
+    void get_shouldDropTheLeastRecentlyUsedValueBeyondMaxEntries() {
+        cache.get(1L, () -> load("a"));
+        cache.get(2L, () -> load("b"));
+        cache.get(1L, () -> load("x"));
+        cache.get(3L, () -> load("c"));
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get(1L, () -> load("x")));
+        assertEquals("B", cache.get(2L, () -> load("B")));
+        assertEquals(2.0, meterRegistry.counter("qrfood.cache.evictions", "cache", "test").count());
+    }
+
+    @Test
+    void invalidateDuringLoad_shouldReturnButNotKeepTheLoadedValue() {
+        assertEquals("old", cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load("old");
+        }));
+
+        assertEquals("new", cache.get(1L, () -> load("new")));
+    }
+
+    @Test
+    void invalidateIf_shouldDropAllMatchingKeys() {
+        cache.get(1L, () -> load("a"));
+        cache.get(2L, () -> load("b"));
+
+        cache.invalidateIf(key -> key > 1L);
+
+        assertEquals(1, cache.size());
+        assertEquals("a", cache.get(1L, () -> load("x")));
+    }
+
+    @Test
+    void invalidateInATransaction_shouldDropTheValueAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1L);
+        // another thread loads the old rows before the transaction commits
+        cache.get(1L, () -> load("old"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals("new", cache.get(1L, () -> load("new")));
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
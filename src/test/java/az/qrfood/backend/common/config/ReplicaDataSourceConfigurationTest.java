@@ -0,0 +1,168 @@
+package az.qrfood.backend.common.config;
+
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.schedulers.entity.JobLease;
+import az.qrfood.backend.schedulers.repository.JobLeaseRepository;
+import az.qrfood.backend.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs JPA on two in-memory H2 databases standing in for the primary and the replica, with one
+ * entity manager per request as open-in-view keeps it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfiguration.class, ReplicaDataSourceConfigurationTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@MockBean(UserService.class)
+@MockBean(PasswordEncoder.class)
+class ReplicaDataSourceConfigurationTest {
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EntityManager sharedEntityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // Hibernate creates the schema on the primary only
+        replica.execute("CREATE TABLE IF NOT EXISTS job_lease (name VARCHAR(255) PRIMARY KEY, "
+                + "owner VARCHAR(255) NOT NULL, locked_until TIMESTAMP(6) NOT NULL)");
+        primary.update("DELETE FROM job_lease");
+        replica.update("DELETE FROM job_lease");
+        replica.update("INSERT INTO job_lease (name, owner, locked_until) VALUES ('replicated', 'node', ?)",
+                LocalDateTime.now());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void aWriteAfterAReplicaReadInTheSameSession_shouldRunOnThePrimary() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertThat(jobLeaseRepository.findById("replicated")).isPresent();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jobLeaseRepository.save(lease("written")));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertThat(names(primary)).containsExactly("written");
+        assertThat(names(replica)).containsExactly("replicated");
+    }
+
+    @Test
+    void readsOutsideARequest_shouldRunOnThePrimary() {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertThat(jobLeaseRepository.findById("replicated")).isEmpty();
+    }
+
+    @Test
+    void readsOfAnEateryChangedThroughJpa_shouldRunOnThePrimary() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long eateryId = transaction.execute(status -> {
+            Eatery eatery = new Eatery();
+            eatery.setName("Fresh");
+            eatery.setOnboardingStatus(OnboardingStatus.EATERY_CREATED);
+            sharedEntityManager.persist(eatery);
+            return eatery.getId();
+        });
+        // a route without {eateryId}; the interceptor takes the eatery from the flushed entity
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        transaction.executeWithoutResult(status -> sharedEntityManager.find(Eatery.class, eateryId).setName("Renamed"));
+
+        enterEateryRequest(eateryId);
+        assertThat(jobLeaseRepository.findById("replicated")).isEmpty();
+
+        enterEateryRequest(eateryId + 1);
+        assertThat(jobLeaseRepository.findById("replicated")).isPresent();
+    }
+
+    private static void enterEateryRequest(Long eateryId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("eateryId", eateryId.toString()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static JobLease lease(String name) {
+        JobLease lease = new JobLease();
+        lease.setName(name);
+        lease.setOwner("node");
+        lease.setLockedUntil(LocalDateTime.now());
+        return lease;
+    }
+
+    private static List<String> names(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList("SELECT name FROM job_lease ORDER BY name", String.class);
+    }
+}
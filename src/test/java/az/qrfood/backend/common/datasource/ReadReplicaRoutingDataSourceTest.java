@@ -0,0 +1,206 @@
+package az.qrfood.backend.common.datasource;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes between two in-memory H2 databases standing in for the primary and the replica;
+ * each holds one row naming the database.
+ */
+public class ReadReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        setUp(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldRunOnTheReplica() {
+        enterRequest("7");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+        assertEquals("primary", readWrite.execute(status -> whereAmI()));
+        assertEquals("primary", whereAmI());
+        assertEquals(1.0, meterRegistry.counter("qrfood.datasource.routes", "route", "replica").count());
+    }
+
+    @Test
+    void backgroundReads_shouldRunOnThePrimary() {
+        // a drain deletes what it delivered; its next run must not find the rows again on the replica
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM whoami"));
+
+        Integer left = readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM whoami", Integer.class));
+
+        assertEquals(0, left);
+        assertEquals(0.0, meterRegistry.counter("qrfood.datasource.routes", "route", "replica").count());
+    }
+
+    @Test
+    void readsAfterAWrite_shouldStayOnThePrimaryForTheWrittenEatery() {
+        enterRequest("7");
+        write(7L);
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+        enterRequest("7");
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+        enterRequest("8");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+        assertEquals(2.0, meterRegistry.counter("qrfood.datasource.routes", "route", "pinned").count());
+    }
+
+    @Test
+    void readsOfAnEateryWrittenOnARouteWithoutIt_shouldStayOnThePrimary() {
+        // e.g. creating a table through a route that names the table, not the eatery
+        enterRequest(null);
+        write(7L);
+
+        enterRequest("7");
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readsOfTheUserWhoWrote_shouldStayOnThePrimary() {
+        authenticate("owner@qrfood.az");
+        enterRequest(null);
+        write(null);
+
+        enterRequest(null);
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+        authenticate("guest@qrfood.az");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readsOfAWrittenUser_shouldStayOnThePrimary() {
+        enterRequest(null);
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE whoami SET name = name");
+            ReadYourWritesWindow.userWritten("new@qrfood.az");
+        });
+
+        authenticate("new@qrfood.az");
+        enterRequest(null);
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void authenticationRequests_shouldRunOnThePrimary() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", ApiRoutes.AUTH_LOGIN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void primaryReads_shouldRunOnThePrimary() {
+        enterRequest("7");
+
+        assertEquals("primary", PrimaryReads.call(() -> readOnly.execute(status -> whereAmI())));
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readsAfterTheWindow_shouldGoBackToTheReplica() {
+        setUp(Duration.ZERO);
+        enterRequest("7");
+        write(7L);
+
+        enterRequest("7");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void rolledBackWrites_shouldNotPinTheEatery() {
+        enterRequest("7");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE whoami SET name = name");
+            ReadYourWritesWindow.eateryWritten(7L);
+            status.setRollbackOnly();
+        });
+
+        enterRequest("7");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    private void setUp(Duration window) {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                primary, replica, new ReadYourWritesWindow(window), meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private void write(Long eateryId) {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE whoami SET name = name");
+            // what ReadYourWritesInterceptor does when Hibernate flushes a row of the eatery
+            ReadYourWritesWindow.eateryWritten(eateryId);
+        });
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static void enterRequest(String eateryId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (eateryId != null) {
+            request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("eateryId", eateryId));
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,67 @@
+package az.qrfood.backend.common.metrics;
+
+import az.qrfood.backend.common.metrics.dto.RouteLatencyDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void buckets_shouldCoverTheRangeWithoutGaps() {
+        for (long micros = 0; micros < 100_000; micros++) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.highestValue(index) >= micros);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValue(index - 1) < micros);
+            }
+        }
+        assertEquals(LatencyHistogram.MAX_MICROS,
+                LatencyHistogram.highestValue(LatencyHistogram.index(LatencyHistogram.MAX_MICROS)));
+    }
+
+    @Test
+    void snapshot_shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.count());
+        assertEquals(50_500, snapshot.mean());
+        assertWithin(50_000, snapshot.p50());
+        assertWithin(95_000, snapshot.p95());
+        assertWithin(99_000, snapshot.p99());
+        assertEquals(100_000, snapshot.max());
+    }
+
+    @Test
+    void registry_shouldKeepRoutesApartAndFoldExcessRoutes() {
+        RouteLatencyRegistry registry = new RouteLatencyRegistry();
+        for (int i = 0; i < RouteLatencyRegistry.MAX_ROUTES + 10; i++) {
+            registry.record("GET /r" + i, 1_000);
+        }
+        registry.record("GET /r0", 1_000);
+
+        List<RouteLatencyDto> routes = registry.snapshot();
+
+        assertEquals(RouteLatencyRegistry.MAX_ROUTES + 1, routes.size());
+        assertEquals(RouteLatencyRegistry.OTHER_ROUTE, routes.get(0).route());
+        assertEquals(10, routes.get(0).count());
+        assertEquals(2, routes.get(1).count());
+
+        registry.reset();
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    private static void assertWithin(long expectedMicros, long actualMicros) {
+        assertTrue(actualMicros >= expectedMicros && actualMicros <= expectedMicros * 1.04,
+                "expected about " + expectedMicros + " but was " + actualMicros);
+    }
+}
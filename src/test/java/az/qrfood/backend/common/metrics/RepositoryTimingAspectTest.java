@@ -0,0 +1,104 @@
+package az.qrfood.backend.common.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RepositoryTimingAspectTest {
+
+    interface SampleRepository extends Repository<Object, Long> {
+
+        int count();
+
+        int countTwice();
+
+        int fail();
+    }
+
+    static class SampleRepositoryImpl implements SampleRepository {
+
+        private SampleRepository self;
+
+        @Override
+        public int count() {
+            return 1;
+        }
+
+        @Override
+        public int countTwice() {
+            return self.count() + self.count();
+        }
+
+        @Override
+        public int fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    private SampleRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        SampleRepositoryImpl target = new SampleRepositoryImpl();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(SampleRepository.class);
+        factory.addAspect(new RepositoryTimingAspect());
+        repository = factory.getProxy();
+        target.self = repository;
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStats.end();
+    }
+
+    @Test
+    void time_shouldCountEachOutermostCall() {
+        RequestStats.begin();
+        repository.count();
+        repository.count();
+        RequestStats stats = RequestStats.end();
+
+        assertEquals(2, stats.getRepositoryCalls());
+        assertTrue(stats.getRepositoryNanos() > 0);
+    }
+
+    @Test
+    void time_shouldCountNestedCallsOnlyOnce() {
+        RequestStats.begin();
+        assertEquals(2, repository.countTwice());
+        repository.count();
+        RequestStats stats = RequestStats.end();
+
+        assertEquals(2, stats.getRepositoryCalls());
+    }
+
+    @Test
+    void time_shouldCountAFailedCallAndTimeTheNextOne() {
+        RequestStats.begin();
+        assertThrows(IllegalStateException.class, repository::fail);
+        repository.count();
+        RequestStats stats = RequestStats.end();
+
+        assertEquals(2, stats.getRepositoryCalls());
+    }
+
+    @Test
+    void time_shouldRecordNothingWithoutAnOpenRequest() {
+        repository.countTwice();
+
+        RequestStats.begin();
+        repository.count();
+        RequestStats stats = RequestStats.end();
+
+        assertEquals(1, stats.getRepositoryCalls());
+        assertNull(RequestStats.end());
+    }
+}
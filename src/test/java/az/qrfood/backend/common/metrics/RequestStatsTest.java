@@ -0,0 +1,50 @@
+package az.qrfood.backend.common.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RequestStatsTest {
+
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+
+    @AfterEach
+    void tearDown() {
+        RequestStats.end();
+    }
+
+    @Test
+    void stats_shouldCountOnlyWhileARequestIsOpen() {
+        inspector.inspect("select 1");
+
+        RequestStats.begin();
+        assertEquals("select 1", inspector.inspect("select 1"));
+        inspector.inspect("select 2");
+        RequestStats.onRepositoryCall(1_000);
+        RequestStats stats = RequestStats.end();
+
+        assertEquals(2, stats.getStatements());
+        assertEquals(1, stats.getRepositoryCalls());
+        assertEquals(1_000, stats.getRepositoryNanos());
+        assertNull(RequestStats.end());
+    }
+
+    @Test
+    void reporter_shouldRecordStatementsPerRoute() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestStatsReporter reporter = new RequestStatsReporter(meterRegistry, 30, Duration.ofMillis(500));
+
+        RequestStats.begin();
+        inspector.inspect("select 1");
+        reporter.report("GET /api/eatery", 1_000, RequestStats.end());
+        reporter.report("GET /api/eatery", 1_000, null);
+
+        assertEquals(1, meterRegistry.get("qrfood.request.statements")
+                .tag("route", "GET /api/eatery").summary().count());
+    }
+}
@@ -0,0 +1,88 @@
+package az.qrfood.backend.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    private static final RateLimitPolicy POLICY = new RateLimitPolicy("test", 3, 60);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenRefillOnePerInterval() {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+        assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+        assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+        long wait = limiter.tryAcquire(POLICY, "a");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        assertEquals(0, limiter.tryAcquire(POLICY, "b"));
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+        assertTrue(limiter.tryAcquire(POLICY, "a") > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldStayWithinMaxKeys() {
+        RateLimiter limiter = new RateLimiter(32, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire(POLICY, "key-" + i);
+        }
+
+        assertTrue(limiter.size() <= 32, "size " + limiter.size());
+    }
+
+    @Test
+    void tryAcquire_shouldNotOverGrantUnderContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(100, clock::get);
+        RateLimitPolicy policy = new RateLimitPolicy("burst", 50, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire(policy, "shared") == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get();
+            }
+            assertEquals(50, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void parse_shouldRejectMalformedPolicy() {
+        assertEquals(new RateLimitPolicy("p", 10, 6), RateLimitPolicy.parse("p", " 10 / 6 "));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitPolicy.parse("p", "10"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitPolicy.parse("p", "0/6"));
+    }
+}
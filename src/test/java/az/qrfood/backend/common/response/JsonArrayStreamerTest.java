@@ -0,0 +1,90 @@
+package az.qrfood.backend.common.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonArrayStreamerTest {
+
+    private static final int ROWS = 40_000;
+    private static final int SAMPLE_EVERY = 5_000;
+    private static final String PAYLOAD = "x".repeat(1_000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonArrayStreamer streamer = new JsonArrayStreamer(objectMapper);
+
+    record Row(int id, String payload) {
+    }
+
+    @Test
+    void write_shouldProduceSameJsonAsSerializingList() throws IOException {
+        List<Row> rows = List.of(new Row(1, "a"), new Row(2, "b"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = streamer.write(rows.stream(), out);
+
+        assertEquals(2, written);
+        assertEquals(objectMapper.writeValueAsString(rows), out.toString());
+    }
+
+    @Test
+    void write_shouldRunCheckpointAfterEveryChunk() throws IOException {
+        int[] checkpoints = {0};
+
+        streamer.write(rows(new HeapProbe()), OutputStream.nullOutputStream(), () -> checkpoints[0]++);
+
+        assertEquals(ROWS / JsonArrayStreamer.CHECKPOINT_INTERVAL, checkpoints[0]);
+    }
+
+    @Test
+    void write_shouldKeepPeakHeapBelowListSerialization() throws IOException {
+        HeapProbe listProbe = new HeapProbe();
+        List<Row> materialized = rows(listProbe).toList();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), materialized);
+        materialized = null;
+
+        HeapProbe streamProbe = new HeapProbe();
+        streamer.write(rows(streamProbe), OutputStream.nullOutputStream());
+
+        // the list retains about ROWS * PAYLOAD bytes at the last sample, the stream only the current chunk
+        assertTrue(streamProbe.peak < listProbe.peak / 2,
+                "streaming peak " + streamProbe.peak + " should be well below list peak " + listProbe.peak);
+    }
+
+    private Stream<Row> rows(HeapProbe probe) {
+        return IntStream.range(0, ROWS).mapToObj(i -> {
+            if (i > 0 && i % SAMPLE_EVERY == 0) {
+                probe.sample();
+            }
+            // a fresh copy per row so rows do not share their payload
+            return new Row(i, new String(PAYLOAD.toCharArray()));
+        });
+    }
+
+    /**
+     * Samples the live heap after a full collection, so the samples reflect retained objects only.
+     */
+    private static final class HeapProbe {
+        private final long baseline = usedAfterGc();
+        private long peak;
+
+        void sample() {
+            peak = Math.max(peak, usedAfterGc() - baseline);
+        }
+
+        private static long usedAfterGc() {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
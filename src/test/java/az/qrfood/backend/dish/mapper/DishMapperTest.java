@@ -0,0 +1,37 @@
+package az.qrfood.backend.dish.mapper;
+
+import az.qrfood.backend.dish.dto.DishDto;
+import az.qrfood.backend.dish.entity.DishEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DishMapperTest {
+
+    @Test
+    void toEntity_shouldCopyOnlyThePriceAndImage() {
+        DishDto dto = DishDto.builder()
+                .dishId(3L)
+                .categoryId(2L)
+                .kitchenDepartmentId(5L)
+                .nameAz("Plov")
+                .descriptionAz("Saffron rice")
+                .price(new BigDecimal("12.50"))
+                .image("plov.webp")
+                .available(true)
+                .build();
+
+        DishEntity dish = DishMapper.toEntity(dto);
+
+        assertEquals(new BigDecimal("12.50"), dish.getPrice());
+        assertEquals("plov.webp", dish.getImage());
+        assertNull(dish.getDishStatus());
+        assertNull(dish.getId());
+        assertNull(dish.getCategory());
+        assertNull(dish.getKitchenDepartment());
+        assertNull(dish.getTranslations());
+    }
+}
@@ -0,0 +1,67 @@
+package az.qrfood.backend.eatery.mapper;
+
+import az.qrfood.backend.eatery.dto.EateryDto;
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.eatery.entity.EateryPhone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EateryMapperTest {
+
+    @Test
+    void toDto_shouldCopyTheScalarFields() {
+        Eatery eatery = new Eatery();
+        eatery.setId(7L);
+        eatery.setName("Nergiz");
+        eatery.setAddress("Nizami 10");
+        eatery.setGeoLat(40.37);
+        eatery.setGeoLng(49.83);
+        eatery.setOnboardingStatus(OnboardingStatus.DISH_CREATED);
+        EateryPhone phone = new EateryPhone();
+        phone.setPhoneNumber("+994501234567");
+        eatery.getPhones().add(phone);
+
+        EateryDto dto = EateryMapper.toDto(eatery);
+
+        assertEquals(7L, dto.getId());
+        assertEquals("Nergiz", dto.getName());
+        assertEquals("Nizami 10", dto.getAddress());
+        assertEquals(40.37, dto.getGeoLat());
+        assertEquals(49.83, dto.getGeoLng());
+        assertEquals(OnboardingStatus.DISH_CREATED, dto.getOnboardingStatus());
+        assertTrue(dto.getPhones().isEmpty());
+    }
+
+    @Test
+    void toEntity_shouldCopyTheScalarFieldsAndRoundTrip() {
+        EateryDto dto = new EateryDto();
+        dto.setId(7L);
+        dto.setName("Nergiz");
+        dto.setAddress("Nizami 10");
+        dto.setGeoLat(40.37);
+        dto.setGeoLng(49.83);
+        dto.setOnboardingStatus(OnboardingStatus.EATERY_CREATED);
+        dto.setPhones(List.of("+994501234567"));
+        dto.setOwnerMail("owner@qrfood.az");
+
+        Eatery eatery = EateryMapper.toEntity(dto);
+
+        assertEquals(7L, eatery.getId());
+        assertEquals("Nergiz", eatery.getName());
+        assertEquals("Nizami 10", eatery.getAddress());
+        assertEquals(40.37, eatery.getGeoLat());
+        assertEquals(49.83, eatery.getGeoLng());
+        assertEquals(OnboardingStatus.EATERY_CREATED, eatery.getOnboardingStatus());
+        assertTrue(eatery.getPhones().isEmpty());
+
+        EateryDto back = EateryMapper.toDto(eatery);
+        dto.setPhones(List.of());
+        dto.setOwnerMail(null);
+        assertEquals(dto, back);
+    }
+}
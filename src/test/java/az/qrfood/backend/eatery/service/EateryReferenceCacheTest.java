@@ -0,0 +1,116 @@
+package az.qrfood.backend.eatery.service;
+
+import az.qrfood.backend.eatery.dto.EateryChild;
+import az.qrfood.backend.eatery.dto.EateryReference;
+import az.qrfood.backend.eatery.repository.EateryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EateryReferenceCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private EateryRepository eateryRepository;
+
+    private EateryReferenceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EateryReferenceCache(eateryRepository, 2, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    void find_shouldLoadAnEateryOnceAndAnswerFromMemory() {
+        when(eateryRepository.findNameById(7L)).thenReturn(Optional.of("Dolma"));
+        when(eateryRepository.findTables(List.of(7L))).thenReturn(List.of(
+                new EateryChild(7L, 100L, "1"), new EateryChild(7L, 101L, "2")));
+
+        EateryReference reference = cache.find(7L).orElseThrow();
+        assertEquals("Dolma", reference.name());
+        assertEquals(Map.of(100L, "1", 101L, "2"), reference.tableNumbers());
+        assertEquals(Optional.of("2"), cache.findTableNumber(7L, 101L));
+        assertEquals(Optional.of("Dolma"), cache.findEateryName(7L));
+        assertTrue(cache.findTableNumber(7L, 999L).isEmpty());
+
+        verify(eateryRepository, times(1)).findNameById(7L);
+        assertEquals(1.0, meterRegistry.counter("qrfood.cache.requests",
+                "cache", "eatery-reference", "result", "miss").count());
+        assertEquals(3.0, meterRegistry.counter("qrfood.cache.requests",
+                "cache", "eatery-reference", "result", "hit").count());
+    }
+
+    @Test
+    void invalidate_shouldReloadOnNextLookup() {
+        when(eateryRepository.findNameById(7L))
+                .thenReturn(Optional.of("Dolma"))
+                .thenReturn(Optional.of("Dolma House"));
+
+        assertEquals(Optional.of("Dolma"), cache.findEateryName(7L));
+        cache.invalidate(7L);
+        assertEquals(Optional.of("Dolma House"), cache.findEateryName(7L));
+
+        verify(eateryRepository, times(2)).findNameById(7L);
+    }
+
+    @Test
+    void find_shouldNotRememberAMissingEatery() {
+        when(eateryRepository.findNameById(404L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.find(404L).isEmpty());
+        assertTrue(cache.find(404L).isEmpty());
+
+        verify(eateryRepository, times(2)).findNameById(404L);
+        verify(eateryRepository, never()).findTables(List.of(404L));
+    }
+
+    @Test
+    void invalidateDuringLoad_shouldNotKeepTheLoadedSnapshot() {
+        when(eateryRepository.findNameById(7L))
+                .thenAnswer(invocation -> {
+                    // the eatery is renamed while the old row is being read
+                    cache.invalidate(7L);
+                    return Optional.of("Dolma");
+                })
+                .thenReturn(Optional.of("Dolma House"));
+
+        assertEquals(Optional.of("Dolma"), cache.findEateryName(7L));
+        assertEquals(Optional.of("Dolma House"), cache.findEateryName(7L));
+
+        verify(eateryRepository, times(2)).findNameById(7L);
+    }
+
+    @Test
+    void find_shouldDropTheLeastRecentlyUsedEateryBeyondMaxEntries() {
+        when(eateryRepository.findNameById(1L)).thenReturn(Optional.of("First"));
+        when(eateryRepository.findNameById(2L)).thenReturn(Optional.of("Second"));
+        when(eateryRepository.findNameById(3L)).thenReturn(Optional.of("Third"));
+
+        cache.find(1L);
+        cache.find(2L);
+        cache.find(3L);
+        cache.find(2L);
+        cache.find(1L);
+
+        verify(eateryRepository, times(2)).findNameById(1L);
+        verify(eateryRepository, times(1)).findNameById(2L);
+        assertEquals(2.0, meterRegistry.counter("qrfood.cache.evictions", "cache", "eatery-reference").count());
+    }
+}
@@ -0,0 +1,93 @@
+package az.qrfood.backend.eatery.service;
+
+import az.qrfood.backend.common.response.JsonArrayStreamer;
+import az.qrfood.backend.common.service.StorageService;
+import az.qrfood.backend.eatery.dto.EateryChild;
+import az.qrfood.backend.eatery.dto.EateryDto;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.eatery.repository.EateryRepository;
+import az.qrfood.backend.table.service.TableService;
+import az.qrfood.backend.user.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EateryServiceTest {
+
+    @Mock
+    private EateryRepository eateryRepository;
+    @Mock
+    private TableService tableService;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private EateryLifecycleService eateryLifecycleService;
+    @Mock
+    private JsonArrayStreamer jsonArrayStreamer;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EateryReferenceCache eateryReferenceCache;
+
+    private EateryService eateryService;
+
+    @BeforeEach
+    void setUp() {
+        eateryService = new EateryService(eateryRepository, tableService, storageService, userProfileRepository,
+                eateryLifecycleService, jsonArrayStreamer, entityManager, eateryReferenceCache);
+    }
+
+    @Test
+    void getAllRestaurants_shouldReadTheChildrenOfAllEateriesWithOneQueryEach() {
+        when(eateryRepository.findAll()).thenReturn(List.of(eatery(1L, "Dolma"), eatery(2L, "Sumakh")));
+        Set<Long> ids = Set.of(1L, 2L);
+        when(eateryRepository.findPhones(ids)).thenReturn(List.of(
+                new EateryChild(1L, 10L, "+994501112233"),
+                new EateryChild(2L, 11L, "+994502223344"),
+                new EateryChild(2L, 12L, "+994503334455")));
+        when(eateryRepository.findTables(ids)).thenReturn(List.of(
+                new EateryChild(1L, 100L, "1"), new EateryChild(1L, 101L, "2"), new EateryChild(1L, 102L, "3")));
+        when(eateryRepository.findCategoryIds(ids)).thenReturn(List.of(new EateryChild(2L, 200L)));
+        when(eateryRepository.findProfileEmails(ids)).thenReturn(List.of(
+                new EateryChild(1L, 30L, "owner@dolma.az"),
+                new EateryChild(1L, 31L, "waiter@dolma.az")));
+
+        List<EateryDto> eateries = eateryService.getAllRestaurants();
+
+        assertEquals(List.of(1L, 2L), eateries.stream().map(EateryDto::getId).toList());
+        EateryDto dolma = eateries.get(0);
+        assertEquals(List.of("+994501112233"), dolma.getPhones());
+        assertEquals(List.of(100L, 101L, 102L), dolma.getTableIds());
+        assertEquals(3, dolma.getNumberOfTables());
+        assertEquals("owner@dolma.az", dolma.getOwnerMail());
+        EateryDto sumakh = eateries.get(1);
+        assertEquals(List.of("+994502223344", "+994503334455"), sumakh.getPhones());
+        assertEquals(List.of(200L), sumakh.getCategoryIds());
+        assertEquals(0, sumakh.getNumberOfTables());
+        assertEquals("Mail Not Found", sumakh.getOwnerMail());
+        verify(eateryRepository).findPhones(ids);
+        verify(eateryRepository).findTables(ids);
+        verify(eateryRepository).findCategoryIds(ids);
+        verify(eateryRepository).findProfileEmails(ids);
+    }
+
+    private static Eatery eatery(Long id, String name) {
+        Eatery eatery = new Eatery();
+        eatery.setId(id);
+        eatery.setName(name);
+        return eatery;
+    }
+}
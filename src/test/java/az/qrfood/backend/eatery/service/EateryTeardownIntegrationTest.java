@@ -0,0 +1,230 @@
+package az.qrfood.backend.eatery.service;
+
+import az.qrfood.backend.category.entity.Category;
+import az.qrfood.backend.category.entity.CategoryStatus;
+import az.qrfood.backend.category.entity.CategoryTranslation;
+import az.qrfood.backend.client.entity.ClientDevice;
+import az.qrfood.backend.client.service.ClientOrderCache;
+import az.qrfood.backend.client.service.DeviceSessionStore;
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.dish.entity.DishEntityTranslation;
+import az.qrfood.backend.dish.entity.DishStatus;
+import az.qrfood.backend.eatery.dto.EateryTeardownStatus;
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.eatery.entity.EateryPhone;
+import az.qrfood.backend.kitchendepartment.entity.KitchenDepartmentEntity;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.qr.entity.QrCode;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.tableassignment.entity.TableAssignment;
+import az.qrfood.backend.tableassignment.service.WaiterTableIndex;
+import az.qrfood.backend.user.entity.Role;
+import az.qrfood.backend.user.entity.User;
+import az.qrfood.backend.user.entity.UserProfile;
+import az.qrfood.backend.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tears an eatery down on the test database and checks that nothing of it is left behind,
+ * while the data it shares with another eatery survives.
+ */
+@DataJpaTest(properties = "folder.root.uploads.eatery=${java.io.tmpdir}/qrfood-teardown-test/eatery_%s")
+@Import({EateryTeardownService.class, JobLeaseService.class, EateryTeardownIntegrationTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@MockBean(UserService.class)
+@MockBean(PasswordEncoder.class)
+@MockBean(WaiterTableIndex.class)
+@MockBean(EateryReferenceCache.class)
+@MockBean(ClientOrderCache.class)
+@MockBean(DeviceSessionStore.class)
+public class EateryTeardownIntegrationTest {
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EateryTeardownService teardownService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long doomedId;
+    private Long survivorId;
+    private Long sharedUserId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Eatery doomed = eatery("Doomed");
+            Eatery survivor = eatery("Survivor");
+            doomedId = doomed.getId();
+            survivorId = survivor.getId();
+
+            EateryPhone phone = new EateryPhone();
+            phone.setPhoneNumber("994501112233");
+            phone.setRestaurant(doomed);
+            entityManager.persist(phone);
+
+            KitchenDepartmentEntity kitchen = new KitchenDepartmentEntity();
+            kitchen.setName("Grill");
+            kitchen.setRestaurant(doomed);
+            entityManager.persist(kitchen);
+
+            Category category = new Category();
+            category.setEatery(doomed);
+            category.setCategoryStatus(CategoryStatus.ACTIVE);
+            entityManager.persist(category);
+            CategoryTranslation categoryName = new CategoryTranslation();
+            categoryName.setCategory(category);
+            categoryName.setLang("az");
+            categoryName.setName("Kabab");
+            entityManager.persist(categoryName);
+
+            DishEntity dish = new DishEntity();
+            dish.setCategory(category);
+            dish.setPrice(new BigDecimal("4.50"));
+            dish.setDishStatus(DishStatus.AVAILABLE);
+            entityManager.persist(dish);
+            DishEntityTranslation dishName = new DishEntityTranslation();
+            dishName.setDishItem(dish);
+            dishName.setLang("az");
+            dishName.setName("Lula");
+            entityManager.persist(dishName);
+
+            QrCode qrCode = new QrCode();
+            qrCode.setQrCodeAsBytes(new byte[]{1, 2, 3});
+            qrCode.setContent("https://qrfood.az/t/1");
+            entityManager.persist(qrCode);
+            TableInEatery table = new TableInEatery();
+            table.setEatery(doomed);
+            table.setTableNumber("1");
+            table.setQrCode(qrCode);
+            entityManager.persist(table);
+
+            Order order = new Order();
+            order.setTable(table);
+            order.setStatus(OrderStatus.PAID);
+            order.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(order);
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setDishEntity(dish);
+            item.setQuantity(2);
+            item.setPriceAtOrder(new BigDecimal("9.00"));
+            entityManager.persist(item);
+
+            ClientDevice device = new ClientDevice();
+            device.setUuid("device-1");
+            device.setOrders(new ArrayList<>(List.of(order)));
+            entityManager.persist(device);
+
+            // staff of the doomed eatery only, and a manager of both eateries
+            User waiter = user("waiter@doomed.az", Role.WAITER, doomed);
+            User manager = user("manager@both.az", Role.EATERY_ADMIN, doomed, survivor);
+            sharedUserId = manager.getId();
+            entityManager.persist(TableAssignment.builder()
+                    .waiter(waiter)
+                    .table(table)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        });
+    }
+
+    @Test
+    void teardown_shouldLeaveNoRowsOfTheEatery() {
+        teardownService.start(doomedId);
+        assertThat(teardownService.run()).isEqualTo(1);
+        EateryTeardownStatus status = teardownService.status(doomedId).orElseThrow();
+
+        assertThat(status.state()).isEqualTo(EateryTeardownStatus.State.DONE);
+        transactionTemplate.executeWithoutResult(tx -> {
+            assertThat(count("SELECT COUNT(e) FROM Eatery e")).isEqualTo(1);
+            assertThat(entityManager.find(Eatery.class, survivorId)).isNotNull();
+            for (String entity : List.of("EateryPhone", "KitchenDepartmentEntity", "Category", "CategoryTranslation",
+                    "DishEntity", "DishEntityTranslation", "TableInEatery", "QrCode", "Order", "OrderItem",
+                    "TableAssignment")) {
+                assertThat(count("SELECT COUNT(x) FROM " + entity + " x")).as(entity).isZero();
+            }
+            assertThat(countNative("SELECT COUNT(*) FROM client_device_orders")).isZero();
+            // devices are not owned by an eatery
+            assertThat(count("SELECT COUNT(d) FROM ClientDevice d")).isEqualTo(1);
+
+            // the waiter is gone, the manager only lost the link to the doomed eatery
+            assertThat(count("SELECT COUNT(u) FROM User u")).isEqualTo(1);
+            assertThat(entityManager.find(User.class, sharedUserId)).isNotNull();
+            assertThat(count("SELECT COUNT(p) FROM UserProfile p")).isEqualTo(1);
+            assertThat(countNative("SELECT COUNT(*) FROM user_roles")).isEqualTo(1);
+            assertThat(countNative("SELECT COUNT(*) FROM user_profile_phones")).isEqualTo(1);
+            assertThat(countNative("SELECT COUNT(*) FROM user_profile_restaurants")).isEqualTo(1);
+            assertThat(countNative("SELECT COUNT(*) FROM user_profile_restaurants WHERE restaurant_id = " + survivorId))
+                    .isEqualTo(1);
+        });
+        assertThat(status.deletedRows()).containsEntry("eatery", 1L);
+    }
+
+    private Eatery eatery(String name) {
+        Eatery eatery = new Eatery();
+        eatery.setName(name);
+        eatery.setOnboardingStatus(OnboardingStatus.TABLES_READY);
+        entityManager.persist(eatery);
+        return eatery;
+    }
+
+    private User user(String username, Role role, Eatery... eateries) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRoles(new HashSet<>(Set.of(role)));
+        entityManager.persist(user);
+        UserProfile profile = new UserProfile();
+        profile.setUser(user);
+        profile.setPhones(new ArrayList<>(List.of("99450" + user.getId())));
+        profile.setEateries(new ArrayList<>(List.of(eateries)));
+        entityManager.persist(profile);
+        return user;
+    }
+
+    private long count(String jpql) {
+        return entityManager.createQuery(jpql, Long.class).getSingleResult();
+    }
+
+    private long countNative(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+}
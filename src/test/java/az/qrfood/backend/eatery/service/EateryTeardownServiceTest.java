@@ -0,0 +1,209 @@
+package az.qrfood.backend.eatery.service;
+
+import az.qrfood.backend.client.service.ClientOrderCache;
+import az.qrfood.backend.client.service.DeviceSessionStore;
+import az.qrfood.backend.eatery.dto.EateryTeardownStatus;
+import az.qrfood.backend.eatery.entity.EateryTeardown;
+import az.qrfood.backend.eatery.repository.EateryRepository;
+import az.qrfood.backend.eatery.repository.EateryTeardownRepository;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
+import az.qrfood.backend.tableassignment.service.WaiterTableIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class EateryTeardownServiceTest {
+
+    private static final long EATERY_ID = 7L;
+    private static final String LEASE = "eatery-teardown:7";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private EateryRepository eateryRepository;
+    @Mock
+    private EateryTeardownRepository teardownRepository;
+    @Mock
+    private JobLeaseService jobLeaseService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private WaiterTableIndex waiterTableIndex;
+    @Mock
+    private EateryReferenceCache eateryReferenceCache;
+    @Mock
+    private ClientOrderCache clientOrderCache;
+    @Mock
+    private DeviceSessionStore deviceSessionStore;
+    @Mock
+    private TypedQuery<Long> select;
+    @Mock
+    private TypedQuery<String> selectNames;
+    @Mock
+    private Query delete;
+
+    @TempDir
+    private Path uploads;
+
+    private EateryTeardownService service;
+    // the eatery_teardown row
+    private EateryTeardown stored;
+
+    @BeforeEach
+    void setUp() {
+        service = new EateryTeardownService(eateryRepository, teardownRepository, jobLeaseService, entityManager,
+                transactionTemplate, waiterTableIndex, eateryReferenceCache, clientOrderCache, deviceSessionStore,
+                meterRegistry, 2, Duration.ofMinutes(5), " " + uploads + "/eatery_%s");
+        when(eateryRepository.existsById(EATERY_ID)).thenReturn(true);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(teardownRepository.findById(EATERY_ID)).thenAnswer(invocation -> Optional.ofNullable(stored));
+        when(teardownRepository.saveAndFlush(any())).thenAnswer(invocation -> stored = invocation.getArgument(0));
+        when(teardownRepository.findUnfinishedIds())
+                .thenAnswer(invocation -> stored != null && stored.getFinishedAt() == null ? List.of(EATERY_ID) : List.of());
+        when(teardownRepository.updateUnfinished(eq(EATERY_ID), any())).thenAnswer(invocation -> {
+            if (stored == null || stored.getFinishedAt() != null) {
+                return 0;
+            }
+            stored.setState(invocation.getArgument(1));
+            return 1;
+        });
+        when(jobLeaseService.tryAcquire(eq(LEASE), any())).thenReturn(true);
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(select);
+        when(select.setParameter(anyString(), any())).thenReturn(select);
+        when(select.setMaxResults(anyInt())).thenReturn(select);
+        when(entityManager.createQuery(anyString(), eq(String.class))).thenReturn(selectNames);
+        when(selectNames.setParameter(anyString(), any())).thenReturn(selectNames);
+        when(entityManager.createQuery(anyString())).thenReturn(delete);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(delete);
+        when(delete.setParameter(anyString(), any())).thenReturn(delete);
+    }
+
+    @Test
+    void run_shouldDeleteInChunksAndRemoveTheFolder() throws Exception {
+        Path folder = Files.createDirectories(uploads.resolve("eatery_7/dishes/3"));
+        Files.writeString(folder.resolve("dish.webp"), "image");
+        // the first step finds two orders, then nothing is left anywhere
+        when(select.getResultList()).thenReturn(List.of(1L, 2L), List.of());
+        when(selectNames.getResultList()).thenReturn(List.of("device-a"));
+        when(delete.executeUpdate()).thenReturn(2);
+
+        assertEquals(EateryTeardownStatus.State.QUEUED, service.start(EATERY_ID).state());
+        assertEquals(1, service.run());
+        EateryTeardownStatus status = service.status(EATERY_ID).orElseThrow();
+
+        assertEquals(EateryTeardownStatus.State.DONE, status.state());
+        // order devices, items, views and the orders themselves
+        assertEquals(8L, status.deletedRows().get("orders"));
+        assertEquals(0L, status.deletedRows().get("eatery"));
+        assertEquals("orders", status.deletedRows().keySet().iterator().next());
+        assertFalse(Files.exists(uploads.resolve("eatery_7")));
+        verify(waiterTableIndex).invalidate(EATERY_ID);
+        verify(eateryReferenceCache).invalidate(EATERY_ID);
+        verify(clientOrderCache).invalidateEatery(EATERY_ID);
+        verify(deviceSessionStore).evict(List.of("device-a"));
+        verify(jobLeaseService).release(LEASE);
+        assertEquals(1.0, meterRegistry.counter("qrfood.eatery.teardown", "outcome", "done").count());
+    }
+
+    @Test
+    void run_shouldStopAtTheFailedStepAndKeepTheFolder() throws Exception {
+        Files.createDirectories(uploads.resolve("eatery_7"));
+        when(select.getResultList()).thenThrow(new IllegalStateException("lock wait timeout"));
+
+        service.start(EATERY_ID);
+        service.run();
+        EateryTeardownStatus status = service.status(EATERY_ID).orElseThrow();
+
+        assertEquals(EateryTeardownStatus.State.FAILED, status.state());
+        assertEquals("orders", status.step());
+        assertEquals("lock wait timeout", status.error());
+        assertTrue(Files.exists(uploads.resolve("eatery_7")));
+    }
+
+    @Test
+    void run_shouldSkipATeardownLeasedByAnotherNode() {
+        when(jobLeaseService.tryAcquire(eq(LEASE), any())).thenReturn(false);
+        service.start(EATERY_ID);
+
+        assertEquals(0, service.run());
+
+        assertEquals(EateryTeardownStatus.State.QUEUED, service.status(EATERY_ID).orElseThrow().state());
+        verify(entityManager, never()).createQuery(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void run_shouldLeaveTheTeardownUnfinishedWhenItsLeaseIsTakenOver() {
+        // the lease is granted, then taken over by another node before the first renewal
+        when(jobLeaseService.tryAcquire(eq(LEASE), any())).thenReturn(true, false);
+        when(select.getResultList()).thenReturn(List.of(1L, 2L));
+        when(delete.executeUpdate()).thenReturn(1);
+        service.start(EATERY_ID);
+
+        service.run();
+        EateryTeardownStatus status = service.status(EATERY_ID).orElseThrow();
+
+        assertEquals(EateryTeardownStatus.State.RUNNING, status.state());
+        assertNull(status.finishedAt());
+        assertEquals(4L, status.deletedRows().get("orders"));
+        verify(waiterTableIndex, never()).invalidate(EATERY_ID);
+    }
+
+    @Test
+    void start_shouldReturnTheTeardownInProgress() {
+        service.start(EATERY_ID);
+        stored.setState(EateryTeardownStatus.State.RUNNING);
+
+        assertEquals(EateryTeardownStatus.State.RUNNING, service.start(EATERY_ID).state());
+        verify(teardownRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void start_shouldRejectAnUnknownEatery() {
+        assertThrows(EntityNotFoundException.class, () -> service.start(404L));
+        assertTrue(service.status(404L).isEmpty());
+    }
+}
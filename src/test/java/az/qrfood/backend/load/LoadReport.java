@@ -0,0 +1,89 @@
+package az.qrfood.backend.load;
+
+import az.qrfood.backend.common.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts per endpoint of a load run.
+ * <p>
+ * Uses the same {@link LatencyHistogram} as the server side route timings, so the client side
+ * percentiles can be compared with {@code /api/admin/metrics/latency} of the same run.
+ * </p>
+ */
+public class LoadReport {
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Records a completed call.
+     *
+     * @param endpoint The name of the endpoint.
+     * @param nanos    The time from sending the request to reading the whole response.
+     * @param ok       Whether the call succeeded.
+     */
+    public void record(String endpoint, long nanos, boolean ok) {
+        latencies.computeIfAbsent(endpoint, e -> new LatencyHistogram()).record(nanos);
+        if (!ok) {
+            error(endpoint);
+        }
+    }
+
+    /**
+     * Records a call that failed without a response.
+     *
+     * @param endpoint The name of the endpoint.
+     */
+    public void error(String endpoint) {
+        errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the number of completed calls to an endpoint.
+     *
+     * @param endpoint The name of the endpoint.
+     * @return The number of calls, including failed ones.
+     */
+    public long count(String endpoint) {
+        LatencyHistogram histogram = latencies.get(endpoint);
+        return histogram == null ? 0 : histogram.snapshot().count();
+    }
+
+    /**
+     * Returns the share of failed calls over all endpoints.
+     *
+     * @return The error rate between 0 and 1.
+     */
+    public double errorRate() {
+        long total = latencies.values().stream().mapToLong(h -> h.snapshot().count()).sum();
+        long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        return total == 0 ? 0 : (double) failed / total;
+    }
+
+    /**
+     * Formats the report as a table with one row per endpoint.
+     *
+     * @param seconds The length of the run, used for the throughput.
+     * @return The table.
+     */
+    public String format(double seconds) {
+        StringBuilder sb = new StringBuilder(String.format("%n%-16s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        Set<String> names = new TreeSet<>(latencies.keySet());
+        names.addAll(errors.keySet());
+        for (String endpoint : names) {
+            LatencyHistogram histogram = latencies.get(endpoint);
+            LatencyHistogram.Snapshot s = histogram == null ? new LatencyHistogram().snapshot() : histogram.snapshot();
+            LongAdder failed = errors.get(endpoint);
+            sb.append(String.format("%-16s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, s.count(), failed == null ? 0 : failed.sum(), s.count() / seconds,
+                    s.mean() / 1000.0, s.p50() / 1000.0, s.p95() / 1000.0, s.p99() / 1000.0, s.max() / 1000.0));
+        }
+        return sb.toString();
+    }
+}
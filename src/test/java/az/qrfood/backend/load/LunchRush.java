@@ -0,0 +1,282 @@
+package az.qrfood.backend.load;
+
+import static az.qrfood.backend.client.controller.ClientDeviceController.DEVICE;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import az.qrfood.backend.order.OrderStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a lunch rush against a running instance with plain HTTP clients on virtual threads.
+ * <p>
+ * Every guest is one device: it scans the QR code of a random table, loads the menu, places an
+ * order, checks its orders and comes back for another round after a pause, reusing the device
+ * cookie like a phone would. Guests arrive evenly over the ramp-up. Kitchen workers poll the new
+ * orders and move them to {@link OrderStatus#PREPARING}, and WebSocket subscribers listen to the
+ * order topic of the eatery like open kitchen screens. All calls are timed per endpoint in a
+ * {@link LoadReport}.
+ * </p>
+ */
+@Log4j2
+public class LunchRush {
+
+    /**
+     * The shape of a rush, read from {@code load.*} system properties.
+     *
+     * @param guests      Concurrent guests at the peak.
+     * @param rampUp      Time over which the guests arrive.
+     * @param duration    Total length of the run, including the ramp-up.
+     * @param thinkTime   Mean pause of a guest between two calls.
+     * @param kitchen     Number of kitchen workers updating orders.
+     * @param kitchenPoll Pause of a kitchen worker between two polls.
+     * @param subscribers Number of WebSocket subscribers.
+     * @param tables      Number of tables in the eatery.
+     * @param categories  Number of menu categories.
+     * @param dishes      Number of dishes per category.
+     */
+    public record Config(int guests, Duration rampUp, Duration duration, Duration thinkTime,
+                         int kitchen, Duration kitchenPoll, int subscribers,
+                         int tables, int categories, int dishes) {
+
+        /**
+         * Reads the configuration from system properties, falling back to a mid-sized rush.
+         *
+         * @return The configuration.
+         */
+        public static Config fromSystemProperties() {
+            return new Config(
+                    Integer.getInteger("load.guests", 200),
+                    Duration.parse(System.getProperty("load.ramp-up", "PT20S")),
+                    Duration.parse(System.getProperty("load.duration", "PT1M")),
+                    Duration.parse(System.getProperty("load.think-time", "PT1S")),
+                    Integer.getInteger("load.kitchen", 4),
+                    Duration.parse(System.getProperty("load.kitchen-poll", "PT1S")),
+                    Integer.getInteger("load.subscribers", 20),
+                    Integer.getInteger("load.tables", 40),
+                    Integer.getInteger("load.categories", 10),
+                    Integer.getInteger("load.dishes", 10));
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadReport report = new LoadReport();
+    private final LongAdder wsMessages = new LongAdder();
+
+    private final String baseUrl;
+    private final long eateryId;
+    private final String jwtToken;
+    private final List<Long> tableIds;
+    private final List<Long> dishIds;
+
+    /**
+     * Constructs a LunchRush against a prepared eatery.
+     *
+     * @param baseUrl  The base URL of the running instance.
+     * @param eateryId The eatery the guests visit.
+     * @param jwtToken The token used by the kitchen workers.
+     * @param tableIds The tables guests sit at.
+     * @param dishIds  The dishes guests order from.
+     */
+    public LunchRush(String baseUrl, long eateryId, String jwtToken, List<Long> tableIds, List<Long> dishIds) {
+        this.baseUrl = baseUrl;
+        this.eateryId = eateryId;
+        this.jwtToken = jwtToken;
+        this.tableIds = tableIds;
+        this.dishIds = dishIds;
+    }
+
+    /**
+     * Runs the rush and waits until it is over.
+     *
+     * @param config The shape of the rush.
+     * @return The report of all calls made.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    public LoadReport run(Config config) throws InterruptedException {
+        long deadline = System.nanoTime() + config.duration().toNanos();
+        long arrivalGap = config.guests() == 0 ? 0 : config.rampUp().toNanos() / config.guests();
+
+        List<StompSubscriber> subscribers = new ArrayList<>();
+        String wsUrl = baseUrl.replaceFirst("^http", "ws") + "/api/ws/websocket";
+        for (int i = 0; i < config.subscribers(); i++) {
+            StompSubscriber subscriber = new StompSubscriber(wsMessages);
+            try {
+                subscriber.connect(client, wsUrl, eateryId);
+                subscribers.add(subscriber);
+            } catch (RuntimeException e) {
+                log.warn("WebSocket subscriber [{}] could not connect: {}", i, e.getMessage());
+                report.error("ws-connect");
+            }
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.kitchen(); i++) {
+                executor.submit(() -> kitchen(config, deadline));
+            }
+            for (int i = 0; i < config.guests(); i++) {
+                long arrival = i * arrivalGap;
+                executor.submit(() -> {
+                    pause(arrival);
+                    guest(config, deadline);
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(config.duration().toSeconds() + 60, TimeUnit.SECONDS);
+        } finally {
+            subscribers.forEach(StompSubscriber::close);
+        }
+        return report;
+    }
+
+    /**
+     * Returns the number of order notifications received by all subscribers together.
+     *
+     * @return The message count.
+     */
+    public long getWsMessages() {
+        return wsMessages.sum();
+    }
+
+    private void guest(Config config, long deadline) {
+        String cookie = null;
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            long tableId = tableIds.get(ThreadLocalRandom.current().nextInt(tableIds.size()));
+            String table = String.valueOf(tableId);
+
+            call("scan", get(ApiRoutes.CLIENT_BY_TABLE, table, null), null);
+            if (cookie != null) {
+                call("device-orders", get(ApiRoutes.DEVICE_ORDERS_CREATED, table, cookie), null);
+            }
+            think(config);
+
+            HttpResponse<String> posted = call("order", post(orderBody(tableId), cookie), null);
+            if (posted != null) {
+                cookie = posted.headers().allValues("Set-Cookie").stream()
+                        .filter(c -> c.startsWith(DEVICE + "="))
+                        .map(c -> c.substring(0, c.indexOf(';') > 0 ? c.indexOf(';') : c.length()))
+                        .findFirst()
+                        .orElse(cookie);
+            }
+            think(config);
+
+            if (cookie != null) {
+                call("my-orders", get(ApiRoutes.ORDER_STATUS.replace("{status}", OrderStatus.CREATED.name()), null, cookie), null);
+            }
+            think(config);
+        }
+    }
+
+    private void kitchen(Config config, long deadline) {
+        String poll = ApiRoutes.ORDER_STATUS_AUTH.replace("{status}", OrderStatus.CREATED.name());
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            HttpResponse<String> created = call("kitchen-poll", get(poll, null, null), jwtToken);
+            if (created != null && created.statusCode() == 200) {
+                try {
+                    JsonNode orders = objectMapper.readTree(created.body());
+                    for (int i = 0; i < Math.min(5, orders.size()); i++) {
+                        String orderId = orders.get(i).get("id").asText();
+                        String url = ApiRoutes.ORDER_PUT.replace("{eateryId}", String.valueOf(eateryId))
+                                .replace("{orderId}", orderId);
+                        call("kitchen-update", HttpRequest.newBuilder(URI.create(baseUrl + url))
+                                .header("Content-Type", "application/json")
+                                .PUT(HttpRequest.BodyPublishers.ofString(
+                                        "{\"status\":\"" + OrderStatus.PREPARING.name() + "\"}")), jwtToken);
+                    }
+                } catch (Exception e) {
+                    report.error("kitchen-poll");
+                }
+            }
+            pause(config.kitchenPoll().toNanos());
+        }
+    }
+
+    private HttpRequest.Builder get(String route, String tableId, String cookie) {
+        String url = route.replace("{eateryId}", String.valueOf(eateryId));
+        if (tableId != null) {
+            url = url.replace("{tableId}", tableId);
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + url)).GET();
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder;
+    }
+
+    private HttpRequest.Builder post(String body, String cookie) {
+        String url = ApiRoutes.ORDER_POST.replace("{eateryId}", String.valueOf(eateryId));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder;
+    }
+
+    private String orderBody(long tableId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(4);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of(
+                    "dishId", dishIds.get(random.nextInt(dishIds.size())),
+                    "quantity", 1 + random.nextInt(3)));
+        }
+        try {
+            return objectMapper.writeValueAsString(Map.of("tableId", tableId, "items", items));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest.Builder request, String jwt) {
+        if (jwt != null) {
+            request.header("Authorization", "Bearer " + jwt);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            report.error(endpoint);
+            return null;
+        }
+    }
+
+    private void think(Config config) {
+        long mean = config.thinkTime().toNanos();
+        pause(mean / 2 + ThreadLocalRandom.current().nextLong(mean + 1));
+    }
+
+    private static void pause(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
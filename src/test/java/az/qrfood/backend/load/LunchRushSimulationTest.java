@@ -0,0 +1,119 @@
+package az.qrfood.backend.load;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import az.qrfood.backend.constant.ApiRoutes;
+import az.qrfood.backend.util.AbstractTest;
+import az.qrfood.backend.util.TestUtil;
+import io.restassured.builder.MultiPartSpecBuilder;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless lunch rush against the application booted with the H2 {@code test} profile.
+ * <p>
+ * Unlike {@code MultiUserSimulationTest} no browser is involved, so hundreds of guests fit on one
+ * machine. The test only runs with {@code -Dload.enabled=true}, which the {@code load} Maven
+ * profile sets: {@code mvn -Pload test -Dload.guests=500 -Dload.duration=PT2M}. The menu and
+ * tables are created through the API first; see {@link LunchRush.Config} for all knobs.
+ * </p>
+ */
+@Log4j2
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+public class LunchRushSimulationTest extends AbstractTest {
+
+    private final LunchRush.Config config = LunchRush.Config.fromSystemProperties();
+    private final List<Long> tableIds = new ArrayList<>();
+    private final List<Long> dishIds = new ArrayList<>();
+
+    @Test
+    @Order(1)
+    void shouldPrepareMenuAndTables() {
+        for (int t = 1; t <= config.tables(); t++) {
+            Long tableId = given()
+                    .baseUri(baseUrl)
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType("application/json")
+                    .body(Map.of("number", String.valueOf(t), "eateryId", eateryId))
+                    .when()
+                    .post(TestUtil.formatUrl(ApiRoutes.TABLE, eateryId.toString()))
+                    .then()
+                    .statusCode(201)
+                    .extract()
+                    .jsonPath().getLong("id");
+            tableIds.add(tableId);
+        }
+
+        for (int c = 0; c < config.categories(); c++) {
+            Long categoryId = given()
+                    .baseUri(baseUrl)
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .multiPart(new MultiPartSpecBuilder(Map.of(
+                            "nameAz", "Kateqoriya " + c,
+                            "nameEn", "Category " + c,
+                            "nameRu", "Категория " + c))
+                            .controlName("data")
+                            .mimeType("application/json")
+                            .charset(StandardCharsets.UTF_8)
+                            .build())
+                    .multiPart("image", new File("src/test/resources/image/salad.webp"), "image/webp")
+                    .when()
+                    .post(TestUtil.formatUrl(ApiRoutes.EATERY_CATEGORY, eateryId.toString()))
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .as(Long.class);
+
+            for (int d = 0; d < config.dishes(); d++) {
+                Map<String, Object> dish = Map.of(
+                        "nameAz", "Yemək " + c + "-" + d,
+                        "nameEn", "Dish " + c + "-" + d,
+                        "nameRu", "Блюдо " + c + "-" + d,
+                        "descriptionEn", "Lunch special with fresh herbs and bread",
+                        "price", 4.5 + d);
+                String dishId = given()
+                        .baseUri(baseUrl)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .multiPart(new MultiPartSpecBuilder(dish)
+                                .controlName("data")
+                                .mimeType("application/json")
+                                .charset(StandardCharsets.UTF_8)
+                                .build())
+                        .multiPart("image", new File("src/test/resources/image/salad.webp"), "image/webp")
+                        .when()
+                        .post(TestUtil.formatUrl(ApiRoutes.DISH_BASE, eateryId.toString(), categoryId.toString()))
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .asString();
+                dishIds.add(Long.parseLong(dishId));
+            }
+        }
+        log.info("Prepared [{}] tables and [{}] dishes for eatery [{}]", tableIds.size(), dishIds.size(), eateryId);
+    }
+
+    @Test
+    @Order(2)
+    void shouldServeTheLunchRush() throws InterruptedException {
+        LunchRush rush = new LunchRush(baseUrl, eateryId, jwtToken, tableIds, dishIds);
+
+        long start = System.nanoTime();
+        LoadReport report = rush.run(config);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("Lunch rush of [{}] guests over [{}]s, [{}] WebSocket notifications received:{}",
+                config.guests(), String.format("%.1f", seconds), rush.getWsMessages(), report.format(seconds));
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        assertTrue(report.count("order") > 0, "No order was placed");
+        assertTrue(report.errorRate() <= maxErrorRate, "Error rate " + report.errorRate() + " above " + maxErrorRate);
+    }
+}
@@ -0,0 +1,71 @@
+package az.qrfood.backend.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal STOMP client subscribed to the order topic of an eatery, like an open kitchen screen.
+ * <p>
+ * Connects to the raw WebSocket transport of the SockJS endpoint and only counts the
+ * {@code MESSAGE} frames it receives; the payload is not parsed.
+ * </p>
+ */
+class StompSubscriber implements WebSocket.Listener {
+
+    private final LongAdder messages;
+    private final StringBuilder frame = new StringBuilder();
+    private WebSocket webSocket;
+
+    /**
+     * Constructs a StompSubscriber.
+     *
+     * @param messages The counter shared by all subscribers of a run.
+     */
+    StompSubscriber(LongAdder messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Opens the connection and subscribes to {@code /topic/orders/{eateryId}}.
+     *
+     * @param client   The HTTP client used for the handshake.
+     * @param wsUrl    The WebSocket URL of the STOMP endpoint.
+     * @param eateryId The eatery whose order topic is subscribed.
+     */
+    void connect(HttpClient client, String wsUrl, long eateryId) {
+        webSocket = client.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(URI.create(wsUrl), this)
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        webSocket.sendText("CONNECT\naccept-version:1.2\nhost:localhost\n\n\0", true).join();
+        webSocket.sendText("SUBSCRIBE\nid:sub-0\ndestination:/topic/orders/" + eateryId + "\n\n\0", true).join();
+    }
+
+    /**
+     * Closes the connection.
+     */
+    void close() {
+        if (webSocket != null) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        frame.append(data);
+        if (last) {
+            if (frame.indexOf("MESSAGE") == 0) {
+                messages.increment();
+            }
+            frame.setLength(0);
+        }
+        webSocket.request(1);
+        return null;
+    }
+}
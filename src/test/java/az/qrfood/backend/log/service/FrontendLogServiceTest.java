@@ -0,0 +1,103 @@
+package az.qrfood.backend.log.service;
+
+import az.qrfood.backend.log.dto.FrontendLogDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrontendLogServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void ringBuffer_shouldBeFifoAndReportFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(3);
+
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertEquals(List.of(1, 2, 3, 4), List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()));
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void ringBuffer_shouldNotLoseOrDuplicateUnderConcurrentProducers() throws Exception {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(1 << 16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t * 10_000;
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        assertTrue(buffer.offer(offset + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> producer : producers) {
+                producer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Integer value;
+        while ((value = buffer.poll()) != null) {
+            assertTrue(seen.add(value));
+        }
+        assertEquals(40_000, seen.size());
+    }
+
+    @Test
+    void logFrontendMessages_shouldDropAndCountWhenBufferIsFull() {
+        FrontendLogService service = new FrontendLogService(2, Duration.ofHours(1), meterRegistry);
+
+        int accepted = service.logFrontendMessages(List.of(entry("a"), entry("b"), entry("c")));
+
+        assertEquals(2, accepted);
+        assertEquals(2.0, meterRegistry.get("qrfood.frontend-log.accepted").counter().count());
+        assertEquals(1.0, meterRegistry.get("qrfood.frontend-log.dropped").counter().count());
+    }
+
+    @Test
+    void drain_shouldMergeIdenticalEntriesOfOneWindow() {
+        FrontendLogService service = new FrontendLogService(16, Duration.ofHours(1), meterRegistry);
+        service.logFrontendMessages(List.of(entry("boom"), entry("boom"), entry("other"), entry("boom")));
+
+        assertEquals(4, service.drain());
+
+        assertEquals(2.0, meterRegistry.get("qrfood.frontend-log.deduplicated").counter().count());
+        assertEquals(0.0, meterRegistry.get("qrfood.frontend-log.buffered").gauge().value());
+    }
+
+    private FrontendLogDTO entry(String message) {
+        FrontendLogDTO logDTO = new FrontendLogDTO();
+        logDTO.setLevel("error");
+        logDTO.setSource("menu");
+        logDTO.setMessage(message);
+        return logDTO;
+    }
+}
@@ -0,0 +1,194 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.mail.entity.EmailOutbox;
+import az.qrfood.backend.mail.entity.NotifStatus;
+import az.qrfood.backend.mail.entity.NotificationLog;
+import az.qrfood.backend.mail.entity.OutboxStatus;
+import az.qrfood.backend.mail.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxSenderTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+    @Mock
+    private SmtpMailTransport transport;
+    @Mock
+    private NotificationLogService logService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void drain_shouldSendTheBatchTogetherAndRemoveDeliveredRows() throws MessagingException {
+        EmailOutbox first = email(1L, "a@mail.az", 0);
+        EmailOutbox second = email(2L, "b@mail.az", 0);
+        claim(first, second);
+        when(transport.createMessage(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> mock(MimeMessage.class));
+        when(transport.send(any())).thenReturn(Map.of());
+
+        assertEquals(2, sender("10/10", 3).drain());
+
+        verify(transport, times(1)).send(any());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository, never()).saveAll(any());
+        assertEquals(List.of(NotifStatus.SENT, NotifStatus.SENT), loggedStatuses());
+    }
+
+    @Test
+    void drain_shouldBackOffARejectedEmailAndGiveUpAfterTheLastAttempt() throws MessagingException {
+        EmailOutbox retry = email(1L, "a@mail.az", 0);
+        EmailOutbox last = email(2L, "b@mail.az", 2);
+        MimeMessage retryMessage = mock(MimeMessage.class);
+        MimeMessage lastMessage = mock(MimeMessage.class);
+        claim(retry, last);
+        when(transport.createMessage(eq("a@mail.az"), anyString(), anyString())).thenReturn(retryMessage);
+        when(transport.createMessage(eq("b@mail.az"), anyString(), anyString())).thenReturn(lastMessage);
+        when(transport.send(any())).thenReturn(Map.of(
+                retryMessage, new MessagingException("452 try later"),
+                lastMessage, new MessagingException("550 no such user")));
+
+        LocalDateTime before = LocalDateTime.now();
+        sender("10/10", 3).drain();
+
+        assertEquals(1, retry.getAttempts());
+        assertEquals(OutboxStatus.PENDING, retry.getStatus());
+        assertTrue(!retry.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        assertEquals("452 try later", retry.getLastError());
+        assertEquals(3, last.getAttempts());
+        assertEquals(OutboxStatus.FAILED, last.getStatus());
+        assertNull(retry.getClaimToken());
+        assertNull(retry.getClaimedUntil());
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxRepository).saveAll(List.of(retry, last));
+        assertEquals(List.of(NotifStatus.FAILED), loggedStatuses());
+    }
+
+    @Test
+    void drain_shouldPostponeEmailsOverTheProviderCap() throws MessagingException {
+        EmailOutbox first = email(1L, "a@gmail.com", 0);
+        EmailOutbox second = email(2L, "b@Gmail.com", 0);
+        EmailOutbox other = email(3L, "c@mail.az", 0);
+        claim(first, second, other);
+        when(transport.createMessage(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> mock(MimeMessage.class));
+        when(transport.send(any())).thenReturn(Map.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        sender("1/1", 3).drain();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<MimeMessage>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(transport).send(sent.capture());
+        assertEquals(2, sent.getValue().size());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+        verify(outboxRepository).saveAll(List.of(second));
+        assertEquals(0, second.getAttempts());
+        assertTrue(second.getNextAttemptAt().isAfter(before.plusSeconds(50)));
+    }
+
+    @Test
+    void drain_shouldSendNothingWhenAnotherNodeClaimedTheRows() {
+        when(outboxRepository.findDueIds(eq(OutboxStatus.PENDING), any(), any())).thenReturn(List.of(1L, 2L));
+        when(outboxRepository.claim(eq(List.of(1L, 2L)), eq(OutboxStatus.PENDING), anyString(), any(), any()))
+                .thenReturn(0);
+
+        assertEquals(0, sender("10/10", 3).drain());
+
+        verify(outboxRepository, never()).findClaimed(anyString());
+        verifyNoInteractions(transport, logService);
+    }
+
+    @Test
+    void drain_shouldSendOnlyTheRowsOfItsOwnClaim() throws MessagingException {
+        EmailOutbox email = email(1L, "a@mail.az", 0);
+        claim(email);
+        when(transport.createMessage(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> mock(MimeMessage.class));
+        when(transport.send(any())).thenReturn(Map.of());
+
+        sender("10/10", 3).drain();
+
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).claim(eq(List.of(1L)), eq(OutboxStatus.PENDING), claimToken.capture(), any(), any());
+        verify(outboxRepository).findClaimed(claimToken.getValue());
+        // the claim, then the removal and the log entries together
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void backoff_shouldDoubleUpToTheMaximum() {
+        Duration initial = Duration.ofSeconds(30);
+        Duration max = Duration.ofMinutes(5);
+
+        assertEquals(Duration.ofSeconds(30), EmailOutboxSender.backoff(initial, max, 1));
+        assertEquals(Duration.ofSeconds(60), EmailOutboxSender.backoff(initial, max, 2));
+        assertEquals(Duration.ofSeconds(240), EmailOutboxSender.backoff(initial, max, 4));
+        assertEquals(max, EmailOutboxSender.backoff(initial, max, 5));
+        assertEquals(max, EmailOutboxSender.backoff(initial, max, 100));
+    }
+
+    private EmailOutboxSender sender(String perProvider, int maxAttempts) {
+        return new EmailOutboxSender(outboxRepository, transport, logService, transactionManager, perProvider, 50,
+                maxAttempts, Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+    }
+
+    private void claim(EmailOutbox... emails) {
+        List<Long> ids = Arrays.stream(emails).map(EmailOutbox::getId).toList();
+        when(outboxRepository.findDueIds(eq(OutboxStatus.PENDING), any(), any())).thenReturn(ids);
+        when(outboxRepository.claim(eq(ids), eq(OutboxStatus.PENDING), anyString(), any(), any()))
+                .thenReturn(ids.size());
+        when(outboxRepository.findClaimed(anyString())).thenReturn(List.of(emails));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotifStatus> loggedStatuses() {
+        ArgumentCaptor<List<NotificationLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(logService).logAll(logs.capture());
+        return logs.getValue().stream().map(NotificationLog::getStatus).toList();
+    }
+
+    private static EmailOutbox email(Long id, String recipient, int attempts) {
+        EmailOutbox email = new EmailOutbox();
+        email.setId(id);
+        email.setRecipient(recipient);
+        email.setProvider(EmailOutboxSender.providerOf(recipient));
+        email.setEventType(EventType.MAGIC_LINK);
+        email.setLocaleUsed("az");
+        email.setSubject("Subject");
+        email.setBodyHtml("<p>Body</p>");
+        email.setAttempts(attempts);
+        return email;
+    }
+}
@@ -0,0 +1,72 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.mail.entity.EmailTemplate;
+import az.qrfood.backend.mail.repository.EmailTemplateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailTemplateCacheTest {
+
+    @Mock
+    private EmailTemplateRepository emailTemplateRepository;
+
+    @Test
+    void get_shouldLoadOnceAndServeFromMemory() {
+        when(emailTemplateRepository.findAll()).thenReturn(List.of(template(1L, EventType.MAGIC_LINK)));
+        EmailTemplateCache cache = new EmailTemplateCache(emailTemplateRepository, Duration.ofMinutes(5));
+
+        assertEquals(1L, cache.get(EventType.MAGIC_LINK).orElseThrow().getId());
+        assertEquals(1L, cache.get(EventType.MAGIC_LINK).orElseThrow().getId());
+        assertTrue(cache.get(EventType.WELCOME).isEmpty());
+
+        verify(emailTemplateRepository, times(1)).findAll();
+    }
+
+    @Test
+    void refresh_shouldReplaceTheTemplates() {
+        when(emailTemplateRepository.findAll())
+                .thenReturn(List.of(template(1L, EventType.MAGIC_LINK)))
+                .thenReturn(List.of(template(2L, EventType.MAGIC_LINK), template(3L, EventType.WELCOME)));
+        EmailTemplateCache cache = new EmailTemplateCache(emailTemplateRepository, Duration.ofMinutes(5));
+        cache.onApplicationReady();
+
+        cache.refresh();
+
+        assertEquals(2L, cache.get(EventType.MAGIC_LINK).orElseThrow().getId());
+        assertEquals(3L, cache.get(EventType.WELCOME).orElseThrow().getId());
+    }
+
+    @Test
+    void get_shouldReloadOnceTheTemplatesAreOlderThanMaxAge() {
+        when(emailTemplateRepository.findAll())
+                .thenReturn(List.of(template(1L, EventType.MAGIC_LINK)))
+                .thenReturn(List.of(template(2L, EventType.MAGIC_LINK)));
+        // an edit refreshed on another instance reaches this one through the age limit
+        EmailTemplateCache cache = new EmailTemplateCache(emailTemplateRepository, Duration.ZERO);
+        cache.onApplicationReady();
+
+        assertEquals(2L, cache.get(EventType.MAGIC_LINK).orElseThrow().getId());
+
+        verify(emailTemplateRepository, times(2)).findAll();
+    }
+
+    private static EmailTemplate template(Long id, EventType eventType) {
+        EmailTemplate template = new EmailTemplate();
+        template.setId(id);
+        template.setEventType(eventType);
+        return template;
+    }
+}
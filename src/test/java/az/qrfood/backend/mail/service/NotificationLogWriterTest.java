@@ -0,0 +1,96 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.mail.entity.NotifStatus;
+import az.qrfood.backend.mail.entity.NotificationLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationLogWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void add_shouldBufferUntilStopAndWriteInBatches() {
+        // without the writer thread only stop() flushes, so nothing is written before it
+        NotificationLogWriter writer = writer(100, 2);
+
+        for (int i = 0; i < 5; i++) {
+            writer.add(entry("user" + i + "@mail.az"));
+        }
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyCollection(), anyInt(), any());
+
+        writer.stop();
+
+        assertEquals(List.of(2, 2, 1), writtenBatchSizes());
+        assertEquals(5.0, meterRegistry.counter("qrfood.notification-log.written").count());
+    }
+
+    @Test
+    void add_shouldWriteSynchronouslyWhenTheBufferIsFull() {
+        NotificationLogWriter writer = writer(1, 100);
+        writer.start();
+
+        writer.add(entry("buffered@mail.az"));
+        writer.add(entry("direct@mail.az"));
+
+        assertEquals(1.0, meterRegistry.counter("qrfood.notification-log.synchronous").count());
+        writer.stop();
+        assertEquals(List.of(1, 1), writtenBatchSizes());
+    }
+
+    @Test
+    void write_shouldCountButNotThrowWhenTheInsertFails() {
+        when(jdbcTemplate.batchUpdate(eq(NotificationLogWriter.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("database down"));
+        NotificationLogWriter writer = writer(10, 10);
+
+        writer.write(List.of(entry("a@mail.az"), entry("b@mail.az")));
+
+        assertEquals(2.0, meterRegistry.counter("qrfood.notification-log.lost").count());
+    }
+
+    private NotificationLogWriter writer(int bufferSize, int batchSize) {
+        return new NotificationLogWriter(jdbcTemplate, transactionManager, bufferSize, batchSize,
+                Duration.ofHours(1), meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> writtenBatchSizes() {
+        ArgumentCaptor<Collection<NotificationLog>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(NotificationLogWriter.INSERT_SQL),
+                batches.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return batches.getAllValues().stream().map(Collection::size).toList();
+    }
+
+    private static NotificationLog entry(String to) {
+        return NotificationLogService.entry(to, EventType.MAGIC_LINK, "az", NotifStatus.SENT, null);
+    }
+}
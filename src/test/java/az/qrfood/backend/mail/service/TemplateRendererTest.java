@@ -0,0 +1,79 @@
+package az.qrfood.backend.mail.service;
+
+import az.qrfood.backend.common.config.Configuration;
+import az.qrfood.backend.mail.entity.EmailTemplate;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateInputException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TemplateRendererTest {
+
+    private final Configuration configuration = new Configuration();
+    private final EmailTemplateResolver resolver = configuration.emailTemplateResolver(true);
+    private final TemplateEngine textEngine = configuration.textTemplateEngine(new StaticMessageSource(), resolver);
+    private final TemplateRenderer renderer = new TemplateRenderer(
+            textEngine, configuration.springTemplateEngine(true), resolver);
+
+    @Test
+    void render_shouldReuseTheTemplateUntilTheRowChanges() {
+        EmailTemplate template = template("<p th:text=\"${name}\">name</p>");
+
+        String first = renderer.render(template, "az", Map.of("name", "Aysel"));
+        String second = renderer.render(template, "en", Map.of("name", "Murad"));
+
+        assertTrue(first.contains("<p>Aysel</p>"));
+        assertTrue(second.contains("<p>Murad</p>"));
+
+        template.setBodyHtml("<b th:text=\"${name}\">name</b>");
+        String edited = renderer.render(template, "az", Map.of("name", "Aysel"));
+
+        assertTrue(edited.contains("<b>Aysel</b>"));
+        assertFalse(edited.contains("<p>Aysel</p>"));
+    }
+
+    @Test
+    void nameOf_shouldNameVersionsByContent() {
+        String first = EmailTemplateResolver.nameOf(1L, "body", "a");
+
+        assertEquals(first, EmailTemplateResolver.nameOf(1L, "body", "a"));
+        assertNotEquals(first, EmailTemplateResolver.nameOf(1L, "body", "b"));
+        assertTrue(first.startsWith(EmailTemplateResolver.PREFIX + "1:body:"));
+    }
+
+    @Test
+    void process_shouldKeepASupersededVersionUntilItsRenderFinishes() {
+        // a render of the old text is still running when the edited row is rendered
+        String old = resolver.acquire(textEngine, 1L, "body", "<p>old</p>");
+        assertEquals("<p>new</p>", resolver.process(textEngine, 1L, "body", "<p>new</p>", new Context()));
+
+        assertEquals("<p>old</p>", textEngine.process(old, new Context()));
+
+        resolver.release(textEngine, old);
+        assertThrows(TemplateInputException.class, () -> textEngine.process(old, new Context()));
+    }
+
+    @Test
+    void renderSubject_shouldInlineExpressions() {
+        EmailTemplate template = template("<p>body</p>");
+        template.setSubjectTemplate("${name}");
+
+        assertEquals("Aysel", renderer.renderSubject(template, "az", Map.of("name", "Aysel")));
+    }
+
+    private static EmailTemplate template(String body) {
+        EmailTemplate template = new EmailTemplate();
+        template.setId(1L);
+        template.setBodyHtml(body);
+        return template;
+    }
+}
@@ -0,0 +1,184 @@
+package az.qrfood.backend.order.repository;
+
+import az.qrfood.backend.category.entity.Category;
+import az.qrfood.backend.category.entity.CategoryStatus;
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.dish.entity.DishStatus;
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.dto.OrderDto;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.order.mapper.OrderMapper;
+import az.qrfood.backend.orderitem.mapper.OrderItemMapper;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.table.repository.TableRepository;
+import az.qrfood.backend.tableassignment.entity.TableAssignment;
+import az.qrfood.backend.tableassignment.repository.TableAssignmentRepository;
+import az.qrfood.backend.user.entity.Role;
+import az.qrfood.backend.user.entity.User;
+import az.qrfood.backend.user.repository.UserRepository;
+import az.qrfood.backend.user.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the waiter order view built from per-assignment lookups with the single join query
+ * run for the tables held in the waiter table index.
+ * Statement counts come from Hibernate statistics; timings are logged for reference only.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@MockBean(UserService.class)
+@MockBean(PasswordEncoder.class)
+@Log4j2
+class WaiterOrdersQueryBenchmarkTest {
+
+    private static final int TABLES = 20;
+    private static final Set<OrderStatus> CLOSED = Set.of(OrderStatus.PAID, OrderStatus.CANCELLED);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomerOrderRepository orderRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private TableAssignmentRepository tableAssignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final OrderMapper orderMapper = new OrderMapper(new OrderItemMapper());
+    private Long waiterId;
+    private final Set<Long> assignedTableIds = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        Eatery eatery = new Eatery();
+        eatery.setName("Benchmark");
+        eatery.setOnboardingStatus(OnboardingStatus.TABLES_READY);
+        entityManager.persist(eatery);
+
+        Category category = new Category();
+        category.setEatery(eatery);
+        category.setCategoryStatus(CategoryStatus.ACTIVE);
+        entityManager.persist(category);
+
+        DishEntity dish = new DishEntity();
+        dish.setCategory(category);
+        dish.setPrice(new BigDecimal("4.50"));
+        dish.setDishStatus(DishStatus.AVAILABLE);
+        entityManager.persist(dish);
+
+        User waiter = new User();
+        waiter.setUsername("waiter@benchmark.az");
+        waiter.setPassword("password");
+        waiter.setRoles(new HashSet<>(Set.of(Role.WAITER)));
+        entityManager.persist(waiter);
+        waiterId = waiter.getId();
+
+        for (int t = 0; t < TABLES; t++) {
+            TableInEatery table = new TableInEatery();
+            table.setEatery(eatery);
+            table.setTableNumber("T" + t);
+            entityManager.persist(table);
+            assignedTableIds.add(table.getId());
+
+            entityManager.persist(TableAssignment.builder()
+                    .waiter(waiter)
+                    .table(table)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            persistOrder(table, dish, OrderStatus.PREPARING, LocalDateTime.now());
+            // closed three days ago, no longer part of the waiter view
+            persistOrder(table, dish, OrderStatus.PAID, LocalDateTime.now().minusDays(3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void singleJoinQuery_shouldReplacePerAssignmentLookups() {
+        Measured legacy = measure(() -> {
+            User waiter = userRepository.findById(waiterId).orElseThrow();
+            Set<TableInEatery> tables = tableAssignmentRepository.findByWaiter(waiter).stream()
+                    .map(assignment -> tableRepository.findById(assignment.getTable().getId()))
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toSet());
+            return orderMapper.toDtoList(orderRepository.findByTableIn(tables));
+        });
+
+        // the table ids are answered from memory by WaiterTableIndex once it is warm
+        Measured joined = measure(() -> orderMapper.toDtoList(
+                orderRepository.findForTables(assignedTableIds, CLOSED, LocalDateTime.now().minusHours(12))));
+
+        log.info("Waiter view, [{}] tables: legacy [{}] statements [{}] us, joined [{}] statements [{}] us",
+                TABLES, legacy.statements, legacy.micros, joined.statements, joined.micros);
+
+        assertThat(legacy.orders).hasSize(TABLES * 2);
+        assertThat(joined.orders).hasSize(TABLES);
+        assertThat(joined.orders).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+        assertThat(legacy.statements).isGreaterThan(TABLES + 2);
+        // the orders query plus the lazy translations of the single dish
+        assertThat(joined.statements).isLessThanOrEqualTo(2);
+    }
+
+    private void persistOrder(TableInEatery table, DishEntity dish, OrderStatus status, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setTable(table);
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        entityManager.persist(order);
+        for (int i = 0; i < 2; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setDishEntity(dish);
+            item.setQuantity(1);
+            item.setPriceAtOrder(dish.getPrice());
+            entityManager.persist(item);
+        }
+    }
+
+    private Measured measure(Supplier<List<OrderDto>> view) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long started = System.nanoTime();
+        List<OrderDto> orders = view.get();
+        long micros = (System.nanoTime() - started) / 1_000;
+        return new Measured(orders, statistics.getPrepareStatementCount(), micros);
+    }
+
+    private record Measured(List<OrderDto> orders, long statements, long micros) {
+    }
+}
@@ -0,0 +1,147 @@
+package az.qrfood.backend.order.service;
+
+import az.qrfood.backend.category.entity.Category;
+import az.qrfood.backend.category.entity.CategoryStatus;
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.dish.entity.DishStatus;
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the order history export against the test database, through the streaming query
+ * with its fetch size hint and the CSV writer.
+ */
+@DataJpaTest
+@Import(OrderExportService.class)
+@ActiveProfiles("test")
+@MockBean(UserService.class)
+@MockBean(PasswordEncoder.class)
+public class OrderExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    private Eatery eatery;
+    private Long paidId;
+    private Long servedId;
+
+    @BeforeEach
+    void setUp() {
+        eatery = new Eatery();
+        eatery.setName("Export");
+        eatery.setOnboardingStatus(OnboardingStatus.TABLES_READY);
+        entityManager.persist(eatery);
+
+        Category category = new Category();
+        category.setEatery(eatery);
+        category.setCategoryStatus(CategoryStatus.ACTIVE);
+        entityManager.persist(category);
+
+        DishEntity dish = new DishEntity();
+        dish.setCategory(category);
+        dish.setPrice(new BigDecimal("4.50"));
+        dish.setDishStatus(DishStatus.AVAILABLE);
+        entityManager.persist(dish);
+
+        TableInEatery table = new TableInEatery();
+        table.setEatery(eatery);
+        table.setTableNumber("Terrace, 1");
+        entityManager.persist(table);
+
+        paidId = persistOrder(table, dish, OrderStatus.PAID, DAY.atTime(12, 0), 2, 3).getId();
+        // 02:00 of the next calendar day still belongs to the exported business day
+        servedId = persistOrder(table, dish, OrderStatus.SERVED, DAY.plusDays(1).atTime(2, 0), 1).getId();
+        // the next business day is outside the period
+        persistOrder(table, dish, OrderStatus.PAID, DAY.plusDays(1).atTime(7, 0), 1);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void export_shouldWriteOneCsvLinePerOrderOfThePeriod() throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        long exported = orderExportService.export(eatery.getId(), DAY, DAY, OrderExportService.Format.CSV, target);
+
+        String[] lines = target.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("id,created_at,status,table_id,table_number,item_count,total");
+        assertThat(lines[1]).startsWith(paidId + ",2025-03-10T12:00,PAID,")
+                .endsWith(",\"Terrace, 1\",5,22.50");
+        assertThat(lines[2]).startsWith(servedId + ",2025-03-11T02:00,SERVED,")
+                .endsWith(",\"Terrace, 1\",1,4.50");
+    }
+
+    @Test
+    void export_shouldWriteOnlyTheHeaderForAnEmptyPeriod() throws Exception {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        long exported = orderExportService.export(eatery.getId(), DAY.minusDays(7), DAY.minusDays(6),
+                OrderExportService.Format.CSV, target);
+
+        assertThat(exported).isZero();
+        assertThat(target.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,created_at,status,table_id,table_number,item_count,total\n");
+    }
+
+    @Test
+    void export_shouldRejectAnInvertedPeriod() {
+        assertThatThrownBy(() -> orderExportService.export(eatery.getId(), DAY, DAY.minusDays(1),
+                OrderExportService.Format.CSV, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void format_shouldRejectAnUnsupportedName() {
+        assertThat(OrderExportService.Format.of("CSV")).isEqualTo(OrderExportService.Format.CSV);
+        assertThatThrownBy(() -> OrderExportService.Format.of("columnar"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Order persistOrder(TableInEatery table, DishEntity dish, OrderStatus status, LocalDateTime createdAt,
+                               int... quantities) {
+        Order order = new Order();
+        order.setTable(table);
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        entityManager.persist(order);
+        for (int quantity : quantities) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setDishEntity(dish);
+            item.setQuantity(quantity);
+            item.setPriceAtOrder(dish.getPrice().multiply(BigDecimal.valueOf(quantity)));
+            entityManager.persist(item);
+        }
+        return order;
+    }
+}
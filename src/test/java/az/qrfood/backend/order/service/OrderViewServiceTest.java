@@ -0,0 +1,112 @@
+package az.qrfood.backend.order.service;
+
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.order.entity.OrderView;
+import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.order.repository.OrderViewRepository;
+import az.qrfood.backend.table.entity.TableInEatery;
+import az.qrfood.backend.tableassignment.repository.TableAssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderViewServiceTest {
+
+    @Mock
+    private OrderViewRepository orderViewRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private TableAssignmentRepository tableAssignmentRepository;
+
+    @InjectMocks
+    private OrderViewService orderViewService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        Eatery eatery = new Eatery();
+        eatery.setId(7L);
+
+        TableInEatery table = new TableInEatery();
+        table.setId(3L);
+        table.setTableNumber("T3");
+        table.setEatery(eatery);
+
+        order = new Order();
+        order.setId(1L);
+        order.setTable(table);
+        order.setStatus(OrderStatus.PREPARING);
+    }
+
+    @Test
+    void refresh_shouldUsePriceAtOrderAndFallBackToDishPrice() {
+        DishEntity dish = new DishEntity();
+        dish.setPrice(BigDecimal.valueOf(4));
+
+        OrderItem fixedPrice = new OrderItem();
+        fixedPrice.setDishEntity(dish);
+        fixedPrice.setQuantity(2);
+        fixedPrice.setPriceAtOrder(BigDecimal.valueOf(10));
+
+        OrderItem legacy = new OrderItem();
+        legacy.setDishEntity(dish);
+        legacy.setQuantity(3);
+
+        when(orderItemRepository.findByOrderId(1L)).thenReturn(List.of(fixedPrice, legacy));
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tableAssignmentRepository.findWaiterIdsByTableId(3L)).thenReturn(List.of(11L, 12L));
+
+        orderViewService.refresh(order);
+
+        ArgumentCaptor<OrderView> captor = ArgumentCaptor.forClass(OrderView.class);
+        verify(orderViewRepository).save(captor.capture());
+        OrderView view = captor.getValue();
+        assertEquals(1L, view.getOrderId());
+        assertEquals(7L, view.getEateryId());
+        assertEquals("T3", view.getTableNumber());
+        assertEquals(11L, view.getWaiterId());
+        assertEquals(5, view.getItemCount());
+        assertEquals(0, BigDecimal.valueOf(22).compareTo(view.getTotal()));
+    }
+
+    @Test
+    void refresh_shouldKeepWaiterOfClosedOrder() {
+        OrderView existing = OrderView.builder()
+                .orderId(1L)
+                .waiterId(11L)
+                .status(OrderStatus.PAID)
+                .build();
+        order.setStatus(OrderStatus.PAID);
+
+        when(orderItemRepository.findByOrderId(1L)).thenReturn(List.of());
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        orderViewService.refresh(order);
+
+        verify(tableAssignmentRepository, never()).findWaiterIdsByTableId(3L);
+        assertEquals(11L, existing.getWaiterId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(existing.getTotal()));
+    }
+}
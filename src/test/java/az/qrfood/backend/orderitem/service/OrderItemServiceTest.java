@@ -3,16 +3,20 @@ package az.qrfood.backend.orderitem.service;
 import az.qrfood.backend.dish.entity.DishEntity;
 import az.qrfood.backend.dish.entity.DishEntityTranslation;
 import az.qrfood.backend.dish.repository.DishRepository;
+import az.qrfood.backend.order.OrderStatus;
 import az.qrfood.backend.order.dto.OrderItemDTO;
 import az.qrfood.backend.order.entity.Order;
 import az.qrfood.backend.order.entity.OrderItem;
 import az.qrfood.backend.order.repository.CustomerOrderRepository;
 import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.order.service.OrderViewService;
 import az.qrfood.backend.orderitem.mapper.OrderItemMapper;
+import az.qrfood.backend.report.service.SalesRollupService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -41,6 +45,12 @@ public class OrderItemServiceTest {
     @Mock
     private OrderItemMapper orderItemMapper;
 
+    @Mock
+    private OrderViewService orderViewService;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
     @InjectMocks
     private OrderItemServiceImpl orderItemService;
 
@@ -244,6 +254,22 @@ public class OrderItemServiceTest {
         verify(orderItemRepository).delete(orderItem);
     }
 
+    @Test
+    void deleteOrderItem_shouldReportItemChangeAroundTheDelete_whenOrderIsPaid() {
+        // Arrange
+        order.setStatus(OrderStatus.PAID);
+        when(orderItemRepository.findById(1L)).thenReturn(Optional.of(orderItem));
+
+        // Act
+        orderItemService.deleteOrderItem(1L);
+
+        // Assert
+        InOrder inOrder = inOrder(salesRollupService, orderItemRepository);
+        inOrder.verify(salesRollupService).beforeItemsChange(order);
+        inOrder.verify(orderItemRepository).delete(orderItem);
+        inOrder.verify(salesRollupService).afterItemsChange(order);
+    }
+
     @Test
     void deleteOrderItem_shouldThrowException_whenOrderItemDoesNotExist() {
         // Arrange
@@ -0,0 +1,169 @@
+package az.qrfood.backend.report.service;
+
+import az.qrfood.backend.dish.entity.DishEntity;
+import az.qrfood.backend.eatery.entity.Eatery;
+import az.qrfood.backend.order.OrderStatus;
+import az.qrfood.backend.order.entity.Order;
+import az.qrfood.backend.order.entity.OrderItem;
+import az.qrfood.backend.order.repository.OrderItemRepository;
+import az.qrfood.backend.report.dto.OrderSalesDelta;
+import az.qrfood.backend.report.entity.DishSalesRollup;
+import az.qrfood.backend.report.entity.HourlySalesRollup;
+import az.qrfood.backend.report.repository.DishSalesRollupRepository;
+import az.qrfood.backend.report.repository.HourlySalesRollupRepository;
+import az.qrfood.backend.table.entity.TableInEatery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SalesRollupServiceTest {
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private DishSalesRollupRepository dishSalesRollupRepository;
+
+    @Mock
+    private HourlySalesRollupRepository hourlySalesRollupRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SalesRollupService salesRollupService;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        salesRollupService = new SalesRollupService(orderItemRepository, dishSalesRollupRepository,
+                hourlySalesRollupRepository, eventPublisher, transactionManager);
+
+        Eatery eatery = new Eatery();
+        eatery.setId(7L);
+        TableInEatery table = new TableInEatery();
+        table.setId(3L);
+        table.setEatery(eatery);
+
+        order = new Order();
+        order.setId(1L);
+        order.setTable(table);
+        // 02:30 belongs to the previous business day
+        order.setCreatedAt(LocalDateTime.of(2025, 3, 10, 2, 30));
+    }
+
+    @Test
+    void onStatusChange_shouldPublishMergedDeltaWhenOrderBecomesPaid() {
+        DishEntity dish = new DishEntity();
+        dish.setId(5L);
+        when(orderItemRepository.findByOrderId(1L)).thenReturn(List.of(
+                item(dish, 2, "10.00"),
+                item(dish, 1, "5.00")));
+
+        salesRollupService.onStatusChange(order, OrderStatus.SERVED, OrderStatus.PAID);
+
+        ArgumentCaptor<OrderSalesDelta> captor = ArgumentCaptor.forClass(OrderSalesDelta.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        OrderSalesDelta delta = captor.getValue();
+        assertEquals(1, delta.sign());
+        assertEquals(LocalDate.of(2025, 3, 9), delta.salesDate());
+        assertEquals(2, delta.salesHour());
+        assertEquals(1, delta.lines().size());
+        assertEquals(3, delta.lines().get(0).quantity());
+        assertEquals(0, new BigDecimal("15.00").compareTo(delta.total()));
+    }
+
+    @Test
+    void onStatusChange_shouldIgnoreTransitionsNotTouchingPaid() {
+        salesRollupService.onStatusChange(order, OrderStatus.CREATED, OrderStatus.PREPARING);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void itemsChange_shouldMovePaidOrderFromOldItemsToNewItems() {
+        DishEntity dish = new DishEntity();
+        dish.setId(5L);
+        order.setStatus(OrderStatus.PAID);
+        when(orderItemRepository.findByOrderId(1L)).thenReturn(
+                List.of(item(dish, 2, "10.00")),
+                List.of(item(dish, 3, "15.00")));
+
+        salesRollupService.beforeItemsChange(order);
+        salesRollupService.afterItemsChange(order);
+
+        ArgumentCaptor<OrderSalesDelta> captor = ArgumentCaptor.forClass(OrderSalesDelta.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        OrderSalesDelta removed = captor.getAllValues().get(0);
+        OrderSalesDelta added = captor.getAllValues().get(1);
+        assertEquals(-1, removed.sign());
+        assertEquals(2, removed.lines().get(0).quantity());
+        assertEquals(0, new BigDecimal("10.00").compareTo(removed.total()));
+        assertEquals(1, added.sign());
+        assertEquals(3, added.lines().get(0).quantity());
+        assertEquals(0, new BigDecimal("15.00").compareTo(added.total()));
+    }
+
+    @Test
+    void itemsChange_shouldIgnoreOrdersThatAreNotPaid() {
+        order.setStatus(OrderStatus.SERVED);
+
+        salesRollupService.beforeItemsChange(order);
+        salesRollupService.afterItemsChange(order);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void apply_shouldInsertBucketsThatDoNotExistYet() {
+        OrderSalesDelta delta = new OrderSalesDelta(1L, 7L, LocalDate.of(2025, 3, 9), 2, 3L, -1,
+                new BigDecimal("15.00"), List.of(new OrderSalesDelta.Line(5L, 3, new BigDecimal("15.00"))));
+        when(dishSalesRollupRepository.increment(eq(7L), any(), eq(5L), anyLong(), any())).thenReturn(0);
+        when(hourlySalesRollupRepository.increment(eq(7L), any(), anyInt(), eq(3L), anyLong(), any())).thenReturn(0);
+
+        salesRollupService.apply(delta);
+
+        ArgumentCaptor<DishSalesRollup> dishCaptor = ArgumentCaptor.forClass(DishSalesRollup.class);
+        verify(dishSalesRollupRepository).saveAndFlush(dishCaptor.capture());
+        assertEquals(-3, dishCaptor.getValue().getQuantity());
+
+        ArgumentCaptor<HourlySalesRollup> hourCaptor = ArgumentCaptor.forClass(HourlySalesRollup.class);
+        verify(hourlySalesRollupRepository).saveAndFlush(hourCaptor.capture());
+        assertEquals(-1, hourCaptor.getValue().getOrderCount());
+        assertEquals(0, new BigDecimal("-15.00").compareTo(hourCaptor.getValue().getRevenue()));
+    }
+
+    private OrderItem item(DishEntity dish, int quantity, String lineTotal) {
+        OrderItem item = new OrderItem();
+        item.setDishEntity(dish);
+        item.setQuantity(quantity);
+        item.setPriceAtOrder(new BigDecimal(lineTotal));
+        return item;
+    }
+}
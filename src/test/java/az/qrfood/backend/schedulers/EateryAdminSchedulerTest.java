@@ -0,0 +1,77 @@
+package az.qrfood.backend.schedulers;
+
+import az.qrfood.backend.mail.EventPublisherHelper;
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
+import az.qrfood.backend.user.entity.User;
+import az.qrfood.backend.user.entity.UserProfile;
+import az.qrfood.backend.user.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EateryAdminSchedulerTest {
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private EventPublisherHelper eventPublisherHelper;
+    @Mock
+    private JobLeaseService jobLeaseService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EateryAdminScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EateryAdminScheduler(userProfileRepository, eventPublisherHelper, jobLeaseService,
+                transactionTemplate);
+        ReflectionTestUtils.setField(scheduler, "delay", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(scheduler, "lease", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void run_shouldCommitTheRemindersBeforeReleasingTheLease() {
+        User user = new User();
+        UserProfile profile = new UserProfile();
+        profile.setUser(user);
+        when(jobLeaseService.tryAcquire(eq(EateryAdminScheduler.JOB), any())).thenReturn(true);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userProfileRepository.findEateryAdminsWithoutEateryAndNotNotified(any())).thenReturn(List.of(profile));
+
+        assertEquals(1, scheduler.run());
+
+        InOrder order = inOrder(transactionTemplate, eventPublisherHelper, jobLeaseService);
+        order.verify(transactionTemplate).execute(any());
+        order.verify(eventPublisherHelper).publishEmailEvent(user, EventType.CREATE_EATERY);
+        order.verify(jobLeaseService).release(EateryAdminScheduler.JOB);
+    }
+
+    @Test
+    void run_shouldSkipTheRunWithoutTheLease() {
+        when(jobLeaseService.tryAcquire(eq(EateryAdminScheduler.JOB), any())).thenReturn(false);
+
+        assertEquals(0, scheduler.run());
+
+        verifyNoInteractions(userProfileRepository, transactionTemplate);
+    }
+}
@@ -0,0 +1,54 @@
+package az.qrfood.backend.schedulers;
+
+import az.qrfood.backend.mail.service.EmailOutboxSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxSchedulerTest {
+
+    @Mock
+    private EmailOutboxSender emailOutboxSender;
+
+    private EmailOutboxScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EmailOutboxScheduler(emailOutboxSender);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 10);
+        ReflectionTestUtils.setField(scheduler, "maxBatches", 3);
+    }
+
+    @Test
+    void run_shouldDrainWhileBatchesAreFull() {
+        when(emailOutboxSender.drain()).thenReturn(10, 4);
+
+        assertEquals(14, scheduler.run());
+        verify(emailOutboxSender, times(2)).drain();
+    }
+
+    @Test
+    void run_shouldStopAfterMaxBatches() {
+        when(emailOutboxSender.drain()).thenReturn(10);
+
+        assertEquals(30, scheduler.run());
+        verify(emailOutboxSender, times(3)).drain();
+    }
+
+    @Test
+    void run_shouldReportAnEmptyOutboxAsIdle() {
+        when(emailOutboxSender.drain()).thenReturn(0);
+
+        assertEquals(0, scheduler.run());
+        verify(emailOutboxSender, times(1)).drain();
+    }
+}
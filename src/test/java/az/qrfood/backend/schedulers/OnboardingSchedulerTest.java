@@ -0,0 +1,144 @@
+package az.qrfood.backend.schedulers;
+
+import az.qrfood.backend.eatery.dto.OnboardingCandidate;
+import az.qrfood.backend.eatery.dto.OnboardingStatus;
+import az.qrfood.backend.eatery.repository.EateryRepository;
+import az.qrfood.backend.mail.EventPublisherHelper;
+import az.qrfood.backend.mail.dto.EventType;
+import az.qrfood.backend.schedulers.service.JobLeaseService;
+import az.qrfood.backend.user.entity.User;
+import az.qrfood.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class OnboardingSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private EateryRepository eateryRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EventPublisherHelper eventPublisherHelper;
+    @Mock
+    private JobLeaseService jobLeaseService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OnboardingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new OnboardingScheduler(eateryRepository, userRepository, eventPublisherHelper,
+                jobLeaseService, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "delay", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(scheduler, "chunkSize", 2);
+        ReflectionTestUtils.setField(scheduler, "lease", Duration.ofMinutes(5));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(0));
+            return user;
+        });
+    }
+
+    @Test
+    void run_shouldSkipTheRunWithoutTheLease() {
+        when(jobLeaseService.tryAcquire(eq(OnboardingScheduler.JOB), any())).thenReturn(false);
+
+        scheduler.run();
+
+        verifyNoInteractions(eateryRepository, eventPublisherHelper);
+        verify(jobLeaseService, never()).release(any());
+        assertEquals(1.0, meterRegistry.counter("qrfood.scheduler.skipped", "job", OnboardingScheduler.JOB).count());
+    }
+
+    @Test
+    void run_shouldReleaseTheLeaseAfterTheRun() {
+        when(jobLeaseService.tryAcquire(eq(OnboardingScheduler.JOB), any())).thenReturn(true);
+        when(eateryRepository.findOnboardingCandidates(any(), anyInt(), any(), any(), anyLong(), any()))
+                .thenReturn(List.of());
+
+        scheduler.run();
+
+        verify(eateryRepository, times(OnboardingStatus.values().length))
+                .findOnboardingCandidates(any(), anyInt(), any(), any(), eq(0L), any());
+        verify(jobLeaseService).release(OnboardingScheduler.JOB);
+    }
+
+    @Test
+    void notifyStatus_shouldPageByEateryIdAndNudgeOneAdminPerEatery() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 2);
+        when(eateryRepository.findOnboardingCandidates(eq(OnboardingStatus.REGISTERED), anyInt(),
+                eq(EventType.CREATE_EATERY), eq(cutoff), eq(0L), eq(page)))
+                .thenReturn(List.of(
+                        new OnboardingCandidate(3L, 30L, "a@mail.az", "en"),
+                        new OnboardingCandidate(3L, 31L, "b@mail.az", "ru")));
+        when(eateryRepository.findOnboardingCandidates(eq(OnboardingStatus.REGISTERED), anyInt(),
+                eq(EventType.CREATE_EATERY), eq(cutoff), eq(3L), eq(page)))
+                .thenReturn(List.of(new OnboardingCandidate(5L, 50L, "c@mail.az", null)));
+
+        int notified = scheduler.notifyStatus(OnboardingStatus.REGISTERED, cutoff);
+
+        assertEquals(2, notified);
+        verify(eventPublisherHelper).publishEmailEvent(any(User.class), eq("a@mail.az"), eq("en"), eq(EventType.CREATE_EATERY));
+        verify(eventPublisherHelper).publishEmailEvent(any(User.class), eq("c@mail.az"), isNull(), eq(EventType.CREATE_EATERY));
+        verify(eventPublisherHelper, never()).publishEmailEvent(any(User.class), eq("b@mail.az"), any(), any());
+        assertEquals(3.0, meterRegistry.counter("qrfood.scheduler.rows", "job", OnboardingScheduler.JOB,
+                "outcome", "scanned").count());
+    }
+
+    @Test
+    void notifyStatus_shouldCountAFailedChunkAndGoOn() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(eateryRepository.findOnboardingCandidates(any(), anyInt(), any(), any(), eq(0L), any()))
+                .thenReturn(List.of(
+                        new OnboardingCandidate(1L, 10L, "a@mail.az", "az"),
+                        new OnboardingCandidate(2L, 20L, "b@mail.az", "az")));
+        when(eateryRepository.findOnboardingCandidates(any(), anyInt(), any(), any(), eq(2L), any()))
+                .thenReturn(List.of(new OnboardingCandidate(4L, 40L, "c@mail.az", "az")));
+        // doThrow does not call the answer stubbed in setUp, which would run with a null callback
+        doThrow(new IllegalStateException("deadlock"))
+                .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        int notified = scheduler.notifyStatus(OnboardingStatus.EATERY_CREATED, cutoff);
+
+        assertEquals(1, notified);
+        assertEquals(2.0, meterRegistry.counter("qrfood.scheduler.rows", "job", OnboardingScheduler.JOB,
+                "outcome", "failed").count());
+    }
+}
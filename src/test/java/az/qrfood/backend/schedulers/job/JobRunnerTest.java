@@ -0,0 +1,141 @@
+package az.qrfood.backend.schedulers.job;
+
+import az.qrfood.backend.schedulers.dto.JobRun;
+import az.qrfood.backend.schedulers.dto.JobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JobSchedule schedule = new JobSchedule(Duration.ofSeconds(20), Duration.ofMinutes(5), 0.1, true);
+
+    @Test
+    void next_shouldDoubleWhileIdleAndResetOnWork() {
+        Duration wait = schedule.interval();
+        wait = schedule.next(wait, false);
+        assertEquals(Duration.ofSeconds(40), wait);
+        for (int i = 0; i < 10; i++) {
+            wait = schedule.next(wait, false);
+        }
+        assertEquals(Duration.ofMinutes(5), wait);
+        assertEquals(Duration.ofSeconds(20), schedule.next(wait, true));
+    }
+
+    @Test
+    void jittered_shouldStayWithinTheSpread() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            long millis = schedule.jittered(Duration.ofSeconds(100), random).toMillis();
+            assertTrue(millis >= 90_000 && millis <= 110_000, "Jittered wait out of range: " + millis);
+        }
+    }
+
+    @Test
+    void schedule_shouldRejectAnIntervalAboveTheMaximum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JobSchedule(Duration.ofMinutes(10), Duration.ofMinutes(1), 0.1, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JobSchedule(Duration.ofMinutes(1), Duration.ofMinutes(10), 1.5, true));
+    }
+
+    @Test
+    void runOnce_shouldRecordOutcomesNewestFirst() {
+        int[] results = {3, 0};
+        int[] call = {0};
+        JobRunner runner = new JobRunner(job("test", () -> {
+            if (call[0] == 2) {
+                throw new IllegalStateException("boom");
+            }
+            return results[call[0]++];
+        }), schedule, meterRegistry);
+
+        runner.runOnce();
+        runner.runOnce();
+        runner.runOnce();
+
+        List<JobRun> runs = runner.status().recentRuns();
+        assertEquals(List.of(JobRun.Outcome.FAILED, JobRun.Outcome.IDLE, JobRun.Outcome.WORKED),
+                runs.stream().map(JobRun::outcome).toList());
+        assertEquals("boom", runs.getFirst().error());
+        assertEquals(3.0, meterRegistry.counter("qrfood.job.items", "job", "test").count());
+        runner.stop();
+    }
+
+    @Test
+    void runOnce_shouldRecordAnErrorAsFailedAndRethrowIt() {
+        JobRunner runner = new JobRunner(job("test", () -> {
+            throw new StackOverflowError("deep");
+        }), schedule, meterRegistry);
+
+        assertThrows(StackOverflowError.class, runner::runOnce);
+
+        JobStatus status = runner.status();
+        assertFalse(status.running());
+        assertEquals(JobRun.Outcome.FAILED, status.recentRuns().getFirst().outcome());
+        runner.stop();
+    }
+
+    @Test
+    void runOnce_shouldKeepABoundedHistory() {
+        JobRunner runner = new JobRunner(job("test", () -> 1), schedule, meterRegistry);
+
+        for (int i = 0; i < JobRunner.HISTORY_SIZE + 5; i++) {
+            runner.runOnce();
+        }
+
+        assertEquals(JobRunner.HISTORY_SIZE, runner.status().recentRuns().size());
+        runner.stop();
+    }
+
+    @Test
+    void trigger_shouldSkipWhileARunIsInProgress() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JobRunner runner = new JobRunner(job("slow", () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }), schedule, meterRegistry);
+
+        assertTrue(runner.trigger());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        JobStatus status = runner.status();
+        assertTrue(status.running());
+
+        assertFalse(runner.trigger());
+        assertEquals(1.0, meterRegistry.counter("qrfood.job.skipped", "job", "slow").count());
+        release.countDown();
+        runner.stop();
+    }
+
+    private static BackgroundJob job(String name, IntSupplier body) {
+        return new BackgroundJob() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int run() {
+                return body.getAsInt();
+            }
+        };
+    }
+}
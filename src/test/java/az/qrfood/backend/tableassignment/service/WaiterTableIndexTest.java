@@ -0,0 +1,84 @@
+package az.qrfood.backend.tableassignment.service;
+
+import az.qrfood.backend.tableassignment.dto.TableAssignmentDto;
+import az.qrfood.backend.tableassignment.repository.TableAssignmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WaiterTableIndexTest {
+
+    @Mock
+    private TableAssignmentRepository tableAssignmentRepository;
+
+    private WaiterTableIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WaiterTableIndex(tableAssignmentRepository, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void lookups_shouldBeAnsweredFromOneLoadPerEatery() {
+        when(tableAssignmentRepository.findDtosByEateryId(7L)).thenReturn(List.of(
+                assignment(11L, 3L),
+                assignment(12L, 3L),
+                assignment(11L, 4L)));
+
+        assertEquals(Set.of(3L, 4L), index.tablesOf(7L, 11L));
+        assertEquals(List.of(11L, 12L), index.waitersOf(7L, 3L));
+        assertTrue(index.isAssigned(7L, 12L, 3L));
+        assertFalse(index.isAssigned(7L, 12L, 4L));
+        assertTrue(index.tablesOf(7L, 99L).isEmpty());
+
+        verify(tableAssignmentRepository, times(1)).findDtosByEateryId(7L);
+    }
+
+    @Test
+    void invalidate_shouldReloadOnNextLookup() {
+        when(tableAssignmentRepository.findDtosByEateryId(7L))
+                .thenReturn(List.of(assignment(11L, 3L)))
+                .thenReturn(List.of());
+
+        assertTrue(index.isAssigned(7L, 11L, 3L));
+        index.invalidate(7L);
+        assertFalse(index.isAssigned(7L, 11L, 3L));
+
+        verify(tableAssignmentRepository, times(2)).findDtosByEateryId(7L);
+    }
+
+    @Test
+    void invalidateDuringLoad_shouldNotKeepTheLoadedSnapshot() {
+        when(tableAssignmentRepository.findDtosByEateryId(7L))
+                .thenAnswer(invocation -> {
+                    // the assignment changes while the old rows are being read
+                    index.invalidate(7L);
+                    return List.of(assignment(11L, 3L));
+                })
+                .thenReturn(List.of());
+
+        assertTrue(index.isAssigned(7L, 11L, 3L));
+        assertFalse(index.isAssigned(7L, 11L, 3L));
+
+        verify(tableAssignmentRepository, times(2)).findDtosByEateryId(7L);
+    }
+
+    private TableAssignmentDto assignment(Long waiterId, Long tableId) {
+        return TableAssignmentDto.builder().waiterId(waiterId).tableId(tableId).build();
+    }
+}
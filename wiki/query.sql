@@ -164,3 +164,167 @@ ALTER TABLE notification_logs
 
 alter table email_templates
     change template_key event varchar(50) not null;
+
+
+# Order dashboard projection, maintained by OrderViewService
+CREATE TABLE order_view
+(
+    order_id     BIGINT         NOT NULL PRIMARY KEY,
+    eatery_id    BIGINT         NOT NULL,
+    table_id     BIGINT         NOT NULL,
+    table_number VARCHAR(255)   NULL,
+    waiter_id    BIGINT         NULL,
+    status       VARCHAR(32)    NULL,
+    item_count   INT            NOT NULL DEFAULT 0,
+    total        DECIMAL(12, 2) NULL,
+    note         VARCHAR(255)   NULL,
+    created_at   DATETIME(6)    NULL,
+    updated_at   DATETIME(6)    NULL,
+    INDEX idx_order_view_eatery_created (eatery_id, created_at),
+    INDEX idx_order_view_waiter_created (waiter_id, created_at),
+    INDEX idx_order_view_table (table_id)
+);
+
+# Backfill the projection from existing orders
+INSERT INTO order_view (order_id, eatery_id, table_id, table_number, waiter_id, status, item_count, total, note,
+                        created_at, updated_at)
+SELECT o.id,
+       t.eatery_id,
+       t.id,
+       t.table_number,
+       (SELECT ta.waiter_id FROM table_assignment ta WHERE ta.table_id = t.id ORDER BY ta.id LIMIT 1),
+       o.status,
+       COALESCE((SELECT SUM(oi.quantity) FROM order_item oi WHERE oi.order_id = o.id), 0),
+       COALESCE((SELECT SUM(COALESCE(oi.price_at_order, d.price * oi.quantity))
+                 FROM order_item oi
+                          JOIN dish d ON d.id = oi.dish_id
+                 WHERE oi.order_id = o.id), 0),
+       o.note,
+       o.created_at,
+       NOW()
+FROM `order` o
+         JOIN table_in_eatery t ON t.id = o.table_id;
+
+
+# Sales rollups, maintained by SalesRollupService when orders become PAID
+CREATE TABLE sales_dish_rollup
+(
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    eatery_id  BIGINT         NOT NULL,
+    sales_date DATE           NOT NULL,
+    dish_id    BIGINT         NOT NULL,
+    quantity   BIGINT         NOT NULL,
+    revenue    DECIMAL(14, 2) NOT NULL,
+    CONSTRAINT uk_sales_dish_rollup_bucket UNIQUE (eatery_id, sales_date, dish_id)
+);
+
+CREATE TABLE sales_hourly_rollup
+(
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    eatery_id   BIGINT         NOT NULL,
+    sales_date  DATE           NOT NULL,
+    sales_hour  INT            NOT NULL,
+    table_id    BIGINT         NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     DECIMAL(14, 2) NOT NULL,
+    CONSTRAINT uk_sales_hourly_rollup_bucket UNIQUE (eatery_id, sales_date, sales_hour, table_id)
+);
+
+# Backfill from already paid orders; a business day starts at 06:00
+INSERT INTO sales_dish_rollup (eatery_id, sales_date, dish_id, quantity, revenue)
+SELECT t.eatery_id,
+       DATE(o.created_at - INTERVAL 6 HOUR),
+       oi.dish_id,
+       SUM(oi.quantity),
+       SUM(COALESCE(oi.price_at_order, d.price * oi.quantity))
+FROM `order` o
+         JOIN table_in_eatery t ON t.id = o.table_id
+         JOIN order_item oi ON oi.order_id = o.id
+         JOIN dish d ON d.id = oi.dish_id
+WHERE o.status = 'PAID'
+GROUP BY t.eatery_id, DATE(o.created_at - INTERVAL 6 HOUR), oi.dish_id;
+
+INSERT INTO sales_hourly_rollup (eatery_id, sales_date, sales_hour, table_id, order_count, revenue)
+SELECT t.eatery_id,
+       DATE(o.created_at - INTERVAL 6 HOUR),
+       HOUR(o.created_at),
+       o.table_id,
+       COUNT(*),
+       SUM(COALESCE((SELECT SUM(COALESCE(oi.price_at_order, d.price * oi.quantity))
+                     FROM order_item oi
+                              JOIN dish d ON d.id = oi.dish_id
+                     WHERE oi.order_id = o.id), 0))
+FROM `order` o
+         JOIN table_in_eatery t ON t.id = o.table_id
+WHERE o.status = 'PAID'
+GROUP BY t.eatery_id, DATE(o.created_at - INTERVAL 6 HOUR), HOUR(o.created_at), o.table_id;
+
+
+CREATE INDEX idx_device_uuid ON device (uuid);
+
+
+ALTER TABLE device
+    ADD COLUMN last_seen_at DATETIME(6) NULL,
+    ADD INDEX idx_device_last_seen (last_seen_at);
+
+-- existing devices get one TTL from the deploy before the sweeper removes them
+UPDATE device SET last_seen_at = NOW(6) WHERE last_seen_at IS NULL;
+
+
+# Email outbox, filled by EmailService and drained by EmailOutboxScheduler
+CREATE TABLE email_outbox
+(
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient       VARCHAR(255)  NOT NULL,
+    provider        VARCHAR(255)  NOT NULL,
+    event_type      VARCHAR(255)  NULL,
+    locale_used     VARCHAR(255)  NULL,
+    subject         VARCHAR(255)  NULL,
+    body_html       LONGTEXT      NOT NULL,
+    status          VARCHAR(255)  NOT NULL,
+    attempts        INT           NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    last_error      VARCHAR(2048) NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    INDEX idx_email_outbox_due (status, next_attempt_at)
+);
+
+
+# Leases of scheduled jobs, so only one node runs a job at a time; rows are created on first run
+CREATE TABLE job_lease
+(
+    name         VARCHAR(255) NOT NULL PRIMARY KEY,
+    owner        VARCHAR(255) NOT NULL,
+    locked_until DATETIME(6)  NOT NULL
+);
+
+# NOT EXISTS lookups of the onboarding nudges
+CREATE INDEX idx_email_outbox_recipient ON email_outbox (recipient, event_type);
+CREATE INDEX idx_notification_logs_user_event ON notification_logs (user_email, event_type);
+
+# Claims of the outbox rows being sent, so every row is sent by one node only
+ALTER TABLE email_outbox
+    ADD COLUMN claim_token   VARCHAR(36) NULL,
+    ADD COLUMN claimed_until DATETIME(6) NULL,
+    ADD INDEX idx_email_outbox_claim (claim_token);
+
+
+# Eatery deletions and their progress, so every node can report and resume them
+CREATE TABLE eatery_teardown
+(
+    eatery_id   BIGINT        NOT NULL PRIMARY KEY,
+    state       VARCHAR(255)  NOT NULL,
+    step        VARCHAR(255)  NULL,
+    started_at  DATETIME(6)   NOT NULL,
+    finished_at DATETIME(6)   NULL,
+    error       VARCHAR(2048) NULL
+);
+
+CREATE TABLE eatery_teardown_rows
+(
+    eatery_id    BIGINT       NOT NULL,
+    step         VARCHAR(255) NOT NULL,
+    deleted_rows BIGINT       NOT NULL,
+    PRIMARY KEY (eatery_id, step),
+    FOREIGN KEY (eatery_id) REFERENCES eatery_teardown (eatery_id)
+);